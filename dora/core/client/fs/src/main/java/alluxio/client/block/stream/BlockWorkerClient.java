@@ -27,6 +27,8 @@ import alluxio.grpc.DeletePRequest;
 import alluxio.grpc.DeletePResponse;
 import alluxio.grpc.ExistsPRequest;
 import alluxio.grpc.ExistsPResponse;
+import alluxio.grpc.GetStatusBatchPRequest;
+import alluxio.grpc.GetStatusBatchPResponse;
 import alluxio.grpc.GetStatusPRequest;
 import alluxio.grpc.GetStatusPResponse;
 import alluxio.grpc.GrpcServerAddress;
@@ -181,6 +183,14 @@ public interface BlockWorkerClient extends Closeable {
    */
   GetStatusPResponse getStatus(GetStatusPRequest request);
 
+  /**
+   * get the status of many files in one call.
+   *
+   * @param request the batch request
+   * @return listenable future of the status of each requested path
+   */
+  ListenableFuture<GetStatusBatchPResponse> getStatusBatch(GetStatusBatchPRequest request);
+
   /**
    * List status from Worker.
    * @param request
@@ -34,6 +34,8 @@ import alluxio.grpc.DeletePResponse;
 import alluxio.grpc.ExistsPRequest;
 import alluxio.grpc.ExistsPResponse;
 import alluxio.grpc.FreeWorkerRequest;
+import alluxio.grpc.GetStatusBatchPRequest;
+import alluxio.grpc.GetStatusBatchPResponse;
 import alluxio.grpc.GetStatusPRequest;
 import alluxio.grpc.GetStatusPResponse;
 import alluxio.grpc.GrpcChannel;
@@ -333,6 +335,13 @@ public class DefaultBlockWorkerClient implements BlockWorkerClient {
         .getStatus(request);
   }
 
+  @Override
+  public ListenableFuture<GetStatusBatchPResponse> getStatusBatch(
+      GetStatusBatchPRequest request) {
+    return mRpcFutureStub.withDeadlineAfter(mRpcTimeoutMs, TimeUnit.MILLISECONDS)
+        .getStatusBatch(request);
+  }
+
   @Override
   public Iterator<ListStatusPResponse> listStatus(ListStatusPRequest request) {
     return mRpcBlockingStub.withDeadlineAfter(mRpcTimeoutMs, TimeUnit.MILLISECONDS)
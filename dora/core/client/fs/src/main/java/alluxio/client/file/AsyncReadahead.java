@@ -0,0 +1,321 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import alluxio.PositionReader;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.network.protocol.databuffer.PooledDirectNioByteBuf;
+import alluxio.util.ThreadFactoryUtils;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Asynchronous readahead of a file read through a {@link PositionReader}.
+ *
+ * Once a few consecutive reads are sequential, the windows following the last read are fetched
+ * in the background, several of them at the same time, and later reads are served from them.
+ * A window which has been read entirely doubles the size of the next windows, up to a maximum,
+ * and windows discarded by a seek halve it, down to a minimum. A read which is not sequential
+ * cancels the readahead, as does a seek outside the windows fetched.
+ *
+ * Closing the readahead waits for the fetches already reading from the reader, so that the
+ * reader can be closed right after.
+ */
+@NotThreadSafe
+class AsyncReadahead implements AutoCloseable {
+  /** The number of consecutive sequential reads after which the readahead starts. */
+  private static final int SEQUENTIAL_READS_THRESHOLD = 2;
+
+  private final PositionReader mReader;
+  private final long mFileLength;
+  private final Executor mExecutor;
+  private final int mMaxWindows;
+  private final int mMinWindowSize;
+  private final int mMaxWindowSize;
+  /** The windows fetched or being fetched, in the order of their positions. */
+  private final Deque<Window> mWindows = new ArrayDeque<>();
+  /** The windows whose fetch may still read from the reader, including discarded ones. */
+  private final Set<Window> mFetches = ConcurrentHashMap.newKeySet();
+
+  private int mWindowSize;
+  /** The end of the last window fetched. */
+  private long mReadaheadPos;
+  /** The end of the last read, or -1 if there has been no read. */
+  private long mLastReadEnd = -1;
+  private int mSequentialReads;
+
+  /**
+   * @param reader the reader of the file
+   * @param fileLength the length of the file
+   * @param conf the configuration
+   */
+  AsyncReadahead(PositionReader reader, long fileLength, AlluxioConfiguration conf) {
+    this(reader, fileLength, ExecutorHolder.EXECUTOR,
+        conf.getInt(PropertyKey.USER_POSITION_READER_READAHEAD_WINDOWS),
+        (int) conf.getBytes(PropertyKey.USER_POSITION_READER_READAHEAD_WINDOW_SIZE_MIN),
+        (int) conf.getBytes(PropertyKey.USER_POSITION_READER_READAHEAD_WINDOW_SIZE_MAX));
+  }
+
+  /**
+   * @param reader the reader of the file
+   * @param fileLength the length of the file
+   * @param executor the executor to fetch the windows with
+   * @param maxWindows the maximum number of windows fetched at the same time
+   * @param minWindowSize the minimum size of a window
+   * @param maxWindowSize the maximum size of a window
+   */
+  @VisibleForTesting
+  AsyncReadahead(PositionReader reader, long fileLength, Executor executor, int maxWindows,
+      int minWindowSize, int maxWindowSize) {
+    Preconditions.checkArgument(maxWindows > 0,
+        "number of readahead windows should be positive but is %s", maxWindows);
+    Preconditions.checkArgument(minWindowSize > 0 && minWindowSize <= maxWindowSize,
+        "readahead window sizes should satisfy 0 < min <= max but are %s and %s",
+        minWindowSize, maxWindowSize);
+    mReader = reader;
+    mFileLength = fileLength;
+    mExecutor = executor;
+    mMaxWindows = maxWindows;
+    mMinWindowSize = minWindowSize;
+    mMaxWindowSize = maxWindowSize;
+    mWindowSize = minWindowSize;
+  }
+
+  /**
+   * Reads from the windows read ahead, or from the reader for the part of the requested data
+   * not read ahead.
+   *
+   * @param position the position within the file to read from
+   * @param outBuffer the buffer to read into, up to its limit
+   * @return the number of bytes read, or -1 if the position is at the end of the file
+   */
+  int read(long position, ByteBuffer outBuffer) throws IOException {
+    long pos = position;
+    if (pos == mLastReadEnd || isReadAhead(pos)) {
+      mSequentialReads++;
+    } else {
+      mSequentialReads = 0;
+      cancel();
+    }
+    int totalBytesRead = 0;
+    while (outBuffer.hasRemaining() && !mWindows.isEmpty() && isReadAhead(pos)) {
+      Window window = mWindows.peekFirst();
+      if (pos >= window.mStart + window.mLength) {
+        // the window has been skipped over
+        mWindows.pollFirst().discard();
+        continue;
+      }
+      ByteBuf data;
+      try {
+        data = window.await();
+      } catch (InterruptedIOException e) {
+        throw e;
+      } catch (IOException e) {
+        // let the reader report the error if it persists
+        cancel();
+        break;
+      }
+      int posInWindow = (int) (pos - window.mStart);
+      int size = Math.min(outBuffer.remaining(), data.readableBytes() - posInWindow);
+      if (size <= 0) {
+        // the window is short, as the file ended or the reader read less than requested
+        cancel();
+        break;
+      }
+      ByteBuffer slice = outBuffer.slice();
+      slice.limit(size);
+      data.getBytes(data.readerIndex() + posInWindow, slice);
+      outBuffer.position(outBuffer.position() + size);
+      pos += size;
+      totalBytesRead += size;
+      if (pos == window.mStart + window.mLength) {
+        mWindows.pollFirst().discard();
+        mWindowSize = Math.min(mMaxWindowSize, mWindowSize * 2);
+      }
+    }
+    if (outBuffer.hasRemaining()) {
+      int bytesRead = mReader.read(pos, outBuffer, outBuffer.remaining());
+      if (bytesRead < 0) {
+        if (totalBytesRead == 0) {
+          mLastReadEnd = pos;
+          return -1;
+        }
+      } else {
+        pos += bytesRead;
+        totalBytesRead += bytesRead;
+      }
+    }
+    mLastReadEnd = pos;
+    if (mSequentialReads >= SEQUENTIAL_READS_THRESHOLD) {
+      readAhead(pos);
+    }
+    return totalBytesRead;
+  }
+
+  /**
+   * Cancels the readahead unless the new position is within the windows read ahead.
+   *
+   * @param position the new position of the stream
+   */
+  void seek(long position) {
+    if (!isReadAhead(position)) {
+      cancel();
+    }
+  }
+
+  private boolean isReadAhead(long pos) {
+    return !mWindows.isEmpty() && pos >= mWindows.peekFirst().mStart && pos < mReadaheadPos;
+  }
+
+  private void readAhead(long pos) {
+    if (mWindows.isEmpty()) {
+      mReadaheadPos = pos;
+    }
+    while (mWindows.size() < mMaxWindows && mReadaheadPos < mFileLength) {
+      int length = (int) Math.min(mWindowSize, mFileLength - mReadaheadPos);
+      Window window = new Window(mReadaheadPos, length);
+      mWindows.addLast(window);
+      mFetches.add(window);
+      mExecutor.execute(window::fetch);
+      mReadaheadPos += length;
+    }
+  }
+
+  /**
+   * Cancels the readahead and discards the windows read ahead.
+   */
+  void cancel() {
+    if (!mWindows.isEmpty()) {
+      mWindowSize = Math.max(mMinWindowSize, mWindowSize / 2);
+    }
+    while (!mWindows.isEmpty()) {
+      mWindows.pollFirst().discard();
+    }
+  }
+
+  @VisibleForTesting
+  int getWindowCount() {
+    return mWindows.size();
+  }
+
+  @VisibleForTesting
+  int getWindowSize() {
+    return mWindowSize;
+  }
+
+  @Override
+  public void close() {
+    cancel();
+    // the windows not being fetched yet are never fetched now
+    for (Window window : mFetches) {
+      window.mFetched.join();
+    }
+  }
+
+  private final class Window {
+    private final long mStart;
+    private final int mLength;
+    private final CompletableFuture<ByteBuf> mData = new CompletableFuture<>();
+    /** Set by whichever of the fetch and a discard comes first. */
+    private final AtomicBoolean mStarted = new AtomicBoolean(false);
+    /** Completed once the window no longer reads from the reader. */
+    private final CompletableFuture<Void> mFetched = new CompletableFuture<>();
+
+    private Window(long start, int length) {
+      mStart = start;
+      mLength = length;
+    }
+
+    private void fetch() {
+      if (!mStarted.compareAndSet(false, true)) {
+        // discarded before the fetch started
+        return;
+      }
+      try {
+        ByteBuf buf = PooledDirectNioByteBuf.allocate(mLength);
+        try {
+          int bytesRead = mReader.read(mStart, buf, mLength);
+          buf.readerIndex(0).writerIndex(Math.max(0, bytesRead));
+        } catch (IOException | RuntimeException e) {
+          buf.release();
+          mData.completeExceptionally(e);
+          return;
+        }
+        if (!mData.complete(buf)) {
+          // discarded while being fetched
+          buf.release();
+        }
+      } finally {
+        finishFetch();
+      }
+    }
+
+    private void finishFetch() {
+      mFetches.remove(this);
+      mFetched.complete(null);
+    }
+
+    private ByteBuf await() throws IOException {
+      try {
+        return mData.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while waiting for readahead");
+      } catch (ExecutionException e) {
+        throw new IOException("Failed to read ahead", e.getCause());
+      }
+    }
+
+    private void discard() {
+      if (mStarted.compareAndSet(false, true)) {
+        finishFetch();
+      }
+      if (!mData.cancel(false)) {
+        // releases the data if it has been fetched successfully
+        mData.thenAccept(ByteBuf::release);
+      }
+    }
+  }
+
+  private static final class ExecutorHolder {
+    private static final Executor EXECUTOR = createExecutor();
+
+    private static Executor createExecutor() {
+      int threads = Configuration.getInt(PropertyKey.USER_POSITION_READER_READAHEAD_THREADS);
+      ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+          60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+          ThreadFactoryUtils.build("position-reader-readahead-%d", true));
+      executor.allowCoreThreadTimeOut(true);
+      return executor;
+    }
+  }
+}
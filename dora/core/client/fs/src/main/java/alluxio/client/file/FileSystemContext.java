@@ -23,6 +23,8 @@ import alluxio.client.block.policy.BlockLocationPolicy;
 import alluxio.client.block.stream.BlockWorkerClient;
 import alluxio.client.block.stream.BlockWorkerClientPool;
 import alluxio.client.file.FileSystemContextReinitializer.ReinitBlockerResource;
+import alluxio.client.file.dora.netty.MultiplexedReadChannel;
+import alluxio.client.file.dora.netty.MultiplexedReadChannelPool;
 import alluxio.client.metrics.MetricsHeartbeatContext;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.Configuration;
@@ -31,6 +33,7 @@ import alluxio.conf.ReconfigurableRegistry;
 import alluxio.conf.path.SpecificPathConfiguration;
 import alluxio.exception.ExceptionMessage;
 import alluxio.exception.status.AlluxioStatusException;
+import alluxio.exception.status.CancelledException;
 import alluxio.exception.status.UnavailableException;
 import alluxio.grpc.GrpcServerAddress;
 import alluxio.master.MasterClientContext;
@@ -57,6 +60,7 @@ import com.google.common.base.Objects;
 import com.google.common.base.Preconditions;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -132,6 +136,10 @@ public class FileSystemContext implements Closeable {
   private final ConcurrentHashMap<SocketAddress, NettyChannelPool>
       mNettyChannelPools = new ConcurrentHashMap<>();
 
+  // The netty data server channels shared by multiplexed reads.
+  private final ConcurrentHashMap<SocketAddress, MultiplexedReadChannelPool>
+      mMultiplexedReadChannelPools = new ConcurrentHashMap<>();
+
   @GuardedBy("this")
   private boolean mMetricsEnabled;
 
@@ -461,6 +469,8 @@ public class FileSystemContext implements Closeable {
     LOG.debug("Closing context with id: {}", mId);
     mReinitializer.close();
     closeContext();
+    mMultiplexedReadChannelPools.values().forEach(MultiplexedReadChannelPool::close);
+    mMultiplexedReadChannelPools.clear();
     LOG.debug("Closed context with id: {}", mId);
   }
 
@@ -677,6 +687,48 @@ public class FileSystemContext implements Closeable {
     return mNettyChannelPools.get(address).acquire();
   }
 
+  /**
+   * Acquires a netty channel shared by concurrent reads, see
+   * {@link PropertyKey#USER_NETWORK_NETTY_READER_MULTIPLEXING_ENABLED}. The channel is not
+   * released after use, only the stream of the read on it is closed. The multiplexed channels
+   * are connected separately from the regular channel pool, so that they do not use up its
+   * capacity.
+   *
+   * @param workerNetAddress the network address of the channel
+   * @return the acquired multiplexed channel
+   */
+  public MultiplexedReadChannel acquireMultiplexedReadChannel(
+      final WorkerNetAddress workerNetAddress) throws IOException {
+    SocketAddress address = NetworkAddressUtils.getDataPortSocketAddress(workerNetAddress,
+        Configuration.global());
+    MultiplexedReadChannelPool pool = mMultiplexedReadChannelPools.computeIfAbsent(address,
+        key -> new MultiplexedReadChannelPool(() -> connectNettyChannel(address),
+            Configuration.getInt(PropertyKey.USER_NETWORK_NETTY_READER_MULTIPLEXING_CHANNELS),
+            Configuration.getInt(PropertyKey.USER_NETWORK_NETTY_READER_BUFFER_SIZE_PACKETS)));
+    return pool.acquire();
+  }
+
+  /**
+   * Connects a new netty channel which does not belong to any channel pool.
+   *
+   * @param address the address to connect to
+   * @return the connected channel
+   */
+  private static Channel connectNettyChannel(SocketAddress address) throws IOException {
+    Bootstrap bs = NettyClient.createClientBootstrap(address);
+    bs.remoteAddress(address);
+    try {
+      ChannelFuture channelFuture = bs.connect().sync();
+      if (!channelFuture.isSuccess()) {
+        throw new UnavailableException(channelFuture.cause());
+      }
+      return channelFuture.channel();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CancelledException(e);
+    }
+  }
+
   protected ConcurrentHashMap<SocketAddress, NettyChannelPool> getNettyChannelPools() {
     return mNettyChannelPools;
   }
@@ -27,6 +27,7 @@ import io.netty.buffer.Unpooled;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.Objects;
+import javax.annotation.Nullable;
 
 /**
  * Implementation of {@link FileInStream} that reads from a dora cache if possible.
@@ -38,6 +39,9 @@ public class PositionReadFileInStream extends FileInStream {
   private boolean mClosed;
   private final PositionReader mPositionReader;
   private final PrefetchCache mCache;
+  /** The asynchronous readahead, which replaces the prefetch cache when enabled. */
+  @Nullable
+  private final AsyncReadahead mReadahead;
 
   private static class PrefetchCache implements AutoCloseable {
     private final long mFileLength;
@@ -162,6 +166,9 @@ public class PositionReadFileInStream extends FileInStream {
     mLength = length;
     mCache = new PrefetchCache(
         Configuration.getInt(PropertyKey.USER_POSITION_READER_STREAMING_MULTIPLIER), mLength);
+    mReadahead = Configuration.getBoolean(
+        PropertyKey.USER_POSITION_READER_READAHEAD_ASYNC_ENABLED)
+        ? new AsyncReadahead(reader, length, Configuration.global()) : null;
   }
 
   @Override
@@ -193,6 +200,13 @@ public class PositionReadFileInStream extends FileInStream {
   @Override
   public int read(ByteBuffer byteBuffer, int off, int len) throws IOException {
     byteBuffer.position(off).limit(off + len);
+    if (mReadahead != null) {
+      int bytesRead = mReadahead.read(mPos, byteBuffer);
+      if (bytesRead > 0) {
+        mPos += bytesRead;
+      }
+      return bytesRead;
+    }
     mCache.addTrace(mPos, len);
     int totalBytesRead = 0;
     int bytesReadFromCache = mCache.fillWithCache(mPos, byteBuffer);
@@ -231,6 +245,9 @@ public class PositionReadFileInStream extends FileInStream {
       throws IOException {
     long pos = position;
     ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, offset, len);
+    if (mReadahead != null) {
+      return mReadahead.read(position, byteBuffer);
+    }
     mCache.addTrace(position, len);
     int totalBytesRead = 0;
     int bytesReadFromCache = mCache.fillWithCache(pos, byteBuffer);
@@ -278,6 +295,9 @@ public class PositionReadFileInStream extends FileInStream {
     if (pos == mPos) {
       return;
     }
+    if (mReadahead != null) {
+      mReadahead.seek(pos);
+    }
     mPos = pos;
   }
 
@@ -298,6 +318,9 @@ public class PositionReadFileInStream extends FileInStream {
       return;
     }
     mClosed = true;
+    if (mReadahead != null) {
+      mReadahead.close();
+    }
     mPositionReader.close();
     mCache.close();
   }
@@ -12,6 +12,7 @@
 package alluxio.client.file.cache;
 
 import alluxio.client.file.CacheContext;
+import alluxio.client.file.cache.admission.CacheAdmissionPolicy;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.PageNotFoundException;
@@ -130,12 +131,15 @@ public interface CacheManager extends AutoCloseable, CacheStatus {
         if (isNettyDataTransmissionEnable) {
           options.setIsAsyncWriteEnabled(false);
         }
+        CacheAdmissionPolicy admissionPolicy =
+            CacheAdmissionPolicy.create(options.getAdmissionPolicyClass(), conf);
         if (isShadowCacheEnabled) {
           return new NoExceptionCacheManager(
-              new CacheManagerWithShadowCache(LocalCacheManager.create(options, pageMetaStore),
-                  conf));
+              new CacheManagerWithShadowCache(
+                  LocalCacheManager.create(options, pageMetaStore, admissionPolicy), conf));
         }
-        return new NoExceptionCacheManager(LocalCacheManager.create(options, pageMetaStore));
+        return new NoExceptionCacheManager(
+            LocalCacheManager.create(options, pageMetaStore, admissionPolicy));
       } catch (IOException e) {
         Metrics.CREATE_ERRORS.inc();
         LOG.error("Failed to create CacheManager", e);
@@ -353,6 +357,24 @@ public interface CacheManager extends AutoCloseable, CacheStatus {
    */
   boolean append(PageId pageId, int appendAt, byte[] page, CacheContext cacheContext);
 
+  /**
+   * Appends the remaining bytes of a buffer to a page, or puts them as a new page when appendAt
+   * is 0. The buffer is only read during the call, so it may be a slice of a buffer the caller
+   * reuses or releases afterwards.
+   *
+   * @param pageId page identifier
+   * @param appendAt offset in the page to append at
+   * @param page data to append
+   * @param cacheContext cache related context
+   * @return true if append was successful
+   */
+  default boolean append(PageId pageId, int appendAt, ByteBuffer page,
+      CacheContext cacheContext) {
+    byte[] bytes = new byte[page.remaining()];
+    page.get(bytes);
+    return append(pageId, appendAt, bytes, cacheContext);
+  }
+
   /**
    * Invalidate the pages that match the given predicate.
    * @param predicate
@@ -370,6 +392,38 @@ public interface CacheManager extends AutoCloseable, CacheStatus {
    */
   void commitFile(String fileId);
 
+  /**
+   * Pins a file, so that its pages are not evicted until the file is unpinned. Pages of the file
+   * put while it is pinned are pinned as well.
+   *
+   * @param fileId the file ID
+   * @return true if the file is pinned, false if pinning is not supported by this cache
+   */
+  default boolean pinFile(String fileId) {
+    return false;
+  }
+
+  /**
+   * Unpins a file pinned by {@link #pinFile(String)}.
+   *
+   * @param fileId the file ID
+   */
+  default void unpinFile(String fileId) {}
+
+  /**
+   * Syncs the committed pages of a file to the storage device, so that they are restored after
+   * the host crashes. The pages are checked against the length of the file first.
+   *
+   * @param fileId the file ID
+   * @param fileLength the length of the file
+   * @return true if the pages are synced, false if a page of the file is missing or does not
+   *         have the length expected, or syncing is not supported by this cache
+   * @throws IOException if the pages cannot be synced
+   */
+  default boolean syncFile(String fileId, long fileLength) throws IOException {
+    return false;
+  }
+
   /**
    * Get a {@link DataFileChannel} which wraps a {@link io.netty.channel.FileRegion}.
    * @param pageId the page id
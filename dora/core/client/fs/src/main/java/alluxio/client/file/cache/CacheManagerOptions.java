@@ -11,6 +11,8 @@
 
 package alluxio.client.file.cache;
 
+import alluxio.client.file.cache.admission.AlwaysAdmitPolicy;
+import alluxio.client.file.cache.admission.CacheAdmissionPolicy;
 import alluxio.client.file.cache.evictor.CacheEvictorOptions;
 import alluxio.client.file.cache.store.PageStoreOptions;
 import alluxio.conf.AlluxioConfiguration;
@@ -22,6 +24,7 @@ import java.util.List;
  * Options for initiating local cache manager.
  */
 public class CacheManagerOptions {
+  private Class<? extends CacheAdmissionPolicy> mAdmissionPolicyClass = AlwaysAdmitPolicy.class;
   private boolean mAsyncRestoreEnabled;
   private boolean mAsyncWriteEnabled;
   private int mAsyncWriteThreads;
@@ -29,10 +32,14 @@ public class CacheManagerOptions {
   private int mMaxEvictionRetries;
   private long mPageSize;
   private List<PageStoreOptions> mPageStoreOptions;
+  private boolean mConcurrentMetaEnabled;
   private boolean mQuotaEnabled;
   private boolean mTtlEnabled;
   private long mTtlCheckIntervalSeconds;
   private long mTtlThresholdSeconds;
+  private boolean mWriteBehindEnabled;
+  private int mWriteBehindQueueSize;
+  private int mWriteBehindThreads;
 
   /**
    * @param conf
@@ -43,7 +50,9 @@ public class CacheManagerOptions {
         .setEvictorClass(conf.getClass(PropertyKey.USER_CLIENT_CACHE_EVICTOR_CLASS))
         .setIsNondeterministic(
             conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_EVICTOR_NONDETERMINISTIC_ENABLED))
-        .setLFULogBase(conf.getDouble(PropertyKey.USER_CLIENT_CACHE_EVICTOR_LFU_LOGBASE));
+        .setLFULogBase(conf.getDouble(PropertyKey.USER_CLIENT_CACHE_EVICTOR_LFU_LOGBASE))
+        .setS3FIFOSmallQueueRatio(
+            conf.getDouble(PropertyKey.USER_CLIENT_CACHE_EVICTOR_S3FIFO_SMALL_QUEUE_RATIO));
     CacheManagerOptions options = new CacheManagerOptions()
         .setAsyncRestoreEnabled(
             conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED))
@@ -53,6 +62,8 @@ public class CacheManagerOptions {
         .setMaxEvictionRetries(conf.getInt(PropertyKey.USER_CLIENT_CACHE_EVICTION_RETRIES))
         .setPageSize(conf.getBytes(PropertyKey.USER_CLIENT_CACHE_PAGE_SIZE))
         .setQuotaEnabled(conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_QUOTA_ENABLED))
+        .setConcurrentMetaEnabled(
+            conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_CONCURRENT_META_ENABLED))
         .setTtlEnabled(conf.getBoolean(PropertyKey.USER_CLIENT_CACHE_TTL_ENABLED))
         .setTtlCheckIntervalSeconds(
             conf.getLong(PropertyKey.USER_CLIENT_CACHE_TTL_CHECK_INTERVAL_SECONDS))
@@ -71,7 +82,9 @@ public class CacheManagerOptions {
         .setEvictorClass(conf.getClass(PropertyKey.WORKER_PAGE_STORE_EVICTOR_CLASS))
         .setIsNondeterministic(
             conf.getBoolean(PropertyKey.WORKER_PAGE_STORE_EVICTOR_NONDETERMINISTIC_ENABLED))
-        .setLFULogBase(conf.getDouble(PropertyKey.WORKER_PAGE_STORE_EVICTOR_LFU_LOGBASE));
+        .setLFULogBase(conf.getDouble(PropertyKey.WORKER_PAGE_STORE_EVICTOR_LFU_LOGBASE))
+        .setS3FIFOSmallQueueRatio(
+            conf.getDouble(PropertyKey.WORKER_PAGE_STORE_EVICTOR_S3FIFO_SMALL_QUEUE_RATIO));
     CacheManagerOptions options = new CacheManagerOptions()
         .setAsyncRestoreEnabled(
             conf.getBoolean(PropertyKey.WORKER_PAGE_STORE_ASYNC_RESTORE_ENABLED))
@@ -81,6 +94,15 @@ public class CacheManagerOptions {
         .setMaxEvictionRetries(conf.getInt(PropertyKey.WORKER_PAGE_STORE_EVICTION_RETRIES))
         .setPageSize(conf.getBytes(PropertyKey.WORKER_PAGE_STORE_PAGE_SIZE))
         .setQuotaEnabled(conf.getBoolean(PropertyKey.WORKER_PAGE_STORE_QUOTA_ENABLED))
+        .setConcurrentMetaEnabled(
+            conf.getBoolean(PropertyKey.WORKER_PAGE_STORE_CONCURRENT_META_ENABLED))
+        .setWriteBehindEnabled(
+            conf.getBoolean(PropertyKey.WORKER_PAGE_STORE_WRITE_BEHIND_ENABLED))
+        .setWriteBehindQueueSize(
+            conf.getInt(PropertyKey.WORKER_PAGE_STORE_WRITE_BEHIND_QUEUE_SIZE))
+        .setWriteBehindThreads(conf.getInt(PropertyKey.WORKER_PAGE_STORE_WRITE_BEHIND_THREADS))
+        .setAdmissionPolicyClass(
+            conf.getClass(PropertyKey.WORKER_PAGE_STORE_ADMISSION_POLICY_CLASS))
         .setCacheEvictorOptions(cacheEvictorOptions)
         .setPageStoreOptions(PageStoreOptions.createForWorkerPageStore(conf));
     return options;
@@ -113,6 +135,41 @@ public class CacheManagerOptions {
     return mAsyncWriteThreads;
   }
 
+  /**
+   * @return if pages read on cache misses are written to the page store in the background
+   */
+  public boolean isWriteBehindEnabled() {
+    return mWriteBehindEnabled;
+  }
+
+  /**
+   * @return max number of pages pending to be written in the background
+   */
+  public int getWriteBehindQueueSize() {
+    return mWriteBehindQueueSize;
+  }
+
+  /**
+   * @return number of threads writing pages in the background
+   */
+  public int getWriteBehindThreads() {
+    return mWriteBehindThreads;
+  }
+
+  /**
+   * @return the class of the policy deciding whether pages read on cache misses are cached
+   */
+  public Class<? extends CacheAdmissionPolicy> getAdmissionPolicyClass() {
+    return mAdmissionPolicyClass;
+  }
+
+  /**
+   * @return if page metadata is kept in a concurrent index
+   */
+  public boolean isConcurrentMetaEnabled() {
+    return mConcurrentMetaEnabled;
+  }
+
   /**
    * @return if quota is enabled
    */
@@ -224,6 +281,15 @@ public class CacheManagerOptions {
     return this;
   }
 
+  /**
+   * @param isConcurrentMetaEnabled
+   * @return the updated options
+   */
+  public CacheManagerOptions setConcurrentMetaEnabled(boolean isConcurrentMetaEnabled) {
+    mConcurrentMetaEnabled = isConcurrentMetaEnabled;
+    return this;
+  }
+
   /**
    * @param isQuotaEnabled
    * @return the updated options
@@ -269,4 +335,41 @@ public class CacheManagerOptions {
     mTtlThresholdSeconds = thresholdSeconds;
     return this;
   }
+
+  /**
+   * @param isWriteBehindEnabled
+   * @return the updated options
+   */
+  public CacheManagerOptions setWriteBehindEnabled(boolean isWriteBehindEnabled) {
+    mWriteBehindEnabled = isWriteBehindEnabled;
+    return this;
+  }
+
+  /**
+   * @param writeBehindQueueSize
+   * @return the updated options
+   */
+  public CacheManagerOptions setWriteBehindQueueSize(int writeBehindQueueSize) {
+    mWriteBehindQueueSize = writeBehindQueueSize;
+    return this;
+  }
+
+  /**
+   * @param writeBehindThreads
+   * @return the updated options
+   */
+  public CacheManagerOptions setWriteBehindThreads(int writeBehindThreads) {
+    mWriteBehindThreads = writeBehindThreads;
+    return this;
+  }
+
+  /**
+   * @param admissionPolicyClass
+   * @return the updated options
+   */
+  public CacheManagerOptions setAdmissionPolicyClass(
+      Class<? extends CacheAdmissionPolicy> admissionPolicyClass) {
+    mAdmissionPolicyClass = admissionPolicyClass;
+    return this;
+  }
 }
@@ -27,6 +27,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.hash.Funnel;
 import com.google.common.hash.PrimitiveSink;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.Optional;
 import java.util.function.Supplier;
@@ -55,6 +56,21 @@ public class CacheManagerWithShadowCache implements CacheManager {
     mCacheManager.commitFile(fileId);
   }
 
+  @Override
+  public boolean pinFile(String fileId) {
+    return mCacheManager.pinFile(fileId);
+  }
+
+  @Override
+  public void unpinFile(String fileId) {
+    mCacheManager.unpinFile(fileId);
+  }
+
+  @Override
+  public boolean syncFile(String fileId, long fileLength) throws IOException {
+    return mCacheManager.syncFile(fileId, fileLength);
+  }
+
   @Override
   public boolean put(PageId pageId, ByteBuffer page, CacheContext cacheContext) {
     updateShadowCache(pageId, page.remaining(), cacheContext);
@@ -158,6 +174,12 @@ public class CacheManagerWithShadowCache implements CacheManager {
     return mCacheManager.append(pageId, appendAt, page, cacheContext);
   }
 
+  @Override
+  public boolean append(PageId pageId, int appendAt, ByteBuffer page,
+      CacheContext cacheContext) {
+    return mCacheManager.append(pageId, appendAt, page, cacheContext);
+  }
+
   @Override
   public void close() throws Exception {
     mCacheManager.close();
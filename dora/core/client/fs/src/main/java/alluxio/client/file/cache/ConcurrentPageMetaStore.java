@@ -0,0 +1,387 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import static java.util.Objects.requireNonNull;
+
+import alluxio.client.file.cache.allocator.Allocator;
+import alluxio.client.file.cache.allocator.HashAllocator;
+import alluxio.client.file.cache.evictor.CacheEvictor;
+import alluxio.client.file.cache.store.PageStoreDir;
+import alluxio.client.quota.CacheScope;
+import alluxio.exception.FileDoesNotExistException;
+import alluxio.exception.PageNotFoundException;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+
+import com.codahale.metrics.Counter;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A metadata store for pages stored in cache which keeps its page and file indexes in concurrent
+ * maps, so that lookups are safe without external synchronization.
+ *
+ * The read side of {@link #getLock()} is a no-op, which lets cache hits proceed without
+ * contending with puts and evictions. The write side is still an exclusive lock, so callers
+ * that check available space, pick victims and add pages as one step remain serialized among
+ * themselves. Consistency of an individual page is guaranteed by the page locks held by
+ * {@link LocalCacheManager}.
+ */
+@ThreadSafe
+public class ConcurrentPageMetaStore implements PageMetaStore {
+  private static final Logger LOG = LoggerFactory.getLogger(ConcurrentPageMetaStore.class);
+  /** A map from PageId to page info. */
+  private final ConcurrentHashMap<PageId, PageInfo> mPages = new ConcurrentHashMap<>();
+  /** A map from file ID to the info of all pages of the file. */
+  private final ConcurrentHashMap<String, Set<PageInfo>> mFilePages = new ConcurrentHashMap<>();
+  private final ImmutableList<PageStoreDir> mDirs;
+  /** The number of logical bytes used. */
+  private final AtomicLong mBytes = new AtomicLong(0);
+  /** The number of logical bytes used in each dir. */
+  private final ConcurrentHashMap<PageStoreDir, AtomicLong> mDirBytes = new ConcurrentHashMap<>();
+
+  /** The ids of the files whose pages are not evicted. */
+  private final Set<String> mPinnedFiles = ConcurrentHashMap.newKeySet();
+
+  private final MetaLock mLock = new MetaLock();
+  private final Allocator mAllocator;
+
+  /**
+   * @param dirs storage directories
+   */
+  public ConcurrentPageMetaStore(List<PageStoreDir> dirs) {
+    this(dirs, new HashAllocator(dirs));
+  }
+
+  /**
+   * @param dirs storage directories
+   * @param allocator storage allocator
+   */
+  public ConcurrentPageMetaStore(List<PageStoreDir> dirs, Allocator allocator) {
+    mDirs = ImmutableList.copyOf(requireNonNull(dirs));
+    mAllocator = requireNonNull(allocator);
+    for (PageStoreDir dir : mDirs) {
+      mDirBytes.put(dir, new AtomicLong(0));
+    }
+    //metrics for the num of pages stored in the cache
+    MetricsSystem.registerGaugeIfAbsent(MetricKey.CLIENT_CACHE_PAGES.getName(),
+        mPages::size);
+  }
+
+  @Override
+  public ReadWriteLock getLock() {
+    return mLock;
+  }
+
+  @Override
+  public boolean hasPage(PageId pageId) {
+    return mPages.containsKey(pageId);
+  }
+
+  @Override
+  public void addPage(PageId pageId, PageInfo pageInfo) {
+    addPageInternal(pageId, pageInfo);
+    pageInfo.getLocalCacheDir().putPage(pageInfo);
+  }
+
+  @Override
+  public void addTempPage(PageId pageId, PageInfo pageInfo) {
+    addPageInternal(pageId, pageInfo);
+    pageInfo.getLocalCacheDir().putTempPage(pageInfo);
+  }
+
+  private void addPageInternal(PageId pageId, PageInfo pageInfo) {
+    Preconditions.checkArgument(pageId.equals(pageInfo.getPageId()), "page id mismatch");
+    PageInfo previous = mPages.put(pageId, pageInfo);
+    if (previous != null) {
+      removeFromFileIndex(previous);
+      updateBytes(previous, -previous.getPageSize());
+    }
+    mFilePages.compute(pageId.getFileId(), (fileId, pages) -> {
+      if (pages == null) {
+        pages = ConcurrentHashMap.newKeySet();
+      }
+      pages.add(pageInfo);
+      return pages;
+    });
+    updateBytes(pageInfo, pageInfo.getPageSize());
+  }
+
+  private void updateBytes(PageInfo pageInfo, long delta) {
+    mBytes.addAndGet(delta);
+    mDirBytes.computeIfAbsent(pageInfo.getLocalCacheDir(), dir -> new AtomicLong(0))
+        .addAndGet(delta);
+    Metrics.SPACE_USED.inc(delta);
+  }
+
+  private void removeFromFileIndex(PageInfo pageInfo) {
+    mFilePages.computeIfPresent(pageInfo.getPageId().getFileId(), (fileId, pages) -> {
+      pages.remove(pageInfo);
+      return pages.isEmpty() ? null : pages;
+    });
+  }
+
+  @Override
+  public void commitFile(String fileId, String newFileId) throws PageNotFoundException {
+    Set<PageInfo> pages = mFilePages.remove(fileId);
+    if (pages == null || pages.isEmpty()) {
+      throw new PageNotFoundException(
+          String.format("No Pages found for file %s when committing", fileId));
+    }
+    for (PageInfo oldPage : pages) {
+      PageId newPageId = new PageId(newFileId, oldPage.getPageId().getPageIndex());
+      PageInfo newPageInfo = new PageInfo(newPageId, oldPage.getPageSize(), oldPage.getScope(),
+          oldPage.getLocalCacheDir());
+      mPages.remove(oldPage.getPageId());
+      mPages.put(newPageId, newPageInfo);
+      mFilePages.compute(newFileId, (id, newPages) -> {
+        if (newPages == null) {
+          newPages = ConcurrentHashMap.newKeySet();
+        }
+        newPages.add(newPageInfo);
+        return newPages;
+      });
+    }
+  }
+
+  @Override
+  public PageStoreDir getStoreDirOfFile(String fileId) throws FileDoesNotExistException {
+    Set<PageInfo> pages = mFilePages.get(fileId);
+    PageInfo pageInfo = pages == null ? null : Iterables.getFirst(pages, null);
+    if (pageInfo == null) {
+      throw new FileDoesNotExistException(String.format("File %s does not exist in cache", fileId));
+    }
+    return pageInfo.getLocalCacheDir();
+  }
+
+  @Override
+  public List<PageStoreDir> getStoreDirs() {
+    return mDirs;
+  }
+
+  @Override
+  public PageStoreDir allocate(String fileId, long fileLength) {
+    return mAllocator.allocate(fileId, fileLength);
+  }
+
+  @Override
+  public PageInfo getPageInfo(PageId pageId) throws PageNotFoundException {
+    PageInfo pageInfo = mPages.get(pageId);
+    if (pageInfo == null) {
+      throw new PageNotFoundException(String.format("Page %s could not be found", pageId));
+    }
+    pageInfo.getLocalCacheDir().getEvictor().updateOnGet(pageId);
+    return pageInfo;
+  }
+
+  @Override
+  public PageInfo removePage(PageId pageId, boolean isTemporary) throws PageNotFoundException {
+    PageInfo pageInfo = mPages.remove(pageId);
+    if (pageInfo == null) {
+      throw new PageNotFoundException(String.format("Page %s could not be found", pageId));
+    }
+    removeFromFileIndex(pageInfo);
+    updateBytes(pageInfo, -pageInfo.getPageSize());
+    if (isTemporary) {
+      pageInfo.getLocalCacheDir().deleteTempPage(pageInfo);
+    } else {
+      pageInfo.getLocalCacheDir().deletePage(pageInfo);
+    }
+    return pageInfo;
+  }
+
+  @Override
+  public PageInfo removePage(PageId pageId) throws PageNotFoundException {
+    return removePage(pageId, false);
+  }
+
+  @Override
+  public long bytes() {
+    return mBytes.get();
+  }
+
+  /**
+   * @param dir a storage directory
+   * @return the number of logical bytes of the pages stored in the directory
+   */
+  public long bytes(PageStoreDir dir) {
+    AtomicLong bytes = mDirBytes.get(dir);
+    return bytes == null ? 0 : bytes.get();
+  }
+
+  @Override
+  public long numPages() {
+    return mPages.size();
+  }
+
+  @Override
+  public void reset() {
+    mBytes.set(0);
+    mDirBytes.values().forEach(bytes -> bytes.set(0));
+    Metrics.SPACE_USED.dec(Metrics.SPACE_USED.getCount());
+    mPages.clear();
+    mFilePages.clear();
+  }
+
+  @Override
+  public void pinFile(String fileId) {
+    mPinnedFiles.add(fileId);
+  }
+
+  @Override
+  public void unpinFile(String fileId) {
+    mPinnedFiles.remove(fileId);
+  }
+
+  @Override
+  @Nullable
+  public PageInfo evict(CacheScope scope, PageStoreDir pageStoreDir) {
+    CacheEvictor evictor = pageStoreDir.getEvictor();
+    PageId victim = mPinnedFiles.isEmpty() ? evictor.evict()
+        : evictor.evictMatching(pageId -> !mPinnedFiles.contains(pageId.getFileId()));
+    if (victim == null) {
+      return null;
+    }
+    PageInfo victimInfo = mPages.get(victim);
+    if (victimInfo == null) {
+      LOG.error("Invalid result returned by evictor: page {} not available", victim);
+      evictor.updateOnDelete(victim);
+      return null;
+    }
+    return victimInfo;
+  }
+
+  @Override
+  public Set<PageInfo> getAllPagesByFileId(String fileId) {
+    Set<PageInfo> pages = mFilePages.get(fileId);
+    return pages == null ? Collections.emptySet() : ImmutableSet.copyOf(pages);
+  }
+
+  @Override
+  public Optional<CacheUsage> getUsage() {
+    return Optional.of(new Usage());
+  }
+
+  class Usage implements CacheUsage {
+
+    @Override
+    public long used() {
+      return bytes();
+    }
+
+    @Override
+    public long available() {
+      return capacity() - used();
+    }
+
+    @Override
+    public long capacity() {
+      return mDirs.stream().mapToLong(PageStoreDir::getCapacityBytes).sum();
+    }
+
+    @Override
+    public Optional<CacheUsage> partitionedBy(PartitionDescriptor<?> partition) {
+      if (partition instanceof FilePartition) {
+        String fileId = ((FilePartition) partition).getIdentifier();
+        Set<PageInfo> pages = mFilePages.getOrDefault(fileId, Collections.emptySet());
+        long used = pages.stream().mapToLong(PageInfo::getPageSize).sum();
+        long capacity = capacity();
+        long available = capacity - bytes();
+        return Optional.of(new ImmutableCacheUsageView(used, available, capacity));
+      }
+      if (partition instanceof DirPartition) {
+        int dirIndex = ((DirPartition) partition).getIdentifier();
+        if (dirIndex < 0 || dirIndex >= mDirs.size()) {
+          return Optional.empty();
+        }
+        return mDirs.get(dirIndex).getUsage();
+      }
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * A read-write lock whose read side does not block. Lookups on this store do not need it, but
+   * the write side still serializes callers updating the store.
+   */
+  private static final class MetaLock implements ReadWriteLock {
+    private final Lock mReadLock = new NoopLock();
+    private final Lock mWriteLock = new ReentrantLock();
+
+    @Override
+    public Lock readLock() {
+      return mReadLock;
+    }
+
+    @Override
+    public Lock writeLock() {
+      return mWriteLock;
+    }
+  }
+
+  private static final class NoopLock implements Lock {
+    @Override
+    public void lock() {
+    }
+
+    @Override
+    public void lockInterruptibly() {
+    }
+
+    @Override
+    public boolean tryLock() {
+      return true;
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) {
+      return true;
+    }
+
+    @Override
+    public void unlock() {
+    }
+
+    @Override
+    public Condition newCondition() {
+      throw new UnsupportedOperationException("newCondition is not supported!");
+    }
+  }
+
+  private static final class Metrics {
+    // Note that only counter can be added here.
+    // Both meter and timer need to be used inline
+    // because new meter and timer will be created after {@link MetricsSystem.resetAllMetrics()}
+    /** Bytes used in the cache. */
+    private static final Counter SPACE_USED =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_SPACE_USED_COUNT.getName());
+  }
+}
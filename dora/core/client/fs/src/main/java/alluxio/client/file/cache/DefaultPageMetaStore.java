@@ -34,6 +34,7 @@ import org.slf4j.LoggerFactory;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import javax.annotation.Nullable;
@@ -54,6 +55,9 @@ public class DefaultPageMetaStore implements PageMetaStore {
   /** The number of logical bytes used. */
   private final AtomicLong mBytes = new AtomicLong(0);
 
+  /** The ids of the files whose pages are not evicted. */
+  private final Set<String> mPinnedFiles = ConcurrentHashMap.newKeySet();
+
   protected final ReentrantReadWriteLock mLock = new ReentrantReadWriteLock();
   private final Allocator mAllcator;
 
@@ -213,8 +217,19 @@ public class DefaultPageMetaStore implements PageMetaStore {
     return evictInternal(pageStoreDir.getEvictor());
   }
 
+  @Override
+  public void pinFile(String fileId) {
+    mPinnedFiles.add(fileId);
+  }
+
+  @Override
+  public void unpinFile(String fileId) {
+    mPinnedFiles.remove(fileId);
+  }
+
   PageInfo evictInternal(CacheEvictor evictor) {
-    PageId victim = evictor.evict();
+    PageId victim = mPinnedFiles.isEmpty() ? evictor.evict()
+        : evictor.evictMatching(pageId -> !mPinnedFiles.contains(pageId.getFileId()));
     if (victim == null) {
       return null;
     }
@@ -20,6 +20,9 @@ import static java.util.concurrent.Executors.newScheduledThreadPool;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 import alluxio.client.file.CacheContext;
+import alluxio.client.file.cache.admission.AdmissionDecision;
+import alluxio.client.file.cache.admission.AlwaysAdmitPolicy;
+import alluxio.client.file.cache.admission.CacheAdmissionPolicy;
 import alluxio.client.file.cache.store.PageStoreDir;
 import alluxio.client.quota.CacheQuota;
 import alluxio.client.quota.CacheScope;
@@ -30,10 +33,12 @@ import alluxio.exception.PageNotFoundException;
 import alluxio.exception.status.ResourceExhaustedException;
 import alluxio.file.ByteArrayTargetBuffer;
 import alluxio.file.ReadTargetBuffer;
+import alluxio.metrics.MetricInfo;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 import alluxio.network.protocol.databuffer.DataFileChannel;
 import alluxio.resource.LockResource;
+import alluxio.util.ThreadFactoryUtils;
 
 import com.codahale.metrics.Counter;
 import com.google.common.annotations.VisibleForTesting;
@@ -45,11 +50,16 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.SynchronousQueue;
@@ -104,6 +114,15 @@ public class LocalCacheManager implements CacheManager {
    * Executor service for execute the async cache tasks.
    */
   private final Optional<ExecutorService> mAsyncCacheExecutor;
+  /**
+   * Executor service for writing pages read on cache misses in the background.
+   */
+  private final Optional<ExecutorService> mWriteBehindExecutor;
+  /**
+   * Pages read on cache misses which are not written to the page store yet. Reads of these pages
+   * are served from memory until they are written.
+   */
+  private final ConcurrentHashMap<PageId, byte[]> mWriteBehindPages = new ConcurrentHashMap<>();
   /** Executor service for execute the cache ttl check tasks. */
   private final Optional<ScheduledExecutorService> mTtlEnforcerExecutor;
   private final ConcurrentHashSet<PageId> mPendingRequests;
@@ -112,6 +131,8 @@ public class LocalCacheManager implements CacheManager {
    */
   private final AtomicReference<CacheManager.State> mState = new AtomicReference<>();
   private final CacheManagerOptions mOptions;
+  /** Decides which of the pages offered to this cache are stored. */
+  private final CacheAdmissionPolicy mAdmissionPolicy;
 
   /**
    * @param options       the options of local cache manager
@@ -121,7 +142,20 @@ public class LocalCacheManager implements CacheManager {
   public static LocalCacheManager create(CacheManagerOptions options,
                                          PageMetaStore pageMetaStore)
       throws IOException {
-    LocalCacheManager manager = new LocalCacheManager(options, pageMetaStore);
+    return create(options, pageMetaStore, new AlwaysAdmitPolicy());
+  }
+
+  /**
+   * @param options         the options of local cache manager
+   * @param pageMetaStore   the metadata store for local cache
+   * @param admissionPolicy the policy deciding which pages are stored
+   * @return an instance of {@link LocalCacheManager}
+   */
+  public static LocalCacheManager create(CacheManagerOptions options,
+                                         PageMetaStore pageMetaStore,
+                                         CacheAdmissionPolicy admissionPolicy)
+      throws IOException {
+    LocalCacheManager manager = new LocalCacheManager(options, pageMetaStore, admissionPolicy);
     List<PageStoreDir> pageStoreDirs = pageMetaStore.getStoreDirs();
     if (manager.mInitService.isPresent()) {
       manager.mInitService.get().submit(() -> {
@@ -143,7 +177,19 @@ public class LocalCacheManager implements CacheManager {
    */
   @VisibleForTesting
   LocalCacheManager(CacheManagerOptions options, PageMetaStore pageMetaStore) {
+    this(options, pageMetaStore, new AlwaysAdmitPolicy());
+  }
+
+  /**
+   * @param options         the options of local cache manager
+   * @param pageMetaStore   the meta store manages the metadata
+   * @param admissionPolicy the policy deciding which pages are stored
+   */
+  @VisibleForTesting
+  LocalCacheManager(CacheManagerOptions options, PageMetaStore pageMetaStore,
+      CacheAdmissionPolicy admissionPolicy) {
     mPageMetaStore = pageMetaStore;
+    mAdmissionPolicy = admissionPolicy;
     mPageStoreDirs = pageMetaStore.getStoreDirs();
     mOptions = options;
     mCacheSize = mPageStoreDirs.stream().map(PageStoreDir::getCapacityBytes).reduce(0L, Long::sum);
@@ -157,6 +203,14 @@ public class LocalCacheManager implements CacheManager {
             mOptions.getAsyncWriteThreads(), 60, TimeUnit.SECONDS,
                 new SynchronousQueue<>(), new ThreadPoolExecutor.CallerRunsPolicy()))
             : Optional.empty();
+    mWriteBehindExecutor =
+        options.isWriteBehindEnabled()
+            ? Optional.of(new ThreadPoolExecutor(options.getWriteBehindThreads(),
+            options.getWriteBehindThreads(), 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(options.getWriteBehindQueueSize()),
+                ThreadFactoryUtils.build("cache-write-behind-%d", true),
+                new ThreadPoolExecutor.AbortPolicy()))
+            : Optional.empty();
     mInitService =
         options.isAsyncRestoreEnabled() ? Optional.of(Executors.newSingleThreadExecutor()) :
             Optional.empty();
@@ -175,7 +229,7 @@ public class LocalCacheManager implements CacheManager {
     } else {
       mTtlEnforcerExecutor = Optional.empty();
     }
-    Metrics.registerGauges(mCacheSize, mPageMetaStore);
+    Metrics.registerGauges(mCacheSize, mPageMetaStore, mWriteBehindPages);
     mState.set(READ_ONLY);
     Metrics.STATE.inc();
   }
@@ -279,6 +333,7 @@ public class LocalCacheManager implements CacheManager {
    */
   enum PutResult {
     BENIGN_RACING,
+    CANCELLED,
     INSUFFICIENT_SPACE_EVICTED,
     NO_SPACE_LEFT,
     OK,
@@ -319,9 +374,14 @@ public class LocalCacheManager implements CacheManager {
       Metrics.PUT_ERRORS.inc();
       return false;
     }
+    AdmissionDecision decision = admit(pageId, page.remaining(), cacheContext);
+    if (!decision.isAdmitted()) {
+      LOG.debug("put({},{} bytes) not admitted: {}", pageId, page.remaining(), decision);
+      return false;
+    }
     int originPosition = page.position();
     if (!mOptions.isAsyncWriteEnabled()) {
-      boolean ok = putInternal(pageId, page, cacheContext);
+      boolean ok = putInternal(pageId, page, cacheContext, decision);
       LOG.debug("put({},{} bytes) exits: {}", pageId, page.position() - originPosition, ok);
       if (!ok) {
         Metrics.PUT_ERRORS.inc();
@@ -335,7 +395,7 @@ public class LocalCacheManager implements CacheManager {
     try {
       mAsyncCacheExecutor.get().submit(() -> {
         try {
-          boolean ok = putInternal(pageId, page, cacheContext);
+          boolean ok = putInternal(pageId, page, cacheContext, decision);
           if (!ok) {
             Metrics.PUT_ERRORS.inc();
           }
@@ -357,14 +417,55 @@ public class LocalCacheManager implements CacheManager {
     return true;
   }
 
-  private boolean putInternal(PageId pageId, ByteBuffer page, CacheContext cacheContext) {
+  /**
+   * Asks the admission policy whether to store a page. Temporary pages are written by their
+   * creator and always admitted, as are pages whose context overrides the policy.
+   *
+   * @param pageId page identifier
+   * @param pageLength length of the page in bytes
+   * @param cacheContext cache related context
+   * @return the admission decision
+   */
+  private AdmissionDecision admit(PageId pageId, int pageLength, CacheContext cacheContext) {
+    if (cacheContext.isTemporary()) {
+      return AdmissionDecision.ADMIT;
+    }
+    AdmissionDecision decision;
+    switch (cacheContext.getAdmissionMode()) {
+      case ALWAYS:
+        decision = AdmissionDecision.ADMIT;
+        break;
+      case NEVER:
+        decision = AdmissionDecision.BYPASS;
+        break;
+      default:
+        decision = mAdmissionPolicy.admit(pageId, pageLength, cacheContext);
+    }
+    Metrics.ADMISSION_PAGES.get(decision).inc();
+    return decision;
+  }
+
+  private boolean putInternal(PageId pageId, ByteBuffer page, CacheContext cacheContext,
+      AdmissionDecision decision) {
+    return putInternal(pageId, page, cacheContext, decision, null);
+  }
+
+  /**
+   * @param writeBehindPage the page queued for write-behind, which is only put if it is still
+   *        queued when the page lock is taken, or null if the page is not written behind
+   */
+  private boolean putInternal(PageId pageId, ByteBuffer page, CacheContext cacheContext,
+      AdmissionDecision decision, @Nullable byte[] writeBehindPage) {
     PutResult result = PutResult.OK;
     boolean forcedToEvict = false;
     for (int i = 0; i <= mOptions.getMaxEvictionRetries(); i++) {
-      result = putAttempt(pageId, page, cacheContext, forcedToEvict);
+      result = putAttempt(pageId, page, cacheContext, decision, forcedToEvict, writeBehindPage);
       switch (result) {
         case OK:
           return true;
+        case CANCELLED:
+          // the page was invalidated while it was queued, which is not an error
+          return true;
         case BENIGN_RACING:
           // failed put attempt due to a benign race, try again.
         case INSUFFICIENT_SPACE_EVICTED:
@@ -412,8 +513,47 @@ public class LocalCacheManager implements CacheManager {
     }
   }
 
+  @Override
+  public boolean pinFile(String fileId) {
+    mPageMetaStore.pinFile(fileId);
+    return true;
+  }
+
+  @Override
+  public void unpinFile(String fileId) {
+    mPageMetaStore.unpinFile(fileId);
+  }
+
+  @Override
+  public boolean syncFile(String fileId, long fileLength) throws IOException {
+    long pageSize = mOptions.getPageSize();
+    long numPages = fileLength == 0 ? 0 : (fileLength - 1) / pageSize + 1;
+    Set<PageInfo> pages;
+    try (LockResource r = new LockResource(mPageMetaStore.getLock().readLock())) {
+      pages = mPageMetaStore.getAllPagesByFileId(fileId);
+    }
+    if (pages.size() != numPages) {
+      return false;
+    }
+    Set<PageStoreDir> dirs = new HashSet<>();
+    for (PageInfo page : pages) {
+      long pageIndex = page.getPageId().getPageIndex();
+      // a page torn by a crash is restored with the length which made it to the disk
+      if (pageIndex >= numPages
+          || page.getPageSize() != Math.min(pageSize, fileLength - pageIndex * pageSize)) {
+        return false;
+      }
+      dirs.add(page.getLocalCacheDir());
+    }
+    for (PageStoreDir dir : dirs) {
+      dir.getPageStore().sync(fileId);
+    }
+    return true;
+  }
+
   private PutResult putAttempt(PageId pageId, ByteBuffer page, CacheContext cacheContext,
-                               boolean forcedToEvict) {
+                               AdmissionDecision decision, boolean forcedToEvict,
+                               @Nullable byte[] writeBehindPage) {
     LOG.debug("putInternal({},{} bytes) enters", pageId, page.remaining());
     PageInfo victimPageInfo = null;
     CacheScope scopeToEvict;
@@ -421,6 +561,9 @@ public class LocalCacheManager implements CacheManager {
     PageStoreDir pageStoreDir;
     try (LockResource r = new LockResource(pageLock.writeLock())) {
       try (LockResource r2 = new LockResource(mPageMetaStore.getLock().writeLock())) {
+        if (isWriteBehindCancelled(pageId, writeBehindPage)) {
+          return PutResult.CANCELLED;
+        }
         if (mPageMetaStore.hasPage(pageId)) {
           LOG.debug("{} is already inserted before", pageId);
           // TODO(binfan): we should return more informative result in the future
@@ -431,7 +574,7 @@ public class LocalCacheManager implements CacheManager {
             cacheContext.getCacheScope(),
             cacheContext.getCacheQuota(), forcedToEvict);
         if (scopeToEvict == null) {
-          addPageToMetaStore(pageId, page, cacheContext, pageStoreDir);
+          addPageToMetaStore(pageId, page, cacheContext, pageStoreDir, decision);
         } else {
           if (mOptions.isQuotaEnabled()) {
             victimPageInfo =
@@ -477,6 +620,9 @@ public class LocalCacheManager implements CacheManager {
       // phase1: remove victim and add new page in metastore in a critical section protected by
       // metalock. Evictor will be updated inside metastore.
       try (LockResource r3 = new LockResource(mPageMetaStore.getLock().writeLock())) {
+        if (isWriteBehindCancelled(pageId, writeBehindPage)) {
+          return PutResult.CANCELLED;
+        }
         if (mPageMetaStore.hasPage(pageId)) {
           return PutResult.OK;
         }
@@ -491,7 +637,7 @@ public class LocalCacheManager implements CacheManager {
         scopeToEvict = checkScopeToEvict(page.remaining(), pageStoreDir,
             cacheContext.getCacheScope(), cacheContext.getCacheQuota(), false);
         if (scopeToEvict == null) {
-          addPageToMetaStore(pageId, page, cacheContext, pageStoreDir);
+          addPageToMetaStore(pageId, page, cacheContext, pageStoreDir, decision);
         }
       }
       // phase2: remove victim and add new page in pagestore
@@ -543,9 +689,9 @@ public class LocalCacheManager implements CacheManager {
   }
 
   private void addPageToMetaStore(PageId pageId, ByteBuffer page, CacheContext cacheContext,
-                                  PageStoreDir pageStoreDir) {
-    PageInfo pageInfo =
-        new PageInfo(pageId, page.remaining(), cacheContext.getCacheScope(), pageStoreDir);
+                                  PageStoreDir pageStoreDir, AdmissionDecision decision) {
+    PageInfo pageInfo = new PageInfo(pageId, page.remaining(), cacheContext.getCacheScope(),
+        pageStoreDir, System.currentTimeMillis(), decision);
     if (cacheContext.isTemporary()) {
       mPageMetaStore.addTempPage(pageId, pageInfo);
     } else {
@@ -622,6 +768,7 @@ public class LocalCacheManager implements CacheManager {
       MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_READ_CACHE.getName()).mark(bytesRead);
       cacheContext.incrementCounter(MetricKey.CLIENT_CACHE_BYTES_READ_CACHE.getMetricName(), BYTE,
           bytesRead);
+      Metrics.ADMISSION_PAGE_HITS.get(pageInfo.getAdmissionDecision()).inc();
       LOG.debug("get({},pageOffset={}) exits", pageId, pageOffset);
       return bytesRead;
     } finally {
@@ -634,6 +781,18 @@ public class LocalCacheManager implements CacheManager {
   @Override
   public int getAndLoad(PageId pageId, int pageOffset, int bytesToRead, ReadTargetBuffer buffer,
                         CacheContext cacheContext, Supplier<byte[]> externalDataSupplier) {
+    if (mWriteBehindExecutor.isPresent()) {
+      byte[] pendingPage = mWriteBehindPages.get(pageId);
+      if (pendingPage != null) {
+        // the page was just read from external storage and is still being written, serve it
+        // from memory instead of waiting on the page lock held by the writer
+        buffer.writeBytes(pendingPage, pageOffset, bytesToRead);
+        MetricsSystem.meter(MetricKey.CLIENT_CACHE_BYTES_READ_CACHE.getName()).mark(bytesToRead);
+        cacheContext.incrementCounter(MetricKey.CLIENT_CACHE_BYTES_READ_CACHE.getMetricName(),
+            BYTE, bytesToRead);
+        return bytesToRead;
+      }
+    }
     int bytesRead = get(pageId, pageOffset,
         bytesToRead, buffer, cacheContext);
     if (bytesRead > 0) {
@@ -659,10 +818,63 @@ public class LocalCacheManager implements CacheManager {
     cacheContext.incrementCounter(
         MetricKey.CLIENT_CACHE_PAGE_READ_EXTERNAL_TIME_NS.getMetricName(), NANO,
         timeElapse);
-    put(pageId, page, cacheContext);
+    if (mWriteBehindExecutor.isPresent()) {
+      writeBehind(pageId, page, cacheContext);
+    } else {
+      put(pageId, page, cacheContext);
+    }
     return bytesToRead;
   }
 
+  /**
+   * Queues a page read on a cache miss to be written to the page store in the background.
+   * The page is dropped if the write-behind queue is full, so that cache writes never slow down
+   * the readers.
+   *
+   * @param pageId page identifier
+   * @param page page data
+   * @param cacheContext cache related context
+   */
+  private void writeBehind(PageId pageId, byte[] page, CacheContext cacheContext) {
+    if (mState.get() != READ_WRITE) {
+      Metrics.PUT_NOT_READY_ERRORS.inc();
+      Metrics.PUT_ERRORS.inc();
+      return;
+    }
+    AdmissionDecision decision = admit(pageId, page.length, cacheContext);
+    if (!decision.isAdmitted()) {
+      return;
+    }
+    if (mWriteBehindPages.putIfAbsent(pageId, page) != null) {
+      // already queued by a concurrent reader
+      return;
+    }
+    try {
+      mWriteBehindExecutor.get().execute(() -> {
+        try {
+          // pages invalidated while they were waiting in the queue are skipped
+          if (!putInternal(pageId, ByteBuffer.wrap(page), cacheContext, decision, page)) {
+            Metrics.PUT_ERRORS.inc();
+          }
+        } finally {
+          mWriteBehindPages.remove(pageId, page);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      mWriteBehindPages.remove(pageId, page);
+      Metrics.WRITE_BEHIND_DROPPED_PAGES.inc();
+      LOG.debug("put({},{} bytes) dropped due to full write-behind queue", pageId, page.length);
+    }
+  }
+
+  /**
+   * Checks whether a page queued for write-behind has been invalidated, which is done under the
+   * write lock of the page, like the invalidation itself.
+   */
+  private boolean isWriteBehindCancelled(PageId pageId, @Nullable byte[] writeBehindPage) {
+    return writeBehindPage != null && mWriteBehindPages.get(pageId) != writeBehindPage;
+  }
+
   /**
    * delete the specified page.
    *
@@ -678,6 +890,8 @@ public class LocalCacheManager implements CacheManager {
     }
     ReadWriteLock pageLock = getPageLock(pageId);
     try (LockResource r = new LockResource(pageLock.writeLock())) {
+      // a queued write-behind of the page checks it under the page lock before writing
+      mWriteBehindPages.remove(pageId);
       PageInfo pageInfo;
       try (LockResource r1 = new LockResource(mPageMetaStore.getLock().writeLock())) {
         try {
@@ -711,22 +925,130 @@ public class LocalCacheManager implements CacheManager {
 
   @Override
   public boolean append(PageId pageId, int appendAt, byte[] page, CacheContext cacheContext) {
+    return append(pageId, appendAt, ByteBuffer.wrap(page), cacheContext);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * Unlike {@link #put}, the data is always written before this method returns, even if async
+   * write is enabled, as the caller may reuse the buffer afterwards.
+   */
+  @Override
+  public boolean append(PageId pageId, int appendAt, ByteBuffer page,
+      CacheContext cacheContext) {
     if (mState.get() != READ_WRITE) {
       Metrics.PUT_NOT_READY_ERRORS.inc();
       Metrics.PUT_ERRORS.inc();
       return false;
     }
-    if (appendAt > 0) {
-      byte[] newPage = new byte[appendAt + page.length];
-      int readBytes = get(pageId, 0, appendAt,
-          new ByteArrayTargetBuffer(newPage, 0), cacheContext);
-      boolean success = delete(pageId, cacheContext.isTemporary());
-      LOG.debug("delete pageId: " + pageId
-          + ", appendAt: " + appendAt + ", readBytes: " + readBytes + ", success: " + success);
-      System.arraycopy(page, 0, newPage, appendAt, page.length);
-      return put(pageId, newPage, cacheContext);
+    if (appendAt == 0) {
+      return putNow(pageId, page, cacheContext);
+    }
+    switch (appendInPlace(pageId, appendAt, page, cacheContext)) {
+      case OK:
+        return true;
+      case OTHER:
+        Metrics.PUT_ERRORS.inc();
+        return false;
+      default:
+        // the page has to grow beyond the free space, rewrite it so that put evicts
+        break;
+    }
+    byte[] newPage = new byte[appendAt + page.remaining()];
+    int readBytes = get(pageId, 0, appendAt,
+        new ByteArrayTargetBuffer(newPage, 0), cacheContext);
+    boolean success = delete(pageId, cacheContext.isTemporary());
+    LOG.debug("delete pageId: " + pageId
+        + ", appendAt: " + appendAt + ", readBytes: " + readBytes + ", success: " + success);
+    page.get(newPage, appendAt, newPage.length - appendAt);
+    return putNow(pageId, ByteBuffer.wrap(newPage), cacheContext);
+  }
+
+  private boolean putNow(PageId pageId, ByteBuffer page, CacheContext cacheContext) {
+    AdmissionDecision decision = admit(pageId, page.remaining(), cacheContext);
+    if (!decision.isAdmitted()) {
+      return false;
+    }
+    boolean ok = putInternal(pageId, page, cacheContext, decision);
+    if (!ok) {
+      Metrics.PUT_ERRORS.inc();
+    }
+    return ok;
+  }
+
+  /**
+   * Appends data to the end of a cached page by writing it into the page in the page store, so
+   * that a page written in many chunks is not read and rewritten for each chunk.
+   *
+   * @param pageId page identifier
+   * @param appendAt offset in the page to append at, which must be the length of the page
+   * @param data data to append
+   * @param cacheContext cache related context
+   * @return OK if appended, INSUFFICIENT_SPACE_EVICTED if the page is not appended because it
+   *         does not fit the free space of its directory or quota, BENIGN_RACING if the page
+   *         is not cached with the expected length, or OTHER if the page store fails to write it
+   */
+  private PutResult appendInPlace(PageId pageId, int appendAt, ByteBuffer data,
+      CacheContext cacheContext) {
+    boolean isTemporary = cacheContext.isTemporary();
+    int length = data.remaining();
+    ReadWriteLock pageLock = getPageLock(pageId);
+    try (LockResource r = new LockResource(pageLock.writeLock())) {
+      PageInfo pageInfo;
+      try (LockResource r2 = new LockResource(mPageMetaStore.getLock().writeLock())) {
+        try {
+          pageInfo = mPageMetaStore.getPageInfo(pageId);
+        } catch (PageNotFoundException e) {
+          return PutResult.BENIGN_RACING;
+        }
+        if (pageInfo.getPageSize() != appendAt) {
+          return PutResult.BENIGN_RACING;
+        }
+        if (checkScopeToEvict(length, pageInfo.getLocalCacheDir(), pageInfo.getScope(),
+            cacheContext.getCacheQuota(), false) != null) {
+          return PutResult.INSUFFICIENT_SPACE_EVICTED;
+        }
+        // only the metadata is replaced, to account for the bytes appended
+        try {
+          if (isTemporary) {
+            mPageMetaStore.removePage(pageId, true);
+          } else {
+            mPageMetaStore.removePage(pageId);
+          }
+        } catch (PageNotFoundException e) {
+          return PutResult.BENIGN_RACING;
+        }
+        PageInfo grownPageInfo = new PageInfo(pageId, appendAt + length, pageInfo.getScope(),
+            pageInfo.getLocalCacheDir(), pageInfo.getCreatedTimestamp(),
+            pageInfo.getAdmissionDecision());
+        if (isTemporary) {
+          mPageMetaStore.addTempPage(pageId, grownPageInfo);
+        } else {
+          mPageMetaStore.addPage(pageId, grownPageInfo);
+        }
+      }
+      try {
+        pageInfo.getLocalCacheDir().getPageStore().append(pageId, appendAt, data, isTemporary);
+        return PutResult.OK;
+      } catch (ResourceExhaustedException | IOException | PageNotFoundException e) {
+        LOG.error("Failed to append {} bytes to page {} at offset {}", length, pageId, appendAt,
+            e);
+        Metrics.PUT_STORE_WRITE_ERRORS.inc();
+        // the page may be partially written, drop it
+        try (LockResource r2 = new LockResource(mPageMetaStore.getLock().writeLock())) {
+          if (isTemporary) {
+            mPageMetaStore.removePage(pageId, true);
+          } else {
+            mPageMetaStore.removePage(pageId);
+          }
+        } catch (PageNotFoundException e2) {
+          Metrics.CLEANUP_PUT_ERRORS.inc();
+        }
+        deletePage(pageInfo, isTemporary);
+        return PutResult.OTHER;
+      }
     }
-    return put(pageId, page, cacheContext);
   }
 
   /**
@@ -830,6 +1152,7 @@ public class LocalCacheManager implements CacheManager {
 
   @Override
   public void deleteFile(String fileId) {
+    mWriteBehindPages.keySet().removeIf(pageId -> pageId.getFileId().equals(fileId));
     Set<PageInfo> pages;
     try (LockResource r = new LockResource(mPageMetaStore.getLock().readLock())) {
       pages = mPageMetaStore.getAllPagesByFileId(fileId);
@@ -869,7 +1192,9 @@ public class LocalCacheManager implements CacheManager {
     mPageMetaStore.reset();
     mInitService.ifPresent(ExecutorService::shutdownNow);
     mAsyncCacheExecutor.ifPresent(ExecutorService::shutdownNow);
+    mWriteBehindExecutor.ifPresent(ExecutorService::shutdownNow);
     mTtlEnforcerExecutor.ifPresent(ExecutorService::shutdownNow);
+    mAdmissionPolicy.close();
   }
 
   /**
@@ -1054,8 +1379,36 @@ public class LocalCacheManager implements CacheManager {
      */
     private static final Counter STATE =
         MetricsSystem.counter(MetricKey.CLIENT_CACHE_STATE.getName());
+    /**
+     * Pages dropped because the write-behind queue is full.
+     */
+    private static final Counter WRITE_BEHIND_DROPPED_PAGES =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_WRITE_BEHIND_DROPPED_PAGES.getName());
+    /**
+     * Pages offered to the cache, by admission decision.
+     */
+    private static final Map<AdmissionDecision, Counter> ADMISSION_PAGES =
+        countersByDecision(MetricKey.CLIENT_CACHE_ADMISSION_PAGES);
+    /**
+     * Cache hits on pages, by the admission decision which admitted the page.
+     */
+    private static final Map<AdmissionDecision, Counter> ADMISSION_PAGE_HITS =
+        countersByDecision(MetricKey.CLIENT_CACHE_ADMISSION_PAGE_HITS);
 
-    private static void registerGauges(long cacheSize, PageMetaStore pageMetaStore) {
+    private static Map<AdmissionDecision, Counter> countersByDecision(MetricKey key) {
+      Map<AdmissionDecision, Counter> counters = new EnumMap<>(AdmissionDecision.class);
+      for (AdmissionDecision decision : AdmissionDecision.values()) {
+        counters.put(decision, MetricsSystem.counterWithTags(key.getName(),
+            key.isClusterAggregated(), MetricInfo.TAG_ADMISSION_DECISION, decision.name()));
+      }
+      return counters;
+    }
+
+    private static void registerGauges(long cacheSize, PageMetaStore pageMetaStore,
+        Map<PageId, byte[]> writeBehindPages) {
+      MetricsSystem.registerGaugeIfAbsent(
+          MetricsSystem.getMetricName(MetricKey.CLIENT_CACHE_WRITE_BEHIND_PENDING_PAGES.getName()),
+          writeBehindPages::size);
       MetricsSystem.registerGaugeIfAbsent(
           MetricsSystem.getMetricName(MetricKey.CLIENT_CACHE_SPACE_AVAILABLE.getName()),
           () -> cacheSize - pageMetaStore.bytes());
@@ -51,6 +51,35 @@ public class NoExceptionCacheManager implements CacheManager {
     }
   }
 
+  @Override
+  public boolean pinFile(String fileId) {
+    try {
+      return mCacheManager.pinFile(fileId);
+    } catch (Exception e) {
+      LOG.error("Failed to pin file {}", fileId, e);
+      return false;
+    }
+  }
+
+  @Override
+  public void unpinFile(String fileId) {
+    try {
+      mCacheManager.unpinFile(fileId);
+    } catch (Exception e) {
+      LOG.error("Failed to unpin file {}", fileId, e);
+    }
+  }
+
+  @Override
+  public boolean syncFile(String fileId, long fileLength) {
+    try {
+      return mCacheManager.syncFile(fileId, fileLength);
+    } catch (Exception e) {
+      LOG.error("Failed to sync file {}", fileId, e);
+      return false;
+    }
+  }
+
   @Override
   public boolean put(PageId pageId, byte[] page) {
     try {
@@ -189,6 +218,12 @@ public class NoExceptionCacheManager implements CacheManager {
     return mCacheManager.append(pageId, appendAt, page, cacheContext);
   }
 
+  @Override
+  public boolean append(PageId pageId, int appendAt, ByteBuffer page,
+      CacheContext cacheContext) {
+    return mCacheManager.append(pageId, appendAt, page, cacheContext);
+  }
+
   @Override
   public void close() throws Exception {
     try {
@@ -11,6 +11,7 @@
 
 package alluxio.client.file.cache;
 
+import alluxio.client.file.cache.admission.AdmissionDecision;
 import alluxio.client.file.cache.store.PageStoreDir;
 import alluxio.client.quota.CacheScope;
 
@@ -29,6 +30,7 @@ public class PageInfo {
   private final CacheScope mCacheScope;
   private final PageStoreDir mLocalCacheDir;
   private final long mCreatedTimestamp;
+  private final AdmissionDecision mAdmissionDecision;
 
   /**
    * @param pageId page id
@@ -59,11 +61,25 @@ public class PageInfo {
    */
   public PageInfo(PageId pageId, long pageSize, CacheScope cacheScope,
       PageStoreDir pageStoreDir, long createdTimestamp) {
+    this(pageId, pageSize, cacheScope, pageStoreDir, createdTimestamp, AdmissionDecision.ADMIT);
+  }
+
+  /**
+   * @param pageId page id
+   * @param pageSize page size in bytes
+   * @param cacheScope scope of this page
+   * @param pageStoreDir directory of this page
+   * @param createdTimestamp created time
+   * @param admissionDecision the decision by which the page was admitted to the cache
+   */
+  public PageInfo(PageId pageId, long pageSize, CacheScope cacheScope,
+      PageStoreDir pageStoreDir, long createdTimestamp, AdmissionDecision admissionDecision) {
     mPageId = pageId;
     mPageSize = pageSize;
     mCacheScope = cacheScope;
     mLocalCacheDir = pageStoreDir;
     mCreatedTimestamp = createdTimestamp;
+    mAdmissionDecision = admissionDecision;
   }
 
   /**
@@ -101,6 +117,13 @@ public class PageInfo {
     return mCreatedTimestamp;
   }
 
+  /**
+   * @return the decision by which the page was admitted to the cache
+   */
+  public AdmissionDecision getAdmissionDecision() {
+    return mAdmissionDecision;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -35,6 +35,9 @@ public interface PageMetaStore extends CacheStatus {
     if (options.isQuotaEnabled()) {
       return new QuotaPageMetaStore(options.getCacheEvictorOptions(), dirs);
     }
+    if (options.isConcurrentMetaEnabled()) {
+      return new ConcurrentPageMetaStore(dirs);
+    }
     return new DefaultPageMetaStore(dirs);
   }
 
@@ -143,6 +146,22 @@ public interface PageMetaStore extends CacheStatus {
    */
   Set<PageInfo> getAllPagesByFileId(String fileId);
 
+  /**
+   * Pins a file, so that its pages are not picked for eviction until the file is unpinned. The
+   * pin applies to the file id, so pages of the file added after it is pinned are pinned as well.
+   * Pins are kept in memory and are not affected by {@link #reset()}.
+   *
+   * @param fileId the file id
+   */
+  void pinFile(String fileId);
+
+  /**
+   * Unpins a file pinned by {@link #pinFile(String)}.
+   *
+   * @param fileId the file id
+   */
+  void unpinFile(String fileId);
+
   /**
    * @param pageStoreDir
    * @return a page to evict
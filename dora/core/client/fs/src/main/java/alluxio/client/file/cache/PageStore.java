@@ -15,8 +15,10 @@ import alluxio.client.file.cache.store.LocalPageStore;
 import alluxio.client.file.cache.store.MemoryPageStore;
 import alluxio.client.file.cache.store.PageStoreOptions;
 import alluxio.client.file.cache.store.RocksPageStore;
+import alluxio.client.file.cache.store.SegmentPageStore;
 import alluxio.exception.PageNotFoundException;
 import alluxio.exception.status.ResourceExhaustedException;
+import alluxio.file.ByteArrayTargetBuffer;
 import alluxio.file.ReadTargetBuffer;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
@@ -49,6 +51,9 @@ public interface PageStore extends AutoCloseable {
       case LOCAL:
         pageStore = new LocalPageStore(options);
         break;
+      case SEGMENT:
+        pageStore = new SegmentPageStore(options);
+        break;
       case ROCKS:
         pageStore = RocksPageStore.open(options);
         break;
@@ -119,6 +124,34 @@ public interface PageStore extends AutoCloseable {
       ByteBuffer page,
       boolean isTemporary) throws ResourceExhaustedException, IOException;
 
+  /**
+   * Writes data to the end of an existing page. The default implementation reads the page and
+   * writes it again with the data appended, stores which can write into a page in place should
+   * override it.
+   *
+   * @param pageId page identifier
+   * @param pageOffset offset in the page to write the data at, which must be the length of the
+   *        page
+   * @param data data to append
+   * @param isTemporary is page data temporary
+   * @throws ResourceExhaustedException when there is not enough space found on disk
+   * @throws IOException when the store fails to write this page
+   * @throws PageNotFoundException when the page isn't found in the store
+   */
+  default void append(PageId pageId, int pageOffset, ByteBuffer data, boolean isTemporary)
+      throws ResourceExhaustedException, IOException, PageNotFoundException {
+    byte[] page = new byte[pageOffset + data.remaining()];
+    int bytesRead =
+        get(pageId, 0, pageOffset, new ByteArrayTargetBuffer(page, 0), isTemporary);
+    if (bytesRead != pageOffset) {
+      throw new IOException(String.format(
+          "Failed to append to page %s at offset %s: %s bytes in page", pageId, pageOffset,
+          bytesRead));
+    }
+    data.get(page, pageOffset, page.length - pageOffset);
+    put(pageId, ByteBuffer.wrap(page), isTemporary);
+  }
+
   /**
    * Gets a page from the store to the destination buffer.
    *
@@ -216,6 +249,16 @@ public interface PageStore extends AutoCloseable {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Syncs the committed pages of a file to the storage device, so that they are restored after
+   * the host crashes. The default implementation does nothing, for page stores whose pages do
+   * not outlive the process.
+   *
+   * @param fileId the file ID
+   * @throws IOException when the pages cannot be synced
+   */
+  default void sync(String fileId) throws IOException {}
+
   /**
    * Get a {@link DataFileChannel} which wraps a {@link io.netty.channel.FileRegion}.
    * @param pageId the page id
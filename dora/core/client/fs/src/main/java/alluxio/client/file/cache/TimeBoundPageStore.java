@@ -88,6 +88,37 @@ public class TimeBoundPageStore implements PageStore {
     }
   }
 
+  @Override
+  public void append(PageId pageId, int pageOffset, ByteBuffer data, boolean isTemporary)
+      throws ResourceExhaustedException, IOException, PageNotFoundException {
+    Callable<Void> callable = () -> {
+      mPageStore.append(pageId, pageOffset, data, isTemporary);
+      return null;
+    };
+    try {
+      mTimeLimter.callWithTimeout(callable, mTimeoutMs, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      // Task got cancelled by others, interrupt the current thread
+      // and then throw a runtime ex to make the higher level stop.
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (TimeoutException e) {
+      Metrics.STORE_PUT_TIMEOUT.inc();
+      throw new IOException(e);
+    } catch (RejectedExecutionException e) {
+      Metrics.STORE_THREADS_REJECTED.inc();
+      throw new IOException(e);
+    } catch (ExecutionException e) {
+      Throwables.propagateIfPossible(e.getCause(), ResourceExhaustedException.class,
+          IOException.class);
+      Throwables.propagateIfPossible(e.getCause(), PageNotFoundException.class);
+      throw new IOException(e);
+    } catch (Throwable t) {
+      Throwables.propagateIfPossible(t, IOException.class, PageNotFoundException.class);
+      throw new IOException(t);
+    }
+  }
+
   @Override
   public int get(PageId pageId, int pageOffset, int bytesToRead, ReadTargetBuffer target,
       boolean isTemporary) throws IOException, PageNotFoundException {
@@ -137,6 +168,11 @@ public class TimeBoundPageStore implements PageStore {
     }
   }
 
+  @Override
+  public void sync(String fileId) throws IOException {
+    mPageStore.sync(fileId);
+  }
+
   @Override
   public DataFileChannel getDataFileChannel(PageId pageId, int pageOffset, int bytesToRead,
                                             boolean isTemporary) throws PageNotFoundException {
@@ -0,0 +1,39 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.admission;
+
+/**
+ * The decision of a {@link CacheAdmissionPolicy} on a page read on a cache miss.
+ */
+public enum AdmissionDecision {
+  /** The page is cached unconditionally. */
+  ADMIT(true),
+  /** The page is cached because it was read recently before. */
+  ADMIT_FREQUENT(true),
+  /** The page is not cached because it was not read recently before. */
+  REJECT_INFREQUENT(false),
+  /** The page is not cached, the data is read through. */
+  BYPASS(false);
+
+  private final boolean mAdmitted;
+
+  AdmissionDecision(boolean admitted) {
+    mAdmitted = admitted;
+  }
+
+  /**
+   * @return whether the page is cached
+   */
+  public boolean isAdmitted() {
+    return mAdmitted;
+  }
+}
@@ -0,0 +1,38 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.admission;
+
+import alluxio.client.file.CacheContext;
+import alluxio.client.file.cache.PageId;
+import alluxio.conf.AlluxioConfiguration;
+
+/**
+ * Admission policy which caches every page.
+ */
+public class AlwaysAdmitPolicy implements CacheAdmissionPolicy {
+  /**
+   * Constructor.
+   */
+  public AlwaysAdmitPolicy() {}
+
+  /**
+   * Required constructor.
+   *
+   * @param conf the Alluxio configuration
+   */
+  public AlwaysAdmitPolicy(AlluxioConfiguration conf) {}
+
+  @Override
+  public AdmissionDecision admit(PageId pageId, int pageLength, CacheContext cacheContext) {
+    return AdmissionDecision.ADMIT;
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.admission;
+
+import alluxio.client.file.CacheContext;
+import alluxio.client.file.cache.PageId;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.util.CommonUtils;
+
+import java.io.Closeable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Interface for the policy which decides whether a page read on a cache miss is cached. The
+ * implementation of this policy must be thread-safe.
+ */
+@ThreadSafe
+public interface CacheAdmissionPolicy extends Closeable {
+
+  /**
+   * @param policyClass the class of the policy
+   * @param conf the Alluxio configuration
+   * @return a CacheAdmissionPolicy instance
+   */
+  static CacheAdmissionPolicy create(Class<? extends CacheAdmissionPolicy> policyClass,
+      AlluxioConfiguration conf) {
+    return CommonUtils.createNewClassInstance(policyClass,
+        new Class[] {AlluxioConfiguration.class}, new Object[] {conf});
+  }
+
+  /**
+   * Decides whether a page read on a cache miss is cached.
+   *
+   * @param pageId page identifier
+   * @param pageLength length of the page
+   * @param cacheContext cache related context
+   * @return the decision
+   */
+  AdmissionDecision admit(PageId pageId, int pageLength, CacheContext cacheContext);
+
+  @Override
+  default void close() {}
+}
@@ -0,0 +1,50 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.admission;
+
+import alluxio.client.file.CacheContext;
+import alluxio.client.file.cache.PageId;
+import alluxio.client.file.cache.ShadowCacheManager;
+import alluxio.conf.AlluxioConfiguration;
+
+/**
+ * Admission policy which caches a page only when it is read on a cache miss for the second time
+ * within the window of the shadow cache, so pages read once by a scan do not evict the pages
+ * read again and again. The pages read are tracked by a {@link ShadowCacheManager} configured
+ * by the shadow cache properties.
+ */
+public class FrequencyAdmissionPolicy implements CacheAdmissionPolicy {
+  private final ShadowCacheManager mShadowCacheManager;
+
+  /**
+   * Required constructor.
+   *
+   * @param conf the Alluxio configuration
+   */
+  public FrequencyAdmissionPolicy(AlluxioConfiguration conf) {
+    mShadowCacheManager = ShadowCacheManager.create(conf);
+  }
+
+  @Override
+  public AdmissionDecision admit(PageId pageId, int pageLength, CacheContext cacheContext) {
+    if (mShadowCacheManager.get(pageId, pageLength, cacheContext.getCacheScope()) > 0) {
+      return AdmissionDecision.ADMIT_FREQUENT;
+    }
+    mShadowCacheManager.put(pageId, pageLength, cacheContext.getCacheScope());
+    return AdmissionDecision.REJECT_INFREQUENT;
+  }
+
+  @Override
+  public void close() {
+    mShadowCacheManager.stopUpdate();
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.admission;
+
+import alluxio.client.file.CacheContext;
+import alluxio.client.file.cache.PageId;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+
+/**
+ * Admission policy which decides by the first of the rules set by
+ * {@link PropertyKey#WORKER_PAGE_STORE_ADMISSION_RULES} matching the page. Each rule is
+ * {@code <selector>=<action>}, where the selector is {@code path:<regex>} matching the source
+ * path of the file, {@code tag:<tag>} matching the tag of the reader, or {@code *} matching every
+ * page, and the action is one of
+ * <ul>
+ *   <li>ADMIT: cache the page</li>
+ *   <li>FREQUENCY: cache the page as {@link FrequencyAdmissionPolicy} does</li>
+ *   <li>BYPASS: read the data through without caching it</li>
+ * </ul>
+ * Pages matching no rule are cached.
+ */
+public class RuleBasedAdmissionPolicy implements CacheAdmissionPolicy {
+  private static final String PATH_PREFIX = "path:";
+  private static final String TAG_PREFIX = "tag:";
+  private static final String ANY = "*";
+
+  private final List<Rule> mRules = new ArrayList<>();
+  @Nullable
+  private final FrequencyAdmissionPolicy mFrequencyPolicy;
+
+  /**
+   * The action of a rule.
+   */
+  enum Action {
+    ADMIT,
+    FREQUENCY,
+    BYPASS
+  }
+
+  /**
+   * Required constructor.
+   *
+   * @param conf the Alluxio configuration
+   */
+  public RuleBasedAdmissionPolicy(AlluxioConfiguration conf) {
+    boolean hasFrequencyRule = false;
+    List<String> rules = conf.isSet(PropertyKey.WORKER_PAGE_STORE_ADMISSION_RULES)
+        ? conf.getList(PropertyKey.WORKER_PAGE_STORE_ADMISSION_RULES) : Collections.emptyList();
+    for (String rule : rules) {
+      int separator = rule.lastIndexOf('=');
+      Preconditions.checkArgument(separator > 0, "Invalid cache admission rule %s", rule);
+      String selector = rule.substring(0, separator).trim();
+      Action action = Action.valueOf(rule.substring(separator + 1).trim().toUpperCase());
+      Predicate<CacheContext> matcher;
+      if (selector.startsWith(PATH_PREFIX)) {
+        Pattern pattern = Pattern.compile(selector.substring(PATH_PREFIX.length()));
+        matcher = context -> context.getSourcePath() != null
+            && pattern.matcher(context.getSourcePath()).matches();
+      } else if (selector.startsWith(TAG_PREFIX)) {
+        String tag = selector.substring(TAG_PREFIX.length());
+        matcher = context -> tag.equals(context.getTag());
+      } else {
+        Preconditions.checkArgument(selector.equals(ANY),
+            "Invalid selector of cache admission rule %s", rule);
+        matcher = context -> true;
+      }
+      mRules.add(new Rule(matcher, action));
+      hasFrequencyRule |= action == Action.FREQUENCY;
+    }
+    mFrequencyPolicy = hasFrequencyRule ? new FrequencyAdmissionPolicy(conf) : null;
+  }
+
+  @Override
+  public AdmissionDecision admit(PageId pageId, int pageLength, CacheContext cacheContext) {
+    for (Rule rule : mRules) {
+      if (!rule.mMatcher.test(cacheContext)) {
+        continue;
+      }
+      switch (rule.mAction) {
+        case FREQUENCY:
+          return mFrequencyPolicy.admit(pageId, pageLength, cacheContext);
+        case BYPASS:
+          return AdmissionDecision.BYPASS;
+        case ADMIT:
+        default:
+          return AdmissionDecision.ADMIT;
+      }
+    }
+    return AdmissionDecision.ADMIT;
+  }
+
+  @Override
+  public void close() {
+    if (mFrequencyPolicy != null) {
+      mFrequencyPolicy.close();
+    }
+  }
+
+  private static final class Rule {
+    private final Predicate<CacheContext> mMatcher;
+    private final Action mAction;
+
+    private Rule(Predicate<CacheContext> matcher, Action action) {
+      mMatcher = matcher;
+      mAction = action;
+    }
+  }
+}
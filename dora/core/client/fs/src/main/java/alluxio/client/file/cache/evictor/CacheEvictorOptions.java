@@ -19,6 +19,7 @@ public class CacheEvictorOptions {
   private Class<? extends CacheEvictor> mEvictorClass = LFUCacheEvictor.class;
   private boolean mIsNondeterministic;
   private double mLFULogBase = 2.0;
+  private double mS3FIFOSmallQueueRatio = 0.1;
 
   /**
    * @return if true, the evictor picks uniformly from the worst k elements
@@ -41,6 +42,13 @@ public class CacheEvictorOptions {
     return mLFULogBase;
   }
 
+  /**
+   * @return The ratio of the pages which the S3-FIFO evictor keeps in its small queue
+   */
+  public double getS3FIFOSmallQueueRatio() {
+    return mS3FIFOSmallQueueRatio;
+  }
+
   /**
    * @param isNondeterministic
    * @return CacheEvictorOptions
@@ -67,4 +75,13 @@ public class CacheEvictorOptions {
     mLFULogBase = logBase;
     return this;
   }
+
+  /**
+   * @param ratio
+   * @return CacheEvictorOptions
+   */
+  public CacheEvictorOptions setS3FIFOSmallQueueRatio(double ratio) {
+    mS3FIFOSmallQueueRatio = ratio;
+    return this;
+  }
 }
@@ -0,0 +1,198 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.evictor;
+
+import alluxio.client.file.cache.PageId;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterables;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * S3-FIFO client-side cache eviction policy.
+ *
+ * New pages enter a small FIFO queue. A page which is hit again before it reaches the head of the
+ * small queue moves to the main queue, the others are evicted, so pages read only once by a scan
+ * leave the cache without pushing out the working set. Pages evicted from the small queue are
+ * remembered in a ghost queue, and enter the main queue directly when they are put again. The
+ * main queue is a FIFO queue where a page which was hit since it was last examined is reinserted
+ * at the tail instead of evicted.
+ *
+ * Hits only increment a counter of the page, so {@link #updateOnGet} takes no lock. Only puts,
+ * deletes and evictions, which the page meta store already serializes, take the lock of the
+ * queues.
+ */
+@ThreadSafe
+public class S3FIFOCacheEvictor implements CacheEvictor {
+  private static final int MAX_FREQUENCY = 3;
+
+  private final double mSmallQueueRatio;
+  private final ConcurrentMap<PageId, Entry> mEntries = new ConcurrentHashMap<>();
+  @GuardedBy("this")
+  private final LinkedHashSet<PageId> mSmallQueue = new LinkedHashSet<>();
+  @GuardedBy("this")
+  private final LinkedHashSet<PageId> mMainQueue = new LinkedHashSet<>();
+  @GuardedBy("this")
+  private final LinkedHashSet<PageId> mGhostQueue = new LinkedHashSet<>();
+
+  /**
+   * Required constructor.
+   *
+   * @param options
+   */
+  public S3FIFOCacheEvictor(CacheEvictorOptions options) {
+    mSmallQueueRatio = options.getS3FIFOSmallQueueRatio();
+    Preconditions.checkArgument(mSmallQueueRatio > 0 && mSmallQueueRatio < 1,
+        "small queue ratio should be between 0 and 1, exclusive: %s", mSmallQueueRatio);
+  }
+
+  @Override
+  public void updateOnGet(PageId pageId) {
+    Entry entry = mEntries.get(pageId);
+    if (entry == null) {
+      add(pageId);
+      return;
+    }
+    entry.hit();
+  }
+
+  @Override
+  public void updateOnPut(PageId pageId) {
+    updateOnGet(pageId);
+  }
+
+  private synchronized void add(PageId pageId) {
+    if (mEntries.containsKey(pageId)) {
+      return;
+    }
+    if (mGhostQueue.remove(pageId)) {
+      mEntries.put(pageId, new Entry(true));
+      mMainQueue.add(pageId);
+    } else {
+      mEntries.put(pageId, new Entry(false));
+      mSmallQueue.add(pageId);
+    }
+  }
+
+  @Override
+  public synchronized void updateOnDelete(PageId pageId) {
+    Entry entry = mEntries.remove(pageId);
+    if (entry == null) {
+      return;
+    }
+    if (entry.mInMainQueue) {
+      mMainQueue.remove(pageId);
+      return;
+    }
+    mSmallQueue.remove(pageId);
+    mGhostQueue.add(pageId);
+    // the ghost queue remembers about as many pages as the main queue holds
+    Iterator<PageId> ghosts = mGhostQueue.iterator();
+    while (mGhostQueue.size() > Math.max(1, mMainQueue.size())) {
+      ghosts.next();
+      ghosts.remove();
+    }
+  }
+
+  /**
+   * Moves pages between the queues until the head of one of them is a page to evict. The page
+   * stays at the head of its queue until it is deleted, so calling this again without deleting
+   * it returns the same page.
+   */
+  @Nullable
+  @Override
+  public synchronized PageId evict() {
+    while (!mEntries.isEmpty()) {
+      if (!mSmallQueue.isEmpty()
+          && (mSmallQueue.size() >= mSmallQueueRatio * mEntries.size() || mMainQueue.isEmpty())) {
+        PageId head = mSmallQueue.iterator().next();
+        Entry entry = mEntries.get(head);
+        if (entry.mFrequency.get() == 0) {
+          return head;
+        }
+        // hit while in the small queue, promote it
+        mSmallQueue.remove(head);
+        entry.mInMainQueue = true;
+        entry.mFrequency.set(0);
+        mMainQueue.add(head);
+      } else {
+        PageId head = mMainQueue.iterator().next();
+        Entry entry = mEntries.get(head);
+        if (entry.mFrequency.get() == 0) {
+          return head;
+        }
+        mMainQueue.remove(head);
+        entry.mFrequency.decrementAndGet();
+        mMainQueue.add(head);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Picks the first page matching the criterion which was not hit since it was put or last
+   * examined, in the order of the small queue and then the main queue. If all the matching pages
+   * were hit, picks the first matching page in that order.
+   */
+  @Nullable
+  @Override
+  public synchronized PageId evictMatching(Predicate<PageId> criterion) {
+    PageId firstMatch = null;
+    for (PageId candidate : Iterables.concat(mSmallQueue, mMainQueue)) {
+      if (!criterion.test(candidate)) {
+        continue;
+      }
+      if (mEntries.get(candidate).mFrequency.get() == 0) {
+        return candidate;
+      }
+      if (firstMatch == null) {
+        firstMatch = candidate;
+      }
+    }
+    return firstMatch;
+  }
+
+  @Override
+  public synchronized void reset() {
+    mEntries.clear();
+    mSmallQueue.clear();
+    mMainQueue.clear();
+    mGhostQueue.clear();
+  }
+
+  private static final class Entry {
+    private final AtomicInteger mFrequency = new AtomicInteger();
+    // only accessed while holding the lock of the evictor
+    private boolean mInMainQueue;
+
+    private Entry(boolean inMainQueue) {
+      mInMainQueue = inMainQueue;
+    }
+
+    private void hit() {
+      int frequency = mFrequency.get();
+      // a saturated counter is not written, so hot pages cause no cache line contention
+      while (frequency < MAX_FREQUENCY && !mFrequency.compareAndSet(frequency, frequency + 1)) {
+        frequency = mFrequency.get();
+      }
+    }
+  }
+}
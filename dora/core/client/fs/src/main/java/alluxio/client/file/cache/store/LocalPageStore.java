@@ -30,12 +30,15 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -50,6 +53,12 @@ public class LocalPageStore implements PageStore {
   private final long mPageSize;
   private final long mCapacity;
   private final int mFileBuckets;
+  /** Open files of committed pages, or null if page files are opened on every read. */
+  @Nullable
+  private final PageFileChannelCache mOpenFiles;
+  /** Mapped hot committed pages, or null if pages are not mapped. */
+  @Nullable
+  private final MappedPageCache mMappedPages;
 
   /**
    * Creates a new instance of {@link LocalPageStore}.
@@ -61,6 +70,10 @@ public class LocalPageStore implements PageStore {
     mPageSize = options.getPageSize();
     mCapacity = (long) (options.getCacheSize() / (1 + options.getOverheadRatio()));
     mFileBuckets = options.getFileBuckets();
+    mOpenFiles = options.getOpenFileCacheSize() > 0
+        ? new PageFileChannelCache(options.getOpenFileCacheSize()) : null;
+    mMappedPages = options.getMmapSize() > 0
+        ? new MappedPageCache(options.getMmapSize(), options.getPageSize()) : null;
   }
 
   @Override
@@ -68,6 +81,7 @@ public class LocalPageStore implements PageStore {
       ByteBuffer page,
       boolean isTemporary) throws ResourceExhaustedException, IOException {
     Path pagePath = getPagePath(pageId, isTemporary);
+    invalidateCachedFile(pageId, isTemporary);
     try {
       LOG.debug("Put page: " + pageId + ", page's position: " + page.position()
           + ", page's limit: " + page.limit() + ", page's capacity: " + page.capacity());
@@ -91,11 +105,47 @@ public class LocalPageStore implements PageStore {
     }
   }
 
+  @Override
+  public void append(PageId pageId, int pageOffset, ByteBuffer data, boolean isTemporary)
+      throws ResourceExhaustedException, IOException, PageNotFoundException {
+    Path pagePath = getPagePath(pageId, isTemporary);
+    invalidateCachedFile(pageId, isTemporary);
+    try (FileChannel channel = FileChannel.open(pagePath, StandardOpenOption.WRITE)) {
+      if (channel.size() != pageOffset) {
+        throw new IOException(String.format(
+            "Failed to append to page %s (%s) at offset %s: page has %s bytes", pageId,
+            pagePath, pageOffset, channel.size()));
+      }
+      long position = pageOffset;
+      while (data.hasRemaining()) {
+        position += channel.write(data, position);
+      }
+    } catch (NoSuchFileException e) {
+      throw new PageNotFoundException(pagePath.toString());
+    } catch (IOException e) {
+      if (e.getMessage() != null && e.getMessage().contains(ERROR_NO_SPACE_LEFT)) {
+        throw new ResourceExhaustedException(
+            String.format("%s is full, configured with %d bytes", mRoot, mCapacity), e);
+      }
+      throw e;
+    }
+  }
+
   @Override
   public int get(PageId pageId, int pageOffset, int bytesToRead, ReadTargetBuffer target,
       boolean isTemporary) throws IOException, PageNotFoundException {
     Preconditions.checkArgument(pageOffset >= 0, "page offset should be non-negative");
     Path pagePath = getPagePath(pageId, isTemporary);
+    if (mMappedPages != null && !isTemporary) {
+      try (MappedPageCache.MappedPage page = mMappedPages.acquire(pageId, pagePath)) {
+        if (page != null) {
+          return page.read(pageOffset, bytesToRead, target);
+        }
+      }
+    }
+    if (mOpenFiles != null && !isTemporary) {
+      return getFromOpenFile(pageId, pagePath, pageOffset, bytesToRead, target);
+    }
     try (RandomAccessFile localFile = new RandomAccessFile(pagePath.toString(), "r")) {
       int bytesSkipped = localFile.skipBytes(pageOffset);
       if (pageOffset != bytesSkipped) {
@@ -122,6 +172,34 @@ public class LocalPageStore implements PageStore {
     }
   }
 
+  private int getFromOpenFile(PageId pageId, Path pagePath, int pageOffset, int bytesToRead,
+      ReadTargetBuffer target) throws IOException, PageNotFoundException {
+    try (PageFileChannelCache.OpenFile file = mOpenFiles.acquire(pageId, pagePath)) {
+      FileChannel channel = file.getChannel();
+      long pageLength = channel.size();
+      Preconditions.checkArgument(pageOffset <= pageLength,
+          "page offset %s exceeded page size %s", pageOffset, pageLength);
+      int bytesLeft = (int) Math.min(target.remaining(),
+          Math.min(bytesToRead, pageLength - pageOffset));
+      return PageFileChannels.readInto(channel, pageOffset, bytesLeft, target);
+    } catch (NoSuchFileException e) {
+      throw new PageNotFoundException(pagePath.toString());
+    }
+  }
+
+  private void invalidateCachedFile(PageId pageId, boolean isTemporary) {
+    // only committed pages are read through open files or mappings
+    if (isTemporary) {
+      return;
+    }
+    if (mOpenFiles != null) {
+      mOpenFiles.invalidate(pageId);
+    }
+    if (mMappedPages != null) {
+      mMappedPages.invalidate(pageId);
+    }
+  }
+
   /**
    *
    * @param pageId page identifier
@@ -131,6 +209,8 @@ public class LocalPageStore implements PageStore {
    */
   public void delete(PageId pageId, boolean isTemporary) throws IOException, PageNotFoundException {
     Path pagePath = getPagePath(pageId, isTemporary);
+    // an open file or mapping would keep serving the page after it is deleted
+    invalidateCachedFile(pageId, isTemporary);
     if (!Files.exists(pagePath)) {
       throw new PageNotFoundException(pagePath.toString());
     }
@@ -177,6 +257,35 @@ public class LocalPageStore implements PageStore {
     FileUtils.deleteDirectory(getTempFilePath(fileId).toFile());
   }
 
+  /**
+   * Syncs every page file of a file, then the directories up to the one of the page size, as
+   * a committed file directory is moved into a bucket directory which may be new.
+   */
+  @Override
+  public void sync(String fileId) throws IOException {
+    Path filePath = getFilePath(fileId);
+    try (DirectoryStream<Path> pages = Files.newDirectoryStream(filePath)) {
+      for (Path page : pages) {
+        try (FileChannel channel = FileChannel.open(page, StandardOpenOption.WRITE)) {
+          channel.force(true);
+        }
+      }
+    }
+    Path bucketPath = Preconditions.checkNotNull(filePath.getParent(),
+        "%s does not have a parent path", filePath);
+    syncDirectory(filePath);
+    syncDirectory(bucketPath);
+    syncDirectory(Preconditions.checkNotNull(bucketPath.getParent(),
+        "%s does not have a parent path", bucketPath));
+  }
+
+  private static void syncDirectory(Path dir) throws IOException {
+    // directories can only be opened for reading
+    try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+      channel.force(true);
+    }
+  }
+
   private Path getTempFilePath(String fileId) {
     return Paths.get(mRoot.toString(), Long.toString(mPageSize), TEMP_DIR, fileId);
   }
@@ -206,6 +315,9 @@ public class LocalPageStore implements PageStore {
     Preconditions.checkArgument(pageOffset >= 0,
         "page offset should be non-negative");
     Path pagePath = getPagePath(pageId, isTemporary);
+    if (mOpenFiles != null && !isTemporary) {
+      return getDataFileChannelFromOpenFile(pageId, pagePath, pageOffset, bytesToRead);
+    }
     File pageFile = pagePath.toFile();
     if (!pageFile.exists()) {
       throw new PageNotFoundException(pagePath.toString());
@@ -220,8 +332,34 @@ public class LocalPageStore implements PageStore {
     return dataFileChannel;
   }
 
+  private DataFileChannel getDataFileChannelFromOpenFile(PageId pageId, Path pagePath,
+      int pageOffset, int bytesToRead) throws PageNotFoundException {
+    PageFileChannelCache.OpenFile file;
+    try {
+      file = mOpenFiles.acquire(pageId, pagePath);
+    } catch (IOException e) {
+      throw new PageNotFoundException(pagePath.toString(), e);
+    }
+    try {
+      long fileLength = file.getChannel().size();
+      if (pageOffset + bytesToRead > fileLength) {
+        bytesToRead = (int) (fileLength - (long) pageOffset);
+      }
+      // the open file is released once the data has been sent
+      return new DataFileChannel(file.getChannel(), pageOffset, bytesToRead, file::close);
+    } catch (IOException e) {
+      file.close();
+      throw new PageNotFoundException(pagePath.toString(), e);
+    }
+  }
+
   @Override
   public void close() {
-    // no-op
+    if (mOpenFiles != null) {
+      mOpenFiles.close();
+    }
+    if (mMappedPages != null) {
+      mMappedPages.close();
+    }
   }
 }
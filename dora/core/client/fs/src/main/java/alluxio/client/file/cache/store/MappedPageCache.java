@@ -0,0 +1,238 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.store;
+
+import alluxio.client.file.cache.PageId;
+import alluxio.file.ByteArrayTargetBuffer;
+import alluxio.file.ReadTargetBuffer;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.util.io.BufferUtils;
+
+import com.codahale.metrics.Counter;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.Weigher;
+import io.netty.buffer.Unpooled;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A cache of memory-mapped hot page files, which serves reads of those pages without a system
+ * call per read. A page is mapped on its second read since it was last dropped from the cache,
+ * and the total size of the mapped pages is bounded.
+ *
+ * Mapped pages are reference counted like the files of {@link PageFileChannelCache}, and are
+ * unmapped once they are evicted or invalidated and no longer read. The owner of the cache must
+ * {@link #invalidate} a page before deleting or rewriting its file, as truncating a mapped file
+ * makes reads of the mapping fail.
+ */
+@ThreadSafe
+public class MappedPageCache implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(MappedPageCache.class);
+  /** The minimum number of pages read once, which are remembered to be mapped when read again. */
+  private static final int MIN_CANDIDATES = 1024;
+
+  private final Cache<PageId, MappedPage> mPages;
+  /** Pages read once since they were last dropped from the cache. */
+  private final Cache<PageId, Boolean> mCandidates;
+
+  /**
+   * @param maxMappedBytes the maximum number of bytes mapped when not read
+   * @param pageSize the size of a page
+   */
+  public MappedPageCache(long maxMappedBytes, long pageSize) {
+    Preconditions.checkArgument(maxMappedBytes > 0,
+        "max mapped bytes should be positive but is %s", maxMappedBytes);
+    mPages = CacheBuilder.newBuilder()
+        // a single segment so that the whole budget is available to any page
+        .concurrencyLevel(1)
+        .maximumWeight(maxMappedBytes)
+        .weigher((Weigher<PageId, MappedPage>) (pageId, page) -> page.mLength)
+        .removalListener((RemovalListener<PageId, MappedPage>) n -> n.getValue().release())
+        .build();
+    mCandidates = CacheBuilder.newBuilder()
+        .maximumSize(Math.max(MIN_CANDIDATES, 2 * maxMappedBytes / Math.max(1, pageSize)))
+        .build();
+  }
+
+  /**
+   * Gets the mapped page, mapping the page file if the page is hot.
+   *
+   * @param pageId the page id
+   * @param path the path of the page file
+   * @return the mapped page, which must be closed by the caller when done reading, or null if
+   *         the page is not mapped
+   */
+  @Nullable
+  public MappedPage acquire(PageId pageId, Path path) {
+    while (true) {
+      MappedPage page = mPages.getIfPresent(pageId);
+      if (page == null) {
+        if (mCandidates.asMap().putIfAbsent(pageId, Boolean.TRUE) == null) {
+          // first read of the page
+          return null;
+        }
+        MappedPage mapped = map(path);
+        if (mapped == null) {
+          return null;
+        }
+        page = mPages.asMap().putIfAbsent(pageId, mapped);
+        if (page == null) {
+          mCandidates.invalidate(pageId);
+          page = mapped;
+        } else {
+          // lost the race to another reader of the same page
+          mapped.release();
+        }
+      } else {
+        Metrics.HITS.inc();
+      }
+      if (page.retain()) {
+        return page;
+      }
+      // the page was unmapped after being evicted, drop it if still mapped and try again
+      mPages.asMap().remove(pageId, page);
+    }
+  }
+
+  @Nullable
+  private static MappedPage map(Path path) {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long length = channel.size();
+      if (length == 0 || length > Integer.MAX_VALUE) {
+        return null;
+      }
+      return new MappedPage(channel.map(FileChannel.MapMode.READ_ONLY, 0, length));
+    } catch (IOException e) {
+      // the page is read from its file instead, which reports the error if it persists
+      LOG.debug("Failed to map page file {}", path, e);
+      return null;
+    }
+  }
+
+  /**
+   * Unmaps a page once all its current readers are done, and forgets that it has been read.
+   *
+   * @param pageId the page id
+   */
+  public void invalidate(PageId pageId) {
+    mPages.invalidate(pageId);
+    mCandidates.invalidate(pageId);
+  }
+
+  /**
+   * @return the number of mapped pages
+   */
+  @VisibleForTesting
+  public long size() {
+    mPages.cleanUp();
+    return mPages.size();
+  }
+
+  @Override
+  public void close() {
+    mPages.invalidateAll();
+    mPages.cleanUp();
+    mCandidates.invalidateAll();
+  }
+
+  /**
+   * A reference counted mapped page. Closing it releases the reference of the caller.
+   */
+  public static final class MappedPage implements Closeable {
+    private final MappedByteBuffer mBuffer;
+    private final int mLength;
+    /** Starts with the reference held by the cache. */
+    private final AtomicInteger mRefCount = new AtomicInteger(1);
+
+    private MappedPage(MappedByteBuffer buffer) {
+      mBuffer = buffer;
+      mLength = buffer.capacity();
+      Metrics.MAPPED_BYTES.inc(mLength);
+    }
+
+    /**
+     * Reads the page into a target buffer.
+     *
+     * @param pageOffset the offset into the page
+     * @param bytesToRead the number of bytes to read
+     * @param target the buffer to read into
+     * @return the number of bytes read
+     */
+    public int read(int pageOffset, int bytesToRead, ReadTargetBuffer target) {
+      Preconditions.checkArgument(pageOffset <= mLength,
+          "page offset %s exceeded page size %s", pageOffset, mLength);
+      int bytesRead = (int) Math.min(target.remaining(),
+          Math.min(bytesToRead, mLength - pageOffset));
+      ByteBuffer data = mBuffer.duplicate();
+      data.position(pageOffset);
+      data.limit(pageOffset + bytesRead);
+      if (target instanceof ByteArrayTargetBuffer) {
+        data.get(target.byteArray(), target.offset(), bytesRead);
+        target.offset(target.offset() + bytesRead);
+      } else {
+        target.writeBytes(Unpooled.wrappedBuffer(data));
+      }
+      return bytesRead;
+    }
+
+    private boolean retain() {
+      while (true) {
+        int refCount = mRefCount.get();
+        if (refCount <= 0) {
+          return false;
+        }
+        if (mRefCount.compareAndSet(refCount, refCount + 1)) {
+          return true;
+        }
+      }
+    }
+
+    private void release() {
+      int refCount = mRefCount.decrementAndGet();
+      Preconditions.checkState(refCount >= 0, "mapped page released more times than retained");
+      if (refCount == 0) {
+        Metrics.MAPPED_BYTES.dec(mLength);
+        BufferUtils.cleanDirectBuffer(mBuffer);
+      }
+    }
+
+    @Override
+    public void close() {
+      release();
+    }
+  }
+
+  private static final class Metrics {
+    /** Bytes of page files mapped. */
+    private static final Counter MAPPED_BYTES =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_MAPPED_BYTES.getName());
+    /** Number of reads served from a mapped page. */
+    private static final Counter HITS =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_MAPPED_PAGE_HITS.getName());
+  }
+}
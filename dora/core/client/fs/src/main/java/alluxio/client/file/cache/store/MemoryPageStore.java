@@ -57,6 +57,25 @@ public class MemoryPageStore implements PageStore {
     }
   }
 
+  @Override
+  public void append(PageId pageId, int pageOffset, ByteBuffer data, boolean isTemporary)
+      throws IOException, PageNotFoundException {
+    MemPage page = mPageStoreMap.get(getKeyFromPageId(pageId));
+    if (page == null) {
+      throw new PageNotFoundException(pageId.getFileId() + "_" + pageId.getPageIndex());
+    }
+    // pages are allocated with the full page size, so appending writes into the free tail
+    if (pageOffset != page.getPageLength()
+        || pageOffset + data.remaining() > page.getPage().length) {
+      throw new IOException(String.format(
+          "Failed to append %s bytes to page %s of %s bytes at offset %s", data.remaining(),
+          pageId, page.getPageLength(), pageOffset));
+    }
+    int length = data.remaining();
+    data.get(page.getPage(), pageOffset, length);
+    page.setPageLength(pageOffset + length);
+  }
+
   @Override
   public int get(PageId pageId, int pageOffset, int bytesToRead, ReadTargetBuffer target,
       boolean isTemporary) throws IOException, PageNotFoundException {
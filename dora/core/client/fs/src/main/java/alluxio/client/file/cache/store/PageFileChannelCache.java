@@ -0,0 +1,187 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.store;
+
+import alluxio.client.file.cache.PageId;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+
+import com.codahale.metrics.Counter;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A bounded cache of open page files, which saves opening and closing the file of a hot page on
+ * every read.
+ *
+ * Open files are reference counted. The cache holds one reference to each file it contains and
+ * every {@link #acquire} returns another one, which the caller must give back by closing the
+ * returned {@link OpenFile}. A file which is evicted or invalidated is only closed once its last
+ * reader is done with it.
+ *
+ * Since an open file keeps serving the data of a page file after it is deleted or overwritten,
+ * the owner of the cache must {@link #invalidate} a page before deleting or rewriting its file.
+ * The cache relies on its caller to not read a page concurrently with such changes, which
+ * {@link alluxio.client.file.cache.LocalCacheManager} ensures with its page locks.
+ */
+@ThreadSafe
+public class PageFileChannelCache implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(PageFileChannelCache.class);
+
+  private final Cache<PageId, OpenFile> mCache;
+
+  /**
+   * @param maxOpenFiles the maximum number of files the cache keeps open when they are not read
+   */
+  public PageFileChannelCache(int maxOpenFiles) {
+    Preconditions.checkArgument(maxOpenFiles > 0,
+        "max open files should be positive but is %s", maxOpenFiles);
+    mCache = CacheBuilder.newBuilder()
+        .maximumSize(maxOpenFiles)
+        .removalListener((RemovalListener<PageId, OpenFile>) n -> n.getValue().release())
+        .build();
+  }
+
+  /**
+   * Gets the open file of a page, opening it if it is not in the cache.
+   *
+   * @param pageId the page id
+   * @param path the path of the page file
+   * @return the open file, which must be closed by the caller when done reading
+   * @throws java.nio.file.NoSuchFileException if the page file does not exist
+   * @throws IOException if the page file cannot be opened
+   */
+  public OpenFile acquire(PageId pageId, Path path) throws IOException {
+    while (true) {
+      OpenFile file = mCache.getIfPresent(pageId);
+      if (file == null) {
+        OpenFile opened = new OpenFile(FileChannel.open(path, StandardOpenOption.READ));
+        file = mCache.asMap().putIfAbsent(pageId, opened);
+        if (file == null) {
+          Metrics.MISSES.inc();
+          file = opened;
+        } else {
+          // lost the race to another reader of the same page
+          opened.release();
+        }
+      } else {
+        Metrics.HITS.inc();
+      }
+      if (file.retain()) {
+        return file;
+      }
+      // the file was closed after being evicted, drop it if still mapped and try again
+      mCache.asMap().remove(pageId, file);
+    }
+  }
+
+  /**
+   * Drops the open file of a page from the cache. The file is closed once all its current
+   * readers are done.
+   *
+   * @param pageId the page id
+   */
+  public void invalidate(PageId pageId) {
+    mCache.invalidate(pageId);
+  }
+
+  /**
+   * @return the number of files in the cache
+   */
+  @VisibleForTesting
+  public long size() {
+    mCache.cleanUp();
+    return mCache.size();
+  }
+
+  @Override
+  public void close() {
+    mCache.invalidateAll();
+    mCache.cleanUp();
+  }
+
+  /**
+   * A reference counted open page file. Closing it releases the reference of the caller.
+   */
+  public static final class OpenFile implements Closeable {
+    private final FileChannel mChannel;
+    /** Starts with the reference held by the cache. */
+    private final AtomicInteger mRefCount = new AtomicInteger(1);
+
+    private OpenFile(FileChannel channel) {
+      mChannel = channel;
+      Metrics.OPEN_FILES.inc();
+    }
+
+    /**
+     * @return the channel of the page file, which must only be used with positional reads
+     */
+    public FileChannel getChannel() {
+      return mChannel;
+    }
+
+    private boolean retain() {
+      while (true) {
+        int refCount = mRefCount.get();
+        if (refCount <= 0) {
+          return false;
+        }
+        if (mRefCount.compareAndSet(refCount, refCount + 1)) {
+          return true;
+        }
+      }
+    }
+
+    private void release() {
+      int refCount = mRefCount.decrementAndGet();
+      Preconditions.checkState(refCount >= 0, "open file released more times than retained");
+      if (refCount == 0) {
+        Metrics.OPEN_FILES.dec();
+        try {
+          mChannel.close();
+        } catch (IOException e) {
+          LOG.warn("Failed to close page file", e);
+        }
+      }
+    }
+
+    @Override
+    public void close() {
+      release();
+    }
+  }
+
+  private static final class Metrics {
+    /** Number of page files held open. */
+    private static final Counter OPEN_FILES =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_OPEN_FILES.getName());
+    /** Number of reads of a page whose file is already open. */
+    private static final Counter HITS =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_OPEN_FILE_CACHE_HITS.getName());
+    /** Number of reads of a page whose file has to be opened. */
+    private static final Counter MISSES =
+        MetricsSystem.counter(MetricKey.CLIENT_CACHE_OPEN_FILE_CACHE_MISSES.getName());
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.store;
+
+import alluxio.file.ByteArrayTargetBuffer;
+import alluxio.file.ReadTargetBuffer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Positional reads from the file channels of page stores. None of these methods change the
+ * position of the channel, so a channel can be shared by concurrent readers.
+ */
+final class PageFileChannels {
+
+  /**
+   * Reads data from a channel into a target buffer.
+   *
+   * @param channel the channel to read from
+   * @param position the position in the channel to read from
+   * @param length the number of bytes to read
+   * @param target the buffer to read into
+   * @return the number of bytes read, which is less than length only at the end of the channel
+   */
+  static int readInto(FileChannel channel, long position, int length,
+      ReadTargetBuffer target) throws IOException {
+    if (target instanceof ByteArrayTargetBuffer) {
+      // the channel of a byte array target does not advance its offset
+      ByteBuffer buffer = ByteBuffer.wrap(target.byteArray(), target.offset(), length);
+      int bytesRead = readFully(channel, buffer, position);
+      target.offset(target.offset() + bytesRead);
+      return bytesRead;
+    }
+    int bytesRead = 0;
+    while (bytesRead < length) {
+      long bytes = channel.transferTo(position + bytesRead, length - bytesRead,
+          target.byteChannel());
+      if (bytes <= 0) {
+        break;
+      }
+      bytesRead += bytes;
+    }
+    return bytesRead;
+  }
+
+  /**
+   * Fills a buffer from a channel.
+   *
+   * @param channel the channel to read from
+   * @param buffer the buffer to fill
+   * @param position the position in the channel to read from
+   * @return the number of bytes read, which is less than the remaining of the buffer only at the
+   *         end of the channel
+   */
+  static int readFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    int bytesRead = 0;
+    while (buffer.hasRemaining()) {
+      int bytes = channel.read(buffer, position + bytesRead);
+      if (bytes < 0) {
+        break;
+      }
+      bytesRead += bytes;
+    }
+    return bytesRead;
+  }
+
+  private PageFileChannels() {} // prevent instantiation
+}
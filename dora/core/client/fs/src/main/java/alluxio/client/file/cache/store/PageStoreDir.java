@@ -67,6 +67,12 @@ public interface PageStoreDir extends CacheStatus {
             PageStore.create(pageStoreOptions),
             CacheEvictor.create(cacheEvictorOptions)
         );
+      case SEGMENT:
+        return new SegmentPageStoreDir(
+            pageStoreOptions,
+            PageStore.create(pageStoreOptions),
+            CacheEvictor.create(cacheEvictorOptions)
+        );
       case ROCKS:
         return new RocksPageStoreDir(
             pageStoreOptions,
@@ -11,6 +11,7 @@
 
 package alluxio.client.file.cache.store;
 
+import alluxio.Constants;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
 import alluxio.util.FormatUtils;
@@ -39,6 +40,10 @@ public class PageStoreOptions {
     List<PageStoreOptions> optionsList = createPageStoreOptions(dirs, cacheSizes, storeType);
     optionsList.forEach(options -> {
       options.setFileBuckets(conf.getInt(PropertyKey.USER_CLIENT_CACHE_LOCAL_STORE_FILE_BUCKETS))
+          .setOpenFileCacheSize(
+              conf.getInt(PropertyKey.USER_CLIENT_CACHE_LOCAL_STORE_OPEN_FILE_CACHE_SIZE))
+          .setMmapSize(conf.getBytes(PropertyKey.USER_CLIENT_CACHE_LOCAL_STORE_MMAP_SIZE))
+          .setSegmentSize(conf.getBytes(PropertyKey.USER_CLIENT_CACHE_SEGMENT_STORE_SEGMENT_SIZE))
           .setPageSize(conf.getBytes(PropertyKey.USER_CLIENT_CACHE_PAGE_SIZE))
           .setAlluxioVersion(conf.getString(PropertyKey.VERSION))
           .setTimeoutDuration(conf.getMs(PropertyKey.USER_CLIENT_CACHE_TIMEOUT_DURATION))
@@ -62,6 +67,11 @@ public class PageStoreOptions {
     List<PageStoreOptions> optionsList = createPageStoreOptions(dirs, cacheSizes, storeType);
     optionsList.forEach(options -> {
       options.setFileBuckets(conf.getInt(PropertyKey.WORKER_PAGE_STORE_LOCAL_STORE_FILE_BUCKETS))
+          .setOpenFileCacheSize(
+              conf.getInt(PropertyKey.WORKER_PAGE_STORE_LOCAL_STORE_OPEN_FILE_CACHE_SIZE))
+          .setMmapSize(conf.getBytes(PropertyKey.WORKER_PAGE_STORE_LOCAL_STORE_MMAP_SIZE))
+          .setSegmentSize(
+              conf.getBytes(PropertyKey.WORKER_PAGE_STORE_SEGMENT_STORE_SEGMENT_SIZE))
           .setPageSize(conf.getBytes(PropertyKey.WORKER_PAGE_STORE_PAGE_SIZE))
           .setAlluxioVersion(conf.getString(PropertyKey.VERSION))
           .setTimeoutDuration(conf.getMs(PropertyKey.WORKER_PAGE_STORE_TIMEOUT_DURATION))
@@ -95,6 +105,18 @@ public class PageStoreOptions {
 
   private PageStoreType mStoreType = PageStoreType.LOCAL;
   private int mFileBuckets = 1000;
+  /**
+   * Maximum number of page files a local page store keeps open, 0 to disable.
+   */
+  private int mOpenFileCacheSize = 0;
+  /**
+   * Maximum number of bytes of hot pages a local page store memory-maps, 0 to disable.
+   */
+  private long mMmapSize = 0;
+  /**
+   * Size of each segment file of a segment page store.
+   */
+  private long mSegmentSize = 256L * Constants.MB;
   /**
    * Root directory where the data is stored.
    */
@@ -288,6 +310,54 @@ public class PageStoreOptions {
     return mFileBuckets;
   }
 
+  /**
+   * @param openFileCacheSize the maximum number of page files a local page store keeps open
+   * @return the updated options
+   */
+  public PageStoreOptions setOpenFileCacheSize(int openFileCacheSize) {
+    mOpenFileCacheSize = openFileCacheSize;
+    return this;
+  }
+
+  /**
+   * @return the maximum number of page files a local page store keeps open
+   */
+  public int getOpenFileCacheSize() {
+    return mOpenFileCacheSize;
+  }
+
+  /**
+   * @param mmapSize the maximum number of bytes of hot pages a local page store memory-maps
+   * @return the updated options
+   */
+  public PageStoreOptions setMmapSize(long mmapSize) {
+    mMmapSize = mmapSize;
+    return this;
+  }
+
+  /**
+   * @return the maximum number of bytes of hot pages a local page store memory-maps
+   */
+  public long getMmapSize() {
+    return mMmapSize;
+  }
+
+  /**
+   * @param segmentSize the size of each segment file of a segment page store
+   * @return the updated options
+   */
+  public PageStoreOptions setSegmentSize(long segmentSize) {
+    mSegmentSize = segmentSize;
+    return this;
+  }
+
+  /**
+   * @return the size of each segment file of a segment page store
+   */
+  public long getSegmentSize() {
+    return mSegmentSize;
+  }
+
   /**
    * @param storeType
    * @return the updated options
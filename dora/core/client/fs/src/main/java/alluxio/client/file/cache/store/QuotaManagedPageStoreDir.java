@@ -76,7 +76,7 @@ abstract class QuotaManagedPageStoreDir implements PageStoreDir {
     try (LockResource lock = new LockResource(mFileIdSetLock.writeLock())) {
       mFileIdSet.add(pageInfo.getPageId().getFileId());
     }
-    mBytesUsed.addAndGet(pageInfo.getPageSize());
+    mBytesUsed.addAndGet(getSpaceBytes(pageInfo));
   }
 
   @Override
@@ -86,13 +86,13 @@ abstract class QuotaManagedPageStoreDir implements PageStoreDir {
     try (LockResource lock = new LockResource(mTempFileIdSetLock.readLock())) {
       mTempFileIdSet.add(pageInfo.getPageId().getFileId());
     }
-    mBytesUsed.addAndGet(pageInfo.getPageSize());
+    mBytesUsed.addAndGet(getSpaceBytes(pageInfo));
   }
 
   @Override
   public long deletePage(PageInfo pageInfo) {
     mEvictor.updateOnDelete(pageInfo.getPageId());
-    return mBytesUsed.addAndGet(-pageInfo.getPageSize());
+    return mBytesUsed.addAndGet(-getSpaceBytes(pageInfo));
   }
 
   @Override
@@ -111,7 +111,15 @@ abstract class QuotaManagedPageStoreDir implements PageStoreDir {
         }
       }
     }
-    mBytesUsed.addAndGet(-pageInfo.getPageSize());
+    mBytesUsed.addAndGet(-getSpaceBytes(pageInfo));
+  }
+
+  /**
+   * @param pageInfo the page
+   * @return the bytes of the space the page takes in this dir
+   */
+  protected long getSpaceBytes(PageInfo pageInfo) {
+    return pageInfo.getPageSize();
   }
 
   @Override
@@ -37,6 +37,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
@@ -169,8 +170,13 @@ public class RocksPageStore implements PageStore {
       ByteBuffer key = getKeyFromPageId(pageId, page.isDirect());
       if (page.isDirect()) {
         mDb.put(mPageColumnHandle, mWriteOptions, key, page);
-      } else {
+      } else if (page.arrayOffset() == 0 && page.position() == 0
+          && page.remaining() == page.array().length) {
         mDb.put(mPageColumnHandle, mWriteOptions, key.array(), page.array());
+      } else {
+        // a slice of a larger array
+        mDb.put(mPageColumnHandle, mWriteOptions, key.array(), Arrays.copyOfRange(page.array(),
+            page.arrayOffset() + page.position(), page.arrayOffset() + page.limit()));
       }
     } catch (RocksDBException e) {
       throw new IOException("Failed to store page", e);
@@ -208,6 +214,16 @@ public class RocksPageStore implements PageStore {
     }
   }
 
+  @Override
+  public void sync(String fileId) throws IOException {
+    // pages are written to the write ahead log, which is not synced on every write
+    try {
+      mDb.flushWal(true);
+    } catch (RocksDBException e) {
+      throw new IOException("Failed to sync pages", e);
+    }
+  }
+
   @Override
   public void close() {
     LOG.info("Closing RocksPageStore and recycling all RocksDB JNI objects");
@@ -0,0 +1,679 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.store;
+
+import alluxio.client.file.cache.PageId;
+import alluxio.client.file.cache.PageStore;
+import alluxio.exception.PageNotFoundException;
+import alluxio.exception.status.ResourceExhaustedException;
+import alluxio.file.ReadTargetBuffer;
+import alluxio.network.protocol.databuffer.DataFileChannel;
+import alluxio.resource.LockResource;
+import alluxio.util.ThreadFactoryUtils;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The {@link SegmentPageStore} is an implementation of {@link PageStore} which packs pages into
+ * a few large segment files on the local disk, instead of storing every page in its own file
+ * like {@link LocalPageStore} does.
+ *
+ * Each segment file starts with a table of fixed-size slot headers, followed by the same number
+ * of slots which are each large enough to hold one page:
+ * <pre>
+ * | header 0 | ... | header n-1 | padding | slot 0 | ... | slot n-1 |
+ * </pre>
+ * A header records the ID and length of the page in its slot. It is written after the page data
+ * and cleared before the slot is reused, so a slot only shows up on restore once its data is
+ * complete. The location of every page is kept in an in-memory index which is rebuilt from the
+ * headers when the store is opened again.
+ *
+ * Free slots are reused lowest first. Once enough slots are free, a background compaction moves
+ * the pages of the last segment into free slots of the other segments and removes the emptied
+ * segment file, so that the store shrinks again after a large number of deletions.
+ *
+ * A slot read through a {@link DataFileChannel} is held until the channel is released, so that
+ * it is not reused nor its segment removed while the data is still being sent. A page deleted
+ * in the meantime frees its slot once the last channel is released.
+ */
+@ThreadSafe
+public class SegmentPageStore implements PageStore {
+  private static final String ERROR_NO_SPACE_LEFT = "No space left on device";
+  static final String SEGMENT_FILE_PREFIX = "segment-";
+  /** Size of a slot header. Headers never cross a file system block boundary. */
+  static final int HEADER_SIZE = 256;
+  private static final int HEADER_MAGIC = 0x53454750;
+  private static final int FLAG_TEMPORARY = 1;
+  /** Magic, flags, page length, page index and file ID length. */
+  private static final int HEADER_FIXED_SIZE = 24;
+  private static final int MAX_FILE_ID_BYTES = HEADER_SIZE - HEADER_FIXED_SIZE;
+  /** Slots start at this alignment so that page data stays block aligned. */
+  private static final int DATA_ALIGNMENT = 4096;
+
+  private final Path mSegmentDir;
+  private final long mPageSize;
+  private final long mCapacity;
+  private final int mSlotsPerSegment;
+  private final int mMaxSlots;
+  private final long mDataOffset;
+
+  /**
+   * Reads and writes of individual pages take the read lock, operations which move pages
+   * between slots or remove segments take the write lock.
+   */
+  private final ReentrantReadWriteLock mLock = new ReentrantReadWriteLock();
+  /** Open segment files, indexed by segment number. */
+  private final List<FileChannel> mSegments = new CopyOnWriteArrayList<>();
+  private final ConcurrentHashMap<PageId, Slot> mPages = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<PageId, Slot> mTempPages = new ConcurrentHashMap<>();
+  /** The page stored in each slot, or null if the slot is free. */
+  private final AtomicReferenceArray<Slot> mSlots;
+  private final ConcurrentSkipListSet<Integer> mFreeSlots = new ConcurrentSkipListSet<>();
+  /** Number of unreleased {@link DataFileChannel}s reading each slot. */
+  private final AtomicIntegerArray mSlotReaders;
+  /** Released slots which are freed once the last channel reading them is released. */
+  private final Set<Integer> mReleasedReadSlots = ConcurrentHashMap.newKeySet();
+  private final ExecutorService mCompactionExecutor;
+  private final AtomicBoolean mCompactionScheduled = new AtomicBoolean(false);
+
+  /**
+   * Creates a new instance of {@link SegmentPageStore}, restoring the pages found in existing
+   * segment files.
+   *
+   * @param options options for the segment page store
+   */
+  public SegmentPageStore(PageStoreOptions options) {
+    mSegmentDir = Paths.get(options.getRootDir().toString(), Long.toString(options.getPageSize()));
+    mPageSize = options.getPageSize();
+    mCapacity = (long) (options.getCacheSize() / (1 + options.getOverheadRatio()));
+    mSlotsPerSegment = (int) Math.max(1,
+        Math.min(Integer.MAX_VALUE / HEADER_SIZE, options.getSegmentSize() / mPageSize));
+    mMaxSlots = (int) Math.max(1, Math.min(Integer.MAX_VALUE, options.getCacheSize() / mPageSize));
+    long headerTableSize = (long) mSlotsPerSegment * HEADER_SIZE;
+    mDataOffset = (headerTableSize + DATA_ALIGNMENT - 1) / DATA_ALIGNMENT * DATA_ALIGNMENT;
+    mSlots = new AtomicReferenceArray<>(mMaxSlots);
+    mSlotReaders = new AtomicIntegerArray(mMaxSlots);
+    mCompactionExecutor = Executors.newSingleThreadExecutor(
+        ThreadFactoryUtils.build("segment-page-store-compaction-%d", true));
+    try {
+      restore();
+    } catch (IOException e) {
+      close();
+      throw new IllegalStateException(
+          String.format("Failed to open segment page store in %s", mSegmentDir), e);
+    }
+  }
+
+  @Override
+  public void put(PageId pageId,
+      ByteBuffer page,
+      boolean isTemporary) throws ResourceExhaustedException, IOException {
+    Preconditions.checkArgument(page.remaining() <= mPageSize,
+        "page size %s exceeded slot size %s", page.remaining(), mPageSize);
+    if (pageId.getFileId().getBytes(StandardCharsets.UTF_8).length > MAX_FILE_ID_BYTES) {
+      throw new IOException(String.format(
+          "File id of page %s is longer than %d bytes", pageId, MAX_FILE_ID_BYTES));
+    }
+    try (LockResource r = new LockResource(mLock.readLock())) {
+      Slot slot = new Slot(allocateSlot(), pageId, page.remaining(), isTemporary);
+      try {
+        writeFully(getSegment(slot.mIndex), page, getDataPosition(slot.mIndex));
+        writeHeader(slot);
+      } catch (IOException e) {
+        mFreeSlots.add(slot.mIndex);
+        if (e.getMessage() != null && e.getMessage().contains(ERROR_NO_SPACE_LEFT)) {
+          throw new ResourceExhaustedException(
+              String.format("%s is full, configured with %d bytes", mSegmentDir, mCapacity), e);
+        }
+        throw new IOException("Failed to write page " + pageId + " to " + mSegmentDir, e);
+      }
+      mSlots.set(slot.mIndex, slot);
+      Slot previous = getIndex(isTemporary).put(pageId, slot);
+      if (previous != null) {
+        releaseSlot(previous);
+      }
+    }
+  }
+
+  @Override
+  public void append(PageId pageId, int pageOffset, ByteBuffer data, boolean isTemporary)
+      throws ResourceExhaustedException, IOException, PageNotFoundException {
+    try (LockResource r = new LockResource(mLock.readLock())) {
+      Slot slot = getIndex(isTemporary).get(pageId);
+      if (slot == null) {
+        throw new PageNotFoundException(pageId.toString());
+      }
+      if (slot.mLength != pageOffset || pageOffset + data.remaining() > mPageSize) {
+        throw new IOException(String.format(
+            "Failed to append %s bytes to page %s of %s bytes at offset %s", data.remaining(),
+            pageId, slot.mLength, pageOffset));
+      }
+      // every slot has room for a full page, so the data is written in place after the page
+      Slot grown = new Slot(slot.mIndex, pageId, pageOffset + data.remaining(), isTemporary);
+      try {
+        writeFully(getSegment(slot.mIndex), data, getDataPosition(slot.mIndex) + pageOffset);
+        writeHeader(grown);
+      } catch (IOException e) {
+        if (e.getMessage() != null && e.getMessage().contains(ERROR_NO_SPACE_LEFT)) {
+          throw new ResourceExhaustedException(
+              String.format("%s is full, configured with %d bytes", mSegmentDir, mCapacity), e);
+        }
+        throw new IOException("Failed to append to page " + pageId + " in " + mSegmentDir, e);
+      }
+      mSlots.set(slot.mIndex, grown);
+      getIndex(isTemporary).replace(pageId, slot, grown);
+    }
+  }
+
+  @Override
+  public int get(PageId pageId, int pageOffset, int bytesToRead, ReadTargetBuffer target,
+      boolean isTemporary) throws IOException, PageNotFoundException {
+    Preconditions.checkArgument(pageOffset >= 0, "page offset should be non-negative");
+    try (LockResource r = new LockResource(mLock.readLock())) {
+      Slot slot = getIndex(isTemporary).get(pageId);
+      if (slot == null) {
+        throw new PageNotFoundException(pageId.toString());
+      }
+      Preconditions.checkArgument(pageOffset <= slot.mLength,
+          "page offset %s exceeded page size %s", pageOffset, slot.mLength);
+      int bytesLeft = (int) Math.min(target.remaining(),
+          Math.min(bytesToRead, slot.mLength - pageOffset));
+      return PageFileChannels.readInto(getSegment(slot.mIndex),
+          getDataPosition(slot.mIndex) + pageOffset, bytesLeft, target);
+    }
+  }
+
+  @Override
+  public void delete(PageId pageId, boolean isTemporary)
+      throws IOException, PageNotFoundException {
+    try (LockResource r = new LockResource(mLock.readLock())) {
+      Slot slot = getIndex(isTemporary).remove(pageId);
+      if (slot == null) {
+        throw new PageNotFoundException(pageId.toString());
+      }
+      releaseSlot(slot);
+    }
+    maybeScheduleCompaction();
+  }
+
+  @Override
+  public void commit(String fileId, String newFileId) throws IOException {
+    try (LockResource r = new LockResource(mLock.writeLock())) {
+      for (Slot slot : getTempSlots(fileId)) {
+        Slot committed = new Slot(slot.mIndex,
+            new PageId(newFileId, slot.mPageId.getPageIndex()), slot.mLength, false);
+        writeHeader(committed);
+        mTempPages.remove(slot.mPageId);
+        mSlots.set(committed.mIndex, committed);
+        Slot previous = mPages.put(committed.mPageId, committed);
+        if (previous != null) {
+          releaseSlot(previous);
+        }
+      }
+    }
+  }
+
+  @Override
+  public void abort(String fileId) throws IOException {
+    try (LockResource r = new LockResource(mLock.writeLock())) {
+      for (Slot slot : getTempSlots(fileId)) {
+        mTempPages.remove(slot.mPageId);
+        releaseSlot(slot);
+      }
+    }
+  }
+
+  /**
+   * Syncs all segment files, as the pages of a file may be spread over any of them.
+   */
+  @Override
+  public void sync(String fileId) throws IOException {
+    try (LockResource r = new LockResource(mLock.readLock())) {
+      for (FileChannel segment : mSegments) {
+        segment.force(false);
+      }
+    }
+  }
+
+  /**
+   * Gets a {@link DataFileChannel} over the open segment file holding the page. The slot of the
+   * page is held until the channel is released, so it is not reused before the data is sent.
+   */
+  @Override
+  public DataFileChannel getDataFileChannel(
+      PageId pageId, int pageOffset, int bytesToRead, boolean isTemporary)
+      throws PageNotFoundException {
+    Preconditions.checkArgument(pageOffset >= 0, "page offset should be non-negative");
+    try (LockResource r = new LockResource(mLock.readLock())) {
+      Slot slot = getIndex(isTemporary).get(pageId);
+      if (slot == null) {
+        throw new PageNotFoundException(pageId.toString());
+      }
+      int index = slot.mIndex;
+      mSlotReaders.incrementAndGet(index);
+      // the page may have been deleted since it was looked up, and its slot released before
+      // it was held
+      Slot current = mSlots.get(index);
+      if (current == null || !current.mPageId.equals(pageId)) {
+        releaseReader(index);
+        throw new PageNotFoundException(pageId.toString());
+      }
+      if (pageOffset + bytesToRead > slot.mLength) {
+        bytesToRead = slot.mLength - pageOffset;
+      }
+      return new DataFileChannel(getSegment(index), getDataPosition(index) + pageOffset,
+          bytesToRead, () -> releaseReader(index));
+    }
+  }
+
+  /**
+   * @return the bytes taken by the slots in use, as every page takes a whole slot no matter
+   *         its length
+   */
+  public long getUsedSlotBytes() {
+    return (getNumUsedSlots() + mReleasedReadSlots.size()) * mPageSize;
+  }
+
+  /**
+   * @return the IDs and lengths of all committed pages in this store
+   */
+  public Map<PageId, Integer> getPages() {
+    ImmutableMap.Builder<PageId, Integer> pages = ImmutableMap.builder();
+    mPages.forEach((pageId, slot) -> pages.put(pageId, slot.mLength));
+    return pages.build();
+  }
+
+  /**
+   * @return the number of segment files
+   */
+  @VisibleForTesting
+  int getNumSegments() {
+    return mSegments.size();
+  }
+
+  /**
+   * Moves the pages of the last segment into free slots of the other segments and removes the
+   * last segment file once it is empty, as long as the other segments have room for its pages.
+   * Pages are moved one at a time so that reads are only blocked for a single page copy.
+   *
+   * @return the number of segment files removed
+   */
+  @VisibleForTesting
+  int compact() throws IOException {
+    int removed = 0;
+    ByteBuffer buffer = null;
+    while (true) {
+      try (LockResource r = new LockResource(mLock.writeLock())) {
+        int last = mSegments.size() - 1;
+        if (last < 0) {
+          return removed;
+        }
+        int first = last * mSlotsPerSegment;
+        int end = Math.min(first + mSlotsPerSegment, mMaxSlots);
+        Slot toMove = null;
+        int used = 0;
+        boolean held = false;
+        for (int i = first; i < end; i++) {
+          Slot slot = mSlots.get(i);
+          if (slot != null) {
+            toMove = slot;
+            used++;
+          }
+          held |= mSlotReaders.get(i) > 0 || mReleasedReadSlots.contains(i);
+        }
+        if (toMove == null && held) {
+          // the segment is still read through channels, it is removed by a later compaction
+          return removed;
+        }
+        if (toMove == null) {
+          removeLastSegment(first, end);
+          removed++;
+          continue;
+        }
+        int freeInOtherSegments = getNumAllocatedSlots() - getNumUsedSlots() - (end - first - used);
+        Integer target = mFreeSlots.pollFirst();
+        if (freeInOtherSegments < used || target == null || target >= first) {
+          if (target != null) {
+            mFreeSlots.add(target);
+          }
+          return removed;
+        }
+        if (buffer == null) {
+          buffer = ByteBuffer.allocate((int) mPageSize);
+        }
+        moveSlot(toMove, target, buffer);
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    mCompactionExecutor.shutdownNow();
+    try (LockResource r = new LockResource(mLock.writeLock())) {
+      for (FileChannel segment : mSegments) {
+        try {
+          segment.close();
+        } catch (IOException e) {
+          LOG.warn("Failed to close segment file in {}", mSegmentDir, e);
+        }
+      }
+      mSegments.clear();
+      mPages.clear();
+      mTempPages.clear();
+      mFreeSlots.clear();
+      mReleasedReadSlots.clear();
+    }
+  }
+
+  private Map<PageId, Slot> getIndex(boolean isTemporary) {
+    return isTemporary ? mTempPages : mPages;
+  }
+
+  private List<Slot> getTempSlots(String fileId) {
+    List<Slot> slots = new ArrayList<>();
+    mTempPages.forEach((pageId, slot) -> {
+      if (pageId.getFileId().equals(fileId)) {
+        slots.add(slot);
+      }
+    });
+    return slots;
+  }
+
+  private int getNumAllocatedSlots() {
+    return Math.min(mSegments.size() * mSlotsPerSegment, mMaxSlots);
+  }
+
+  private int getNumUsedSlots() {
+    return mPages.size() + mTempPages.size();
+  }
+
+  private FileChannel getSegment(int slot) {
+    return mSegments.get(slot / mSlotsPerSegment);
+  }
+
+  private Path getSegmentPath(int segment) {
+    return mSegmentDir.resolve(SEGMENT_FILE_PREFIX + segment);
+  }
+
+  private long getHeaderPosition(int slot) {
+    return (long) (slot % mSlotsPerSegment) * HEADER_SIZE;
+  }
+
+  private long getDataPosition(int slot) {
+    return mDataOffset + (slot % mSlotsPerSegment) * mPageSize;
+  }
+
+  private int allocateSlot() throws ResourceExhaustedException, IOException {
+    while (true) {
+      Integer slot = mFreeSlots.pollFirst();
+      if (slot != null) {
+        return slot;
+      }
+      if (!addSegment()) {
+        throw new ResourceExhaustedException(
+            String.format("%s is full, configured with %d bytes", mSegmentDir, mCapacity));
+      }
+    }
+  }
+
+  /**
+   * Adds a new segment file unless there are free slots already or the store is at capacity.
+   *
+   * @return false if no slots could be added because the store is at capacity
+   */
+  private boolean addSegment() throws IOException {
+    synchronized (mSegments) {
+      if (!mFreeSlots.isEmpty()) {
+        return true;
+      }
+      int segment = mSegments.size();
+      int first = segment * mSlotsPerSegment;
+      if (first >= mMaxSlots) {
+        return false;
+      }
+      int end = Math.min(first + mSlotsPerSegment, mMaxSlots);
+      FileChannel channel = FileChannel.open(getSegmentPath(segment), StandardOpenOption.CREATE,
+          StandardOpenOption.READ, StandardOpenOption.WRITE);
+      try {
+        // extend the file to its full size up front, the header table is left zeroed
+        writeFully(channel, ByteBuffer.allocate(1),
+            mDataOffset + (end - first) * mPageSize - 1);
+      } catch (IOException e) {
+        channel.close();
+        Files.deleteIfExists(getSegmentPath(segment));
+        throw e;
+      }
+      mSegments.add(channel);
+      for (int i = first; i < end; i++) {
+        mFreeSlots.add(i);
+      }
+      return true;
+    }
+  }
+
+  private void removeLastSegment(int first, int end) throws IOException {
+    int last = mSegments.size() - 1;
+    for (int i = first; i < end; i++) {
+      mFreeSlots.remove(i);
+    }
+    mSegments.remove(last).close();
+    Files.deleteIfExists(getSegmentPath(last));
+  }
+
+  /**
+   * Clears the header of a slot and returns it to the free slots. If the header cannot be
+   * cleared the slot is not reused, as a restore could otherwise pick up stale data.
+   */
+  private void releaseSlot(Slot slot) throws IOException {
+    mSlots.compareAndSet(slot.mIndex, slot, null);
+    writeFully(getSegment(slot.mIndex), ByteBuffer.allocate(4), getHeaderPosition(slot.mIndex));
+    // whichever of this and the release of the last reader comes last frees the slot
+    mReleasedReadSlots.add(slot.mIndex);
+    if (mSlotReaders.get(slot.mIndex) == 0 && mReleasedReadSlots.remove(slot.mIndex)) {
+      mFreeSlots.add(slot.mIndex);
+    }
+  }
+
+  private void releaseReader(int slot) {
+    if (mSlotReaders.decrementAndGet(slot) == 0 && mReleasedReadSlots.remove(slot)) {
+      mFreeSlots.add(slot);
+      maybeScheduleCompaction();
+    }
+  }
+
+  private void moveSlot(Slot slot, int target, ByteBuffer buffer) throws IOException {
+    Slot moved = new Slot(target, slot.mPageId, slot.mLength, slot.mTemporary);
+    try {
+      buffer.clear();
+      buffer.limit(slot.mLength);
+      PageFileChannels.readFully(getSegment(slot.mIndex), buffer, getDataPosition(slot.mIndex));
+      buffer.flip();
+      writeFully(getSegment(target), buffer, getDataPosition(target));
+      writeHeader(moved);
+    } catch (IOException e) {
+      mFreeSlots.add(target);
+      throw e;
+    }
+    mSlots.set(target, moved);
+    getIndex(slot.mTemporary).put(slot.mPageId, moved);
+    releaseSlot(slot);
+  }
+
+  private void maybeScheduleCompaction() {
+    // keep at least one segment worth of free slots around to avoid removing a segment which
+    // would be added back right away
+    if (getNumAllocatedSlots() - getNumUsedSlots() < 2 * mSlotsPerSegment
+        || !mCompactionScheduled.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      mCompactionExecutor.execute(() -> {
+        try {
+          int removed = compact();
+          LOG.debug("Compaction removed {} segments from {}", removed, mSegmentDir);
+        } catch (IOException e) {
+          LOG.warn("Failed to compact segment page store {}", mSegmentDir, e);
+        } finally {
+          mCompactionScheduled.set(false);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      // the store is closed
+      mCompactionScheduled.set(false);
+    }
+  }
+
+  private void writeHeader(Slot slot) throws IOException {
+    byte[] fileId = slot.mPageId.getFileId().getBytes(StandardCharsets.UTF_8);
+    ByteBuffer header = ByteBuffer.allocate(HEADER_FIXED_SIZE + fileId.length);
+    header.putInt(HEADER_MAGIC)
+        .putInt(slot.mTemporary ? FLAG_TEMPORARY : 0)
+        .putInt(slot.mLength)
+        .putLong(slot.mPageId.getPageIndex())
+        .putInt(fileId.length)
+        .put(fileId);
+    header.flip();
+    writeFully(getSegment(slot.mIndex), header, getHeaderPosition(slot.mIndex));
+  }
+
+  /**
+   * Opens the existing segment files and rebuilds the page index from their headers. Temporary
+   * pages are discarded, like the temporary files of {@link LocalPageStore} are on restore.
+   */
+  private void restore() throws IOException {
+    Files.createDirectories(mSegmentDir);
+    int segment = 0;
+    while (Files.exists(getSegmentPath(segment)) && segment * mSlotsPerSegment < mMaxSlots) {
+      FileChannel channel = FileChannel.open(getSegmentPath(segment),
+          StandardOpenOption.READ, StandardOpenOption.WRITE);
+      mSegments.add(channel);
+      restoreSegment(segment, channel);
+      segment++;
+    }
+    // remove segments left over from a larger store, and anything else in the directory
+    try (Stream<Path> files = Files.list(mSegmentDir)) {
+      int numSegments = segment;
+      files.filter(path -> !isOpenSegment(path, numSegments)).forEach(path -> {
+        LOG.info("Unrecognized file {} in segment page store is going to be deleted.", path);
+        try {
+          Files.delete(path);
+        } catch (IOException e) {
+          LOG.warn("Failed to delete {}", path, e);
+        }
+      });
+    }
+  }
+
+  private boolean isOpenSegment(Path path, int numSegments) {
+    String name = path.getFileName().toString();
+    if (!name.startsWith(SEGMENT_FILE_PREFIX)) {
+      return false;
+    }
+    try {
+      return Integer.parseInt(name.substring(SEGMENT_FILE_PREFIX.length())) < numSegments;
+    } catch (NumberFormatException e) {
+      return false;
+    }
+  }
+
+  private void restoreSegment(int segment, FileChannel channel) throws IOException {
+    int first = segment * mSlotsPerSegment;
+    int end = Math.min(first + mSlotsPerSegment, mMaxSlots);
+    ByteBuffer headers = ByteBuffer.allocate((end - first) * HEADER_SIZE);
+    PageFileChannels.readFully(channel, headers, 0);
+    for (int i = first; i < end; i++) {
+      headers.position((i - first) * HEADER_SIZE);
+      Slot slot = parseHeader(i, headers);
+      if (slot != null && !slot.mTemporary && !mPages.containsKey(slot.mPageId)) {
+        mPages.put(slot.mPageId, slot);
+        mSlots.set(i, slot);
+        continue;
+      }
+      if (slot != null) {
+        // a temporary page, or a duplicate left behind by an interrupted compaction
+        writeFully(channel, ByteBuffer.allocate(4), getHeaderPosition(i));
+      }
+      mFreeSlots.add(i);
+    }
+  }
+
+  private Slot parseHeader(int index, ByteBuffer header) {
+    if (header.getInt() != HEADER_MAGIC) {
+      return null;
+    }
+    int flags = header.getInt();
+    int length = header.getInt();
+    long pageIndex = header.getLong();
+    int fileIdLength = header.getInt();
+    if (length < 0 || length > mPageSize || fileIdLength < 0
+        || fileIdLength > MAX_FILE_ID_BYTES) {
+      LOG.error("Invalid header of slot {} in {}", index, mSegmentDir);
+      return null;
+    }
+    byte[] fileId = new byte[fileIdLength];
+    header.get(fileId);
+    return new Slot(index, new PageId(new String(fileId, StandardCharsets.UTF_8), pageIndex),
+        length, (flags & FLAG_TEMPORARY) != 0);
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    long offset = position;
+    while (buffer.hasRemaining()) {
+      offset += channel.write(buffer, offset);
+    }
+  }
+
+  /**
+   * The location of a page in the store.
+   */
+  private static final class Slot {
+    private final int mIndex;
+    private final PageId mPageId;
+    private final int mLength;
+    private final boolean mTemporary;
+
+    private Slot(int index, PageId pageId, int length, boolean temporary) {
+      mIndex = index;
+      mPageId = pageId;
+      mLength = length;
+      mTemporary = temporary;
+    }
+  }
+}
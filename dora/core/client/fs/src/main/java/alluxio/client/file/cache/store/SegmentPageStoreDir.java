@@ -0,0 +1,95 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.store;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import alluxio.client.file.cache.CacheUsage;
+import alluxio.client.file.cache.PageInfo;
+import alluxio.client.file.cache.PageStore;
+import alluxio.client.file.cache.evictor.CacheEvictor;
+import alluxio.client.quota.CacheScope;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Represent the dir and file level metadata of a segment page store.
+ */
+public class SegmentPageStoreDir extends QuotaManagedPageStoreDir {
+
+  private final PageStoreOptions mPageStoreOptions;
+
+  private SegmentPageStore mPageStore;
+
+  /**
+   * Constructor of SegmentPageStoreDir.
+   * @param pageStoreOptions
+   * @param pageStore
+   * @param cacheEvictor
+   */
+  public SegmentPageStoreDir(PageStoreOptions pageStoreOptions,
+                             PageStore pageStore,
+                             CacheEvictor cacheEvictor) {
+    super(pageStoreOptions.getRootDir(), getSlotCapacity(pageStoreOptions), cacheEvictor);
+    checkState(pageStore instanceof SegmentPageStore);
+    mPageStore = (SegmentPageStore) pageStore;
+    mPageStoreOptions = pageStoreOptions;
+  }
+
+  @Override
+  public PageStore getPageStore() {
+    return mPageStore;
+  }
+
+  /**
+   * Every page takes a whole slot of the segment files, however short it is, so the space used
+   * is counted in slots rather than by the lengths of the pages. Otherwise partial pages would
+   * let the cache admit more pages than there are slots for. The space is counted when the
+   * metadata of a page is added or removed, like in the other dirs, so the space of an evicted
+   * page is available as soon as its metadata is removed.
+   */
+  @Override
+  protected long getSpaceBytes(PageInfo pageInfo) {
+    return mPageStoreOptions.getPageSize();
+  }
+
+  /**
+   * The capacity is rounded down to whole slots, so a page fits whenever its length fits.
+   */
+  private static long getSlotCapacity(PageStoreOptions options) {
+    long capacity = (long) (options.getCacheSize() / (1 + options.getOverheadRatio()));
+    return capacity / options.getPageSize() * options.getPageSize();
+  }
+
+  @Override
+  public void reset() throws IOException {
+    close();
+    PageStoreDir.clear(getRootPath());
+    mPageStore = (SegmentPageStore) PageStore.create(mPageStoreOptions);
+  }
+
+  /**
+   * Gets all pages restored by the page store from the headers of its segment files.
+   */
+  @Override
+  public void scanPages(Consumer<Optional<PageInfo>> pageInfoConsumer) {
+    mPageStore.getPages().forEach((pageId, length) -> pageInfoConsumer.accept(
+        Optional.of(new PageInfo(pageId, length, CacheScope.GLOBAL, this))));
+  }
+
+  @Override
+  public Optional<CacheUsage> getUsage() {
+    return Optional.of(new QuotaManagedPageStoreDir.Usage());
+  }
+}
@@ -18,6 +18,7 @@ import alluxio.conf.PropertyKey;
 import alluxio.exception.status.ResourceExhaustedException;
 
 import java.util.List;
+import javax.annotation.Nullable;
 
 /**
  * An impl of WorkerLocationPolicy.
@@ -26,6 +27,11 @@ import java.util.List;
  * The hash algorithm makes sure the same path maps to the same worker sequence.
  * On top of that, consistent hashing makes sure worker membership changes incur minimal
  * hash changes.
+ *
+ * The workers can be weighted by their cache capacity, and their load bounded so that the
+ * data reads of hot files spill over to the next workers of the hash ring, see
+ * {@link PropertyKey#USER_CONSISTENT_HASH_CAPACITY_WEIGHTED_ENABLED} and
+ * {@link PropertyKey#USER_CONSISTENT_HASH_LOAD_BOUND_FACTOR}.
  */
 public class ConsistentHashPolicy implements WorkerLocationPolicy {
   private static final ConsistentHashProvider HASH_PROVIDER =
@@ -39,6 +45,10 @@ public class ConsistentHashPolicy implements WorkerLocationPolicy {
    * in the cluster, where X is a balance between redistribution granularity and size.
    */
   private final int mNumVirtualNodes;
+  private final boolean mCapacityWeighted;
+  /** The load of the workers as seen by this client, null if the load is not bounded. */
+  @Nullable
+  private final WorkerLoadTracker mLoadTracker;
 
   /**
    * Constructs a new {@link ConsistentHashPolicy}.
@@ -47,18 +57,35 @@ public class ConsistentHashPolicy implements WorkerLocationPolicy {
    */
   public ConsistentHashPolicy(AlluxioConfiguration conf) {
     mNumVirtualNodes = conf.getInt(PropertyKey.USER_CONSISTENT_HASH_VIRTUAL_NODE_COUNT);
+    mCapacityWeighted =
+        conf.getBoolean(PropertyKey.USER_CONSISTENT_HASH_CAPACITY_WEIGHTED_ENABLED);
+    double loadBoundFactor = conf.getDouble(PropertyKey.USER_CONSISTENT_HASH_LOAD_BOUND_FACTOR);
+    mLoadTracker = loadBoundFactor > 0 ? new WorkerLoadTracker(loadBoundFactor,
+        conf.getMs(PropertyKey.USER_CONSISTENT_HASH_LOAD_WINDOW)) : null;
   }
 
   @Override
   public List<BlockWorkerInfo> getPreferredWorkers(List<BlockWorkerInfo> blockWorkerInfos,
       String fileId, int count) throws ResourceExhaustedException {
+    return getWorkers(blockWorkerInfos, fileId, count, null);
+  }
+
+  @Override
+  public List<BlockWorkerInfo> getPreferredReadWorkers(List<BlockWorkerInfo> blockWorkerInfos,
+      String fileId, int count) throws ResourceExhaustedException {
+    return getWorkers(blockWorkerInfos, fileId, count, mLoadTracker);
+  }
+
+  private List<BlockWorkerInfo> getWorkers(List<BlockWorkerInfo> blockWorkerInfos,
+      String fileId, int count, @Nullable WorkerLoadTracker loadTracker)
+      throws ResourceExhaustedException {
     if (blockWorkerInfos.size() < count) {
       throw new ResourceExhaustedException(String.format(
           "Not enough workers in the cluster %d workers in the cluster but %d required",
           blockWorkerInfos.size(), count));
     }
-    HASH_PROVIDER.refresh(blockWorkerInfos, mNumVirtualNodes);
-    List<BlockWorkerInfo> workers = HASH_PROVIDER.getMultiple(fileId, count);
+    HASH_PROVIDER.refresh(blockWorkerInfos, mNumVirtualNodes, mCapacityWeighted);
+    List<BlockWorkerInfo> workers = HASH_PROVIDER.getMultiple(fileId, count, loadTracker);
     if (workers.size() != count) {
       throw new ResourceExhaustedException(String.format(
           "Found %d workers from the hash ring but %d required", blockWorkerInfos.size(), count));
@@ -13,7 +13,6 @@ package alluxio.client.file.dora;
 
 import static com.google.common.hash.Hashing.murmur3_32_fixed;
 import static java.lang.Math.ceil;
-import static java.lang.String.format;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import alluxio.Constants;
@@ -25,12 +24,14 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.hash.HashFunction;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.NavigableMap;
+import java.util.Objects;
 import java.util.Set;
-import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.atomic.LongAdder;
@@ -41,6 +42,11 @@ import javax.annotation.concurrent.ThreadSafe;
 /**
  * A consistent hashing algorithm implementation.
  *
+ * The virtual nodes of the workers are placed on a hash ring, either evenly or in proportion to
+ * the cache capacity of the workers, and a key is mapped to the workers of the virtual nodes
+ * following its hash on the ring. With a {@link WorkerLoadTracker}, a worker whose load is over
+ * its bound is skipped, so that the requests of hot keys spill over to the next workers.
+ *
  * This implementation is thread safe in lazy init and in refreshing the worker list.
  * See inline comments for thread safety guarantees and semantics.
  */
@@ -86,7 +92,7 @@ public class ConsistentHashProvider {
    *    At this stage it is guarded by `mLastUpdatedTimestamp`.
    */
   @Nullable
-  private volatile NavigableMap<Integer, BlockWorkerInfo> mActiveNodesByConsistentHashing;
+  private volatile HashRing mActiveNodesByConsistentHashing;
   /**
    * Lock to protect the lazy initialization of {@link #mActiveNodesByConsistentHashing}.
    */
@@ -111,11 +117,42 @@ public class ConsistentHashProvider {
    * @return a list of workers following the hash ring
    */
   public List<BlockWorkerInfo> getMultiple(String key, int count) {
-    Set<BlockWorkerInfo> workers = new HashSet<>();
+    return getMultiple(key, count, null);
+  }
+
+  /**
+   * Finds multiple workers from the hash ring, skipping the workers over their load bound
+   * unless there are not enough workers within their bound. The request is accounted to the
+   * first worker found.
+   *
+   * @param key the key to hash on
+   * @param count the expected number of workers
+   * @param loadTracker the tracker of the load of the workers, or null to not bound the load
+   * @return a list of workers following the hash ring
+   */
+  public List<BlockWorkerInfo> getMultiple(String key, int count,
+      @Nullable WorkerLoadTracker loadTracker) {
+    HashRing ring = mActiveNodesByConsistentHashing;
+    Preconditions.checkState(ring != null, "Hash provider is not properly initialized");
+    Set<BlockWorkerInfo> workers = new LinkedHashSet<>();
+    List<BlockWorkerInfo> overloaded = new ArrayList<>();
     int attempts = 0;
     while (workers.size() < count && attempts < mMaxAttempts) {
       attempts++;
-      workers.add(get(key, attempts));
+      BlockWorkerInfo worker = ring.get(key, attempts);
+      if (loadTracker != null && !workers.contains(worker) && !overloaded.contains(worker)
+          && loadTracker.isOverloaded(worker.getNetAddress(), ring.getShare(worker))) {
+        overloaded.add(worker);
+      } else {
+        workers.add(worker);
+      }
+    }
+    // all the workers within their bound have been found, the others make up the count
+    for (int i = 0; i < overloaded.size() && workers.size() < count; i++) {
+      workers.add(overloaded.get(i));
+    }
+    if (loadTracker != null && !workers.isEmpty()) {
+      loadTracker.record(workers.iterator().next().getNetAddress());
     }
     return ImmutableList.copyOf(workers);
   }
@@ -133,16 +170,30 @@ public class ConsistentHashProvider {
    * @param numVirtualNodes the number of virtual nodes used by consistent hashing
    */
   public void refresh(List<BlockWorkerInfo> workerInfos, int numVirtualNodes) {
+    refresh(workerInfos, numVirtualNodes, false);
+  }
+
+  /**
+   * Initializes or refreshes the worker list using the given list of workers and number of
+   * virtual nodes, distributing the virtual nodes in proportion to the capacity of the workers
+   * if requested. See {@link #refresh(List, int)} for thread safety.
+   *
+   * @param workerInfos the up-to-date worker list
+   * @param numVirtualNodes the number of virtual nodes used by consistent hashing
+   * @param capacityWeighted whether to distribute the virtual nodes by capacity
+   */
+  public void refresh(List<BlockWorkerInfo> workerInfos, int numVirtualNodes,
+      boolean capacityWeighted) {
     Preconditions.checkArgument(!workerInfos.isEmpty(),
             "cannot refresh hash provider with empty worker list");
-    maybeInitialize(workerInfos, numVirtualNodes);
+    maybeInitialize(workerInfos, numVirtualNodes, capacityWeighted);
     // check if the worker list has expired
     if (shouldRebuildActiveNodesMapExclusively()) {
       // thread safety is valid provided that build() takes less than
       // WORKER_INFO_UPDATE_INTERVAL_NS, so that before next update the current update has been
       // finished
-      if (hasWorkerListChanged(workerInfos, mLastWorkerInfos.get())) {
-        mActiveNodesByConsistentHashing = build(workerInfos, numVirtualNodes);
+      if (hasWorkerListChanged(workerInfos, mLastWorkerInfos.get(), capacityWeighted)) {
+        mActiveNodesByConsistentHashing = build(workerInfos, numVirtualNodes, capacityWeighted);
         mLastWorkerInfos.set(workerInfos);
         mUpdateCount.increment();
       }
@@ -173,13 +224,14 @@ public class ConsistentHashProvider {
    * Only one caller gets to initialize the map while all others are blocked.
    * After the initialization, the map must not be null.
    */
-  private void maybeInitialize(List<BlockWorkerInfo> workerInfos, int numVirtualNodes) {
+  private void maybeInitialize(List<BlockWorkerInfo> workerInfos, int numVirtualNodes,
+      boolean capacityWeighted) {
     if (mActiveNodesByConsistentHashing == null) {
       synchronized (mInitLock) {
         // only one thread should reach here
         // test again to skip re-initialization
         if (mActiveNodesByConsistentHashing == null) {
-          mActiveNodesByConsistentHashing = build(workerInfos, numVirtualNodes);
+          mActiveNodesByConsistentHashing = build(workerInfos, numVirtualNodes, capacityWeighted);
           mLastWorkerInfos.set(workerInfos);
           mLastUpdatedTimestamp.set(System.nanoTime());
         }
@@ -188,10 +240,19 @@ public class ConsistentHashProvider {
   }
 
   private boolean hasWorkerListChanged(List<BlockWorkerInfo> workerInfoList,
-                                       List<BlockWorkerInfo> anotherWorkerInfoList) {
+                                       List<BlockWorkerInfo> anotherWorkerInfoList,
+                                       boolean capacityWeighted) {
+    HashRing ring = mActiveNodesByConsistentHashing;
+    if (ring != null && ring.isCapacityWeighted() != capacityWeighted) {
+      return true;
+    }
     if (workerInfoList == anotherWorkerInfoList) {
       return false;
     }
+    if (capacityWeighted) {
+      // the ring changes with the capacity of the workers too
+      return !getCapacities(workerInfoList).equals(getCapacities(anotherWorkerInfoList));
+    }
     Set<WorkerNetAddress> workerAddressSet = workerInfoList.stream()
             .map(info -> info.getNetAddress()).collect(Collectors.toSet());
     Set<WorkerNetAddress> anotherWorkerAddressSet = anotherWorkerInfoList.stream()
@@ -199,26 +260,19 @@ public class ConsistentHashProvider {
     return !workerAddressSet.equals(anotherWorkerAddressSet);
   }
 
-  @VisibleForTesting
-  BlockWorkerInfo get(String key, int index) {
-    NavigableMap<Integer, BlockWorkerInfo> map = mActiveNodesByConsistentHashing;
-    Preconditions.checkState(map != null, "Hash provider is not properly initialized");
-    return get(map, key, index);
+  private static Map<WorkerNetAddress, Long> getCapacities(List<BlockWorkerInfo> workerInfos) {
+    Map<WorkerNetAddress, Long> capacities = new HashMap<>();
+    for (BlockWorkerInfo workerInfo : workerInfos) {
+      capacities.put(workerInfo.getNetAddress(), workerInfo.getCapacityBytes());
+    }
+    return capacities;
   }
 
   @VisibleForTesting
-  static BlockWorkerInfo get(NavigableMap<Integer, BlockWorkerInfo> map, String key, int index) {
-    int hashKey = HASH_FUNCTION.hashString(format("%s%d", key, index), UTF_8).asInt();
-    Map.Entry<Integer, BlockWorkerInfo> entry = map.ceilingEntry(hashKey);
-    if (entry != null) {
-      return entry.getValue();
-    } else {
-      Map.Entry<Integer, BlockWorkerInfo> firstEntry = map.firstEntry();
-      if (firstEntry == null) {
-        throw new IllegalStateException("Hash provider is empty");
-      }
-      return firstEntry.getValue();
-    }
+  BlockWorkerInfo get(String key, int index) {
+    HashRing ring = mActiveNodesByConsistentHashing;
+    Preconditions.checkState(ring != null, "Hash provider is not properly initialized");
+    return ring.get(key, index);
   }
 
   @VisibleForTesting
@@ -227,7 +281,7 @@ public class ConsistentHashProvider {
   }
 
   @VisibleForTesting
-  NavigableMap<Integer, BlockWorkerInfo> getActiveNodesMap() {
+  HashRing getActiveNodes() {
     return mActiveNodesByConsistentHashing;
   }
 
@@ -237,19 +291,140 @@ public class ConsistentHashProvider {
   }
 
   @VisibleForTesting
-  static NavigableMap<Integer, BlockWorkerInfo> build(
-          List<BlockWorkerInfo> workerInfos, int numVirtualNodes) {
+  static HashRing build(List<BlockWorkerInfo> workerInfos, int numVirtualNodes) {
+    return build(workerInfos, numVirtualNodes, false);
+  }
+
+  @VisibleForTesting
+  static HashRing build(List<BlockWorkerInfo> workerInfos, int numVirtualNodes,
+      boolean capacityWeighted) {
     Preconditions.checkArgument(!workerInfos.isEmpty(), "worker list is empty");
-    NavigableMap<Integer, BlockWorkerInfo> activeNodesByConsistentHashing = new TreeMap<>();
-    int weight = (int) ceil(1.0 * numVirtualNodes / workerInfos.size());
+    long totalCapacity = 0;
     for (BlockWorkerInfo workerInfo : workerInfos) {
-      for (int i = 0; i < weight; i++) {
-        activeNodesByConsistentHashing.put(
-            HASH_FUNCTION.hashString(format("%s%d", workerInfo.getNetAddress().dumpMainInfo(), i),
-                UTF_8).asInt(),
-            workerInfo);
+      totalCapacity += workerInfo.getCapacityBytes();
+    }
+    int[] weights = new int[workerInfos.size()];
+    for (int i = 0; i < weights.length; i++) {
+      if (capacityWeighted && totalCapacity > 0) {
+        weights[i] = (int) Math.max(1, Math.round(
+            1.0 * numVirtualNodes * workerInfos.get(i).getCapacityBytes() / totalCapacity));
+      } else {
+        weights[i] = (int) ceil(1.0 * numVirtualNodes / workerInfos.size());
+      }
+    }
+    return new HashRing(workerInfos, weights, capacityWeighted);
+  }
+
+  /**
+   * A hash ring of virtual nodes, with the hashes of the virtual nodes sorted in a primitive
+   * array which is binary searched to find the virtual node following a key.
+   */
+  @VisibleForTesting
+  static final class HashRing {
+    private final int[] mHashes;
+    /** The worker of each virtual node, in the order of the hashes. */
+    private final BlockWorkerInfo[] mWorkers;
+    /** The share of the virtual nodes of each worker. */
+    private final Map<WorkerNetAddress, Double> mShares = new HashMap<>();
+    private final boolean mCapacityWeighted;
+
+    private HashRing(List<BlockWorkerInfo> workerInfos, int[] weights,
+        boolean capacityWeighted) {
+      mCapacityWeighted = capacityWeighted;
+      int numNodes = Arrays.stream(weights).sum();
+      BlockWorkerInfo[] owners = new BlockWorkerInfo[numNodes];
+      // the hash of a virtual node in the high bits and its index in the low bits, so that
+      // sorting orders the virtual nodes by hash, and then by the order they are added in
+      long[] nodes = new long[numNodes];
+      int index = 0;
+      for (int i = 0; i < workerInfos.size(); i++) {
+        BlockWorkerInfo workerInfo = workerInfos.get(i);
+        String address = workerInfo.getNetAddress().dumpMainInfo();
+        for (int j = 0; j < weights[i]; j++) {
+          owners[index] = workerInfo;
+          nodes[index] = ((long) hash(address + j) << 32) | index;
+          index++;
+        }
+      }
+      Arrays.sort(nodes);
+      int[] hashes = new int[numNodes];
+      BlockWorkerInfo[] workers = new BlockWorkerInfo[numNodes];
+      int size = 0;
+      for (long node : nodes) {
+        int hash = (int) (node >> 32);
+        if (size > 0 && hashes[size - 1] == hash) {
+          // the virtual node added last takes the hash
+          size--;
+        }
+        hashes[size] = hash;
+        workers[size] = owners[(int) node];
+        size++;
       }
+      mHashes = Arrays.copyOf(hashes, size);
+      mWorkers = Arrays.copyOf(workers, size);
+      for (BlockWorkerInfo worker : mWorkers) {
+        mShares.merge(worker.getNetAddress(), 1.0 / size, Double::sum);
+      }
+    }
+
+    /**
+     * @param key the key to hash on
+     * @param index the index of the attempt
+     * @return the worker of the virtual node following the key on the ring
+     */
+    BlockWorkerInfo get(String key, int index) {
+      int hashKey = hash(key + index);
+      int position = Arrays.binarySearch(mHashes, hashKey);
+      if (position < 0) {
+        position = -(position + 1);
+        if (position == mHashes.length) {
+          position = 0;
+        }
+      }
+      return mWorkers[position];
+    }
+
+    /**
+     * @param worker a worker of the ring
+     * @return the share of the virtual nodes of the worker
+     */
+    double getShare(BlockWorkerInfo worker) {
+      return mShares.getOrDefault(worker.getNetAddress(), 0.0);
+    }
+
+    /**
+     * @return the number of virtual nodes
+     */
+    int size() {
+      return mHashes.length;
+    }
+
+    boolean isCapacityWeighted() {
+      return mCapacityWeighted;
+    }
+
+    private static int hash(String key) {
+      return HASH_FUNCTION.hashString(key, UTF_8).asInt();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof HashRing)) {
+        return false;
+      }
+      HashRing that = (HashRing) o;
+      return mCapacityWeighted == that.mCapacityWeighted
+          && Arrays.equals(mHashes, that.mHashes)
+          && Arrays.equals(mWorkers, that.mWorkers);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(Arrays.hashCode(mHashes), Arrays.hashCode(mWorkers),
+          mCapacityWeighted);
     }
-    return activeNodesByConsistentHashing;
   }
 }
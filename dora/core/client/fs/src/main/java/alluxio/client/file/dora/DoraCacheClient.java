@@ -46,11 +46,14 @@ import alluxio.grpc.ExistsPOptions;
 import alluxio.grpc.ExistsPRequest;
 import alluxio.grpc.ExistsPResponse;
 import alluxio.grpc.FileInfo;
+import alluxio.grpc.GetStatusBatchPRequest;
+import alluxio.grpc.GetStatusBatchPResponse;
 import alluxio.grpc.GetStatusPOptions;
 import alluxio.grpc.GetStatusPRequest;
 import alluxio.grpc.GrpcUtils;
 import alluxio.grpc.ListStatusPOptions;
 import alluxio.grpc.ListStatusPRequest;
+import alluxio.grpc.PathStatus;
 import alluxio.grpc.ReadRequest;
 import alluxio.grpc.RenamePOptions;
 import alluxio.grpc.RenamePRequest;
@@ -61,9 +64,19 @@ import alluxio.proto.dataserver.Protocol;
 import alluxio.resource.CloseableResource;
 import alluxio.wire.WorkerNetAddress;
 
+import com.google.common.base.Throwables;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ListenableFuture;
+
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 
@@ -73,11 +86,20 @@ import javax.annotation.Nullable;
 public class DoraCacheClient {
   public static final int DUMMY_BLOCK_ID = -1;
   public static final int PREFERRED_WORKER_COUNT = 1;
+  /** The maximum number of paths in one batch status request. */
+  public static final int GET_STATUS_BATCH_SIZE = 1000;
   private final FileSystemContext mContext;
   private final long mChunkSize;
   private final WorkerLocationPolicy mWorkerLocationPolicy;
 
   private final boolean mNettyTransEnabled;
+  /** The number of workers the reads of a hot file are spread over. */
+  private final int mHotFileReadReplicas;
+  /** The detector of hot files, null if hot files are not replicated. */
+  @Nullable
+  private final HotFileDetector mHotFileDetector;
+  /** Shifts the worker this client reads a hot file from, so that clients spread over them. */
+  private final int mHotFileReplicaSalt = ThreadLocalRandom.current().nextInt();
 
   /**
    * Constructor.
@@ -91,6 +113,11 @@ public class DoraCacheClient {
         PropertyKey.USER_STREAMING_READER_CHUNK_SIZE_BYTES);
     mNettyTransEnabled =
         context.getClusterConf().getBoolean(PropertyKey.USER_NETTY_DATA_TRANSMISSION_ENABLED);
+    mHotFileReadReplicas =
+        context.getClusterConf().getInt(PropertyKey.USER_HOT_FILE_READ_REPLICAS);
+    mHotFileDetector = mHotFileReadReplicas > 1 ? new HotFileDetector(
+        context.getClusterConf().getInt(PropertyKey.USER_HOT_FILE_READ_THRESHOLD),
+        context.getClusterConf().getMs(PropertyKey.USER_HOT_FILE_READ_WINDOW)) : null;
   }
 
   /**
@@ -102,11 +129,12 @@ public class DoraCacheClient {
    */
   public PositionReadFileInStream getInStream(URIStatus status,
       Protocol.OpenUfsBlockOptions ufsOptions) {
-    WorkerNetAddress workerNetAddress = getWorkerNetAddress(status.getUfsPath());
+    Pair<WorkerNetAddress, Protocol.OpenUfsBlockOptions> worker =
+        getReadWorker(status.getUfsPath(), ufsOptions);
     // Construct the partial read request
     NettyDataReader reader;
     if (mNettyTransEnabled) {
-      reader = createNettyDataReader(workerNetAddress, ufsOptions);
+      reader = createNettyDataReader(worker.getFirst(), worker.getSecond());
     } else {
       throw new UnsupportedOperationException("Grpc dora reader not implemented");
     }
@@ -146,9 +174,10 @@ public class DoraCacheClient {
   public DoraCachePositionReader createNettyPositionReader(URIStatus status,
       Protocol.OpenUfsBlockOptions ufsOptions,
       CloseableSupplier<PositionReader> externalPositionReader) {
-    WorkerNetAddress workerNetAddress = getWorkerNetAddress(status.toString());
+    Pair<WorkerNetAddress, Protocol.OpenUfsBlockOptions> worker =
+        getReadWorker(status.getUfsPath(), ufsOptions);
     // Construct the partial read request
-    NettyDataReader reader = createNettyDataReader(workerNetAddress, ufsOptions);
+    NettyDataReader reader = createNettyDataReader(worker.getFirst(), worker.getSecond());
     return new DoraCachePositionReader(reader, status.getLength(), externalPositionReader);
   }
 
@@ -223,6 +252,81 @@ public class DoraCacheClient {
     }
   }
 
+  /**
+   * Gets the status of many files or directories. The paths are grouped by the worker which
+   * owns them, and the groups are sent to their workers in parallel, with one request for every
+   * {@link #GET_STATUS_BATCH_SIZE} paths.
+   *
+   * @param paths the full ufs paths
+   * @param options the options of the get status operation
+   * @return the status of each path in the order of the paths, null if the path does not exist
+   */
+  public List<URIStatus> getStatusBatch(List<String> paths, GetStatusPOptions options) {
+    Map<WorkerNetAddress, List<Integer>> pathsByWorker = new HashMap<>();
+    List<BlockWorkerInfo> workers = getCachedWorkers();
+    for (int i = 0; i < paths.size(); i++) {
+      pathsByWorker.computeIfAbsent(getWorkerNetAddress(workers, paths.get(i)),
+          worker -> new ArrayList<>()).add(i);
+    }
+    URIStatus[] statuses = new URIStatus[paths.size()];
+    List<CloseableResource<BlockWorkerClient>> clients = new ArrayList<>();
+    try {
+      // send all requests before waiting for any response
+      List<Pair<List<Integer>, ListenableFuture<GetStatusBatchPResponse>>> calls =
+          new ArrayList<>();
+      for (Map.Entry<WorkerNetAddress, List<Integer>> entry : pathsByWorker.entrySet()) {
+        CloseableResource<BlockWorkerClient> client =
+            mContext.acquireBlockWorkerClient(entry.getKey());
+        clients.add(client);
+        for (List<Integer> batch : Lists.partition(entry.getValue(), GET_STATUS_BATCH_SIZE)) {
+          GetStatusBatchPRequest request = GetStatusBatchPRequest.newBuilder()
+              .addAllPaths(batch.stream().map(paths::get).collect(Collectors.toList()))
+              .setOptions(options)
+              .build();
+          calls.add(new Pair<>(batch, client.get().getStatusBatch(request)));
+        }
+      }
+      for (Pair<List<Integer>, ListenableFuture<GetStatusBatchPResponse>> call : calls) {
+        List<PathStatus> results = call.getSecond().get().getResultsList();
+        for (int i = 0; i < results.size(); i++) {
+          if (results.get(i).hasFileInfo()) {
+            statuses[call.getFirst().get(i)] =
+                new URIStatus(GrpcUtils.fromProto(results.get(i).getFileInfo()));
+          }
+        }
+      }
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new RuntimeException(e.getCause());
+    } finally {
+      clients.forEach(CloseableResource::close);
+    }
+    return Arrays.asList(statuses);
+  }
+
+  /**
+   * Checks the existence of many files or directories, in the same batches as
+   * {@link #getStatusBatch}.
+   *
+   * @param paths the full ufs paths
+   * @param options the options of the exists operation
+   * @return whether each path exists, in the order of the paths
+   */
+  public List<Boolean> existsBatch(List<String> paths, ExistsPOptions options) {
+    GetStatusPOptions.Builder statusOptions = GetStatusPOptions.newBuilder();
+    if (options.hasCommonOptions()) {
+      statusOptions.setCommonOptions(options.getCommonOptions());
+    }
+    return getStatusBatch(paths, statusOptions.build()).stream()
+        .map(Objects::nonNull)
+        .collect(Collectors.toList());
+  }
+
   /**
    * Create File.
    * @param path the file path
@@ -384,8 +488,11 @@ public class DoraCacheClient {
    * @return the related worker net address where file locates
    */
   public WorkerNetAddress getWorkerNetAddress(String path) {
+    return getWorkerNetAddress(getCachedWorkers(), path);
+  }
+
+  private WorkerNetAddress getWorkerNetAddress(List<BlockWorkerInfo> workers, String path) {
     try {
-      List<BlockWorkerInfo> workers = mContext.getCachedWorkers();
       List<BlockWorkerInfo> preferredWorkers =
           mWorkerLocationPolicy.getPreferredWorkers(workers,
               path, PREFERRED_WORKER_COUNT);
@@ -393,8 +500,57 @@ public class DoraCacheClient {
       WorkerNetAddress workerNetAddress = preferredWorkers.get(0).getNetAddress();
       return workerNetAddress;
     } catch (IOException e) {
-      // If failed to find workers in the cluster or failed to find the specified number of
-      // workers, throw an exception to the application
+      // If failed to find the specified number of workers, throw an exception to the application
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Gets the worker to read the data of a file from, which may be another worker than the one
+   * the file is mapped to if that worker is overloaded. A hot file is read from one of the first
+   * workers of the hash ring, and a worker other than the first is told to fill its cache from
+   * the first.
+   *
+   * @param path the file path
+   * @param ufsOptions the options to open the file with
+   * @return the worker, and the options to open the file on the worker with
+   */
+  private Pair<WorkerNetAddress, Protocol.OpenUfsBlockOptions> getReadWorker(String path,
+      Protocol.OpenUfsBlockOptions ufsOptions) {
+    if (mHotFileDetector == null || !mHotFileDetector.recordRead(path)) {
+      try {
+        List<BlockWorkerInfo> workers = mWorkerLocationPolicy.getPreferredReadWorkers(
+            getCachedWorkers(), path, PREFERRED_WORKER_COUNT);
+        checkState(workers.size() > 0);
+        return new Pair<>(workers.get(0).getNetAddress(), ufsOptions);
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
+    List<BlockWorkerInfo> workers = getCachedWorkers();
+    List<BlockWorkerInfo> replicas;
+    try {
+      replicas = mWorkerLocationPolicy.getPreferredWorkers(workers, path,
+          Math.min(mHotFileReadReplicas, workers.size()));
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    checkState(replicas.size() > 0);
+    WorkerNetAddress primary = replicas.get(0).getNetAddress();
+    WorkerNetAddress replica = replicas.get(
+        Math.floorMod(path.hashCode() + mHotFileReplicaSalt, replicas.size())).getNetAddress();
+    if (replica.equals(primary)) {
+      return new Pair<>(primary, ufsOptions);
+    }
+    return new Pair<>(replica, ufsOptions.toBuilder()
+        .setSourceWorker(GrpcUtils.toProto(primary)).build());
+  }
+
+  private List<BlockWorkerInfo> getCachedWorkers() {
+    try {
+      return mContext.getCachedWorkers();
+    } catch (IOException e) {
+      // If failed to find workers in the cluster, throw an exception to the application
       throw new RuntimeException(e);
     }
   }
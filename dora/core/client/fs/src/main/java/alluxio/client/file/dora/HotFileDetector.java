@@ -0,0 +1,80 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.dora;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Detects the files read often by a client.
+ *
+ * A file is hot once it has been opened for reading a number of times within a window starting
+ * from its first read. The reads of at most {@link #MAX_FILES} files are counted, the files
+ * counted the longest are dropped first.
+ */
+@ThreadSafe
+public class HotFileDetector {
+  /** The maximum number of files whose reads are counted. */
+  static final int MAX_FILES = 10000;
+
+  private final int mThreshold;
+  private final Cache<String, AtomicInteger> mReads;
+
+  /**
+   * @param threshold the number of reads from which a file is hot
+   * @param windowMs the length of the window the reads are counted in
+   */
+  public HotFileDetector(int threshold, long windowMs) {
+    this(threshold, windowMs, Ticker.systemTicker());
+  }
+
+  /**
+   * @param threshold the number of reads from which a file is hot
+   * @param windowMs the length of the window the reads are counted in
+   * @param ticker the ticker to measure the window with
+   */
+  HotFileDetector(int threshold, long windowMs, Ticker ticker) {
+    Preconditions.checkArgument(threshold > 0,
+        "hot file threshold should be positive but is %s", threshold);
+    mThreshold = threshold;
+    mReads = CacheBuilder.newBuilder()
+        .maximumSize(MAX_FILES)
+        .expireAfterWrite(windowMs, TimeUnit.MILLISECONDS)
+        .ticker(ticker)
+        .build();
+  }
+
+  /**
+   * Records a read of a file.
+   *
+   * @param path the path of the file
+   * @return whether the file is hot
+   */
+  public boolean recordRead(String path) {
+    if (mThreshold == 1) {
+      return true;
+    }
+    try {
+      return mReads.get(path, AtomicInteger::new).incrementAndGet() >= mThreshold;
+    } catch (ExecutionException e) {
+      // the counter is created without throwing
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.dora;
+
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.base.Preconditions;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Tracks the requests sent by a client to each worker, to bound the load of the workers in
+ * consistent hashing with bounded loads.
+ *
+ * The load of a worker is the number of requests sent to it within the last two windows. The
+ * bound of a worker is the bound factor times its share of the total load, the share being its
+ * share of the virtual nodes of the hash ring. A worker is overloaded when one more request
+ * would take it over its bound, and a bound is never lower than {@link #MIN_BOUND}, so that the
+ * requests of a client sending few requests are not spread over the workers.
+ */
+@ThreadSafe
+public class WorkerLoadTracker {
+  /** The minimum bound of the load of a worker. */
+  static final long MIN_BOUND = 16;
+
+  private final double mBoundFactor;
+  private final long mWindowMs;
+  private final LongSupplier mClock;
+  private final ConcurrentHashMap<WorkerNetAddress, Load> mLoads = new ConcurrentHashMap<>();
+  private final Load mTotalLoad = new Load();
+  private final AtomicLong mWindowStartMs;
+
+  /**
+   * @param boundFactor the load bound factor, greater than 1
+   * @param windowMs the length of a window
+   */
+  public WorkerLoadTracker(double boundFactor, long windowMs) {
+    this(boundFactor, windowMs, System::currentTimeMillis);
+  }
+
+  /**
+   * @param boundFactor the load bound factor, greater than 1
+   * @param windowMs the length of a window
+   * @param clock the clock to measure the windows with
+   */
+  WorkerLoadTracker(double boundFactor, long windowMs, LongSupplier clock) {
+    Preconditions.checkArgument(boundFactor > 1,
+        "load bound factor should be greater than 1 but is %s", boundFactor);
+    Preconditions.checkArgument(windowMs > 0,
+        "load window should be positive but is %s", windowMs);
+    mBoundFactor = boundFactor;
+    mWindowMs = windowMs;
+    mClock = clock;
+    mWindowStartMs = new AtomicLong(clock.getAsLong());
+  }
+
+  /**
+   * @param worker the worker
+   * @param share the share of the load the worker should take
+   * @return whether one more request would take the worker over its bound
+   */
+  public boolean isOverloaded(WorkerNetAddress worker, double share) {
+    maybeRotate();
+    Load load = mLoads.get(worker);
+    if (load == null) {
+      return false;
+    }
+    long bound = Math.max(MIN_BOUND,
+        (long) Math.ceil(mBoundFactor * (mTotalLoad.get() + 1) * share));
+    return load.get() + 1 > bound;
+  }
+
+  /**
+   * Records a request sent to a worker.
+   *
+   * @param worker the worker
+   */
+  public void record(WorkerNetAddress worker) {
+    maybeRotate();
+    mLoads.computeIfAbsent(worker, k -> new Load()).increment();
+    mTotalLoad.increment();
+  }
+
+  /**
+   * @param worker the worker
+   * @return the load of the worker
+   */
+  public long getLoad(WorkerNetAddress worker) {
+    Load load = mLoads.get(worker);
+    return load == null ? 0 : load.get();
+  }
+
+  private void maybeRotate() {
+    long windowStartMs = mWindowStartMs.get();
+    long now = mClock.getAsLong();
+    if (now - windowStartMs < mWindowMs || !mWindowStartMs.compareAndSet(windowStartMs, now)) {
+      return;
+    }
+    // the loads are approximate while they are rotated, as requests may be recorded meanwhile
+    boolean expired = now - windowStartMs >= 2 * mWindowMs;
+    for (Load load : mLoads.values()) {
+      load.rotate(expired);
+    }
+    mTotalLoad.rotate(expired);
+    mLoads.values().removeIf(Load::isIdle);
+  }
+
+  private static final class Load {
+    private final LongAdder mCurrent = new LongAdder();
+    private volatile long mPrevious;
+
+    private void increment() {
+      mCurrent.increment();
+    }
+
+    private long get() {
+      return mPrevious + mCurrent.sum();
+    }
+
+    private void rotate(boolean expired) {
+      long current = mCurrent.sumThenReset();
+      mPrevious = expired ? 0 : current;
+    }
+
+    private boolean isIdle() {
+      return mPrevious == 0 && mCurrent.sum() == 0;
+    }
+  }
+}
@@ -49,6 +49,24 @@ public interface WorkerLocationPolicy {
   List<BlockWorkerInfo> getPreferredWorkers(List<BlockWorkerInfo> blockWorkerInfos,
       String fileId, int count) throws ResourceExhaustedException;
 
+  /**
+   * Find a specified number of workers to read the data of a file from. Unlike
+   * {@link #getPreferredWorkers(List, String, int)}, the workers may depend on the load of the
+   * workers, as the data of a file can be read from any worker, while its metadata and writes
+   * must go to the same worker for every client. The default implementation returns the
+   * preferred workers.
+   *
+   * @param blockWorkerInfos
+   * @param fileId
+   * @param count
+   * @return a list of workers to read from
+   * @throws ResourceExhaustedException if unable to return exactly #{count} workers
+   */
+  default List<BlockWorkerInfo> getPreferredReadWorkers(List<BlockWorkerInfo> blockWorkerInfos,
+      String fileId, int count) throws ResourceExhaustedException {
+    return getPreferredWorkers(blockWorkerInfos, fileId, count);
+  }
+
   /**
    * The factory for the {@link WorkerLocationPolicy}.
    */
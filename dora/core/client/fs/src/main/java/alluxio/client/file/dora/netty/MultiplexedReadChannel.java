@@ -0,0 +1,217 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.dora.netty;
+
+import alluxio.client.file.dora.netty.event.ResponseEvent;
+import alluxio.client.file.dora.netty.event.ResponseEventFactory;
+import alluxio.exception.status.UnavailableException;
+import alluxio.network.protocol.RPCProtoMessage;
+import alluxio.network.protocol.databuffer.DataBuffer;
+import alluxio.util.CommonUtils;
+import alluxio.util.network.NettyUtils;
+import alluxio.util.proto.ProtoMessage;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A Netty channel to a worker which is shared by many concurrent position reads.
+ *
+ * Every read on the channel is a stream with an id unique to the channel. The read requests of
+ * a stream carry its id, the worker tags all its responses to the read with the same id, and the
+ * responses are dispatched to the response queue of the stream. Responses of a stream which has
+ * already been closed are dropped.
+ *
+ * Flow control is tracked for the channel as a whole: reading from the channel is paused while
+ * the queue of any stream is full, and is resumed only once the readers of all the full queues
+ * have caught up, so that a fast stream cannot resume reading on behalf of a slow one.
+ */
+@ThreadSafe
+public final class MultiplexedReadChannel implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(MultiplexedReadChannel.class);
+
+  private final Channel mChannel;
+  private final int mMaxPacketsInFlight;
+  private final AtomicLong mNextStreamId = new AtomicLong();
+  private final ConcurrentHashMap<Long, BlockingQueue<ResponseEvent>> mStreams =
+      new ConcurrentHashMap<>();
+  /** The streams whose queue is full, reading from the channel is paused while any is. */
+  @GuardedBy("this")
+  private final Set<Long> mFullStreams = new HashSet<>();
+
+  /**
+   * @param channel the channel to the worker, which is owned by this object from now on
+   * @param maxPacketsInFlight the number of responses queued for a stream above which reading
+   *        from the channel is paused
+   */
+  public MultiplexedReadChannel(Channel channel, int maxPacketsInFlight) {
+    mChannel = channel;
+    mMaxPacketsInFlight = maxPacketsInFlight;
+    mChannel.pipeline().addLast(new DemultiplexingHandler());
+  }
+
+  /**
+   * Opens a stream on the channel.
+   *
+   * @param responseQueue the queue to dispatch the responses of the stream to
+   * @return the id of the stream
+   */
+  public long openStream(BlockingQueue<ResponseEvent> responseQueue) {
+    long streamId = mNextStreamId.getAndIncrement();
+    mStreams.put(streamId, responseQueue);
+    return streamId;
+  }
+
+  /**
+   * Closes a stream, after which its responses are dropped.
+   *
+   * @param streamId the id of the stream
+   */
+  public void closeStream(long streamId) {
+    mStreams.remove(streamId);
+    synchronized (this) {
+      // reading may have been paused for this stream, the other streams must not wait on it
+      if (mFullStreams.remove(streamId) && mFullStreams.isEmpty()) {
+        NettyUtils.enableAutoRead(mChannel);
+      }
+    }
+  }
+
+  /**
+   * Called by the reader of a stream when it takes responses from the queue of the stream.
+   * Reading from the channel is resumed if it was paused only for this stream and its queue is
+   * no longer full.
+   *
+   * @param streamId the id of the stream
+   */
+  public void onResponsesConsumed(long streamId) {
+    BlockingQueue<ResponseEvent> queue = mStreams.get(streamId);
+    if (queue != null) {
+      updateFullStreams(streamId, queue);
+    }
+  }
+
+  /**
+   * Records whether the queue of a stream is full, and pauses or resumes reading from the
+   * channel accordingly.
+   */
+  private synchronized void updateFullStreams(long streamId, BlockingQueue<ResponseEvent> queue) {
+    if (queue.size() >= mMaxPacketsInFlight) {
+      // a stream closed concurrently must not keep reading paused
+      if (mStreams.containsKey(streamId) && mFullStreams.add(streamId)
+          && mFullStreams.size() == 1) {
+        NettyUtils.disableAutoRead(mChannel);
+      }
+    } else if (mFullStreams.remove(streamId) && mFullStreams.isEmpty()) {
+      NettyUtils.enableAutoRead(mChannel);
+    }
+  }
+
+  /**
+   * @return the channel
+   */
+  public Channel getChannel() {
+    return mChannel;
+  }
+
+  /**
+   * @return whether the channel is open
+   */
+  public boolean isOpen() {
+    return mChannel.isOpen();
+  }
+
+  /**
+   * @return the number of open streams
+   */
+  @VisibleForTesting
+  public int getStreamCount() {
+    return mStreams.size();
+  }
+
+  /**
+   * @return the number of streams reading from the channel is paused for
+   */
+  @VisibleForTesting
+  public synchronized int getFullStreamCount() {
+    return mFullStreams.size();
+  }
+
+  @Override
+  public void close() {
+    CommonUtils.closeChannel(mChannel);
+  }
+
+  private final class DemultiplexingHandler extends ChannelInboundHandlerAdapter {
+    private final ResponseEventFactory mResponseEventFactory =
+        ResponseEventFactory.getResponseEventFactory();
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+      if (!(msg instanceof RPCProtoMessage)) {
+        throw new IllegalStateException(String
+            .format("Incorrect response type %s, %s.", msg.getClass().getCanonicalName(), msg));
+      }
+      RPCProtoMessage rpcProtoMessage = (RPCProtoMessage) msg;
+      ProtoMessage message = rpcProtoMessage.getMessage();
+      BlockingQueue<ResponseEvent> queue = null;
+      if (message.isResponse() && message.asResponse().hasStreamId()) {
+        queue = mStreams.get(message.asResponse().getStreamId());
+      }
+      if (queue == null) {
+        LOG.debug("Dropping response of a closed stream on channel {}: {}",
+            ctx.channel(), rpcProtoMessage);
+        DataBuffer dataBuffer = rpcProtoMessage.getPayloadDataBuffer();
+        if (dataBuffer != null) {
+          dataBuffer.release();
+        }
+        return;
+      }
+      long streamId = message.asResponse().getStreamId();
+      queue.offer(NettyDataReaderStateMachine.createResponseEvent(ctx.channel(),
+          rpcProtoMessage));
+      updateFullStreams(streamId, queue);
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+      LOG.error("Exception is caught while reading data from multiplexed channel {}:",
+          ctx.channel(), cause);
+      mStreams.values().forEach(queue ->
+          queue.offer(mResponseEventFactory.createChannelErrorResponseEvent(cause)));
+      ctx.fireExceptionCaught(cause);
+    }
+
+    @Override
+    public void channelUnregistered(ChannelHandlerContext ctx) {
+      LOG.warn("Multiplexed channel {} is closed with {} open streams.", ctx.channel(),
+          mStreams.size());
+      mStreams.values().forEach(queue ->
+          queue.offer(mResponseEventFactory.createChannelErrorResponseEvent(
+              new UnavailableException(String.format("Channel %s is closed.", ctx.channel())))));
+      ctx.fireChannelUnregistered();
+    }
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.dora.netty;
+
+import com.google.common.base.Preconditions;
+import io.netty.channel.Channel;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A fixed number of {@link MultiplexedReadChannel}s to a worker, which are handed out round
+ * robin to the reads. Unlike the channels of a regular channel pool, the channels are never
+ * returned to the pool, as any number of reads can use them at the same time. The channels are
+ * owned by the pool and are closed when it is closed. A channel which
+ * has been closed, e.g. because of a network error, is replaced by a new one when it is next
+ * handed out.
+ */
+@ThreadSafe
+public final class MultiplexedReadChannelPool implements Closeable {
+  private final ChannelFactory mChannelFactory;
+  private final int mMaxPacketsInFlight;
+  private final AtomicInteger mNextChannel = new AtomicInteger();
+  @GuardedBy("this")
+  private final MultiplexedReadChannel[] mChannels;
+  @GuardedBy("this")
+  private boolean mClosed;
+
+  /**
+   * Creates the channels of a {@link MultiplexedReadChannelPool}.
+   */
+  @FunctionalInterface
+  public interface ChannelFactory {
+    /**
+     * @return a new channel to the worker
+     */
+    Channel create() throws IOException;
+  }
+
+  /**
+   * @param channelFactory the factory of the channels
+   * @param size the number of channels
+   * @param maxPacketsInFlight the number of responses queued for a read above which reading
+   *        from its channel is paused
+   */
+  public MultiplexedReadChannelPool(ChannelFactory channelFactory, int size,
+      int maxPacketsInFlight) {
+    Preconditions.checkArgument(size > 0,
+        "number of multiplexed channels should be positive but is %s", size);
+    mChannelFactory = channelFactory;
+    mMaxPacketsInFlight = maxPacketsInFlight;
+    mChannels = new MultiplexedReadChannel[size];
+  }
+
+  /**
+   * Gets the next channel, creating it if it does not exist or has been closed. The connection
+   * is made without holding the lock of the pool, so that reads on the other channels are not
+   * blocked by a slow connect.
+   *
+   * @return the channel
+   */
+  public MultiplexedReadChannel acquire() throws IOException {
+    int index = Math.floorMod(mNextChannel.getAndIncrement(), mChannels.length);
+    synchronized (this) {
+      Preconditions.checkState(!mClosed, "multiplexed channel pool is closed");
+      MultiplexedReadChannel channel = mChannels[index];
+      if (channel != null && channel.isOpen()) {
+        return channel;
+      }
+    }
+    MultiplexedReadChannel created =
+        new MultiplexedReadChannel(mChannelFactory.create(), mMaxPacketsInFlight);
+    synchronized (this) {
+      MultiplexedReadChannel channel = mChannels[index];
+      if (mClosed || (channel != null && channel.isOpen())) {
+        // the pool was closed or another read replaced the channel while connecting
+        created.close();
+        Preconditions.checkState(!mClosed, "multiplexed channel pool is closed");
+        return channel;
+      }
+      mChannels[index] = created;
+      return created;
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    mClosed = true;
+    for (int i = 0; i < mChannels.length; i++) {
+      if (mChannels[i] != null) {
+        mChannels[i].close();
+        mChannels[i] = null;
+      }
+    }
+  }
+}
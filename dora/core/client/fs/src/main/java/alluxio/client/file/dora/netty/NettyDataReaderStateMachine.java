@@ -78,6 +78,7 @@ public class NettyDataReaderStateMachine {
   private final FileSystemContext mContext;
   private final long mReadTimeoutMs;
   private final int mMaxPacketsInFlight;
+  private final boolean mMultiplexed;
   private final WorkerNetAddress mAddress;
   private final Supplier<Protocol.ReadRequest.Builder> mRequestBuilder;
   private final int mLength;
@@ -86,6 +87,10 @@ public class NettyDataReaderStateMachine {
 
   @Nullable
   private Channel mChannel;
+  /** The shared channel the read is a stream of, when multiplexing is enabled. */
+  @Nullable
+  private MultiplexedReadChannel mMultiplexedChannel;
+  private long mStreamId;
   private int mBytesRead;
   @Nullable
   private Throwable mLastException;
@@ -183,6 +188,7 @@ public class NettyDataReaderStateMachine {
     AlluxioConfiguration conf = context.getClusterConf();
     mReadTimeoutMs = conf.getMs(PropertyKey.USER_NETWORK_NETTY_TIMEOUT_MS);
     mMaxPacketsInFlight = conf.getInt(PropertyKey.USER_NETWORK_NETTY_READER_BUFFER_SIZE_PACKETS);
+    mMultiplexed = conf.getBoolean(PropertyKey.USER_NETWORK_NETTY_READER_MULTIPLEXING_ENABLED);
     mAddress = address;
     // clone the builder so that the initial values does not get overridden
     mRequestBuilder = requestBuilder::clone;
@@ -312,7 +318,10 @@ public class NettyDataReaderStateMachine {
     } catch (RuntimeException e) {
       LOG.error("Unexpected exception during execution, state: {}", mStateMachine.getState(), e);
       // close and release the channel in case there is a programming error in the state machine
-      if (mChannel != null) {
+      if (mMultiplexedChannel != null) {
+        // other reads share the channel, only this stream is closed
+        mMultiplexedChannel.closeStream(mStreamId);
+      } else if (mChannel != null) {
         CommonUtils.closeChannel(mChannel);
         mContext.releaseNettyChannel(mAddress, mChannel);
       }
@@ -379,8 +388,15 @@ public class NettyDataReaderStateMachine {
 
   void acquireNettyChannel() {
     try {
-      mChannel = mContext.acquireNettyChannel(mAddress);
-      mChannel.pipeline().addLast(new PacketReadHandler(mResponseEventQueue, mMaxPacketsInFlight));
+      if (mMultiplexed) {
+        mMultiplexedChannel = mContext.acquireMultiplexedReadChannel(mAddress);
+        mStreamId = mMultiplexedChannel.openStream(mResponseEventQueue);
+        mChannel = mMultiplexedChannel.getChannel();
+      } else {
+        mChannel = mContext.acquireNettyChannel(mAddress);
+        mChannel.pipeline().addLast(
+            new PacketReadHandler(mResponseEventQueue, mMaxPacketsInFlight));
+      }
     } catch (IOException ioe) {
       fireNext(mTriggerEventsWithParam.mChannelUnavailableEvent, ioe);
       return;
@@ -390,7 +406,7 @@ public class NettyDataReaderStateMachine {
 
   void sendRequest() {
     Preconditions.checkNotNull(mChannel, "channel has not been acquired");
-    Protocol.ReadRequest readRequest = mRequestBuilder.get().clearCancel().build();
+    Protocol.ReadRequest readRequest = newRequestBuilder().clearCancel().build();
     mChannel.writeAndFlush(new RPCProtoMessage(new ProtoMessage(readRequest)))
         .addListener((ChannelFutureListener) future -> {
           if (!future.isSuccess()) {
@@ -404,7 +420,10 @@ public class NettyDataReaderStateMachine {
   }
 
   void pollResponseFromQueue() {
-    if (!tooManyResponseEventsPending(mResponseEventQueue, mMaxPacketsInFlight)) {
+    if (mMultiplexedChannel != null) {
+      // the channel is shared, reading is resumed only when no stream on it is still full
+      mMultiplexedChannel.onResponsesConsumed(mStreamId);
+    } else if (!tooManyResponseEventsPending(mResponseEventQueue, mMaxPacketsInFlight)) {
       NettyUtils.enableAutoRead(mChannel);
     }
     ResponseEventContext responseEventContext =
@@ -472,7 +491,7 @@ public class NettyDataReaderStateMachine {
 
   void sendClientCancel() {
     Preconditions.checkNotNull(mChannel, "cannot cancel when channel has not been acquired");
-    Protocol.ReadRequest cancelRequest = mRequestBuilder.get().setCancel(true).build();
+    Protocol.ReadRequest cancelRequest = newRequestBuilder().setCancel(true).build();
     mChannel.writeAndFlush(new RPCProtoMessage(new ProtoMessage(cancelRequest)))
         .addListener((ChannelFutureListener) future -> {
           if (!future.isSuccess()) {
@@ -485,12 +504,23 @@ public class NettyDataReaderStateMachine {
         });
   }
 
+  private Protocol.ReadRequest.Builder newRequestBuilder() {
+    Protocol.ReadRequest.Builder builder = mRequestBuilder.get();
+    if (mMultiplexedChannel != null) {
+      builder.setStreamId(mStreamId);
+    }
+    return builder;
+  }
+
   /**
-   * Synchronously closes the channel.
+   * Synchronously closes the channel. A multiplexed channel is left open for the other reads
+   * sharing it, and the remaining responses of this read are dropped once its stream is closed.
    */
   void syncCloseChannel() {
     Preconditions.checkNotNull(mChannel, "cannot close channel when channel has not been acquired");
-    CommonUtils.closeChannel(mChannel);
+    if (mMultiplexedChannel == null) {
+      CommonUtils.closeChannel(mChannel);
+    }
   }
 
   // discard data remaining in the queue
@@ -502,7 +532,10 @@ public class NettyDataReaderStateMachine {
   }
 
   void onTerminatedExceptionally(Transition<State, TriggerEvent> transition) {
-    if (mChannel != null) {
+    if (mMultiplexedChannel != null) {
+      // a broken multiplexed channel is replaced when the next read acquires one
+      mMultiplexedChannel.closeStream(mStreamId);
+    } else if (mChannel != null) {
       if (mChannel.isOpen()) {
         CommonUtils.closeChannel(mChannel);
       }
@@ -512,6 +545,10 @@ public class NettyDataReaderStateMachine {
 
   void onTerminatedNormally(Transition<State, TriggerEvent> transition) {
     Preconditions.checkNotNull(mChannel, "terminated normally but channel is null");
+    if (mMultiplexedChannel != null) {
+      mMultiplexedChannel.closeStream(mStreamId);
+      return;
+    }
     if (mChannel.isOpen()) {
       mChannel.pipeline().removeLast();
       NettyUtils.enableAutoRead(mChannel);
@@ -519,6 +556,55 @@ public class NettyDataReaderStateMachine {
     mContext.releaseNettyChannel(mAddress, mChannel);
   }
 
+  /**
+   * Converts a response from the worker to the event of the response.
+   *
+   * @param channel the channel the response is received from
+   * @param rpcProtoMessage the response
+   * @return the response event
+   */
+  static ResponseEvent createResponseEvent(Channel channel, RPCProtoMessage rpcProtoMessage) {
+    ResponseEventFactory responseEventFactory = ResponseEventFactory.getResponseEventFactory();
+    ResponseEvent responseEvent;
+    ProtoMessage message = rpcProtoMessage.getMessage();
+    if (message.isReadResponse()) {
+      Preconditions.checkState(
+          message.asReadResponse().getType() == Protocol.ReadResponse.Type.UFS_READ_HEARTBEAT);
+      responseEvent = responseEventFactory.createUfsReadHeartBeatResponseEvent();
+    } else if (message.isResponse()) {
+      Protocol.Response response = message.asResponse();
+      // Canceled is considered a valid status and handled in the reader. We avoid creating a
+      // CanceledException as an optimization.
+      switch (response.getStatus()) {
+        case CANCELLED:
+          responseEvent = responseEventFactory.createCancelResponseEvent();
+          break;
+        case OK:
+          DataBuffer dataBuffer = rpcProtoMessage.getPayloadDataBuffer();
+          if (dataBuffer != null) {
+            Preconditions.checkState(dataBuffer.getNettyOutput() instanceof ByteBuf,
+                "dataBuffer.getNettyOutput is not of type ByteBuf");
+            // no need to retain this buffer since it's already retained by RPCProtoMessage.decode
+            responseEvent = responseEventFactory.createDataResponseEvent(dataBuffer);
+          } else {
+            // an empty response indicates the worker has done sending data
+            responseEvent = responseEventFactory.createEofResponseEvent();
+          }
+          break;
+        default:
+          Status status = ProtoUtils.fromProto(response.getStatus());
+          AlluxioStatusException error = AlluxioStatusException.from(
+              status.withDescription(String.format("Error from server %s: %s",
+                  channel.remoteAddress(), response.getMessage())));
+          responseEvent = responseEventFactory.createServerErrorResponseEvent(error);
+      }
+    } else {
+      throw new IllegalStateException(
+          String.format("Incorrect response type %s.", message));
+    }
+    return responseEvent;
+  }
+
   private static boolean tooManyResponseEventsPending(
       BlockingQueue<ResponseEvent> queue, int maxPacketsInFlight) {
     return queue.size() >= maxPacketsInFlight;
@@ -545,45 +631,7 @@ public class NettyDataReaderStateMachine {
             .format("Incorrect response type %s, %s.", msg.getClass().getCanonicalName(), msg));
       }
 
-      ResponseEvent responseEvent;
-      RPCProtoMessage rpcProtoMessage = (RPCProtoMessage) msg;
-      ProtoMessage message = rpcProtoMessage.getMessage();
-      if (message.isReadResponse()) {
-        Preconditions.checkState(
-            message.asReadResponse().getType() == Protocol.ReadResponse.Type.UFS_READ_HEARTBEAT);
-        responseEvent = mResponseEventFactory.createUfsReadHeartBeatResponseEvent();
-      } else if (message.isResponse()) {
-        Protocol.Response response = message.asResponse();
-        // Canceled is considered a valid status and handled in the reader. We avoid creating a
-        // CanceledException as an optimization.
-        switch (response.getStatus()) {
-          case CANCELLED:
-            responseEvent = mResponseEventFactory.createCancelResponseEvent();
-            break;
-          case OK:
-            DataBuffer dataBuffer = rpcProtoMessage.getPayloadDataBuffer();
-            if (dataBuffer != null) {
-              Preconditions.checkState(dataBuffer.getNettyOutput() instanceof ByteBuf,
-                  "dataBuffer.getNettyOutput is not of type ByteBuf");
-              // no need to retain this buffer since it's already retained by RPCProtoMessage.decode
-              responseEvent = mResponseEventFactory.createDataResponseEvent(dataBuffer);
-            } else {
-              // an empty response indicates the worker has done sending data
-              responseEvent = mResponseEventFactory.createEofResponseEvent();
-            }
-            break;
-          default:
-            Status status = ProtoUtils.fromProto(response.getStatus());
-            AlluxioStatusException error = AlluxioStatusException.from(
-                status.withDescription(String.format("Error from server %s: %s",
-                    ctx.channel().remoteAddress(), response.getMessage())));
-            responseEvent = mResponseEventFactory.createServerErrorResponseEvent(error);
-        }
-      } else {
-        throw new IllegalStateException(
-            String.format("Incorrect response type %s.", message));
-      }
-
+      ResponseEvent responseEvent = createResponseEvent(ctx.channel(), (RPCProtoMessage) msg);
       if (tooManyResponseEventsPending(mResponseEventQueue, mMaxPacketsInFlight)) {
         NettyUtils.disableAutoRead(ctx.channel());
       }
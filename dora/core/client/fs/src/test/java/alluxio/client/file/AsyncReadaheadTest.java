@@ -0,0 +1,163 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.ByteArrayPositionReader;
+import alluxio.Constants;
+import alluxio.PositionReader;
+import alluxio.file.ReadTargetBuffer;
+import alluxio.util.io.BufferUtils;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AsyncReadaheadTest {
+  private static final int FILE_LENGTH = 10 * Constants.MB;
+  private static final int MIN_WINDOW_SIZE = 64 * Constants.KB;
+  private static final int MAX_WINDOW_SIZE = Constants.MB;
+
+  private final PositionReader mReader =
+      new ByteArrayPositionReader(BufferUtils.getIncreasingByteArray(FILE_LENGTH));
+  private final ExecutorService mExecutor = Executors.newFixedThreadPool(4);
+
+  @After
+  public void after() {
+    mExecutor.shutdownNow();
+  }
+
+  @Test
+  public void sequentialRead() throws Exception {
+    try (AsyncReadahead readahead = new AsyncReadahead(mReader, FILE_LENGTH, mExecutor, 4,
+        MIN_WINDOW_SIZE, MAX_WINDOW_SIZE)) {
+      Random random = new Random(0xdeadd00d);
+      byte[] buffer = new byte[100 * Constants.KB];
+      long pos = 0;
+      while (pos < FILE_LENGTH) {
+        ByteBuffer out = ByteBuffer.wrap(buffer, 0, 1 + random.nextInt(buffer.length));
+        int bytesRead = readahead.read(pos, out);
+        assertTrue(bytesRead > 0);
+        assertTrue(BufferUtils.equalIncreasingByteBuffer(
+            (int) pos, bytesRead, ByteBuffer.wrap(buffer, 0, bytesRead)));
+        pos += bytesRead;
+      }
+      assertEquals(FILE_LENGTH, pos);
+      assertEquals(MAX_WINDOW_SIZE, readahead.getWindowSize());
+      assertEquals(-1, readahead.read(pos, ByteBuffer.allocate(1)));
+    }
+  }
+
+  @Test
+  public void randomReadCancelsReadahead() throws Exception {
+    try (AsyncReadahead readahead = new AsyncReadahead(mReader, FILE_LENGTH, Runnable::run, 4,
+        MIN_WINDOW_SIZE, MAX_WINDOW_SIZE)) {
+      long pos = 0;
+      for (int i = 0; i < 4; i++) {
+        pos += readahead.read(pos, ByteBuffer.allocate(MIN_WINDOW_SIZE));
+      }
+      assertEquals(4, readahead.getWindowCount());
+      int windowSize = readahead.getWindowSize();
+      assertTrue(windowSize > MIN_WINDOW_SIZE);
+
+      ByteBuffer out = ByteBuffer.allocate(Constants.KB);
+      long randomPos = FILE_LENGTH / 2 + 17;
+      assertEquals(Constants.KB, readahead.read(randomPos, out));
+      out.flip();
+      assertTrue(BufferUtils.equalIncreasingByteBuffer((int) randomPos, Constants.KB, out));
+      assertEquals(0, readahead.getWindowCount());
+      assertEquals(windowSize / 2, readahead.getWindowSize());
+    }
+  }
+
+  @Test
+  public void seekWithinReadahead() throws Exception {
+    try (AsyncReadahead readahead = new AsyncReadahead(mReader, FILE_LENGTH, Runnable::run, 4,
+        MIN_WINDOW_SIZE, MAX_WINDOW_SIZE)) {
+      long pos = 0;
+      for (int i = 0; i < 3; i++) {
+        pos += readahead.read(pos, ByteBuffer.allocate(Constants.KB));
+      }
+      assertEquals(4, readahead.getWindowCount());
+      // skipping forward within the windows keeps reading ahead
+      pos += MIN_WINDOW_SIZE;
+      readahead.seek(pos);
+      assertEquals(4, readahead.getWindowCount());
+      ByteBuffer out = ByteBuffer.allocate(Constants.KB);
+      assertEquals(Constants.KB, readahead.read(pos, out));
+      out.flip();
+      assertTrue(BufferUtils.equalIncreasingByteBuffer((int) pos, Constants.KB, out));
+      assertTrue(readahead.getWindowCount() > 0);
+      // seeking outside of the windows cancels them
+      readahead.seek(0);
+      assertEquals(0, readahead.getWindowCount());
+    }
+  }
+
+  @Test
+  public void closeWaitsForFetches() throws Exception {
+    CountDownLatch fetching = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicBoolean closed = new AtomicBoolean(false);
+    AtomicInteger readsAfterClose = new AtomicInteger();
+    PositionReader reader = new PositionReader() {
+      @Override
+      public int readInternal(long position, ReadTargetBuffer buffer, int length)
+          throws IOException {
+        if (closed.get()) {
+          readsAfterClose.incrementAndGet();
+        }
+        if (position >= 3 * Constants.KB) {
+          // a fetch of a window
+          fetching.countDown();
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+          }
+        }
+        return mReader.read(position, buffer, length);
+      }
+    };
+    AsyncReadahead readahead = new AsyncReadahead(reader, FILE_LENGTH, mExecutor, 4,
+        MIN_WINDOW_SIZE, MAX_WINDOW_SIZE);
+    long pos = 0;
+    for (int i = 0; i < 3; i++) {
+      pos += readahead.read(pos, ByteBuffer.allocate(Constants.KB));
+    }
+    fetching.await();
+    CompletableFuture<Void> closing = CompletableFuture.runAsync(readahead::close);
+    assertThrows(TimeoutException.class, () -> closing.get(100, TimeUnit.MILLISECONDS));
+    release.countDown();
+    closing.get();
+    // the reader is closed once the readahead is
+    closed.set(true);
+    mExecutor.shutdown();
+    assertTrue(mExecutor.awaitTermination(10, TimeUnit.SECONDS));
+    assertEquals(0, readsAfterClose.get());
+  }
+}
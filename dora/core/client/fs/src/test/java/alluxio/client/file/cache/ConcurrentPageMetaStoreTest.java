@@ -0,0 +1,175 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.client.file.cache.evictor.CacheEvictorOptions;
+import alluxio.client.file.cache.evictor.LRUCacheEvictor;
+import alluxio.client.file.cache.store.PageStoreDir;
+import alluxio.client.file.cache.store.PageStoreOptions;
+import alluxio.exception.PageNotFoundException;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the {@link ConcurrentPageMetaStore} class.
+ */
+public class ConcurrentPageMetaStoreTest extends DefaultMetaStoreTest {
+
+  @Before
+  @Override
+  public void before() {
+    MetricsSystem.clearAllMetrics();
+    // the evictor is shared by concurrent callers in these tests, so use a thread safe one
+    mPageStoreDir =
+        PageStoreDir.createPageStoreDir(
+            new CacheEvictorOptions().setEvictorClass(LRUCacheEvictor.class),
+            new PageStoreOptions().setRootDir(
+                Paths.get(mTempFolder.getRoot().getAbsolutePath())));
+    mPageInfo = new PageInfo(mPage, 1024, mPageStoreDir);
+    mMetaStore = new ConcurrentPageMetaStore(ImmutableList.of(mPageStoreDir));
+    mCachedPageGauge =
+        MetricsSystem.METRIC_REGISTRY.getGauges().get(MetricKey.CLIENT_CACHE_PAGES.getName());
+  }
+
+  @Test
+  public void readLockDoesNotBlock() throws Exception {
+    mMetaStore.getLock().writeLock().lock();
+    try {
+      ExecutorService executor = Executors.newSingleThreadExecutor();
+      try {
+        Future<Boolean> locked = executor.submit(() -> {
+          boolean acquired = mMetaStore.getLock().readLock().tryLock();
+          mMetaStore.getLock().readLock().unlock();
+          return acquired;
+        });
+        assertTrue(locked.get(10, TimeUnit.SECONDS));
+        assertFalse(executor.submit(() -> mMetaStore.getLock().writeLock().tryLock())
+            .get(10, TimeUnit.SECONDS));
+      } finally {
+        executor.shutdownNow();
+      }
+    } finally {
+      mMetaStore.getLock().writeLock().unlock();
+    }
+  }
+
+  @Test
+  public void getAllPagesByFileId() throws Exception {
+    PageInfo page0 = new PageInfo(new PageId("1L", 0L), 1024, mPageStoreDir);
+    mMetaStore.addPage(page0.getPageId(), page0);
+    mMetaStore.addPage(mPage, mPageInfo);
+    assertEquals(2, mMetaStore.getAllPagesByFileId("1L").size());
+    assertEquals(mPageStoreDir, mMetaStore.getStoreDirOfFile("1L"));
+    mMetaStore.removePage(page0.getPageId());
+    assertEquals(1, mMetaStore.getAllPagesByFileId("1L").size());
+    mMetaStore.removePage(mPage);
+    assertTrue(mMetaStore.getAllPagesByFileId("1L").isEmpty());
+    assertEquals(0, mMetaStore.bytes());
+  }
+
+  @Test
+  public void getAllPagesByFileIdReturnsCopy() throws Exception {
+    mMetaStore.addPage(mPage, mPageInfo);
+    Set<PageInfo> pages = mMetaStore.getAllPagesByFileId("1L");
+    assertThrows(UnsupportedOperationException.class, pages::clear);
+    mMetaStore.removePage(mPage);
+    assertEquals(1, pages.size());
+  }
+
+  @Test
+  public void bytesPerDir() throws Exception {
+    PageStoreDir otherDir =
+        PageStoreDir.createPageStoreDir(
+            new CacheEvictorOptions().setEvictorClass(LRUCacheEvictor.class),
+            new PageStoreOptions().setRootDir(
+                Paths.get(mTempFolder.newFolder().getAbsolutePath())));
+    ConcurrentPageMetaStore metaStore =
+        new ConcurrentPageMetaStore(ImmutableList.of(mPageStoreDir, otherDir));
+    PageInfo otherPage = new PageInfo(new PageId("2L", 0L), 512, otherDir);
+    metaStore.addPage(mPage, mPageInfo);
+    metaStore.addPage(otherPage.getPageId(), otherPage);
+    assertEquals(mPageInfo.getPageSize(), metaStore.bytes(mPageStoreDir));
+    assertEquals(otherPage.getPageSize(), metaStore.bytes(otherDir));
+    assertEquals(mPageInfo.getPageSize() + otherPage.getPageSize(), metaStore.bytes());
+    metaStore.removePage(mPage);
+    assertEquals(0, metaStore.bytes(mPageStoreDir));
+    assertEquals(otherPage.getPageSize(), metaStore.bytes(otherDir));
+    metaStore.reset();
+    assertEquals(0, metaStore.bytes(otherDir));
+  }
+
+  @Test
+  public void commitFile() throws Exception {
+    mMetaStore.addTempPage(mPage, mPageInfo);
+    mMetaStore.commitFile("1L", "2L");
+    assertFalse(mMetaStore.hasPage(mPage));
+    PageId committed = new PageId("2L", mPage.getPageIndex());
+    assertTrue(mMetaStore.hasPage(committed));
+    assertTrue(mMetaStore.getAllPagesByFileId("1L").isEmpty());
+    assertEquals(1, mMetaStore.getAllPagesByFileId("2L").size());
+    assertEquals(mPageInfo.getPageSize(), mMetaStore.bytes());
+    assertThrows(PageNotFoundException.class, () -> mMetaStore.commitFile("1L", "3L"));
+  }
+
+  @Test
+  public void concurrentAddRemove() throws Exception {
+    final int numThreads = 8;
+    final int numPages = 1000;
+    ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < numThreads; t++) {
+        final String fileId = Integer.toString(t);
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < numPages; i++) {
+            PageId pageId = new PageId(fileId, i);
+            mMetaStore.addPage(pageId, new PageInfo(pageId, 1, mPageStoreDir));
+            mMetaStore.getPageInfo(pageId);
+            if (i % 2 == 0) {
+              mMetaStore.removePage(pageId);
+            }
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get(1, TimeUnit.MINUTES);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(numThreads * numPages / 2, mMetaStore.numPages());
+    assertEquals(numThreads * numPages / 2, mMetaStore.bytes());
+    assertEquals(numThreads * numPages / 2, mCachedPageGauge.getValue());
+    for (int t = 0; t < numThreads; t++) {
+      assertEquals(numPages / 2, mMetaStore.getAllPagesByFileId(Integer.toString(t)).size());
+    }
+  }
+}
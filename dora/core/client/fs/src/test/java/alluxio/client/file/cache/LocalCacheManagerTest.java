@@ -21,6 +21,7 @@ import static org.junit.Assert.fail;
 
 import alluxio.Constants;
 import alluxio.client.file.CacheContext;
+import alluxio.client.file.cache.admission.FrequencyAdmissionPolicy;
 import alluxio.client.file.cache.evictor.CacheEvictor;
 import alluxio.client.file.cache.evictor.FIFOCacheEvictor;
 import alluxio.client.file.cache.evictor.LRUCacheEvictor;
@@ -38,6 +39,7 @@ import alluxio.conf.InstancedConfiguration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.PageNotFoundException;
 import alluxio.exception.status.ResourceExhaustedException;
+import alluxio.file.ByteArrayTargetBuffer;
 import alluxio.file.NettyBufTargetBuffer;
 import alluxio.network.protocol.databuffer.DataFileChannel;
 import alluxio.util.CommonUtils;
@@ -232,6 +234,34 @@ public final class LocalCacheManagerTest {
     assertArrayEquals(PAGE1, mBuf);
   }
 
+  @Test
+  public void putNotAdmitted() throws Exception {
+    CacheContext context =
+        CacheContext.defaults().setAdmissionMode(CacheContext.AdmissionMode.NEVER);
+    assertFalse(mCacheManager.put(PAGE_ID1, ByteBuffer.wrap(PAGE1), context));
+    assertEquals(0, mCacheManager.get(PAGE_ID1, PAGE1.length, mBuf, 0));
+  }
+
+  @Test
+  public void putWithFrequencyAdmission() throws Exception {
+    mCacheManager.close();
+    mCacheManager = LocalCacheManager.create(mCacheManagerOptions, mPageMetaStore,
+        new FrequencyAdmissionPolicy(mConf));
+    CommonUtils.waitFor("restore completed",
+        () -> mCacheManager.state() == CacheManager.State.READ_WRITE,
+        WaitForOptions.defaults().setTimeoutMs(10000));
+    // the first read of a page only records it
+    assertFalse(mCacheManager.put(PAGE_ID1, PAGE1));
+    assertEquals(0, mCacheManager.get(PAGE_ID1, PAGE1.length, mBuf, 0));
+    assertTrue(mCacheManager.put(PAGE_ID1, PAGE1));
+    assertEquals(PAGE1.length, mCacheManager.get(PAGE_ID1, PAGE1.length, mBuf, 0));
+    assertArrayEquals(PAGE1, mBuf);
+    // loads override the policy
+    CacheContext context =
+        CacheContext.defaults().setAdmissionMode(CacheContext.AdmissionMode.ALWAYS);
+    assertTrue(mCacheManager.put(PAGE_ID2, ByteBuffer.wrap(PAGE2), context));
+  }
+
   @Test
   public void putEvict() throws Exception {
     mConf.set(PropertyKey.USER_CLIENT_CACHE_SIZE, String.valueOf(PAGE_SIZE_BYTES));
@@ -243,6 +273,37 @@ public final class LocalCacheManagerTest {
     assertArrayEquals(PAGE2, mBuf);
   }
 
+  @Test
+  public void putEvictPinned() throws Exception {
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_SIZE, String.valueOf(2 * PAGE_SIZE_BYTES));
+    mCacheManager = createLocalCacheManager();
+    PageId pageId3 = pageId(2, 0);
+    assertTrue(mCacheManager.pinFile(PAGE_ID1.getFileId()));
+    assertTrue(mCacheManager.put(PAGE_ID1, PAGE1));
+    assertTrue(mCacheManager.put(PAGE_ID2, PAGE2));
+    // the pinned page is older, but the other page is evicted
+    assertTrue(mCacheManager.put(pageId3, PAGE2));
+    assertEquals(PAGE1.length, mCacheManager.get(PAGE_ID1, PAGE1.length, mBuf, 0));
+    assertEquals(0, mCacheManager.get(PAGE_ID2, PAGE2.length, mBuf, 0));
+    mCacheManager.unpinFile(PAGE_ID1.getFileId());
+    assertEquals(PAGE2.length, mCacheManager.get(pageId3, PAGE2.length, mBuf, 0));
+    assertTrue(mCacheManager.put(PAGE_ID2, PAGE2));
+    assertEquals(0, mCacheManager.get(PAGE_ID1, PAGE1.length, mBuf, 0));
+  }
+
+  @Test
+  public void syncFile() throws Exception {
+    PageId lastPageId = pageId(0, 1);
+    assertTrue(mCacheManager.put(pageId(0, 0), PAGE1));
+    // the last page is missing
+    assertFalse(mCacheManager.syncFile(lastPageId.getFileId(), PAGE_SIZE_BYTES + 10));
+    assertTrue(mCacheManager.put(lastPageId, page(0, 10)));
+    assertTrue(mCacheManager.syncFile(lastPageId.getFileId(), PAGE_SIZE_BYTES + 10));
+    // the last page is shorter than the file expects
+    assertFalse(mCacheManager.syncFile(lastPageId.getFileId(), PAGE_SIZE_BYTES + 20));
+    assertTrue(mCacheManager.syncFile(pageId(1, 0).getFileId(), 0));
+  }
+
   @Test
   public void putSmallPages() throws Exception {
     // Cache size is only one full page, but should be able to store multiple small pages
@@ -424,6 +485,28 @@ public final class LocalCacheManagerTest {
     }
   }
 
+  @Test
+  public void putMoreThanCacheCapacityConcurrentMetaStore() throws Exception {
+    mEvictor = new LRUCacheEvictor(mCacheManagerOptions.getCacheEvictorOptions());
+    mPageStoreDir = new LocalPageStoreDir(mPageStoreOptions, mPageStore, mEvictor);
+    mPageMetaStore = new ConcurrentPageMetaStore(ImmutableList.of(mPageStoreDir));
+    mCacheManager = createLocalCacheManager(mConf, mPageMetaStore);
+    int cacheSize = CACHE_SIZE_BYTES / PAGE_SIZE_BYTES;
+    for (int i = 0; i < 2 * cacheSize; i++) {
+      PageId pageId = new PageId("3", i);
+      assertTrue(mCacheManager.put(pageId, page(i, PAGE_SIZE_BYTES)));
+      assertEquals(PAGE_SIZE_BYTES, mCacheManager.get(pageId, PAGE_SIZE_BYTES, mBuf, 0));
+      assertArrayEquals(page(i, PAGE_SIZE_BYTES), mBuf);
+    }
+    assertEquals(cacheSize, mPageMetaStore.numPages());
+    assertEquals(CACHE_SIZE_BYTES, mPageMetaStore.bytes());
+    for (int i = 0; i < cacheSize; i++) {
+      assertEquals(0, mCacheManager.get(new PageId("3", i), PAGE_SIZE_BYTES, mBuf, 0));
+    }
+    mCacheManager.deleteFile("3");
+    assertEquals(0, mPageMetaStore.numPages());
+  }
+
   @Test
   public void putWithInsufficientQuota() throws Exception {
     mConf.set(PropertyKey.USER_CLIENT_CACHE_QUOTA_ENABLED, true);
@@ -622,6 +705,31 @@ public final class LocalCacheManagerTest {
     assertArrayEquals(PAGE2, mBuf);
   }
 
+  @Test
+  public void syncRestoreSegmentPageStore() throws Exception {
+    mCacheManager.close();
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_STORE_TYPE, PageStoreType.SEGMENT);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_TIMEOUT_DURATION, "-1");
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED, false);
+    mCacheManagerOptions = CacheManagerOptions.create(mConf);
+    mPageMetaStore = new DefaultPageMetaStore(
+        PageStoreDir.createPageStoreDirs(mCacheManagerOptions));
+    mCacheManager = createLocalCacheManager(mConf, mPageMetaStore);
+    assertTrue(mCacheManager.put(PAGE_ID1, PAGE1));
+    assertTrue(mCacheManager.put(PAGE_ID2, PAGE2));
+    mCacheManager.delete(PAGE_ID2);
+    mCacheManager.close();
+
+    mPageMetaStore = new DefaultPageMetaStore(
+        PageStoreDir.createPageStoreDirs(mCacheManagerOptions));
+    mCacheManager = createLocalCacheManager(mConf, mPageMetaStore);
+    assertEquals(CacheManager.State.READ_WRITE, mCacheManager.state());
+    assertEquals(1, mPageMetaStore.numPages());
+    assertEquals(PAGE1.length, mCacheManager.get(PAGE_ID1, PAGE1.length, mBuf, 0));
+    assertArrayEquals(PAGE1, mBuf);
+    assertEquals(0, mCacheManager.get(PAGE_ID2, PAGE2.length, mBuf, 0));
+  }
+
   @Test
   public void asyncRestore() throws Exception {
     mCacheManager.close();
@@ -893,6 +1001,89 @@ public final class LocalCacheManagerTest {
     pageStore.setPutHanging(false);
   }
 
+  @Test
+  public void writeBehindOnMiss() throws Exception {
+    mCacheManagerOptions = CacheManagerOptions.create(mConf)
+        .setWriteBehindEnabled(true)
+        .setWriteBehindThreads(1)
+        .setWriteBehindQueueSize(1);
+    PageStoreOptions pageStoreOptions = PageStoreOptions.create(mConf).get(0);
+    HangingPageStore pageStore = new HangingPageStore(pageStoreOptions);
+    PageStoreDir dir =
+        new LocalPageStoreDir(pageStoreOptions, pageStore, mEvictor);
+    pageStore.setPutHanging(true);
+    mPageMetaStore = new DefaultPageMetaStore(ImmutableList.of(dir));
+    mCacheManager = LocalCacheManager.create(mCacheManagerOptions, mPageMetaStore);
+    CommonUtils.waitFor("restore completed",
+        () -> mCacheManager.state() == CacheManager.State.READ_WRITE,
+        WaitForOptions.defaults().setTimeoutMs(10000));
+
+    // the reader gets the data although the page is still being written
+    assertEquals(PAGE_SIZE_BYTES, mCacheManager.getAndLoad(PAGE_ID1, 0, PAGE_SIZE_BYTES,
+        new ByteArrayTargetBuffer(mBuf, 0), CacheContext.defaults(), () -> PAGE1));
+    assertArrayEquals(PAGE1, mBuf);
+    // a pending page is served from memory without reading external storage again
+    byte[] buf = new byte[PAGE_SIZE_BYTES];
+    assertEquals(PAGE_SIZE_BYTES, mCacheManager.getAndLoad(PAGE_ID1, 0, PAGE_SIZE_BYTES,
+        new ByteArrayTargetBuffer(buf, 0), CacheContext.defaults(), () -> {
+          throw new IllegalStateException("unexpected external read");
+        }));
+    assertArrayEquals(PAGE1, buf);
+    // PAGE_ID1 occupies the only writer thread and PAGE_ID2 the only queue slot
+    assertEquals(PAGE_SIZE_BYTES, mCacheManager.getAndLoad(PAGE_ID2, 0, PAGE_SIZE_BYTES,
+        new ByteArrayTargetBuffer(mBuf, 0), CacheContext.defaults(), () -> PAGE2));
+    PageId pageId3 = new PageId("3L", 0L);
+    assertEquals(PAGE_SIZE_BYTES, mCacheManager.getAndLoad(pageId3, 0, PAGE_SIZE_BYTES,
+        new ByteArrayTargetBuffer(mBuf, 0), CacheContext.defaults(), () -> PAGE1));
+
+    pageStore.setPutHanging(false);
+    CommonUtils.waitFor("pending pages written", () -> pageStore.getPuts() == 2,
+        WaitForOptions.defaults().setTimeoutMs(10000));
+    assertEquals(PAGE1.length, mCacheManager.get(PAGE_ID1, PAGE1.length, mBuf, 0));
+    assertArrayEquals(PAGE1, mBuf);
+    assertEquals(PAGE2.length, mCacheManager.get(PAGE_ID2, PAGE2.length, mBuf, 0));
+    assertArrayEquals(PAGE2, mBuf);
+    // the last page is dropped as the write-behind queue was full
+    assertEquals(0, mCacheManager.get(pageId3, PAGE1.length, mBuf, 0));
+  }
+
+  @Test
+  public void writeBehindSkipsDeletedPage() throws Exception {
+    mCacheManagerOptions = CacheManagerOptions.create(mConf)
+        .setWriteBehindEnabled(true)
+        .setWriteBehindThreads(1)
+        .setWriteBehindQueueSize(2);
+    PageStoreOptions pageStoreOptions = PageStoreOptions.create(mConf).get(0);
+    HangingPageStore pageStore = new HangingPageStore(pageStoreOptions);
+    PageStoreDir dir =
+        new LocalPageStoreDir(pageStoreOptions, pageStore, mEvictor);
+    pageStore.setPutHanging(true);
+    mPageMetaStore = new DefaultPageMetaStore(ImmutableList.of(dir));
+    mCacheManager = LocalCacheManager.create(mCacheManagerOptions, mPageMetaStore);
+    CommonUtils.waitFor("restore completed",
+        () -> mCacheManager.state() == CacheManager.State.READ_WRITE,
+        WaitForOptions.defaults().setTimeoutMs(10000));
+
+    // PAGE_ID1 occupies the only writer thread and PAGE_ID2 waits in the queue
+    assertEquals(PAGE_SIZE_BYTES, mCacheManager.getAndLoad(PAGE_ID1, 0, PAGE_SIZE_BYTES,
+        new ByteArrayTargetBuffer(mBuf, 0), CacheContext.defaults(), () -> PAGE1));
+    assertEquals(PAGE_SIZE_BYTES, mCacheManager.getAndLoad(PAGE_ID2, 0, PAGE_SIZE_BYTES,
+        new ByteArrayTargetBuffer(mBuf, 0), CacheContext.defaults(), () -> PAGE2));
+    mCacheManager.delete(PAGE_ID2);
+    // written after PAGE_ID2 is dequeued by the single writer thread
+    PageId pageId3 = new PageId("3L", 0L);
+    assertEquals(PAGE_SIZE_BYTES, mCacheManager.getAndLoad(pageId3, 0, PAGE_SIZE_BYTES,
+        new ByteArrayTargetBuffer(mBuf, 0), CacheContext.defaults(), () -> PAGE1));
+
+    pageStore.setPutHanging(false);
+    CommonUtils.waitFor("pending pages written",
+        () -> mCacheManager.get(pageId3, PAGE1.length, mBuf, 0) == PAGE1.length,
+        WaitForOptions.defaults().setTimeoutMs(10000));
+    // the deleted page is not written by its queued write-behind
+    assertEquals(2, pageStore.getPuts());
+    assertEquals(0, mCacheManager.get(PAGE_ID2, PAGE2.length, mBuf, 0));
+  }
+
   @Test
   public void recoverCacheFromFailedPut() throws Exception {
     PageStoreOptions pageStoreOptions = PageStoreOptions.create(mConf).get(0);
@@ -1028,6 +1219,56 @@ public final class LocalCacheManagerTest {
     assertArrayEquals(appendContent, getPageResult);
   }
 
+  @Test
+  public void appendTemporaryPageInChunks() throws Exception {
+    CacheContext context = CacheContext.defaults().setTemporary(true);
+    int chunkLength = PAGE_SIZE_BYTES / 8;
+    for (int offset = 0; offset < PAGE_SIZE_BYTES; offset += chunkLength) {
+      byte[] chunk = new byte[chunkLength];
+      System.arraycopy(PAGE1, offset, chunk, 0, chunkLength);
+      assertTrue(mCacheManager.append(PAGE_ID1, offset, chunk, context));
+      assertEquals(offset + chunkLength, mPageMetaStore.bytes());
+    }
+    assertEquals(PAGE1.length, mCacheManager.get(PAGE_ID1, 0, PAGE1.length,
+        new ByteArrayTargetBuffer(mBuf, 0), context));
+    assertArrayEquals(PAGE1, mBuf);
+  }
+
+  @Test
+  public void appendBufferSlices() throws Exception {
+    CacheContext context = CacheContext.defaults().setTemporary(true);
+    ByteBuffer direct = ByteBuffer.allocateDirect(PAGE_SIZE_BYTES * 2);
+    direct.position(PAGE_SIZE_BYTES);
+    direct.put(PAGE1);
+    int chunkLength = PAGE_SIZE_BYTES / 4;
+    for (int offset = 0; offset < PAGE_SIZE_BYTES; offset += chunkLength) {
+      ByteBuffer chunk = direct.duplicate();
+      chunk.limit(PAGE_SIZE_BYTES + offset + chunkLength).position(PAGE_SIZE_BYTES + offset);
+      assertTrue(mCacheManager.append(PAGE_ID1, offset, chunk.slice(), context));
+    }
+    assertEquals(PAGE1.length, mCacheManager.get(PAGE_ID1, 0, PAGE1.length,
+        new ByteArrayTargetBuffer(mBuf, 0), context));
+    assertArrayEquals(PAGE1, mBuf);
+  }
+
+  @Test
+  public void appendEvict() throws Exception {
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_SIZE, String.valueOf(PAGE_SIZE_BYTES));
+    mCacheManager = createLocalCacheManager();
+    int halfPage = PAGE_SIZE_BYTES / 2;
+    byte[] firstHalf = new byte[halfPage];
+    System.arraycopy(PAGE2, 0, firstHalf, 0, halfPage);
+    byte[] secondHalf = new byte[halfPage];
+    System.arraycopy(PAGE2, halfPage, secondHalf, 0, halfPage);
+    assertTrue(mCacheManager.put(PAGE_ID1, new byte[halfPage]));
+    assertTrue(mCacheManager.put(PAGE_ID2, firstHalf));
+    // the grown page does not fit the free space, so the other page is evicted
+    assertTrue(mCacheManager.append(PAGE_ID2, halfPage, secondHalf, CacheContext.defaults()));
+    assertEquals(0, mCacheManager.get(PAGE_ID1, halfPage, mBuf, 0));
+    assertEquals(PAGE2.length, mCacheManager.get(PAGE_ID2, PAGE2.length, mBuf, 0));
+    assertArrayEquals(PAGE2, mBuf);
+  }
+
   @Test
   public void noSpaceLeftPageStorePut() throws Exception {
     LocalPageStore pageStore = new LocalPageStore(
@@ -0,0 +1,77 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.client.file.CacheContext;
+import alluxio.client.file.cache.admission.AdmissionDecision;
+import alluxio.client.file.cache.admission.RuleBasedAdmissionPolicy;
+import alluxio.conf.Configuration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link RuleBasedAdmissionPolicy} class.
+ */
+public final class RuleBasedAdmissionPolicyTest {
+  private static final PageId PAGE_ID = new PageId("1L", 2L);
+  private static final int PAGE_LENGTH = 1024;
+
+  private final InstancedConfiguration mConf = Configuration.copyGlobal();
+
+  private AdmissionDecision admit(RuleBasedAdmissionPolicy policy, CacheContext context) {
+    return policy.admit(PAGE_ID, PAGE_LENGTH, context);
+  }
+
+  @Test
+  public void admitWithoutRules() {
+    try (RuleBasedAdmissionPolicy policy = new RuleBasedAdmissionPolicy(mConf)) {
+      Assert.assertEquals(AdmissionDecision.ADMIT,
+          admit(policy, CacheContext.defaults().setSourcePath("s3://bucket/file")));
+    }
+  }
+
+  @Test
+  public void firstMatchingRuleDecides() {
+    mConf.set(PropertyKey.WORKER_PAGE_STORE_ADMISSION_RULES,
+        "path:s3://bucket/tmp/.*=BYPASS,tag:etl=BYPASS,path:s3://bucket/.*=ADMIT,*=BYPASS");
+    try (RuleBasedAdmissionPolicy policy = new RuleBasedAdmissionPolicy(mConf)) {
+      Assert.assertEquals(AdmissionDecision.BYPASS,
+          admit(policy, CacheContext.defaults().setSourcePath("s3://bucket/tmp/file")));
+      Assert.assertEquals(AdmissionDecision.BYPASS, admit(policy,
+          CacheContext.defaults().setSourcePath("s3://bucket/file").setTag("etl")));
+      Assert.assertEquals(AdmissionDecision.ADMIT, admit(policy,
+          CacheContext.defaults().setSourcePath("s3://bucket/file").setTag("query")));
+      Assert.assertEquals(AdmissionDecision.BYPASS,
+          admit(policy, CacheContext.defaults().setSourcePath("hdfs://file")));
+    }
+  }
+
+  @Test
+  public void frequencyRule() {
+    mConf.set(PropertyKey.WORKER_PAGE_STORE_ADMISSION_RULES, "tag:etl=frequency");
+    try (RuleBasedAdmissionPolicy policy = new RuleBasedAdmissionPolicy(mConf)) {
+      CacheContext context = CacheContext.defaults().setTag("etl");
+      Assert.assertEquals(AdmissionDecision.REJECT_INFREQUENT, admit(policy, context));
+      Assert.assertEquals(AdmissionDecision.ADMIT_FREQUENT, admit(policy, context));
+    }
+  }
+
+  @Test
+  public void invalidRule() {
+    mConf.set(PropertyKey.WORKER_PAGE_STORE_ADMISSION_RULES, "file:/tmp=BYPASS");
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new RuleBasedAdmissionPolicy(mConf));
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.client.file.cache.evictor.CacheEvictorOptions;
+import alluxio.client.file.cache.evictor.S3FIFOCacheEvictor;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link S3FIFOCacheEvictor} class.
+ */
+public final class S3FIFOCacheEvictorTest {
+  private S3FIFOCacheEvictor mEvictor;
+  private final PageId mFirst = new PageId("1L", 2L);
+  private final PageId mSecond = new PageId("3L", 4L);
+  private final PageId mThird = new PageId("5L", 6L);
+
+  /**
+   * Sets up the instances.
+   */
+  @Before
+  public void before() {
+    mEvictor = new S3FIFOCacheEvictor(new CacheEvictorOptions().setS3FIFOSmallQueueRatio(0.5));
+  }
+
+  @Test
+  public void evictPutOrder() {
+    mEvictor.updateOnPut(mFirst);
+    mEvictor.updateOnPut(mSecond);
+    Assert.assertEquals(mFirst, mEvictor.evict());
+    mEvictor.updateOnDelete(mFirst);
+    Assert.assertEquals(mSecond, mEvictor.evict());
+  }
+
+  @Test
+  public void evictSameUntilDeleted() {
+    mEvictor.updateOnPut(mFirst);
+    mEvictor.updateOnPut(mSecond);
+    Assert.assertEquals(mFirst, mEvictor.evict());
+    Assert.assertEquals(mFirst, mEvictor.evict());
+  }
+
+  @Test
+  public void promoteHitPage() {
+    mEvictor.updateOnPut(mFirst);
+    mEvictor.updateOnPut(mSecond);
+    mEvictor.updateOnPut(mThird);
+    mEvictor.updateOnGet(mFirst);
+    // the first page was hit in the small queue and moves to the main queue
+    Assert.assertEquals(mSecond, mEvictor.evict());
+    mEvictor.updateOnDelete(mSecond);
+    Assert.assertEquals(mThird, mEvictor.evict());
+    mEvictor.updateOnDelete(mThird);
+    Assert.assertEquals(mFirst, mEvictor.evict());
+  }
+
+  @Test
+  public void scanDoesNotFlushMainQueue() {
+    mEvictor.updateOnPut(mFirst);
+    mEvictor.updateOnGet(mFirst);
+    for (int i = 0; i < 100; i++) {
+      PageId scanned = new PageId("scan", i);
+      mEvictor.updateOnPut(scanned);
+      PageId victim = mEvictor.evict();
+      Assert.assertNotEquals(mFirst, victim);
+      mEvictor.updateOnDelete(victim);
+    }
+  }
+
+  @Test
+  public void ghostPageEntersMainQueue() {
+    mEvictor.updateOnPut(mFirst);
+    mEvictor.updateOnGet(mFirst);
+    mEvictor.updateOnPut(mSecond);
+    Assert.assertEquals(mSecond, mEvictor.evict());
+    mEvictor.updateOnDelete(mSecond);
+    // put again after eviction from the small queue, so it skips the small queue and queues
+    // behind the first page in the main queue
+    mEvictor.updateOnPut(mSecond);
+    Assert.assertEquals(mFirst, mEvictor.evict());
+  }
+
+  @Test
+  public void evictMatching() {
+    mEvictor.updateOnPut(mFirst);
+    mEvictor.updateOnPut(mSecond);
+    mEvictor.updateOnPut(mThird);
+    mEvictor.updateOnGet(mSecond);
+    Assert.assertEquals(mThird, mEvictor.evictMatching(page -> !page.equals(mFirst)));
+    Assert.assertEquals(mSecond, mEvictor.evictMatching(page -> page.equals(mSecond)));
+    Assert.assertNull(mEvictor.evictMatching(page -> false));
+  }
+
+  @Test
+  public void evictEmpty() {
+    Assert.assertNull(mEvictor.evict());
+  }
+
+  @Test
+  public void evictAllGone() {
+    mEvictor.updateOnPut(mFirst);
+    mEvictor.updateOnPut(mSecond);
+    mEvictor.updateOnPut(mThird);
+    mEvictor.updateOnDelete(mFirst);
+    mEvictor.updateOnDelete(mSecond);
+    mEvictor.updateOnDelete(mThird);
+    Assert.assertNull(mEvictor.evict());
+  }
+}
@@ -15,17 +15,25 @@ import static alluxio.client.file.cache.store.LocalPageStore.TEMP_DIR;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
+import alluxio.Constants;
 import alluxio.client.file.cache.PageId;
 import alluxio.client.file.cache.PageStore;
+import alluxio.exception.PageNotFoundException;
 import alluxio.file.ByteArrayTargetBuffer;
+import alluxio.file.ByteBufferTargetBuffer;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.network.protocol.databuffer.DataFileChannel;
 
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -171,6 +179,87 @@ public class LocalPageStoreTest {
     assertFalse(Files.exists(p.getParent()));
   }
 
+  @Test
+  public void openFileCache() throws Exception {
+    MetricsSystem.resetCountersAndGauges();
+    mOptions.setOpenFileCacheSize(2);
+    LocalPageStore pageStore = new LocalPageStore(mOptions);
+    helloWorldTest(pageStore);
+    PageId id = new PageId("0", 0);
+    byte[] buf = new byte[1024];
+    assertEquals(5, pageStore.get(id, 7, 5, new ByteArrayTargetBuffer(buf, 0)));
+    assertArrayEquals("World".getBytes(), Arrays.copyOfRange(buf, 0, 5));
+    assertEquals(1, MetricsSystem.counter(
+        MetricKey.CLIENT_CACHE_OPEN_FILE_CACHE_HITS.getName()).getCount());
+    assertEquals(1, MetricsSystem.counter(
+        MetricKey.CLIENT_CACHE_OPEN_FILES.getName()).getCount());
+
+    pageStore.put(id, "overwritten".getBytes());
+    assertEquals(11, pageStore.get(id, 0, 11, new ByteArrayTargetBuffer(buf, 0)));
+    assertArrayEquals("overwritten".getBytes(), Arrays.copyOfRange(buf, 0, 11));
+
+    pageStore.delete(id);
+    assertThrows(PageNotFoundException.class,
+        () -> pageStore.get(id, 0, 11, new ByteArrayTargetBuffer(buf, 0)));
+    pageStore.close();
+    assertEquals(0, MetricsSystem.counter(
+        MetricKey.CLIENT_CACHE_OPEN_FILES.getName()).getCount());
+  }
+
+  @Test
+  public void openFileCacheDataFileChannel() throws Exception {
+    MetricsSystem.resetCountersAndGauges();
+    mOptions.setOpenFileCacheSize(2);
+    LocalPageStore pageStore = new LocalPageStore(mOptions);
+    PageId id = new PageId("0", 0);
+    pageStore.put(id, "test".getBytes());
+    DataFileChannel channel = pageStore.getDataFileChannel(id, 1, 10, false);
+    assertEquals(3, channel.getLength());
+    // the file is still open for the data channel after the page is deleted
+    pageStore.delete(id);
+    assertEquals(1, MetricsSystem.counter(
+        MetricKey.CLIENT_CACHE_OPEN_FILES.getName()).getCount());
+    channel.release();
+    channel.release();
+    assertEquals(0, MetricsSystem.counter(
+        MetricKey.CLIENT_CACHE_OPEN_FILES.getName()).getCount());
+  }
+
+  @Test
+  public void mappedHotPages() throws Exception {
+    MetricsSystem.resetCountersAndGauges();
+    mOptions.setMmapSize(Constants.MB);
+    LocalPageStore pageStore = new LocalPageStore(mOptions);
+    helloWorldTest(pageStore);
+    PageId id = new PageId("0", 0);
+    byte[] buf = new byte[1024];
+    // the second read maps the page and the third is served from the mapping
+    for (int i = 0; i < 2; i++) {
+      assertEquals(5, pageStore.get(id, 7, 5, new ByteArrayTargetBuffer(buf, i)));
+      assertArrayEquals("World".getBytes(), Arrays.copyOfRange(buf, i, i + 5));
+    }
+    assertEquals(1, MetricsSystem.counter(
+        MetricKey.CLIENT_CACHE_MAPPED_PAGE_HITS.getName()).getCount());
+    assertEquals(13, MetricsSystem.counter(
+        MetricKey.CLIENT_CACHE_MAPPED_BYTES.getName()).getCount());
+
+    pageStore.put(id, "overwritten".getBytes());
+    assertEquals(0, MetricsSystem.counter(
+        MetricKey.CLIENT_CACHE_MAPPED_BYTES.getName()).getCount());
+    for (int i = 0; i < 3; i++) {
+      ByteBuffer target = ByteBuffer.allocate(20);
+      assertEquals(11, pageStore.get(id, 0, 20, new ByteBufferTargetBuffer(target)));
+      assertArrayEquals("overwritten".getBytes(), Arrays.copyOfRange(target.array(), 0, 11));
+    }
+
+    pageStore.delete(id);
+    assertThrows(PageNotFoundException.class,
+        () -> pageStore.get(id, 0, 11, new ByteArrayTargetBuffer(buf, 0)));
+    pageStore.close();
+    assertEquals(0, MetricsSystem.counter(
+        MetricKey.CLIENT_CACHE_MAPPED_BYTES.getName()).getCount());
+  }
+
   private void helloWorldTest(PageStore store) throws Exception {
     String msg = "Hello, World!";
     PageId id = new PageId("0", 0);
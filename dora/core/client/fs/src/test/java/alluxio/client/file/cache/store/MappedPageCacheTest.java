@@ -0,0 +1,103 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.store;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import alluxio.client.file.cache.PageId;
+import alluxio.file.ByteArrayTargetBuffer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Tests for the {@link MappedPageCache} class.
+ */
+public class MappedPageCacheTest {
+  private static final int PAGE_SIZE = 1024;
+
+  @Rule
+  public TemporaryFolder mTemp = new TemporaryFolder();
+
+  private MappedPageCache mCache;
+
+  @Before
+  public void before() {
+    mCache = new MappedPageCache(PAGE_SIZE, PAGE_SIZE);
+  }
+
+  @After
+  public void after() {
+    mCache.close();
+  }
+
+  @Test
+  public void mapOnSecondRead() throws Exception {
+    Path path = createFile("0", PAGE_SIZE);
+    PageId pageId = new PageId("0", 0);
+    assertNull(mCache.acquire(pageId, path));
+    try (MappedPageCache.MappedPage page = mCache.acquire(pageId, path)) {
+      assertNotNull(page);
+      byte[] buf = new byte[4];
+      assertEquals(4, page.read(10, 4, new ByteArrayTargetBuffer(buf, 0)));
+      assertArrayEquals(new byte[] {10, 11, 12, 13}, buf);
+    }
+    assertEquals(1, mCache.size());
+  }
+
+  @Test
+  public void boundedMappedBytes() throws Exception {
+    for (int i = 0; i < 4; i++) {
+      Path path = createFile(Integer.toString(i), PAGE_SIZE / 2);
+      PageId pageId = new PageId(Integer.toString(i), 0);
+      mCache.acquire(pageId, path);
+      mCache.acquire(pageId, path).close();
+    }
+    assertEquals(2, mCache.size());
+  }
+
+  @Test
+  public void readAfterInvalidate() throws Exception {
+    Path path = createFile("0", PAGE_SIZE);
+    PageId pageId = new PageId("0", 0);
+    mCache.acquire(pageId, path);
+    MappedPageCache.MappedPage page = mCache.acquire(pageId, path);
+    mCache.invalidate(pageId);
+    assertEquals(0, mCache.size());
+    // the page stays mapped for the reader which holds it
+    byte[] buf = new byte[1];
+    assertEquals(1, page.read(1, 1, new ByteArrayTargetBuffer(buf, 0)));
+    assertEquals(1, buf[0]);
+    page.close();
+    // the page is read once again before being mapped again
+    assertNull(mCache.acquire(pageId, path));
+  }
+
+  private Path createFile(String name, int length) throws Exception {
+    Path path = mTemp.getRoot().toPath().resolve(name);
+    byte[] data = new byte[length];
+    for (int i = 0; i < length; i++) {
+      data[i] = (byte) i;
+    }
+    Files.write(path, data);
+    return path;
+  }
+}
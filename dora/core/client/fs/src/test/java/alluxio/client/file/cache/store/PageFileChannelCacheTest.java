@@ -0,0 +1,102 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.client.file.cache.PageId;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+/**
+ * Tests for the {@link PageFileChannelCache} class.
+ */
+public class PageFileChannelCacheTest {
+  @Rule
+  public TemporaryFolder mTemp = new TemporaryFolder();
+
+  private PageFileChannelCache mCache;
+
+  @Before
+  public void before() {
+    mCache = new PageFileChannelCache(1);
+  }
+
+  @After
+  public void after() {
+    mCache.close();
+  }
+
+  @Test
+  public void reuseOpenFile() throws Exception {
+    Path path = createFile("0");
+    PageId pageId = new PageId("0", 0);
+    PageFileChannelCache.OpenFile file = mCache.acquire(pageId, path);
+    file.close();
+    try (PageFileChannelCache.OpenFile again = mCache.acquire(pageId, path)) {
+      assertSame(file, again);
+      assertTrue(again.getChannel().isOpen());
+    }
+  }
+
+  @Test
+  public void evictedFileClosedAfterRelease() throws Exception {
+    PageFileChannelCache.OpenFile file = mCache.acquire(new PageId("0", 0), createFile("0"));
+    // exceeds the size of the cache and evicts the first file
+    mCache.acquire(new PageId("1", 0), createFile("1")).close();
+    assertEquals(1, mCache.size());
+    assertTrue(file.getChannel().isOpen());
+    file.close();
+    assertFalse(file.getChannel().isOpen());
+  }
+
+  @Test
+  public void invalidate() throws Exception {
+    Path path = createFile("0");
+    PageId pageId = new PageId("0", 0);
+    PageFileChannelCache.OpenFile file = mCache.acquire(pageId, path);
+    mCache.invalidate(pageId);
+    assertEquals(0, mCache.size());
+    assertTrue(file.getChannel().isOpen());
+    file.close();
+    assertFalse(file.getChannel().isOpen());
+    try (PageFileChannelCache.OpenFile reopened = mCache.acquire(pageId, path)) {
+      assertNotSame(file, reopened);
+    }
+  }
+
+  @Test
+  public void missingFile() {
+    assertThrows(NoSuchFileException.class,
+        () -> mCache.acquire(new PageId("0", 0), mTemp.getRoot().toPath().resolve("missing")));
+    assertEquals(0, mCache.size());
+  }
+
+  private Path createFile(String name) throws Exception {
+    Path path = mTemp.getRoot().toPath().resolve(name);
+    Files.write(path, name.getBytes());
+    return path;
+  }
+}
@@ -52,6 +52,7 @@ public class PageStoreDirTest {
     return Arrays.asList(new Object[][] {
         {PageStoreType.ROCKS},
         {PageStoreType.LOCAL},
+        {PageStoreType.SEGMENT},
         {PageStoreType.MEM}
     });
   }
@@ -137,15 +138,36 @@ public class PageStoreDirTest {
       mPageStoreDir.getPageStore().put(id, data);
       mPageStoreDir.putPage(new PageInfo(id, data.length, mPageStoreDir));
     }
+    // a page of the segment store takes a whole slot, however short it is
+    long used = mOptions.getType().equals(PageStoreType.SEGMENT)
+        ? PAGE_SIZE * count : (long) len * count;
     Optional<CacheUsage> usage = mPageStoreDir.getUsage();
     assertEquals(Optional.of(mPageStoreDir.getCapacityBytes()),
         usage.map(CacheUsageView::capacity));
-    assertEquals(Optional.of((long) len * count), usage.map(CacheUsageView::used));
-    assertEquals(Optional.of(mPageStoreDir.getCapacityBytes() - (long) len * count),
+    assertEquals(Optional.of(used), usage.map(CacheUsageView::used));
+    assertEquals(Optional.of(mPageStoreDir.getCapacityBytes() - used),
         usage.map(CacheUsageView::available));
     // cache dir currently does not support get file level usage stat
     Optional<CacheUsage> fileUsage = mPageStoreDir.getUsage()
         .flatMap(usage1 -> usage1.partitionedBy(file("0")));
     assertEquals(Optional.empty(), fileUsage);
   }
+
+  @Test
+  public void cacheUsageAfterDelete() throws Exception {
+    int len = 32;
+    byte[] data = BufferUtils.getIncreasingByteArray(len);
+    PageInfo first = new PageInfo(new PageId("0", 0), data.length, mPageStoreDir);
+    PageInfo second = new PageInfo(new PageId("0", 1), data.length, mPageStoreDir);
+    mPageStoreDir.getPageStore().put(first.getPageId(), data);
+    mPageStoreDir.putPage(first);
+    mPageStoreDir.getPageStore().put(second.getPageId(), data);
+    mPageStoreDir.putPage(second);
+    long cached = mPageStoreDir.getCachedBytes();
+    // the space of a page is released with its metadata, before its data is deleted
+    mPageStoreDir.deletePage(first);
+    assertEquals(cached / 2, mPageStoreDir.getCachedBytes());
+    mPageStoreDir.getPageStore().delete(first.getPageId());
+    assertEquals(cached / 2, mPageStoreDir.getCachedBytes());
+  }
 }
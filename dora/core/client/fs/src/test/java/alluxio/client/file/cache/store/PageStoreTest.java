@@ -31,6 +31,7 @@ import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
+import java.nio.ByteBuffer;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collection;
@@ -43,6 +44,7 @@ public class PageStoreTest {
     return Arrays.asList(new Object[][] {
         {PageStoreType.ROCKS},
         {PageStoreType.LOCAL},
+        {PageStoreType.SEGMENT},
         {PageStoreType.MEM}
     });
   }
@@ -91,6 +93,21 @@ public class PageStoreTest {
     }
   }
 
+  @Test
+  public void append() throws Exception {
+    int len = 32;
+    byte[] page = BufferUtils.getIncreasingByteArray(len * 4);
+    PageId id = new PageId("0", 0);
+    mPageStore.put(id, Arrays.copyOfRange(page, 0, len));
+    for (int offset = len; offset < page.length; offset += len) {
+      mPageStore.append(id, offset,
+          ByteBuffer.wrap(Arrays.copyOfRange(page, offset, offset + len)), false);
+    }
+    byte[] buf = new byte[1024];
+    assertEquals(page.length, mPageStore.get(id, new ByteArrayTargetBuffer(buf, 0)));
+    assertArrayEquals(page, Arrays.copyOfRange(buf, 0, page.length));
+  }
+
   @Test
   public void getOffset() throws Exception {
     int len = 32;
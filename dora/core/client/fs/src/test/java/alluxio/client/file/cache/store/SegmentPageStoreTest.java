@@ -0,0 +1,224 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache.store;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.client.file.cache.PageId;
+import alluxio.exception.PageNotFoundException;
+import alluxio.exception.status.ResourceExhaustedException;
+import alluxio.file.ByteArrayTargetBuffer;
+import alluxio.network.protocol.databuffer.DataFileChannel;
+import alluxio.util.io.BufferUtils;
+
+import io.netty.channel.FileRegion;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+
+public class SegmentPageStoreTest {
+  private static final int PAGE_SIZE = 1024;
+  private static final int PAGES_PER_SEGMENT = 4;
+
+  @Rule
+  public TemporaryFolder mTemp = new TemporaryFolder();
+
+  private PageStoreOptions mOptions;
+  private SegmentPageStore mPageStore;
+
+  @Before
+  public void before() {
+    mOptions = new PageStoreOptions()
+        .setStoreType(PageStoreType.SEGMENT)
+        .setPageSize(PAGE_SIZE)
+        .setSegmentSize(PAGES_PER_SEGMENT * PAGE_SIZE)
+        .setCacheSize(4 * PAGES_PER_SEGMENT * PAGE_SIZE)
+        .setRootDir(Paths.get(mTemp.getRoot().getAbsolutePath()));
+    mPageStore = new SegmentPageStore(mOptions);
+  }
+
+  @After
+  public void after() {
+    mPageStore.close();
+  }
+
+  @Test
+  public void packsPagesIntoSegments() throws Exception {
+    for (int i = 0; i < 2 * PAGES_PER_SEGMENT; i++) {
+      mPageStore.put(new PageId(Integer.toString(i), i), page(i));
+    }
+    assertEquals(2, mPageStore.getNumSegments());
+    assertEquals(2, countFiles());
+    for (int i = 0; i < 2 * PAGES_PER_SEGMENT; i++) {
+      assertPage(mPageStore, new PageId(Integer.toString(i), i), page(i));
+    }
+  }
+
+  @Test
+  public void restore() throws Exception {
+    for (int i = 0; i < 6; i++) {
+      mPageStore.put(new PageId("0", i), page(i));
+    }
+    mPageStore.delete(new PageId("0", 1));
+    mPageStore.putTemporary(new PageId("temp", 0), page(0));
+    mPageStore.close();
+
+    mPageStore = new SegmentPageStore(mOptions);
+    assertEquals(5, mPageStore.getPages().size());
+    assertEquals(Integer.valueOf(PAGE_SIZE), mPageStore.getPages().get(new PageId("0", 0)));
+    for (int i = 0; i < 6; i++) {
+      PageId pageId = new PageId("0", i);
+      if (i == 1) {
+        assertThrows(PageNotFoundException.class, () -> mPageStore.get(pageId,
+            new ByteArrayTargetBuffer(new byte[PAGE_SIZE], 0)));
+      } else {
+        assertPage(mPageStore, pageId, page(i));
+      }
+    }
+    assertThrows(PageNotFoundException.class, () -> mPageStore.get(new PageId("temp", 0), 0,
+        PAGE_SIZE, new ByteArrayTargetBuffer(new byte[PAGE_SIZE], 0), true));
+  }
+
+  @Test
+  public void reuseFreedSlots() throws Exception {
+    for (int i = 0; i < 10; i++) {
+      PageId pageId = new PageId("0", i);
+      mPageStore.put(pageId, page(i));
+      mPageStore.delete(pageId);
+    }
+    assertEquals(1, mPageStore.getNumSegments());
+  }
+
+  @Test
+  public void full() throws Exception {
+    for (int i = 0; i < 4 * PAGES_PER_SEGMENT; i++) {
+      mPageStore.put(new PageId("0", i), page(i));
+    }
+    assertThrows(ResourceExhaustedException.class,
+        () -> mPageStore.put(new PageId("1", 0), page(0)));
+    mPageStore.delete(new PageId("0", 0));
+    mPageStore.put(new PageId("1", 0), page(0));
+  }
+
+  @Test
+  public void dataFileChannelHoldsSlot() throws Exception {
+    PageId pageId = new PageId("0", 0);
+    mPageStore.put(pageId, page(0));
+    DataFileChannel channel = mPageStore.getDataFileChannel(pageId, 0, PAGE_SIZE, false);
+    // the slot of the deleted page is not reused before the channel is released
+    mPageStore.delete(pageId);
+    mPageStore.put(new PageId("1", 0), page(1));
+    assertEquals(2 * PAGE_SIZE, mPageStore.getUsedSlotBytes());
+    FileRegion region = (FileRegion) channel.getNettyOutput();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    region.transferTo(Channels.newChannel(out), 0);
+    assertArrayEquals(page(0), out.toByteArray());
+    region.release();
+    assertEquals(PAGE_SIZE, mPageStore.getUsedSlotBytes());
+    assertThrows(PageNotFoundException.class,
+        () -> mPageStore.getDataFileChannel(pageId, 0, PAGE_SIZE, false));
+  }
+
+  @Test
+  public void partialPageTakesSlot() throws Exception {
+    mPageStore.put(new PageId("0", 0), BufferUtils.getIncreasingByteArray(10));
+    assertEquals(PAGE_SIZE, mPageStore.getUsedSlotBytes());
+  }
+
+  @Test
+  public void commitTemporary() throws Exception {
+    mPageStore.putTemporary(new PageId("temp", 0), page(0));
+    mPageStore.putTemporary(new PageId("temp", 1), page(1));
+    mPageStore.putTemporary(new PageId("other", 0), page(2));
+    mPageStore.commit("temp", "committed");
+    mPageStore.abort("other");
+    assertPage(mPageStore, new PageId("committed", 0), page(0));
+    assertPage(mPageStore, new PageId("committed", 1), page(1));
+    mPageStore.close();
+
+    mPageStore = new SegmentPageStore(mOptions);
+    assertEquals(2, mPageStore.getPages().size());
+    assertPage(mPageStore, new PageId("committed", 1), page(1));
+  }
+
+  @Test
+  public void compact() throws Exception {
+    int numPages = 3 * PAGES_PER_SEGMENT;
+    for (int i = 0; i < numPages; i++) {
+      mPageStore.put(new PageId("0", i), page(i));
+    }
+    // free up more than a segment in the first two segments
+    for (int i = 0; i < numPages; i++) {
+      if (i < 2 * PAGES_PER_SEGMENT && i % 4 != 0) {
+        mPageStore.delete(new PageId("0", i));
+      }
+    }
+    mPageStore.compact();
+    assertEquals(2, mPageStore.getNumSegments());
+    assertEquals(2, countFiles());
+    for (int i = 0; i < numPages; i++) {
+      if (i >= 2 * PAGES_PER_SEGMENT || i % 4 == 0) {
+        assertPage(mPageStore, new PageId("0", i), page(i));
+      }
+    }
+    mPageStore.close();
+
+    mPageStore = new SegmentPageStore(mOptions);
+    assertEquals(2 + PAGES_PER_SEGMENT, mPageStore.getPages().size());
+    for (int i = 2 * PAGES_PER_SEGMENT; i < numPages; i++) {
+      assertPage(mPageStore, new PageId("0", i), page(i));
+    }
+  }
+
+  @Test
+  public void deleteUnrecognizedFiles() throws Exception {
+    mPageStore.put(new PageId("0", 0), page(0));
+    mPageStore.close();
+    Path dir = Paths.get(mOptions.getRootDir().toString(), Long.toString(PAGE_SIZE));
+    Files.createFile(dir.resolve("unknown"));
+    Files.createFile(dir.resolve(SegmentPageStore.SEGMENT_FILE_PREFIX + 5));
+
+    mPageStore = new SegmentPageStore(mOptions);
+    assertEquals(1, countFiles());
+    assertTrue(mPageStore.getPages().containsKey(new PageId("0", 0)));
+  }
+
+  private static byte[] page(int i) {
+    return BufferUtils.getIncreasingByteArray(i, PAGE_SIZE);
+  }
+
+  private static void assertPage(SegmentPageStore store, PageId pageId, byte[] expected)
+      throws Exception {
+    byte[] buf = new byte[expected.length];
+    assertEquals(expected.length, store.get(pageId, new ByteArrayTargetBuffer(buf, 0)));
+    assertArrayEquals(expected, buf);
+  }
+
+  private long countFiles() throws Exception {
+    try (Stream<Path> files = Files.list(
+        Paths.get(mOptions.getRootDir().toString(), Long.toString(PAGE_SIZE)))) {
+      return files.count();
+    }
+  }
+}
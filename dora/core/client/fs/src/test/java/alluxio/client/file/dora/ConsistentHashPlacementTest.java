@@ -0,0 +1,148 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.dora;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.Constants;
+import alluxio.client.block.BlockWorkerInfo;
+import alluxio.util.CommonUtils;
+import alluxio.wire.TieredIdentity;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Tests the placement of keys by {@link ConsistentHashProvider}.
+ */
+public class ConsistentHashPlacementTest {
+  private static final long WORKER_LIST_TTL_MS = 20;
+  private static final String OBJECT_KEY = "/path/to/object";
+  private static final int NUM_VIRTUAL_NODES = 100;
+
+  @Test
+  public void ringMatchesTreeMapPlacement() {
+    List<BlockWorkerInfo> workerList = generateRandomWorkerList(10);
+    ConsistentHashProvider.HashRing ring =
+        ConsistentHashProvider.build(workerList, NUM_VIRTUAL_NODES);
+    // the placement of the ring built with a TreeMap, before the ring was a sorted array
+    HashFunction hashFunction = Hashing.murmur3_32_fixed();
+    NavigableMap<Integer, BlockWorkerInfo> treeMap = new TreeMap<>();
+    for (BlockWorkerInfo workerInfo : workerList) {
+      for (int i = 0; i < NUM_VIRTUAL_NODES / workerList.size(); i++) {
+        treeMap.put(hashFunction.hashString(
+            workerInfo.getNetAddress().dumpMainInfo() + i, UTF_8).asInt(), workerInfo);
+      }
+    }
+    for (int i = 0; i < 10000; i++) {
+      String key = OBJECT_KEY + i;
+      Map.Entry<Integer, BlockWorkerInfo> entry =
+          treeMap.ceilingEntry(hashFunction.hashString(key + 1, UTF_8).asInt());
+      BlockWorkerInfo expected = entry == null ? treeMap.firstEntry().getValue()
+          : entry.getValue();
+      assertEquals(expected, ring.get(key, 1));
+    }
+  }
+
+  @Test
+  public void capacityWeighted() {
+    List<BlockWorkerInfo> workerList = ImmutableList.of(
+        createWorker("small", Constants.GB), createWorker("large", 3L * Constants.GB));
+    ConsistentHashProvider provider = new ConsistentHashProvider(10, WORKER_LIST_TTL_MS);
+    provider.refresh(workerList, 1000, true);
+    assertEquals(0.25, provider.getActiveNodes().getShare(workerList.get(0)), 0.01);
+    assertEquals(0.75, provider.getActiveNodes().getShare(workerList.get(1)), 0.01);
+    int large = 0;
+    for (int i = 0; i < 10000; i++) {
+      if (provider.getMultiple(OBJECT_KEY + i, 1).get(0) == workerList.get(1)) {
+        large++;
+      }
+    }
+    assertTrue(String.valueOf(large), large > 7000 && large < 8000);
+
+    // the ring is rebuilt with the same workers once they are no longer weighted
+    ConsistentHashProvider.HashRing weighted = provider.getActiveNodes();
+    CommonUtils.sleepMs(WORKER_LIST_TTL_MS + 1);
+    provider.refresh(workerList, 1000, false);
+    assertNotEquals(weighted, provider.getActiveNodes());
+    assertEquals(0.5, provider.getActiveNodes().getShare(workerList.get(0)), 0.01);
+  }
+
+  @Test
+  public void boundedLoadSpillsOver() {
+    List<BlockWorkerInfo> workerList = generateRandomWorkerList(4);
+    ConsistentHashProvider provider = new ConsistentHashProvider(100, WORKER_LIST_TTL_MS);
+    provider.refresh(workerList, NUM_VIRTUAL_NODES);
+    WorkerLoadTracker loadTracker = new WorkerLoadTracker(1.5, Constants.HOUR_MS);
+    Map<BlockWorkerInfo, Integer> requests = new HashMap<>();
+    // a single hot key
+    for (int i = 0; i < 1000; i++) {
+      List<BlockWorkerInfo> workers = provider.getMultiple(OBJECT_KEY, 2, loadTracker);
+      assertEquals(2, workers.size());
+      requests.merge(workers.get(0), 1, Integer::sum);
+    }
+    assertTrue(requests.size() > 1);
+    for (Map.Entry<BlockWorkerInfo, Integer> entry : requests.entrySet()) {
+      double share = provider.getActiveNodes().getShare(entry.getKey());
+      assertTrue(entry.getValue() <= Math.ceil(1.5 * 1000 * share));
+      assertEquals(entry.getValue().longValue(),
+          loadTracker.getLoad(entry.getKey().getNetAddress()));
+    }
+    // the worker the key is mapped to serves the key up to its bound
+    BlockWorkerInfo primary = provider.getMultiple(OBJECT_KEY, 1).get(0);
+    double share = provider.getActiveNodes().getShare(primary);
+    assertTrue(requests.get(primary) >= Math.ceil(1.5 * 1000 * share) - 1);
+  }
+
+  private BlockWorkerInfo createWorker(String host, long capacityBytes) {
+    WorkerNetAddress netAddress = new WorkerNetAddress().setHost(host).setRpcPort(29999)
+        .setDataPort(29997).setWebPort(30000);
+    return new BlockWorkerInfo(netAddress, capacityBytes, 0);
+  }
+
+  private List<BlockWorkerInfo> generateRandomWorkerList(int count) {
+    ThreadLocalRandom rng = ThreadLocalRandom.current();
+    ImmutableList.Builder<BlockWorkerInfo> builder = ImmutableList.builder();
+    while (count-- > 0) {
+      WorkerNetAddress netAddress = new WorkerNetAddress();
+      netAddress.setHost(RandomStringUtils.randomAlphanumeric(10));
+      netAddress.setContainerHost(RandomStringUtils.randomAlphanumeric(10));
+      netAddress.setDomainSocketPath(RandomStringUtils.randomAlphanumeric(10));
+      netAddress.setRpcPort(rng.nextInt(0, 65536));
+      netAddress.setDataPort(rng.nextInt(0, 65536));
+      netAddress.setNettyDataPort(rng.nextInt(0, 65536));
+      netAddress.setSecureRpcPort(rng.nextInt(0, 65536));
+      netAddress.setWebPort(rng.nextInt(0, 65536));
+      netAddress.setTieredIdentity(
+          new TieredIdentity(ImmutableList.of(new TieredIdentity.LocalityTier("tier", "loc"))));
+
+      BlockWorkerInfo workerInfo = new BlockWorkerInfo(netAddress,
+          rng.nextLong(0, Constants.GB), rng.nextLong(0, Constants.GB));
+      builder.add(workerInfo);
+    }
+    return builder.build();
+  }
+}
@@ -27,7 +27,9 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class ConsistentHashPolicyTest {
   InstancedConfiguration mConf;
@@ -86,6 +88,31 @@ public class ConsistentHashPolicyTest {
     });
   }
 
+  @Test
+  public void loadBoundOnlySpillsReads() throws Exception {
+    mConf.set(PropertyKey.USER_CONSISTENT_HASH_LOAD_BOUND_FACTOR, 1.25);
+    WorkerLocationPolicy policy = WorkerLocationPolicy.Factory.create(mConf);
+    List<BlockWorkerInfo> workers = new ArrayList<>();
+    for (int i = 1; i <= 2; i++) {
+      WorkerNetAddress workerAddr = new WorkerNetAddress()
+          .setHost("master" + i).setRpcPort(29998).setDataPort(29999).setWebPort(30000);
+      workers.add(new BlockWorkerInfo(workerAddr, 1024, 0));
+    }
+    String path = "hdfs://a/b/c";
+    BlockWorkerInfo owner = policy.getPreferredWorkers(workers, path, 1).get(0);
+
+    Set<WorkerNetAddress> readWorkers = new HashSet<>();
+    for (int i = 0; i < 1000; i++) {
+      readWorkers.add(policy.getPreferredReadWorkers(workers, path, 1).get(0).getNetAddress());
+    }
+    // the reads of a hot file spill over, while everything else still goes to its owner
+    assertTrue(readWorkers.size() > 1);
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(owner.getNetAddress(),
+          policy.getPreferredWorkers(workers, path, 1).get(0).getNetAddress());
+    }
+  }
+
   private boolean contains(List<BlockWorkerInfo> workers, BlockWorkerInfo targetWorker) {
     // BlockWorkerInfo's equality is delegated to the WorkerNetAddress
     return workers.stream().anyMatch(w ->
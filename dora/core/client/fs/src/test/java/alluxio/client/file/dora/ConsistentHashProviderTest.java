@@ -27,7 +27,6 @@ import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.Test;
 
 import java.util.List;
-import java.util.NavigableMap;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
@@ -58,7 +57,7 @@ public class ConsistentHashProviderTest {
     List<List<BlockWorkerInfo>> lists = IntStream.range(0, numThreads)
         .mapToObj(i -> generateRandomWorkerList(5))
         .collect(Collectors.toList());
-    List<Future<NavigableMap<Integer, BlockWorkerInfo>>> futures = IntStream.range(0, numThreads)
+    List<Future<ConsistentHashProvider.HashRing>> futures = IntStream.range(0, numThreads)
         .mapToObj(i -> {
           List<BlockWorkerInfo> list = lists.get(i);
           return executorService.submit(() -> {
@@ -69,11 +68,11 @@ public class ConsistentHashProviderTest {
               fail("interrupted");
             }
             provider.refresh(list, NUM_VIRTUAL_NODES);
-            return provider.getActiveNodesMap();
+            return provider.getActiveNodes();
           });
         })
         .collect(Collectors.toList());
-    Set<NavigableMap<Integer, BlockWorkerInfo>> mapSet = futures.stream().map(future -> {
+    Set<ConsistentHashProvider.HashRing> mapSet = futures.stream().map(future -> {
       try {
         return future.get();
       } catch (InterruptedException interruptedException) {
@@ -89,7 +88,7 @@ public class ConsistentHashProviderTest {
     assertTrue(lists.contains(workerInfoListUsedByPolicy));
     assertEquals(
         ConsistentHashProvider.build(workerInfoListUsedByPolicy, NUM_VIRTUAL_NODES),
-        provider.getActiveNodesMap());
+        provider.getActiveNodes());
   }
 
   @Test
@@ -147,7 +146,7 @@ public class ConsistentHashProviderTest {
       assertTrue(listsPerThread.contains(workerInfoListUsedByPolicy));
       assertEquals(
           ConsistentHashProvider.build(workerInfoListUsedByPolicy, NUM_VIRTUAL_NODES),
-          provider.getActiveNodesMap());
+          provider.getActiveNodes());
     }
   }
 
@@ -161,7 +160,7 @@ public class ConsistentHashProviderTest {
     assertEquals(workerList, provider.getLastWorkerInfos());
     assertEquals(
         ConsistentHashProvider.build(workerList, NUM_VIRTUAL_NODES),
-        provider.getActiveNodesMap());
+        provider.getActiveNodes());
 
     // before TTL is up, refresh does not change the internal states of the provider
     List<BlockWorkerInfo> newList = generateRandomWorkerList(5);
@@ -171,7 +170,7 @@ public class ConsistentHashProviderTest {
     assertEquals(workerList, provider.getLastWorkerInfos());
     assertEquals(
         ConsistentHashProvider.build(workerList, NUM_VIRTUAL_NODES),
-        provider.getActiveNodesMap());
+        provider.getActiveNodes());
 
     // after TTL expires, refresh should change the worker list and the active nodes map
     Thread.sleep(WORKER_LIST_TTL_MS);
@@ -180,7 +179,7 @@ public class ConsistentHashProviderTest {
     assertEquals(newList, provider.getLastWorkerInfos());
     assertEquals(
         ConsistentHashProvider.build(newList, NUM_VIRTUAL_NODES),
-        provider.getActiveNodesMap());
+        provider.getActiveNodes());
   }
 
   private List<BlockWorkerInfo> generateRandomWorkerList(int count) {
@@ -0,0 +1,53 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.dora;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.Constants;
+
+import com.google.common.base.Ticker;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class HotFileDetectorTest {
+  private long mTimeNanos = 0;
+  private final Ticker mTicker = new Ticker() {
+    @Override
+    public long read() {
+      return mTimeNanos;
+    }
+  };
+
+  @Test
+  public void hotOnceReadEnough() {
+    HotFileDetector detector = new HotFileDetector(3, Constants.MINUTE_MS, mTicker);
+    assertFalse(detector.recordRead("/a"));
+    assertFalse(detector.recordRead("/a"));
+    assertFalse(detector.recordRead("/b"));
+    assertTrue(detector.recordRead("/a"));
+    assertTrue(detector.recordRead("/a"));
+
+    // the reads are counted again once the window is over
+    mTimeNanos += TimeUnit.MILLISECONDS.toNanos(Constants.MINUTE_MS);
+    assertFalse(detector.recordRead("/a"));
+    assertFalse(detector.recordRead("/b"));
+  }
+
+  @Test
+  public void alwaysHot() {
+    HotFileDetector detector = new HotFileDetector(1, Constants.MINUTE_MS, mTicker);
+    assertTrue(detector.recordRead("/a"));
+  }
+}
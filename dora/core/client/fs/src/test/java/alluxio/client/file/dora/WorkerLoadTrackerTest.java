@@ -0,0 +1,65 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.dora;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.wire.WorkerNetAddress;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class WorkerLoadTrackerTest {
+  private static final long WINDOW_MS = 1000;
+
+  private final AtomicLong mClock = new AtomicLong();
+  private final WorkerLoadTracker mTracker = new WorkerLoadTracker(1.25, WINDOW_MS, mClock::get);
+  private final WorkerNetAddress mWorker = new WorkerNetAddress().setHost("worker1");
+  private final WorkerNetAddress mOtherWorker = new WorkerNetAddress().setHost("worker2");
+
+  @Test
+  public void boundByShare() {
+    for (int i = 0; i < WorkerLoadTracker.MIN_BOUND; i++) {
+      assertFalse(mTracker.isOverloaded(mWorker, 0.5));
+      mTracker.record(mWorker);
+    }
+    // one more request is over max(16, 1.25 * 0.5 * (16 + 1)) = 16 requests
+    assertTrue(mTracker.isOverloaded(mWorker, 0.5));
+    assertFalse(mTracker.isOverloaded(mOtherWorker, 0.5));
+    // the bound grows with the load of the other workers, 1.25 * 0.5 * (36 + 1) = 24 requests
+    for (int i = 0; i < 20; i++) {
+      mTracker.record(mOtherWorker);
+    }
+    assertFalse(mTracker.isOverloaded(mWorker, 0.5));
+  }
+
+  @Test
+  public void loadExpires() {
+    for (int i = 0; i < 10; i++) {
+      mTracker.record(mWorker);
+    }
+    mClock.addAndGet(WINDOW_MS);
+    mTracker.record(mWorker);
+    // the previous window still counts
+    assertEquals(11, mTracker.getLoad(mWorker));
+    mClock.addAndGet(WINDOW_MS);
+    mTracker.record(mOtherWorker);
+    assertEquals(1, mTracker.getLoad(mWorker));
+    mClock.addAndGet(2 * WINDOW_MS);
+    assertFalse(mTracker.isOverloaded(mWorker, 0.5));
+    assertEquals(0, mTracker.getLoad(mWorker));
+    assertEquals(0, mTracker.getLoad(mOtherWorker));
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.dora.netty;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class MultiplexedReadChannelPoolTest {
+  @Test
+  public void roundRobin() throws Exception {
+    AtomicInteger created = new AtomicInteger();
+    try (MultiplexedReadChannelPool pool = new MultiplexedReadChannelPool(() -> {
+      created.incrementAndGet();
+      return new EmbeddedChannel();
+    }, 2, 16)) {
+      MultiplexedReadChannel channel0 = pool.acquire();
+      MultiplexedReadChannel channel1 = pool.acquire();
+      assertNotSame(channel0, channel1);
+      assertSame(channel0, pool.acquire());
+      assertSame(channel1, pool.acquire());
+      assertEquals(2, created.get());
+    }
+  }
+
+  @Test
+  public void replaceClosedChannel() throws Exception {
+    try (MultiplexedReadChannelPool pool =
+        new MultiplexedReadChannelPool(EmbeddedChannel::new, 1, 16)) {
+      MultiplexedReadChannel channel = pool.acquire();
+      channel.close();
+      MultiplexedReadChannel replaced = pool.acquire();
+      assertNotSame(channel, replaced);
+      assertTrue(replaced.isOpen());
+    }
+  }
+
+  @Test
+  public void connectWithoutBlockingOtherChannels() throws Exception {
+    CountDownLatch connecting = new CountDownLatch(1);
+    CountDownLatch connected = new CountDownLatch(1);
+    AtomicInteger created = new AtomicInteger();
+    MultiplexedReadChannelPool pool = new MultiplexedReadChannelPool(() -> {
+      if (created.getAndIncrement() == 0) {
+        connecting.countDown();
+        Uninterruptibles.awaitUninterruptibly(connected);
+      }
+      return new EmbeddedChannel();
+    }, 2, 16);
+    try {
+      CompletableFuture<MultiplexedReadChannel> slow = CompletableFuture.supplyAsync(() -> {
+        try {
+          return pool.acquire();
+        } catch (Exception e) {
+          throw new RuntimeException(e);
+        }
+      });
+      assertTrue(connecting.await(10, TimeUnit.SECONDS));
+      // the second channel is handed out while the first one is still connecting
+      MultiplexedReadChannel fast = pool.acquire();
+      assertTrue(fast.isOpen());
+      assertFalse(slow.isDone());
+      connected.countDown();
+      assertNotSame(fast, slow.get(10, TimeUnit.SECONDS));
+    } finally {
+      connected.countDown();
+      pool.close();
+    }
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.dora.netty;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.client.file.dora.netty.event.ChannelErrorResponseEvent;
+import alluxio.client.file.dora.netty.event.DataResponseEvent;
+import alluxio.client.file.dora.netty.event.EofResponseEvent;
+import alluxio.client.file.dora.netty.event.ResponseEvent;
+import alluxio.network.protocol.RPCProtoMessage;
+import alluxio.network.protocol.databuffer.NettyDataBuffer;
+import alluxio.proto.dataserver.Protocol;
+import alluxio.proto.status.Status.PStatus;
+import alluxio.util.proto.ProtoMessage;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+public class MultiplexedReadChannelTest {
+  private final EmbeddedChannel mChannel = new EmbeddedChannel();
+  private MultiplexedReadChannel mMultiplexedChannel;
+
+  @Before
+  public void before() {
+    mMultiplexedChannel = new MultiplexedReadChannel(mChannel, 16);
+  }
+
+  @Test
+  public void dispatchByStreamId() {
+    BlockingQueue<ResponseEvent> queue0 = new LinkedBlockingQueue<>();
+    BlockingQueue<ResponseEvent> queue1 = new LinkedBlockingQueue<>();
+    long stream0 = mMultiplexedChannel.openStream(queue0);
+    long stream1 = mMultiplexedChannel.openStream(queue1);
+    assertNotEquals(stream0, stream1);
+    assertEquals(2, mMultiplexedChannel.getStreamCount());
+
+    mChannel.writeInbound(data(stream1, new byte[] {1, 2, 3}));
+    mChannel.writeInbound(eof(stream0));
+    mChannel.writeInbound(eof(stream1));
+
+    assertEquals(1, queue0.size());
+    assertTrue(queue0.poll() instanceof EofResponseEvent);
+    assertEquals(2, queue1.size());
+    assertTrue(queue1.poll() instanceof DataResponseEvent);
+    assertTrue(queue1.poll() instanceof EofResponseEvent);
+  }
+
+  @Test
+  public void dropResponsesOfClosedStream() {
+    BlockingQueue<ResponseEvent> queue = new LinkedBlockingQueue<>();
+    long stream = mMultiplexedChannel.openStream(queue);
+    mMultiplexedChannel.closeStream(stream);
+    assertEquals(0, mMultiplexedChannel.getStreamCount());
+
+    ByteBuf buf = Unpooled.wrappedBuffer(new byte[] {1, 2, 3});
+    mChannel.writeInbound(new RPCProtoMessage(new ProtoMessage(response(stream)),
+        new NettyDataBuffer(buf)));
+    assertTrue(queue.isEmpty());
+    assertEquals(0, buf.refCnt());
+  }
+
+  @Test
+  public void channelClosedNotifiesAllStreams() {
+    BlockingQueue<ResponseEvent> queue0 = new LinkedBlockingQueue<>();
+    BlockingQueue<ResponseEvent> queue1 = new LinkedBlockingQueue<>();
+    mMultiplexedChannel.openStream(queue0);
+    mMultiplexedChannel.openStream(queue1);
+
+    mChannel.close();
+    assertFalse(mMultiplexedChannel.isOpen());
+    assertTrue(queue0.poll() instanceof ChannelErrorResponseEvent);
+    assertTrue(queue1.poll() instanceof ChannelErrorResponseEvent);
+  }
+
+  @Test
+  public void pauseReadingUntilAllStreamsCatchUp() {
+    EmbeddedChannel channel = new EmbeddedChannel();
+    MultiplexedReadChannel multiplexedChannel = new MultiplexedReadChannel(channel, 2);
+    BlockingQueue<ResponseEvent> queue0 = new LinkedBlockingQueue<>();
+    BlockingQueue<ResponseEvent> queue1 = new LinkedBlockingQueue<>();
+    long stream0 = multiplexedChannel.openStream(queue0);
+    long stream1 = multiplexedChannel.openStream(queue1);
+
+    channel.writeInbound(eof(stream0));
+    channel.writeInbound(eof(stream0));
+    assertFalse(channel.config().isAutoRead());
+    channel.writeInbound(eof(stream1));
+    channel.writeInbound(eof(stream1));
+    assertEquals(2, multiplexedChannel.getFullStreamCount());
+
+    // the fast stream catching up does not resume reading for the slow one
+    queue1.clear();
+    multiplexedChannel.onResponsesConsumed(stream1);
+    assertFalse(channel.config().isAutoRead());
+    assertEquals(1, multiplexedChannel.getFullStreamCount());
+
+    queue0.poll();
+    multiplexedChannel.onResponsesConsumed(stream0);
+    assertTrue(channel.config().isAutoRead());
+    assertEquals(0, multiplexedChannel.getFullStreamCount());
+  }
+
+  @Test
+  public void closeFullStreamResumesReading() {
+    EmbeddedChannel channel = new EmbeddedChannel();
+    MultiplexedReadChannel multiplexedChannel = new MultiplexedReadChannel(channel, 1);
+    BlockingQueue<ResponseEvent> queue0 = new LinkedBlockingQueue<>();
+    BlockingQueue<ResponseEvent> queue1 = new LinkedBlockingQueue<>();
+    long stream0 = multiplexedChannel.openStream(queue0);
+    long stream1 = multiplexedChannel.openStream(queue1);
+
+    channel.writeInbound(eof(stream0));
+    channel.writeInbound(eof(stream1));
+    multiplexedChannel.closeStream(stream0);
+    assertFalse(channel.config().isAutoRead());
+    multiplexedChannel.closeStream(stream1);
+    assertTrue(channel.config().isAutoRead());
+  }
+
+  private static Protocol.Response response(long streamId) {
+    return Protocol.Response.newBuilder().setStatus(PStatus.OK).setStreamId(streamId).build();
+  }
+
+  private static RPCProtoMessage data(long streamId, byte[] data) {
+    return new RPCProtoMessage(new ProtoMessage(response(streamId)),
+        new NettyDataBuffer(Unpooled.wrappedBuffer(data)));
+  }
+
+  private static RPCProtoMessage eof(long streamId) {
+    return new RPCProtoMessage(new ProtoMessage(response(streamId)), null);
+  }
+}
@@ -33,6 +33,18 @@ public class CacheContext {
     NANO, BYTE;
   }
 
+  /**
+   * Whether the pages read on a cache miss are cached.
+   */
+  public enum AdmissionMode {
+    /** The cache admission policy decides. */
+    POLICY,
+    /** The pages are always cached, e.g. when loading a file. */
+    ALWAYS,
+    /** The pages are never cached, the data is read through. */
+    NEVER
+  }
+
   /** Used in Prestodb to indicate the cache quota for a file. */
   private CacheQuota mCacheQuota = CacheQuota.UNLIMITED;
 
@@ -52,6 +64,14 @@ public class CacheContext {
 
   private boolean mIsTemporary = false;
 
+  /** The path of the file in the source of the data, used by cache admission rules. */
+  private String mSourcePath = null;
+
+  /** The tag of the reader, e.g. the user, used by cache admission rules. */
+  private String mTag = null;
+
+  private AdmissionMode mAdmissionMode = AdmissionMode.POLICY;
+
   /**
    * @return the default CacheContext
    */
@@ -152,6 +172,56 @@ public class CacheContext {
     return this;
   }
 
+  /**
+   * @return the path of the file in the source of the data
+   */
+  @Nullable
+  public String getSourcePath() {
+    return mSourcePath;
+  }
+
+  /**
+   * @param sourcePath the path of the file in the source of the data
+   * @return the updated {@code CacheContext}
+   */
+  public CacheContext setSourcePath(@Nullable String sourcePath) {
+    mSourcePath = sourcePath;
+    return this;
+  }
+
+  /**
+   * @return the tag of the reader
+   */
+  @Nullable
+  public String getTag() {
+    return mTag;
+  }
+
+  /**
+   * @param tag the tag of the reader
+   * @return the updated {@code CacheContext}
+   */
+  public CacheContext setTag(@Nullable String tag) {
+    mTag = tag;
+    return this;
+  }
+
+  /**
+   * @return whether the pages read on a cache miss are cached
+   */
+  public AdmissionMode getAdmissionMode() {
+    return mAdmissionMode;
+  }
+
+  /**
+   * @param admissionMode whether the pages read on a cache miss are cached
+   * @return the updated {@code CacheContext}
+   */
+  public CacheContext setAdmissionMode(AdmissionMode admissionMode) {
+    mAdmissionMode = admissionMode;
+    return this;
+  }
+
   /**
    * Increments the counter {@code name} by {@code value}.
    * <p>
@@ -189,13 +259,16 @@ public class CacheContext {
     return Objects.equals(mCacheIdentifier, that.mCacheIdentifier)
         && Objects.equals(mHiveCacheContext, that.mHiveCacheContext)
         && Objects.equals(mCacheQuota, that.mCacheQuota)
-        && Objects.equals(mCacheScope, that.mCacheScope);
+        && Objects.equals(mCacheScope, that.mCacheScope)
+        && Objects.equals(mSourcePath, that.mSourcePath)
+        && Objects.equals(mTag, that.mTag)
+        && mAdmissionMode == that.mAdmissionMode;
   }
 
   @Override
   public int hashCode() {
     return Objects.hash(mCacheQuota, mCacheScope, mCacheIdentifier, mHiveCacheContext,
-        mIsTemporary);
+        mIsTemporary, mSourcePath, mTag, mAdmissionMode);
   }
 
   @Override
@@ -206,6 +279,9 @@ public class CacheContext {
         .add("cacheScope", mCacheScope)
         .add("hiveCacheContext", mHiveCacheContext)
         .add("isTemporary", mIsTemporary)
+        .add("sourcePath", mSourcePath)
+        .add("tag", mTag)
+        .add("admissionMode", mAdmissionMode)
         .toString();
   }
 }
@@ -19,6 +19,10 @@ public enum PageStoreType {
    * A simple store with pages on the local filesystem.
    */
   LOCAL(PageStoreType.LOCAL_OVERHEAD_RATIO),
+  /**
+   * A store with pages packed into large segment files on the local filesystem.
+   */
+  SEGMENT(PageStoreType.SEGMENT_OVERHEAD_RATIO),
   /**
    * A store that utilizes RocksDB to store and retrieve pages.
    */
@@ -39,6 +43,9 @@ public enum PageStoreType {
   // i.e., with 1GB space allocated, we
   // expect no more than 1024MB / (1 + LOCAL_OVERHEAD_RATIO) logical data stored
   private static final double LOCAL_OVERHEAD_RATIO = 0.05;
+  // Pages shorter than the page size still occupy a full slot in a segment file, so we assume
+  // the same overhead as the local fs store
+  private static final double SEGMENT_OVERHEAD_RATIO = 0.05;
   private final double mOverheadRatio;
 
   /**
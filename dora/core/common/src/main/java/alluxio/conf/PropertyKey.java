@@ -1238,6 +1238,24 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.ENFORCE)
           .setScope(Scope.SERVER)
           .build();
+  public static final PropertyKey UNDERFS_IO_BACKGROUND_THREADS_RATIO =
+      doubleBuilder(Name.UNDERFS_IO_BACKGROUND_THREADS_RATIO)
+          .setDefaultValue(0.5)
+          .setDescription(format("The ratio of the %s UFS IO threads which background reads, "
+              + "e.g. of load jobs, may occupy at the same time. The other threads are kept "
+              + "for interactive reads, which are always scheduled before background reads.",
+              Name.UNDERFS_IO_THREADS))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
+  public static final PropertyKey UNDERFS_IO_TAG_WEIGHTS =
+      listBuilder(Name.UNDERFS_IO_TAG_WEIGHTS)
+          .setDescription("Comma-separated list of <tag>:<weight> pairs, e.g. etl:4,adhoc:1. "
+              + "Tags of the same priority class share the UFS IO threads in proportion to their "
+              + "weights. A tag which is not listed has a weight of 1.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
   public static final PropertyKey UNDERFS_IO_THREADS =
       intBuilder(Name.UNDERFS_IO_THREADS)
           .setDefaultSupplier(() -> Math.max(4, 3 * Runtime.getRuntime().availableProcessors()),
@@ -2364,6 +2382,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey MASTER_SCHEDULER_DISPATCHER_THREADS =
+      intBuilder(Name.MASTER_SCHEDULER_DISPATCHER_THREADS)
+          .setDefaultValue(16)
+          .setDescription("The number of threads of the job scheduler which prepare the next "
+              + "tasks of jobs and dispatch tasks to workers as soon as tasks complete. Tasks of "
+              + "the same job, and dispatches to the same worker, are still handled one at a "
+              + "time.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_SHELL_BACKUP_STATE_LOCK_GRACE_MODE =
       enumBuilder(Name.MASTER_SHELL_BACKUP_STATE_LOCK_GRACE_MODE, GraceMode.class)
           .setDefaultValue(GraceMode.FORCED)
@@ -4933,13 +4961,43 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_PAGE_STORE_ADMISSION_POLICY_CLASS =
+      classBuilder(Name.WORKER_PAGE_STORE_ADMISSION_POLICY_CLASS)
+          .setDefaultValue("alluxio.client.file.cache.admission.AlwaysAdmitPolicy")
+          .setDescription("The policy which decides whether the worker caches a page read on a "
+              + "cache miss. Currently valid options include "
+              + "`alluxio.client.file.cache.admission.AlwaysAdmitPolicy`, which caches every "
+              + "page, `alluxio.client.file.cache.admission.FrequencyAdmissionPolicy`, which "
+              + "caches a page when it is read again within the window of the shadow cache set "
+              + "by the alluxio.user.client.cache.shadow.* properties, and "
+              + "`alluxio.client.file.cache.admission.RuleBasedAdmissionPolicy`, which decides "
+              + "by the rules set by " + Name.WORKER_PAGE_STORE_ADMISSION_RULES + ". Pages "
+              + "loaded by jobs are always cached, and pages read with the NO_CACHE read type "
+              + "are never cached.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_PAGE_STORE_ADMISSION_RULES =
+      listBuilder(Name.WORKER_PAGE_STORE_ADMISSION_RULES)
+          .setDescription("Comma separated cache admission rules of the "
+              + "RuleBasedAdmissionPolicy, in the format `<selector>=<action>`. The first rule "
+              + "whose selector matches a page decides. The selector is `path:<regex>` to match "
+              + "the UFS path of the file, `tag:<tag>` to match the user reading the file, or "
+              + "`*` to match every page. The action is ADMIT to cache the page, FREQUENCY to "
+              + "cache the page when it is read again within the window of the shadow cache, or "
+              + "BYPASS to read the data through without caching it. Pages matching no rule are "
+              + "cached. For example, `tag:etl=BYPASS,path:.*/tmp/.*=BYPASS,*=FREQUENCY`.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_PAGE_STORE_EVICTOR_CLASS =
       classBuilder(Name.WORKER_PAGE_STORE_EVICTOR_CLASS)
           .setDefaultValue("alluxio.client.file.cache.evictor.LRUCacheEvictor")
           .setDescription("The strategy that worker uses to evict local cached pages when running "
               + "out of space. Currently valid options include "
               + "`alluxio.client.file.cache.evictor.LRUCacheEvictor`,"
-              + "`alluxio.client.file.cache.evictor.LFUCacheEvictor`.")
+              + "`alluxio.client.file.cache.evictor.LFUCacheEvictor`,"
+              + "`alluxio.client.file.cache.evictor.S3FIFOCacheEvictor`.")
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
@@ -4950,6 +5008,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_PAGE_STORE_EVICTOR_S3FIFO_SMALL_QUEUE_RATIO =
+      doubleBuilder(Name.WORKER_PAGE_STORE_EVICTOR_S3FIFO_SMALL_QUEUE_RATIO)
+          .setDefaultValue(0.1)
+          .setDescription("The ratio of the pages which the worker cache S3-FIFO evictor keeps in "
+              + "its small queue. A new page is evicted from the small queue unless it is read "
+              + "again while there, so a larger ratio gives pages more time to be read again, "
+              + "and a smaller ratio makes the cache more resistant to scans.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_PAGE_STORE_EVICTOR_NONDETERMINISTIC_ENABLED =
       booleanBuilder(Name.WORKER_PAGE_STORE_EVICTOR_NONDETERMINISTIC_ENABLED)
           .setDefaultValue(false)
@@ -4968,6 +5036,32 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_PAGE_STORE_LOCAL_STORE_OPEN_FILE_CACHE_SIZE =
+      intBuilder(Name.WORKER_PAGE_STORE_LOCAL_STORE_OPEN_FILE_CACHE_SIZE)
+          .setDefaultValue(0)
+          .setDescription("The maximum number of page files the local page store keeps open "
+              + "between reads, so that hot pages are served without opening and closing their "
+              + "files every time. Set to 0 to disable.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_PAGE_STORE_LOCAL_STORE_MMAP_SIZE =
+      dataSizeBuilder(Name.WORKER_PAGE_STORE_LOCAL_STORE_MMAP_SIZE)
+          .setDefaultValue("0")
+          .setDescription("The maximum number of bytes of hot pages the local page store serves "
+              + "from memory-mapped page files, which avoids a system call per read for small "
+              + "random reads. A page is mapped on its second read. Set to 0 to disable.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_PAGE_STORE_SEGMENT_STORE_SEGMENT_SIZE =
+      dataSizeBuilder(Name.WORKER_PAGE_STORE_SEGMENT_STORE_SEGMENT_SIZE)
+          .setDefaultValue("256MB")
+          .setDescription("The size of each segment file of the `SEGMENT` page store. A segment "
+              + "holds as many pages as fit in this size.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_PAGE_STORE_OVERHEAD =
       doubleBuilder(Name.WORKER_PAGE_STORE_OVERHEAD)
           .setDefaultValue(0.1)
@@ -4984,6 +5078,15 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_PAGE_STORE_CONCURRENT_META_ENABLED =
+      booleanBuilder(Name.WORKER_PAGE_STORE_CONCURRENT_META_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether to keep page metadata in a concurrent index so that cache "
+              + "hits do not take the global metadata lock. Ignored when cache quota is "
+              + "enabled.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_PAGE_STORE_QUOTA_ENABLED =
       booleanBuilder(Name.WORKER_PAGE_STORE_QUOTA_ENABLED)
           .setDefaultValue(false)
@@ -5020,12 +5123,39 @@ public final class PropertyKey implements Comparable<PropertyKey> {
   public static final PropertyKey WORKER_PAGE_STORE_TYPE =
       enumBuilder(Name.WORKER_PAGE_STORE_TYPE, PageStoreType.class)
           .setDefaultValue(PageStoreType.LOCAL)
-          .setDescription("The type of page store to use for worker page store. Can be either "
-              + "`LOCAL` or `ROCKS`. The `LOCAL` page store stores all pages in a directory, "
-              + "the `ROCKS` page store utilizes rocksDB to persist the data.")
+          .setDescription("The type of page store to use for worker page store. Can be one of "
+              + "`LOCAL`, `SEGMENT` or `ROCKS`. The `LOCAL` page store stores each page in its "
+              + "own file in a directory, the `SEGMENT` page store packs pages into a few large "
+              + "segment files, the `ROCKS` page store utilizes rocksDB to persist the data.")
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_PAGE_STORE_WRITE_BEHIND_ENABLED =
+      booleanBuilder(Name.WORKER_PAGE_STORE_WRITE_BEHIND_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("If this is enabled, pages read from the UFS on a cache miss are "
+              + "returned to the reader right away and written to the page store by a bounded "
+              + "set of background threads. Pages are dropped instead of cached when "
+              + Name.WORKER_PAGE_STORE_WRITE_BEHIND_QUEUE_SIZE + " pages are already pending.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_PAGE_STORE_WRITE_BEHIND_QUEUE_SIZE =
+      intBuilder(Name.WORKER_PAGE_STORE_WRITE_BEHIND_QUEUE_SIZE)
+          .setDefaultValue(256)
+          .setDescription("The maximum number of pages waiting to be written to the page store "
+              + "when " + Name.WORKER_PAGE_STORE_WRITE_BEHIND_ENABLED + " is true.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_PAGE_STORE_WRITE_BEHIND_THREADS =
+      intBuilder(Name.WORKER_PAGE_STORE_WRITE_BEHIND_THREADS)
+          .setDefaultValue(8)
+          .setDescription("Number of threads writing pages to the page store when "
+              + Name.WORKER_PAGE_STORE_WRITE_BEHIND_ENABLED + " is true.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .setScope(Scope.WORKER)
+          .build();
 
   public static final PropertyKey WORKER_PRINCIPAL = stringBuilder(Name.WORKER_PRINCIPAL)
       .setDescription("Kerberos principal for Alluxio worker.")
@@ -6187,7 +6317,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setDescription("The strategy that client uses to evict local cached pages when running "
               + "out of space. Currently valid options include "
               + "`alluxio.client.file.cache.evictor.LRUCacheEvictor`,"
-              + "`alluxio.client.file.cache.evictor.LFUCacheEvictor`.")
+              + "`alluxio.client.file.cache.evictor.LFUCacheEvictor`,"
+              + "`alluxio.client.file.cache.evictor.S3FIFOCacheEvictor`.")
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
@@ -6198,6 +6329,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_CLIENT_CACHE_EVICTOR_S3FIFO_SMALL_QUEUE_RATIO =
+      doubleBuilder(Name.USER_CLIENT_CACHE_EVICTOR_S3FIFO_SMALL_QUEUE_RATIO)
+          .setDefaultValue(0.1)
+          .setDescription("The ratio of the pages which the client cache S3-FIFO evictor keeps in "
+              + "its small queue. A new page is evicted from the small queue unless it is read "
+              + "again while there, so a larger ratio gives pages more time to be read again, "
+              + "and a smaller ratio makes the cache more resistant to scans.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_CLIENT_CACHE_EVICTOR_NONDETERMINISTIC_ENABLED =
       booleanBuilder(Name.USER_CLIENT_CACHE_EVICTOR_NONDETERMINISTIC_ENABLED)
           .setDefaultValue(false)
@@ -6335,9 +6476,10 @@ public final class PropertyKey implements Comparable<PropertyKey> {
   public static final PropertyKey USER_CLIENT_CACHE_STORE_TYPE =
       enumBuilder(Name.USER_CLIENT_CACHE_STORE_TYPE, PageStoreType.class)
           .setDefaultValue(PageStoreType.LOCAL)
-          .setDescription("The type of page store to use for client-side cache. Can be either "
-              + "`LOCAL` or `ROCKS`. The `LOCAL` page store stores all pages in a directory, "
-              + "the `ROCKS` page store utilizes rocksDB to persist the data.")
+          .setDescription("The type of page store to use for client-side cache. Can be one of "
+              + "`LOCAL`, `SEGMENT` or `ROCKS`. The `LOCAL` page store stores each page in its "
+              + "own file in a directory, the `SEGMENT` page store packs pages into a few large "
+              + "segment files, the `ROCKS` page store utilizes rocksDB to persist the data.")
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
@@ -6350,6 +6492,39 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_CLIENT_CACHE_LOCAL_STORE_OPEN_FILE_CACHE_SIZE =
+      intBuilder(Name.USER_CLIENT_CACHE_LOCAL_STORE_OPEN_FILE_CACHE_SIZE)
+          .setDefaultValue(0)
+          .setDescription("The maximum number of page files the local page store of the "
+              + "client-side cache keeps open between reads. Set to 0 to disable.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_LOCAL_STORE_MMAP_SIZE =
+      dataSizeBuilder(Name.USER_CLIENT_CACHE_LOCAL_STORE_MMAP_SIZE)
+          .setDefaultValue("0")
+          .setDescription("The maximum number of bytes of hot pages the local page store of the "
+              + "client-side cache serves from memory-mapped page files. Set to 0 to disable.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_SEGMENT_STORE_SEGMENT_SIZE =
+      dataSizeBuilder(Name.USER_CLIENT_CACHE_SEGMENT_STORE_SEGMENT_SIZE)
+          .setDefaultValue("256MB")
+          .setDescription("The size of each segment file of the `SEGMENT` page store of the "
+              + "client-side cache. A segment holds as many pages as fit in this size.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CLIENT_CACHE_CONCURRENT_META_ENABLED =
+      booleanBuilder(Name.USER_CLIENT_CACHE_CONCURRENT_META_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether to keep page metadata in a concurrent index so that cache "
+              + "hits do not take the global metadata lock. Ignored when cache quota is "
+              + "enabled.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_CLIENT_CACHE_QUOTA_ENABLED =
       booleanBuilder(Name.USER_CLIENT_CACHE_QUOTA_ENABLED)
           .setDefaultValue(false)
@@ -6419,6 +6594,67 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_CONSISTENT_HASH_CAPACITY_WEIGHTED_ENABLED =
+      booleanBuilder(Name.USER_CONSISTENT_HASH_CAPACITY_WEIGHTED_ENABLED)
+          .setDefaultValue(false)
+          .setDescription(format("Whether the virtual nodes of the consistent hashing "
+              + "algorithm are distributed among the workers in proportion to their cache "
+              + "capacity, instead of evenly, so that workers with larger caches serve "
+              + "proportionally more files. The total number of virtual nodes is set by %s.",
+              Name.USER_CONSISTENT_HASH_VIRTUAL_NODE_COUNT))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.ENFORCE)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CONSISTENT_HASH_LOAD_BOUND_FACTOR =
+      doubleBuilder(Name.USER_CONSISTENT_HASH_LOAD_BOUND_FACTOR)
+          .setDefaultValue(0)
+          .setDescription(format("The load bound factor of the consistent hashing algorithm, "
+              + "or 0 to disable load bounding. When set to c, typically between 1.1 and 2, "
+              + "the data reads sent by a client to a worker within %s are bounded to c "
+              + "times the worker's share of the reads of the client, and the reads of the "
+              + "files mapped to a worker over its bound spill over to the next workers "
+              + "of the hash ring. Metadata operations and writes always go to the worker "
+              + "the file is mapped to.", Name.USER_CONSISTENT_HASH_LOAD_WINDOW))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CONSISTENT_HASH_LOAD_WINDOW =
+      durationBuilder(Name.USER_CONSISTENT_HASH_LOAD_WINDOW)
+          .setDefaultValue("10s")
+          .setDescription(format("The time window over which the load of the workers is "
+              + "measured when %s is set.", Name.USER_CONSISTENT_HASH_LOAD_BOUND_FACTOR))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_HOT_FILE_READ_REPLICAS =
+      intBuilder(Name.USER_HOT_FILE_READ_REPLICAS)
+          .setDefaultValue(1)
+          .setDescription(format("The number of workers following the hash ring which the "
+              + "reads of a hot file are spread over, see %s. Each client reads a hot file from "
+              + "one of these workers, and the workers other than the first fill their cache "
+              + "from the first worker instead of the UFS. 1 disables the replication of hot "
+              + "files.", Name.USER_HOT_FILE_READ_THRESHOLD))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_HOT_FILE_READ_THRESHOLD =
+      intBuilder(Name.USER_HOT_FILE_READ_THRESHOLD)
+          .setDefaultValue(8)
+          .setDescription(format("The number of times a client opens a file for reading within "
+              + "%s from which the file is hot. Set to 1 to read every file from the workers "
+              + "set by %s, e.g. when a file is read by many clients once each.",
+              Name.USER_HOT_FILE_READ_WINDOW, Name.USER_HOT_FILE_READ_REPLICAS))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_HOT_FILE_READ_WINDOW =
+      durationBuilder(Name.USER_HOT_FILE_READ_WINDOW)
+          .setDefaultValue("1min")
+          .setDescription(format("The time window over which the reads of a file are counted "
+              + "against %s.", Name.USER_HOT_FILE_READ_THRESHOLD))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_FILE_WRITE_TYPE_DEFAULT =
       enumBuilder(Name.USER_FILE_WRITE_TYPE_DEFAULT, WriteType.class)
           .setDefaultValue(WriteType.CACHE_THROUGH)
@@ -6577,6 +6813,47 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setIsHidden(true)
           .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
           .build();
+  public static final PropertyKey USER_POSITION_READER_READAHEAD_ASYNC_ENABLED =
+      booleanBuilder(Name.USER_POSITION_READER_READAHEAD_ASYNC_ENABLED)
+          .setScope(Scope.CLIENT)
+          .setDefaultValue(false)
+          .setDescription("If true, sequential reads of a file are served by reading ahead "
+              + "asynchronously, with several windows of the file fetched in parallel in the "
+              + "background, instead of by prefetching synchronously on the reading thread.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .build();
+  public static final PropertyKey USER_POSITION_READER_READAHEAD_WINDOWS =
+      intBuilder(Name.USER_POSITION_READER_READAHEAD_WINDOWS)
+          .setScope(Scope.CLIENT)
+          .setDefaultValue(4)
+          .setDescription("The maximum number of windows a stream reads ahead at the same time "
+              + "when asynchronous readahead is enabled.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .build();
+  public static final PropertyKey USER_POSITION_READER_READAHEAD_WINDOW_SIZE_MIN =
+      dataSizeBuilder(Name.USER_POSITION_READER_READAHEAD_WINDOW_SIZE_MIN)
+          .setScope(Scope.CLIENT)
+          .setDefaultValue("1MB")
+          .setDescription("The initial size of a readahead window. The windows of a stream "
+              + "grow while the data read ahead is used, and shrink back towards this size when "
+              + "it is discarded by a seek.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .build();
+  public static final PropertyKey USER_POSITION_READER_READAHEAD_WINDOW_SIZE_MAX =
+      dataSizeBuilder(Name.USER_POSITION_READER_READAHEAD_WINDOW_SIZE_MAX)
+          .setScope(Scope.CLIENT)
+          .setDefaultValue("16MB")
+          .setDescription("The maximum size of a readahead window.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .build();
+  public static final PropertyKey USER_POSITION_READER_READAHEAD_THREADS =
+      intBuilder(Name.USER_POSITION_READER_READAHEAD_THREADS)
+          .setScope(Scope.CLIENT)
+          .setDefaultValue(32)
+          .setDescription("The number of threads of a client which read ahead for all its "
+              + "streams when asynchronous readahead is enabled.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .build();
   public static final PropertyKey USER_SKIP_AUTHORITY_CHECK =
       booleanBuilder(Name.USER_SKIP_AUTHORITY_CHECK)
           .setScope(Scope.CLIENT)
@@ -7159,6 +7436,48 @@ public final class PropertyKey implements Comparable<PropertyKey> {
               + "Libfuse2 (value=\"2\") and Libfuse3 (value=\"3\", default value) are supported.")
           .setScope(Scope.ALL)
           .build();
+  public static final PropertyKey FUSE_KERNEL_CACHE_ENABLED =
+      booleanBuilder(Name.FUSE_KERNEL_CACHE_ENABLED)
+          .setDefaultValue(false)
+          .setDescription(format("Whether the kernel caches the attributes and the data of "
+              + "the files read through JNI-Fuse, for the time set by %s. The data of a file "
+              + "is kept cached when the file is opened unchanged, and the files cached are "
+              + "validated against Alluxio every %s, those changed being invalidated in the "
+              + "kernel. Invalidation requires libfuse 3. Without it, the timeout is capped at "
+              + "the validation interval, after which the kernel notices the changes.",
+              Name.FUSE_KERNEL_CACHE_TIMEOUT, Name.FUSE_KERNEL_CACHE_VALIDATION_INTERVAL))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.ALL)
+          .build();
+  public static final PropertyKey FUSE_KERNEL_CACHE_TIMEOUT =
+      durationBuilder(Name.FUSE_KERNEL_CACHE_TIMEOUT)
+          .setDefaultValue("1h")
+          .setDescription(format("The time for which the kernel caches the attributes and "
+              + "the entries of the files when %s is enabled. It overrides the attr_timeout "
+              + "and entry_timeout mount options. It is capped at %s when the kernel cannot be "
+              + "notified of the files changed.", Name.FUSE_KERNEL_CACHE_ENABLED,
+              Name.FUSE_KERNEL_CACHE_VALIDATION_INTERVAL))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.ALL)
+          .build();
+  public static final PropertyKey FUSE_KERNEL_CACHE_VALIDATION_INTERVAL =
+      durationBuilder(Name.FUSE_KERNEL_CACHE_VALIDATION_INTERVAL)
+          .setDefaultValue("1min")
+          .setDescription(format("The interval at which the files cached by the kernel are "
+              + "validated against Alluxio when %s is enabled.", Name.FUSE_KERNEL_CACHE_ENABLED))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.ALL)
+          .build();
+  public static final PropertyKey FUSE_KERNEL_CACHE_VALIDATION_FILES_MAX =
+      intBuilder(Name.FUSE_KERNEL_CACHE_VALIDATION_FILES_MAX)
+          .setDefaultValue(100000)
+          .setDescription(format("The maximum number of files cached by the kernel which are "
+              + "validated when %s is enabled. The files validated the least recently are no "
+              + "longer validated, and their data is dropped by the kernel when they are "
+              + "opened again.", Name.FUSE_KERNEL_CACHE_ENABLED))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.ALL)
+          .build();
   public static final PropertyKey FUSE_SHARED_CACHING_READER_ENABLED =
       booleanBuilder(Name.FUSE_SHARED_CACHING_READER_ENABLED)
           .setDefaultValue(false)
@@ -7216,6 +7535,18 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.ALL)
           .build();
+  public static final PropertyKey FUSE_CONCURRENT_READ_ENABLED =
+      booleanBuilder(Name.FUSE_CONCURRENT_READ_ENABLED)
+          .setDefaultValue(true)
+          .setDescription(format("Whether the reads of a file opened for reading are served "
+              + "concurrently when %s is false. Reads continuing the previous read of the "
+              + "file are served by its sequential reader, and the other reads, or the reads "
+              + "issued while the sequential reader is busy, by a position reader which "
+              + "serves them concurrently. If disabled, the reads of a file are serialized.",
+              Name.FUSE_POSITION_READ_ENABLED))
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.ALL)
+          .build();
   public static final PropertyKey FUSE_STAT_CACHE_REFRESH_INTERVAL =
       durationBuilder(Name.FUSE_STAT_CACHE_REFRESH_INTERVAL)
           .setDefaultValue("5min")
@@ -7445,6 +7776,39 @@ public final class PropertyKey implements Comparable<PropertyKey> {
       .setDefaultValue("1d")
       .setScope(Scope.MASTER)
       .build();
+  public static final PropertyKey JOB_LOAD_LISTING_PARTITIONED_ENABLED =
+      booleanBuilder(Name.JOB_LOAD_LISTING_PARTITIONED_ENABLED)
+          .setDescription("Whether a load job lists the under file system directory to load "
+              + "by listing its sub-directories concurrently, instead of with a single "
+              + "recursive listing. The listing progress is checkpointed in the journal, "
+              + "so that a load job resumed after a master failover does not list the "
+              + "directories already processed again.")
+          .setDefaultValue(false)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey JOB_LOAD_LISTING_PARALLELISM =
+      intBuilder(Name.JOB_LOAD_LISTING_PARALLELISM)
+          .setDescription("The maximum number of directories listed concurrently by a load "
+              + "job, when " + Name.JOB_LOAD_LISTING_PARTITIONED_ENABLED + " is true.")
+          .setDefaultValue(16)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey JOB_LOAD_LISTING_QUEUE_SIZE =
+      intBuilder(Name.JOB_LOAD_LISTING_QUEUE_SIZE)
+          .setDescription("The maximum number of files listed by a load job and not yet "
+              + "included in a task, when " + Name.JOB_LOAD_LISTING_PARTITIONED_ENABLED
+              + " is true. The listing pauses when this number is reached.")
+          .setDefaultValue(100000)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey JOB_LOAD_LISTING_CHECKPOINT_INTERVAL =
+      durationBuilder(Name.JOB_LOAD_LISTING_CHECKPOINT_INTERVAL)
+          .setDescription("The interval at which the listing progress of a load job is "
+              + "written to the journal, when " + Name.JOB_LOAD_LISTING_PARTITIONED_ENABLED
+              + " is true.")
+          .setDefaultValue("1min")
+          .setScope(Scope.MASTER)
+          .build();
 
   //
   // Job service
@@ -7818,6 +8182,23 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setDescription("When a client reads from a remote worker, the maximum number of packets "
               + "to buffer by the client.")
           .build();
+  public static final PropertyKey USER_NETWORK_NETTY_READER_MULTIPLEXING_ENABLED =
+      booleanBuilder(Name.USER_NETWORK_NETTY_READER_MULTIPLEXING_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("If true, position reads from a worker over Netty are multiplexed on "
+              + "a few channels to the worker shared by all reads, instead of holding a channel "
+              + "each until they are done. Requires workers which support multiplexed reads.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_NETWORK_NETTY_READER_MULTIPLEXING_CHANNELS =
+      intBuilder(Name.USER_NETWORK_NETTY_READER_MULTIPLEXING_CHANNELS)
+          .setDefaultValue(2)
+          .setDescription("When multiplexing of reads is enabled, the number of channels to "
+              + "each worker which the reads are spread over.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_NETWORK_NETTY_CHANNEL_POOL_DISABLED =
       booleanBuilder(Name.USER_NETWORK_NETTY_CHANNEL_POOL_DISABLED)
           .setDefaultValue(false)
@@ -7968,6 +8349,102 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setScope(Scope.WORKER)
           .build();
 
+  public static final PropertyKey DORA_WORKER_LOAD_RANGE_SPLIT_ENABLED =
+      booleanBuilder(Name.DORA_WORKER_LOAD_RANGE_SPLIT_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("If this is enabled, files larger than "
+              + Name.DORA_WORKER_LOAD_RANGE_SIZE + " are split into page-aligned ranges "
+              + "which are loaded from the UFS concurrently by a load job.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey DORA_WORKER_LOAD_RANGE_SIZE =
+      dataSizeBuilder(Name.DORA_WORKER_LOAD_RANGE_SIZE)
+          .setDefaultValue("256MB")
+          .setDescription("The size of each range a large file is split into when "
+              + Name.DORA_WORKER_LOAD_RANGE_SPLIT_ENABLED + " is true. The value is rounded "
+              + "down to a multiple of the page size.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey DORA_WORKER_LOAD_RANGE_PARALLELISM =
+      intBuilder(Name.DORA_WORKER_LOAD_RANGE_PARALLELISM)
+          .setDefaultValue(8)
+          .setDescription("The maximum number of ranges of a single file that are loaded "
+              + "concurrently when " + Name.DORA_WORKER_LOAD_RANGE_SPLIT_ENABLED + " is true.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey DORA_WORKER_GET_STATUS_BATCH_PARALLELISM =
+      intBuilder(Name.DORA_WORKER_GET_STATUS_BATCH_PARALLELISM)
+          .setDefaultValue(16)
+          .setDescription("The maximum number of statuses of a batched getStatus request that "
+              + "are loaded from the UFS concurrently, when they are not in the metadata cache "
+              + "of the worker.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey DORA_WORKER_PEER_CACHE_FILL_ENABLED =
+      booleanBuilder(Name.DORA_WORKER_PEER_CACHE_FILL_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether a worker fills its cache from the worker a file was mapped "
+              + "to before the last change of the workers of the cluster, instead of reading "
+              + "the file from the UFS. The previous worker only serves the data it caches. "
+              + "This applies when the worker selection policy is consistent hashing.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey DORA_WORKER_PEER_CACHE_FILL_WINDOW =
+      durationBuilder(Name.DORA_WORKER_PEER_CACHE_FILL_WINDOW)
+          .setDefaultValue("1h")
+          .setDescription("How long after a change of the workers of the cluster a worker "
+              + "fills its cache from the workers the files were mapped to before, when "
+              + Name.DORA_WORKER_PEER_CACHE_FILL_ENABLED + " is true.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey DORA_WORKER_ASYNC_PERSIST_ENABLED =
+      booleanBuilder(Name.DORA_WORKER_ASYNC_PERSIST_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether a worker persists the files written with the ASYNC_THROUGH "
+              + "write type to the UFS in the background, after they are completed in its cache. "
+              + "The files are pinned in the cache until they are persisted, and recorded in "
+              + Name.DORA_WORKER_ASYNC_PERSIST_JOURNAL_DIR + " to be persisted after a restart. "
+              + "Only takes effect when " + Name.CLIENT_WRITE_TO_UFS_ENABLED + " is false and "
+              + "the page store is not MEM.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey DORA_WORKER_ASYNC_PERSIST_THREADS =
+      intBuilder(Name.DORA_WORKER_ASYNC_PERSIST_THREADS)
+          .setDefaultValue(4)
+          .setDescription("The number of files written with the ASYNC_THROUGH write type that "
+              + "a worker persists to the UFS concurrently. Each file is uploaded by the output "
+              + "stream of the UFS, so the parts of a file are uploaded in parallel when the "
+              + "UFS supports multipart uploads, e.g. with "
+              + Name.UNDERFS_S3_STREAMING_UPLOAD_ENABLED + " for S3.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey DORA_WORKER_ASYNC_PERSIST_JOURNAL_DIR =
+      stringBuilder(Name.DORA_WORKER_ASYNC_PERSIST_JOURNAL_DIR)
+          .setDefaultValue(format("${%s}/asyncpersist", Name.WORK_DIR))
+          .setDescription("The directory where a worker records the files written with the "
+              + "ASYNC_THROUGH write type which are not persisted to the UFS yet, so that they "
+              + "are persisted after the worker restarts. The data of the files is kept in the "
+              + "page store, which must be restored on restart.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey DORA_WORKER_ASYNC_PERSIST_RETRY_INTERVAL =
+      durationBuilder(Name.DORA_WORKER_ASYNC_PERSIST_RETRY_INTERVAL)
+          .setDefaultValue("10s")
+          .setDescription("How long a worker waits before it persists a file written with the "
+              + "ASYNC_THROUGH write type again after persisting it to the UFS failed.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+
   public static final PropertyKey CLIENT_WRITE_TO_UFS_ENABLED =
       booleanBuilder(Name.CLIENT_WRITE_TO_UFS_ENABLED)
           .setDescription("Whether or not to enable client writing data directly to UFS. "
@@ -8134,6 +8611,9 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String UNDERFS_HDFS_PREFIXES = "alluxio.underfs.hdfs.prefixes";
     public static final String UNDERFS_OZONE_PREFIXES = "alluxio.underfs.ozone.prefixes";
     public static final String UNDERFS_HDFS_REMOTE = "alluxio.underfs.hdfs.remote";
+    public static final String UNDERFS_IO_BACKGROUND_THREADS_RATIO =
+        "alluxio.underfs.io.background.threads.ratio";
+    public static final String UNDERFS_IO_TAG_WEIGHTS = "alluxio.underfs.io.tag.weights";
     public static final String UNDERFS_IO_THREADS = "alluxio.underfs.io.threads";
     public static final String UNDERFS_LOCAL_SKIP_BROKEN_SYMLINKS =
         "alluxio.underfs.local.skip.broken.symlinks";
@@ -8360,6 +8840,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.master.block.scan.invalid.batch.max.size";
     public static final String MASTER_SCHEDULER_INITIAL_WAIT_TIME =
         "alluxio.master.scheduler.initial.wait.time";
+    public static final String MASTER_SCHEDULER_DISPATCHER_THREADS =
+        "alluxio.master.scheduler.dispatcher.threads";
     public static final String MASTER_SHELL_BACKUP_STATE_LOCK_GRACE_MODE =
         "alluxio.master.shell.backup.state.lock.grace.mode";
     public static final String MASTER_SHELL_BACKUP_STATE_LOCK_TRY_DURATION =
@@ -8976,18 +9458,32 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.worker.page.store.dirs";
     public static final String WORKER_PAGE_STORE_EVICTION_RETRIES =
         "alluxio.worker.page.store.eviction.retries";
+    public static final String WORKER_PAGE_STORE_ADMISSION_POLICY_CLASS =
+        "alluxio.worker.page.store.admission.policy.class";
+    public static final String WORKER_PAGE_STORE_ADMISSION_RULES =
+        "alluxio.worker.page.store.admission.rules";
     public static final String WORKER_PAGE_STORE_EVICTOR_CLASS =
         "alluxio.worker.page.store.evictor.class";
     public static final String WORKER_PAGE_STORE_EVICTOR_LFU_LOGBASE =
         "alluxio.worker.page.store.evictor.lfu.logbase";
+    public static final String WORKER_PAGE_STORE_EVICTOR_S3FIFO_SMALL_QUEUE_RATIO =
+        "alluxio.worker.page.store.evictor.s3fifo.small.queue.ratio";
     public static final String WORKER_PAGE_STORE_EVICTOR_NONDETERMINISTIC_ENABLED =
         "alluxio.worker.page.store.evictor.nondeterministic.enabled";
     public static final String WORKER_PAGE_STORE_LOCAL_STORE_FILE_BUCKETS =
         "alluxio.worker.page.store.local.store.file.buckets";
+    public static final String WORKER_PAGE_STORE_LOCAL_STORE_OPEN_FILE_CACHE_SIZE =
+        "alluxio.worker.page.store.local.store.open.file.cache.size";
+    public static final String WORKER_PAGE_STORE_LOCAL_STORE_MMAP_SIZE =
+        "alluxio.worker.page.store.local.store.mmap.size";
+    public static final String WORKER_PAGE_STORE_SEGMENT_STORE_SEGMENT_SIZE =
+        "alluxio.worker.page.store.segment.store.segment.size";
     public static final String WORKER_PAGE_STORE_OVERHEAD =
         "alluxio.worker.page.store.overhead";
     public static final String WORKER_PAGE_STORE_PAGE_SIZE =
         "alluxio.worker.page.store.page.size";
+    public static final String WORKER_PAGE_STORE_CONCURRENT_META_ENABLED =
+        "alluxio.worker.page.store.concurrent.meta.enabled";
     public static final String WORKER_PAGE_STORE_QUOTA_ENABLED =
         "alluxio.worker.page.store.quota.enabled";
     public static final String WORKER_PAGE_STORE_SIZES =
@@ -8998,6 +9494,12 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.worker.page.store.timeout.threads";
     public static final String WORKER_PAGE_STORE_TYPE =
         "alluxio.worker.page.store.type";
+    public static final String WORKER_PAGE_STORE_WRITE_BEHIND_ENABLED =
+        "alluxio.worker.page.store.write.behind.enabled";
+    public static final String WORKER_PAGE_STORE_WRITE_BEHIND_QUEUE_SIZE =
+        "alluxio.worker.page.store.write.behind.queue.size";
+    public static final String WORKER_PAGE_STORE_WRITE_BEHIND_THREADS =
+        "alluxio.worker.page.store.write.behind.threads";
     public static final String WORKER_RAMDISK_SIZE = "alluxio.worker.ramdisk.size";
     public static final String WORKER_REGISTER_LEASE_ENABLED =
         "alluxio.worker.register.lease.enabled";
@@ -9178,6 +9680,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.client.cache.evictor.class";
     public static final String USER_CLIENT_CACHE_EVICTOR_LFU_LOGBASE =
         "alluxio.user.client.cache.evictor.lfu.logbase";
+    public static final String USER_CLIENT_CACHE_EVICTOR_S3FIFO_SMALL_QUEUE_RATIO =
+        "alluxio.user.client.cache.evictor.s3fifo.small.queue.ratio";
     public static final String USER_CLIENT_CACHE_EVICTOR_NONDETERMINISTIC_ENABLED =
         "alluxio.user.client.cache.evictor.nondeterministic.enabled";
     public static final String USER_CLIENT_CACHE_SHADOW_ENABLED =
@@ -9204,12 +9708,20 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.client.cache.shadow.cuckoo.size.suffix.bits";
     public static final String USER_CLIENT_CACHE_DIRS =
         "alluxio.user.client.cache.dirs";
+    public static final String USER_CLIENT_CACHE_SEGMENT_STORE_SEGMENT_SIZE =
+        "alluxio.user.client.cache.segment.store.segment.size";
     public static final String USER_CLIENT_CACHE_LOCAL_STORE_FILE_BUCKETS =
         "alluxio.user.client.cache.local.store.file.buckets";
+    public static final String USER_CLIENT_CACHE_LOCAL_STORE_OPEN_FILE_CACHE_SIZE =
+        "alluxio.user.client.cache.local.store.open.file.cache.size";
+    public static final String USER_CLIENT_CACHE_LOCAL_STORE_MMAP_SIZE =
+        "alluxio.user.client.cache.local.store.mmap.size";
     public static final String USER_CLIENT_CACHE_IN_STREAM_BUFFER_SIZE =
         "alluxio.user.client.cache.instream_buffer_size";
     public static final String USER_CLIENT_CACHE_PAGE_SIZE =
         "alluxio.user.client.cache.page.size";
+    public static final String USER_CLIENT_CACHE_CONCURRENT_META_ENABLED =
+        "alluxio.user.client.cache.concurrent.meta.enabled";
     public static final String USER_CLIENT_CACHE_QUOTA_ENABLED =
         "alluxio.user.client.cache.quota.enabled";
     public static final String USER_CLIENT_CACHE_TTL_ENABLED =
@@ -9232,6 +9744,18 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.client.report.version.enabled";
     public static final String USER_CONSISTENT_HASH_VIRTUAL_NODE_COUNT =
         "alluxio.user.consistent.hash.virtual.node.count";
+    public static final String USER_CONSISTENT_HASH_CAPACITY_WEIGHTED_ENABLED =
+        "alluxio.user.consistent.hash.capacity.weighted.enabled";
+    public static final String USER_CONSISTENT_HASH_LOAD_BOUND_FACTOR =
+        "alluxio.user.consistent.hash.load.bound.factor";
+    public static final String USER_CONSISTENT_HASH_LOAD_WINDOW =
+        "alluxio.user.consistent.hash.load.window";
+    public static final String USER_HOT_FILE_READ_REPLICAS =
+        "alluxio.user.hot.file.read.replicas";
+    public static final String USER_HOT_FILE_READ_THRESHOLD =
+        "alluxio.user.hot.file.read.threshold";
+    public static final String USER_HOT_FILE_READ_WINDOW =
+        "alluxio.user.hot.file.read.window";
     public static final String USER_CONF_CLUSTER_DEFAULT_ENABLED =
         "alluxio.user.conf.cluster.default.enabled";
     public static final String USER_CONF_SYNC_INTERVAL = "alluxio.user.conf.sync.interval";
@@ -9310,6 +9834,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String USER_APP_ID = "alluxio.user.app.id";
     public static final String USER_POSITION_READER_STREAMING_MULTIPLIER =
         "alluxio.user.position.reader.streaming.multiplier";
+    public static final String USER_POSITION_READER_READAHEAD_ASYNC_ENABLED =
+        "alluxio.user.position.reader.readahead.async.enabled";
+    public static final String USER_POSITION_READER_READAHEAD_WINDOWS =
+        "alluxio.user.position.reader.readahead.windows";
+    public static final String USER_POSITION_READER_READAHEAD_WINDOW_SIZE_MIN =
+        "alluxio.user.position.reader.readahead.window.size.min";
+    public static final String USER_POSITION_READER_READAHEAD_WINDOW_SIZE_MAX =
+        "alluxio.user.position.reader.readahead.window.size.max";
+    public static final String USER_POSITION_READER_READAHEAD_THREADS =
+        "alluxio.user.position.reader.readahead.threads";
     public static final String USER_NETWORK_DATA_TIMEOUT =
         "alluxio.user.network.data.timeout";
     public static final String USER_NETWORK_READER_BUFFER_SIZE_MESSAGES =
@@ -9430,6 +9964,14 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String FUSE_DEBUG_ENABLED = "alluxio.fuse.debug.enabled";
     public static final String FUSE_FS_NAME = "alluxio.fuse.fs.name";
     public static final String FUSE_JNIFUSE_ENABLED = "alluxio.fuse.jnifuse.enabled";
+    public static final String FUSE_KERNEL_CACHE_ENABLED =
+        "alluxio.fuse.kernel.cache.enabled";
+    public static final String FUSE_KERNEL_CACHE_TIMEOUT =
+        "alluxio.fuse.kernel.cache.timeout";
+    public static final String FUSE_KERNEL_CACHE_VALIDATION_INTERVAL =
+        "alluxio.fuse.kernel.cache.validation.interval";
+    public static final String FUSE_KERNEL_CACHE_VALIDATION_FILES_MAX =
+        "alluxio.fuse.kernel.cache.validation.files.max";
     public static final String FUSE_SHARED_CACHING_READER_ENABLED
         = "alluxio.fuse.shared.caching.reader.enabled";
     public static final String FUSE_LOGGING_THRESHOLD = "alluxio.fuse.logging.threshold";
@@ -9441,6 +9983,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.fuse.mount.point";
     public static final String FUSE_POSITION_READ_ENABLED =
         "alluxio.fuse.position.read.enabled";
+    public static final String FUSE_CONCURRENT_READ_ENABLED =
+        "alluxio.fuse.concurrent.read.enabled";
     public static final String FUSE_STAT_CACHE_REFRESH_INTERVAL =
         "alluxio.fuse.stat.cache.refresh.interval";
     public static final String FUSE_UMOUNT_TIMEOUT =
@@ -9496,6 +10040,14 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     // new job service
     public static final String JOB_BATCH_SIZE = "alluxio.job.batch.size";
     public static final String JOB_RETENTION_TIME = "alluxio.job.retention.time";
+    public static final String JOB_LOAD_LISTING_PARTITIONED_ENABLED =
+        "alluxio.job.load.listing.partitioned.enabled";
+    public static final String JOB_LOAD_LISTING_PARALLELISM =
+        "alluxio.job.load.listing.parallelism";
+    public static final String JOB_LOAD_LISTING_QUEUE_SIZE =
+        "alluxio.job.load.listing.queue.size";
+    public static final String JOB_LOAD_LISTING_CHECKPOINT_INTERVAL =
+        "alluxio.job.load.listing.checkpoint.interval";
 
     //
     // Job service
@@ -9600,6 +10152,10 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.network.netty.writer.buffer.size.packets";
     public static final String USER_NETWORK_NETTY_READER_BUFFER_SIZE_PACKETS =
         "alluxio.user.network.netty.reader.buffer.size.packets";
+    public static final String USER_NETWORK_NETTY_READER_MULTIPLEXING_ENABLED =
+        "alluxio.user.network.netty.reader.multiplexing.enabled";
+    public static final String USER_NETWORK_NETTY_READER_MULTIPLEXING_CHANNELS =
+        "alluxio.user.network.netty.reader.multiplexing.channels";
 
     public static final String DORA_ENABLED =
         "alluxio.dora.enabled";
@@ -9634,6 +10190,26 @@ public final class PropertyKey implements Comparable<PropertyKey> {
 
     public static final String DORA_UFS_LIST_STATUS_CACHE_NR_FILES =
         "alluxio.dora.ufs.list.status.cache.nr.files";
+    public static final String DORA_WORKER_LOAD_RANGE_SPLIT_ENABLED =
+        "alluxio.dora.worker.load.range.split.enabled";
+    public static final String DORA_WORKER_LOAD_RANGE_SIZE =
+        "alluxio.dora.worker.load.range.size";
+    public static final String DORA_WORKER_LOAD_RANGE_PARALLELISM =
+        "alluxio.dora.worker.load.range.parallelism";
+    public static final String DORA_WORKER_GET_STATUS_BATCH_PARALLELISM =
+        "alluxio.dora.worker.get.status.batch.parallelism";
+    public static final String DORA_WORKER_PEER_CACHE_FILL_ENABLED =
+        "alluxio.dora.worker.peer.cache.fill.enabled";
+    public static final String DORA_WORKER_PEER_CACHE_FILL_WINDOW =
+        "alluxio.dora.worker.peer.cache.fill.window";
+    public static final String DORA_WORKER_ASYNC_PERSIST_ENABLED =
+        "alluxio.dora.worker.async.persist.enabled";
+    public static final String DORA_WORKER_ASYNC_PERSIST_THREADS =
+        "alluxio.dora.worker.async.persist.threads";
+    public static final String DORA_WORKER_ASYNC_PERSIST_JOURNAL_DIR =
+        "alluxio.dora.worker.async.persist.journal.dir";
+    public static final String DORA_WORKER_ASYNC_PERSIST_RETRY_INTERVAL =
+        "alluxio.dora.worker.async.persist.retry.interval";
 
     public static final String CLIENT_WRITE_TO_UFS_ENABLED =
         "alluxio.client.write.to.ufs.enabled";
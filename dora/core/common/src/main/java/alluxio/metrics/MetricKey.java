@@ -2050,6 +2050,70 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.COUNTER)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey WORKER_LOAD_RANGES_COMPLETED =
+      new Builder("Worker.LoadRangesCompleted")
+          .setDescription("Total number of file ranges loaded by range-split load in this worker")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_LOAD_RANGES_FAILED =
+      new Builder("Worker.LoadRangesFailed")
+          .setDescription("Total number of file ranges failed to load by range-split load "
+              + "in this worker")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_ASYNC_PERSIST_PENDING_FILES =
+      new Builder("Worker.AsyncPersistPendingFiles")
+          .setDescription("The number of files written with the ASYNC_THROUGH write type "
+              + "which are not persisted to the UFS yet by this worker")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_ASYNC_PERSIST_PENDING_BYTES =
+      new Builder("Worker.AsyncPersistPendingBytes")
+          .setDescription("The total size of the files written with the ASYNC_THROUGH write "
+              + "type which are not persisted to the UFS yet by this worker")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_ASYNC_PERSIST_LAG =
+      new Builder("Worker.AsyncPersistLag")
+          .setDescription("The time in milliseconds since the oldest file written with the "
+              + "ASYNC_THROUGH write type which is not persisted to the UFS yet by this worker "
+              + "was completed")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_ASYNC_PERSIST_FILES_COMPLETED =
+      new Builder("Worker.AsyncPersistFilesCompleted")
+          .setDescription("Total number of files written with the ASYNC_THROUGH write type "
+              + "persisted to the UFS by this worker")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_ASYNC_PERSIST_BYTES_COMPLETED =
+      new Builder("Worker.AsyncPersistBytesCompleted")
+          .setDescription("Total bytes of the files written with the ASYNC_THROUGH write type "
+              + "persisted to the UFS by this worker")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_ASYNC_PERSIST_ATTEMPTS_FAILED =
+      new Builder("Worker.AsyncPersistAttemptsFailed")
+          .setDescription("Total number of failed attempts to persist a file written with the "
+              + "ASYNC_THROUGH write type to the UFS in this worker. A failed attempt is retried")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey WORKER_ASYNC_PERSIST_FILES_LOST =
+      new Builder("Worker.AsyncPersistFilesLost")
+          .setDescription("Total number of files written with the ASYNC_THROUGH write type "
+              + "which could not be persisted because their data was lost from the cache of "
+              + "this worker")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey WORKER_BLOCK_REMOVER_TRY_REMOVE_COUNT =
       new Builder("Worker.BlockRemoverTryRemoveCount")
           .setDescription("The total number of blocks this worker attempted to remove "
@@ -2307,6 +2371,41 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.COUNTER)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey CLIENT_CACHE_MAPPED_BYTES =
+      new Builder("Client.CacheMappedBytes")
+          .setDescription("Number of bytes of hot page files currently memory-mapped by local "
+              + "page stores.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_MAPPED_PAGE_HITS =
+      new Builder("Client.CacheMappedPageHits")
+          .setDescription("Number of page reads served from memory-mapped page files by local "
+              + "page stores.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_OPEN_FILES =
+      new Builder("Client.CacheOpenFiles")
+          .setDescription("Number of page files currently held open by the open file cache of "
+              + "local page stores.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_OPEN_FILE_CACHE_HITS =
+      new Builder("Client.CacheOpenFileCacheHits")
+          .setDescription("Number of page reads served by a page file already held open by "
+              + "the open file cache of local page stores.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_OPEN_FILE_CACHE_MISSES =
+      new Builder("Client.CacheOpenFileCacheMisses")
+          .setDescription("Number of page reads which had to open the page file because it was "
+              + "not held open by the open file cache of local page stores.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey CLIENT_CACHE_PAGES_DISCARDED =
       new Builder("Client.CachePagesDiscarded")
           .setDescription("Total number of pages discarded when restoring the page store.")
@@ -2463,6 +2562,37 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.COUNTER)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey CLIENT_CACHE_ADMISSION_PAGES =
+      new Builder("Client.CacheAdmissionPages")
+          .setDescription("Number of pages offered to the cache, tagged by the decision of the "
+              + "cache admission policy. Pages decided ADMIT_FREQUENT were decided "
+              + "REJECT_INFREQUENT when read before, so their ratio to the pages decided "
+              + "REJECT_INFREQUENT is the ratio of rejected pages read again.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_ADMISSION_PAGE_HITS =
+      new Builder("Client.CacheAdmissionPageHits")
+          .setDescription("Number of cache hits on pages, tagged by the decision of the cache "
+              + "admission policy which admitted the page. Divided by the pages admitted with "
+              + "the same decision, it tells how often the pages admitted that way are hit.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_WRITE_BEHIND_DROPPED_PAGES =
+      new Builder("Client.CacheWriteBehindDroppedPages")
+          .setDescription("Number of pages read on a cache miss which are not cached because "
+              + "the write-behind queue is full.")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey CLIENT_CACHE_WRITE_BEHIND_PENDING_PAGES =
+      new Builder("Client.CacheWriteBehindPendingPages")
+          .setDescription("Number of pages read on a cache miss which are waiting to be written "
+              + "to the cache.")
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
   public static final MetricKey CLIENT_CACHE_PUT_EVICTION_ERRORS =
       new Builder("Client.CachePutEvictionErrors")
           .setDescription("Number of failures when putting cached data in the client cache due to"
@@ -2628,6 +2758,23 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.GAUGE)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey FUSE_KERNEL_CACHED_FILE_COUNT =
+      new Builder("Fuse.KernelCachedFileCount")
+          .setDescription(String
+              .format("Total number of files cached by the kernel and validated against "
+                      + "Alluxio when %s is enabled. This value will be smaller or equal to %s",
+              PropertyKey.FUSE_KERNEL_CACHE_ENABLED.getName(),
+              PropertyKey.FUSE_KERNEL_CACHE_VALIDATION_FILES_MAX.getName()))
+          .setMetricType(MetricType.GAUGE)
+          .setIsClusterAggregated(false)
+          .build();
+  public static final MetricKey FUSE_KERNEL_CACHE_INVALIDATIONS =
+      new Builder("Fuse.KernelCacheInvalidations")
+          .setDescription("Total number of files invalidated in the kernel as they have "
+              + "changed since the kernel cached them")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(false)
+          .build();
 
   // Other system related metrics
   public static final MetricKey PROCESS_POOL_DIRECT_MEM_USED =
@@ -19,12 +19,21 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.Nullable;
 
 /**
  * A DataBuffer with the underlying data being a {@link FileChannel}.
  */
 public final class DataFileChannel implements DataBuffer {
+  @Nullable
   private final File mFile;
+  @Nullable
+  private final FileChannel mChannel;
+  @Nullable
+  private final Runnable mReleaser;
+  /** Whether the releaser has been run or handed over to a file region. */
+  private final AtomicBoolean mReleased = new AtomicBoolean(false);
   private final long mOffset;
   private final long mLength;
 
@@ -36,13 +45,40 @@ public final class DataFileChannel implements DataBuffer {
    */
   public DataFileChannel(File file, long offset, long length) {
     mFile = Preconditions.checkNotNull(file, "file");
+    mChannel = null;
+    mReleaser = null;
+    mOffset = offset;
+    mLength = length;
+  }
+
+  /**
+   * Creates a buffer backed by an already open channel which is shared with others, so it is
+   * not closed when the buffer is done with. Instead, the releaser is run exactly once, either
+   * when this buffer is released before its Netty output is created, or when the file region
+   * returned by {@link #getNettyOutput()} is deallocated.
+   *
+   * @param channel the open channel, which must only be read with positional reads
+   * @param offset the offset into the FileChannel
+   * @param length the length of the data to read
+   * @param releaser run when the channel is no longer used by this buffer
+   */
+  public DataFileChannel(FileChannel channel, long offset, long length, Runnable releaser) {
+    mFile = null;
+    mChannel = Preconditions.checkNotNull(channel, "channel");
+    mReleaser = Preconditions.checkNotNull(releaser, "releaser");
     mOffset = offset;
     mLength = length;
   }
 
   @Override
   public Object getNettyOutput() {
-    return new DefaultFileRegion(mFile, mOffset, mLength);
+    if (mChannel == null) {
+      return new DefaultFileRegion(mFile, mOffset, mLength);
+    }
+    // the file region takes over running the releaser
+    Preconditions.checkState(mReleased.compareAndSet(false, true),
+        "DataFileChannel is already released");
+    return new SharedChannelFileRegion(mChannel, mOffset, mLength, mReleaser);
   }
 
   @Override
@@ -78,6 +114,27 @@ public final class DataFileChannel implements DataBuffer {
 
   @Override
   public void release() {
-    // Nothing we need to release explicitly, let GC take care of all objects.
+    if (mReleaser != null && mReleased.compareAndSet(false, true)) {
+      mReleaser.run();
+    }
+    // Otherwise nothing we need to release explicitly, let GC take care of all objects.
+  }
+
+  /**
+   * A file region over a shared channel, which runs a releaser instead of closing the channel
+   * when deallocated.
+   */
+  private static final class SharedChannelFileRegion extends DefaultFileRegion {
+    private final Runnable mReleaser;
+
+    SharedChannelFileRegion(FileChannel channel, long offset, long length, Runnable releaser) {
+      super(channel, offset, length);
+      mReleaser = releaser;
+    }
+
+    @Override
+    protected void deallocate() {
+      mReleaser.run();
+    }
   }
 }
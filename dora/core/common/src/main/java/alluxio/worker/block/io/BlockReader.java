@@ -11,7 +11,12 @@
 
 package alluxio.worker.block.io;
 
+import alluxio.network.protocol.databuffer.DataBuffer;
+import alluxio.network.protocol.databuffer.NettyDataBuffer;
+import alluxio.network.protocol.databuffer.NioDataBuffer;
+
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -51,6 +56,45 @@ public abstract class BlockReader extends BlockClient {
    */
   public abstract ByteBuffer read(long offset, long length) throws IOException;
 
+  /**
+   * Reads data from the block into a buffer owned by the returned {@link DataBuffer}.
+   * <p>
+   * Unlike {@link #read(long, long)}, implementations may use a pooled buffer. The caller takes
+   * ownership of the returned buffer and must release it exactly once, either by calling
+   * {@link DataBuffer#release()} or by handing it to the transport, which releases it once the
+   * data has been sent.
+   *
+   * @param offset the offset from starting of the block file in bytes
+   * @param length the length of data to read in bytes. If offset + length exceeds the block size,
+   *               the part of data from offset to the end of block is returned.
+   * @return {@link DataBuffer} the data that was read, empty buffer if {@code offset} is at
+   * the end of block
+   */
+  public DataBuffer readRetained(long offset, long length) throws IOException {
+    ByteBuffer buffer = read(offset, length);
+    return new NioDataBuffer(buffer, buffer.remaining());
+  }
+
+  /**
+   * Reads data from the block into a buffer allocated by the given allocator, e.g. the one of
+   * the channel the data is sent to. The caller takes ownership of the returned buffer as with
+   * {@link #readRetained(long, long)}.
+   *
+   * @param offset the offset from starting of the block file in bytes
+   * @param length the length of data to read in bytes. If offset + length exceeds the block size,
+   *               the part of data from offset to the end of block is returned.
+   * @param allocator the allocator of the buffer
+   * @return {@link DataBuffer} the data that was read, empty buffer if {@code offset} is at
+   * the end of block
+   */
+  public DataBuffer readRetained(long offset, long length, ByteBufAllocator allocator)
+      throws IOException {
+    ByteBuffer buffer = read(offset, length);
+    ByteBuf buf = allocator.buffer(buffer.remaining(), buffer.remaining());
+    buf.writeBytes(buffer);
+    return new NettyDataBuffer(buf);
+  }
+
   /**
    * Gets the length of the block in bytes.
    *
@@ -38,6 +38,7 @@ import com.google.common.util.concurrent.ListenableFuture;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 import javax.annotation.Nullable;
 
 /**
@@ -54,6 +55,17 @@ public interface DoraWorker extends DataWorker, SessionCleanable {
   FileInfo getFileInfo(String fileId, GetStatusPOptions options)
       throws IOException, AccessControlException;
 
+  /**
+   * Gets the file information of many files in one batch.
+   *
+   * @param paths the full ufs paths of the files
+   * @param options the options for the GetStatusPRequest
+   * @return the file info of each path in the order of the paths, empty if the path does not
+   *         exist
+   */
+  List<Optional<FileInfo>> getFileInfos(List<String> paths, GetStatusPOptions options)
+      throws IOException, AccessControlException;
+
   /**
    * List status from Under File System.
    *
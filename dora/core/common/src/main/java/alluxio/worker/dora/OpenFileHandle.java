@@ -26,7 +26,7 @@ public class OpenFileHandle {
   private final String   mPath;
   private final FileInfo mInfo;
   private final UUID     mUUID;
-  private long           mPos;
+  private volatile long  mPos;
   private long           mLastAccessTimeMs;
   private OutputStream   mUfsOutStream; //outstream from UFS
   private boolean        mClosed;
@@ -93,6 +93,14 @@ public class OpenFileHandle {
     return mPos;
   }
 
+  /**
+   * Set write position of the out stream in this handle.
+   * @param pos the write position
+   */
+  public void setPos(long pos) {
+    mPos = pos;
+  }
+
   /**
    * Get UFS out stream of this handle.
    * @return UFS out stream of this handle
@@ -542,7 +542,8 @@ public class CopyJob extends AbstractJob<CopyJob.CopyTask> {
       UfsReadOptions.Builder ufsReadOptions = UfsReadOptions
           .newBuilder()
           .setTag(mJobId)
-          .setPositionShort(false);
+          .setPositionShort(false)
+          .setBackground(true);
 
       if (mBandwidth.isPresent()) {
         ufsReadOptions.setBandwidth(mBandwidth.getAsLong());
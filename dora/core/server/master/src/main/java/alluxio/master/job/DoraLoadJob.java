@@ -31,6 +31,8 @@ import alluxio.job.JobDescription;
 import alluxio.master.scheduler.Scheduler;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
+import alluxio.proto.journal.Job.ListingFrontier;
+import alluxio.proto.journal.Job.ListingPartition;
 import alluxio.proto.journal.Journal;
 import alluxio.scheduler.job.JobState;
 import alluxio.scheduler.job.Task;
@@ -66,17 +68,21 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -95,6 +101,8 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
   private static final int RETRY_BLOCK_CAPACITY = 1000;
   private static final double RETRY_THRESHOLD = 0.8 * RETRY_BLOCK_CAPACITY;
   private static final int BATCH_SIZE = Configuration.getInt(PropertyKey.JOB_BATCH_SIZE);
+  /** The maximum time to wait for the first file listed when preparing tasks. */
+  private static final long LISTING_POLL_TIMEOUT_MS = 100;
 
   /* TODO(lucy) add logic to detect loaded files, as currently each file loaded
      status is on each dora worker, so the decision to load or not delegates to
@@ -122,6 +130,20 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
   private AtomicBoolean mPreparingTasks = new AtomicBoolean(false);
   private final UnderFileSystem mUfs;
   private boolean mLoadMetadataOnly = false;
+  /** The directory listed by a {@link ParallelUfsLister}, if the listing is partitioned. */
+  @Nullable
+  private final AlluxioURI mListingRootUri;
+  @Nullable
+  private ParallelUfsLister mLister;
+  /** The frontier to resume the partitioned listing from, if it has been checkpointed. */
+  private Optional<List<ListingPartition>> mListingFrontier = Optional.empty();
+  /**
+   * The statuses taken from the partitioned listing of the files being retried, by path. They
+   * are completed once their retry succeeds, so that the files are listed again if the job is
+   * resumed from a checkpointed frontier in the meantime.
+   */
+  private final Map<String, UfsStatus> mListedFilesToRetry = new ConcurrentHashMap<>();
+  private long mLastListingCheckpointMs = System.currentTimeMillis();
 
   /**
    * Constructor.
@@ -162,6 +184,7 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
         path, Preconditions.checkNotNull(Scheduler.getInstance()).getActiveWorkers().size());
 
     UfsStatus rootUfsStatus = null;
+    AlluxioURI listingRootUri = null;
     try {
       try {
         rootUfsStatus = mUfs.getStatus(ufsSyncRootUri.toString());
@@ -171,6 +194,10 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
       if (rootUfsStatus != null && rootUfsStatus.isFile()) {
         rootUfsStatus.setUfsFullPath(ufsSyncRootUri);
         mUfsStatusIterator = Iterators.singletonIterator(rootUfsStatus);
+      } else if (Configuration.getBoolean(PropertyKey.JOB_LOAD_LISTING_PARTITIONED_ENABLED)) {
+        // listed by a ParallelUfsLister once the job starts preparing tasks
+        listingRootUri = ufsSyncRootUri;
+        mUfsStatusIterator = Collections.emptyIterator();
       } else {
         mUfsStatusIterator = mUfs.listStatusIterable(
             ufsSyncRootUri.toString(), ListOptions.defaults().setRecursive(true), null, 0);
@@ -186,6 +213,7 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
+    mListingRootUri = listingRootUri;
   }
 
   /**
@@ -217,9 +245,14 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
         // get the file status again, and we simply ignore that file.
         if (!(e instanceof FileNotFoundException)) {
           mRetryFiles.offer(path);
+        } else {
+          completeListedFile(path);
         }
       }
     }
+    if (mListingRootUri != null) {
+      filesToLoad += pollListedFiles(batchBuilder, BATCH_SIZE * workerNum - filesToLoad);
+    }
     while (filesToLoad < BATCH_SIZE * workerNum && mUfsStatusIterator.hasNext()) {
       try {
         UfsStatus ufsStatus = mUfsStatusIterator.next();
@@ -242,7 +275,11 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
       WorkerInfo pickedWorker = mWorkerAssignPolicy.pickAWorker(
           ufsStatus.getUfsFullPath().toString(), workers);
       if (pickedWorker == null) {
-        mRetryFiles.offer(ufsStatus.getUfsFullPath().toString());
+        String path = ufsStatus.getUfsFullPath().toString();
+        mRetryFiles.offer(path);
+        if (mLister != null) {
+          mListedFilesToRetry.putIfAbsent(path, ufsStatus);
+        }
         continue;
       }
       DoraLoadTask task = workerToTaskMap.computeIfAbsent(pickedWorker,
@@ -269,6 +306,69 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
     return tasks;
   }
 
+  /**
+   * Takes the files listed by the partitioned listing, starting the listing if needed.
+   *
+   * @param batchBuilder the builder to add the files to
+   * @param limit the maximum number of files to take
+   * @return the number of files taken
+   */
+  private int pollListedFiles(ImmutableList.Builder<UfsStatus> batchBuilder, int limit) {
+    if (mLister == null) {
+      mLister = new ParallelUfsLister(mUfs, mListingRootUri, mListingFrontier, mUser,
+          Configuration.getInt(PropertyKey.JOB_LOAD_LISTING_PARALLELISM),
+          Configuration.getInt(PropertyKey.JOB_LOAD_LISTING_QUEUE_SIZE));
+    }
+    int count = 0;
+    while (count < limit) {
+      UfsStatus ufsStatus;
+      try {
+        // only wait for the first file, the files listed later go to the next batches
+        ufsStatus = mLister.poll(count == 0 ? LISTING_POLL_TIMEOUT_MS : 0);
+      } catch (AlluxioRuntimeException e) {
+        // the lister has retried the listing already, the job would miss the directory
+        LOG.warn(format("error listing files for job %s", this), e);
+        failJob(e);
+        break;
+      }
+      if (ufsStatus == null) {
+        break;
+      }
+      batchBuilder.add(ufsStatus);
+      count++;
+    }
+    long now = System.currentTimeMillis();
+    if (now - mLastListingCheckpointMs
+        >= Configuration.getMs(PropertyKey.JOB_LOAD_LISTING_CHECKPOINT_INTERVAL)) {
+      mLastListingCheckpointMs = now;
+      Scheduler.getInstance().getJobMetaStore().updateJob(this);
+    }
+    return count;
+  }
+
+  /**
+   * Stops the partitioned listing, keeping its frontier to resume from.
+   */
+  private void stopListing() {
+    if (mLister != null) {
+      mListingFrontier = Optional.of(mLister.getFrontier());
+      mLister.close();
+      mLister = null;
+      // the files not completed are listed again when the listing is resumed
+      mListedFilesToRetry.clear();
+    }
+  }
+
+  /**
+   * Sets the frontier to resume the partitioned listing from.
+   *
+   * @param frontier the frontier checkpointed
+   */
+  public void setListingFrontier(List<ListingPartition> frontier) {
+    Preconditions.checkState(mLister == null, "listing has already started");
+    mListingFrontier = Optional.of(frontier);
+  }
+
   /**
    * Get load file path.
    * @return file path
@@ -310,6 +410,14 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
     LOG.info("Load Job {} fails with status: {}", mJobId, this);
   }
 
+  @Override
+  public void setJobState(JobState state, boolean journalUpdate) {
+    if (state != JobState.RUNNING) {
+      stopListing();
+    }
+    super.setJobState(state, journalUpdate);
+  }
+
   @Override
   public void setJobSuccess() {
     setJobState(JobState.SUCCEEDED, true);
@@ -388,8 +496,9 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
 
   @Override
   public boolean isCurrentPassDone() {
-    return !mUfsStatusIterator.hasNext() && mRetryFiles.isEmpty()
-        && mRetryTaskList.isEmpty();
+    return !mUfsStatusIterator.hasNext()
+        && (mListingRootUri == null || mLister != null && mLister.isDone())
+        && mRetryFiles.isEmpty() && mRetryTaskList.isEmpty();
   }
 
   @Override
@@ -460,6 +569,10 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
     mUser.ifPresent(jobEntry::setUser);
     mBandwidth.ifPresent(jobEntry::setBandwidth);
     mEndTime.ifPresent(jobEntry::setEndTime);
+    Optional<List<ListingPartition>> frontier =
+        mLister != null ? Optional.of(mLister.getFrontier()) : mListingFrontier;
+    frontier.ifPresent(partitions -> jobEntry.setListingFrontier(
+        ListingFrontier.newBuilder().addAllPartition(partitions)));
     return Journal.JournalEntry
         .newBuilder()
         .setLoadJob(jobEntry.build())
@@ -477,6 +590,50 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
 
   @Override
   public boolean processResponse(DoraLoadTask doraLoadTask) {
+    Set<String> retriedFiles = new HashSet<>();
+    try {
+      return processLoadResponse(doraLoadTask, retriedFiles);
+    } finally {
+      if (mLister != null) {
+        completeListedFiles(doraLoadTask, retriedFiles);
+      }
+    }
+  }
+
+  /**
+   * Completes the files of a task in the partitioned listing, except for the files to retry.
+   */
+  private void completeListedFiles(DoraLoadTask doraLoadTask, Set<String> retriedFiles) {
+    for (UfsStatus status : doraLoadTask.getFilesToLoad()) {
+      String path = status.getUfsFullPath().toString();
+      if (retriedFiles.contains(path)) {
+        // a file retried before keeps the status taken from the listing
+        mListedFilesToRetry.putIfAbsent(path, status);
+        continue;
+      }
+      if (!completeListedFile(path)) {
+        mLister.complete(status);
+      }
+    }
+  }
+
+  /**
+   * Completes the status taken from the partitioned listing of a file which has been retried.
+   *
+   * @return whether the file has been retried
+   */
+  private boolean completeListedFile(String path) {
+    UfsStatus listed = mListedFilesToRetry.remove(path);
+    if (listed == null) {
+      return false;
+    }
+    if (mLister != null) {
+      mLister.complete(listed);
+    }
+    return true;
+  }
+
+  private boolean processLoadResponse(DoraLoadTask doraLoadTask, Set<String> retriedFiles) {
     try {
       long totalLoadedBytes = doraLoadTask.getFilesToLoad().stream()
           .map((it) -> (it instanceof UfsFileStatus ? it.asUfsFileStatus().getContentLength() : 0))
@@ -489,8 +646,8 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
             doraLoadTask.getMyRunningWorker(), response.getFailuresList()));
         for (LoadFileFailure failure : response.getFailuresList()) {
           totalLoadedBytes -= failure.getUfsStatus().getUfsFileStatus().getContentLength();
-          if (!isHealthy() || !failure.getRetryable() || !addFilesToRetry(
-              failure.getUfsStatus().getUfsFullPath())) {
+          if (!isHealthy() || !failure.getRetryable() || !retryFile(
+              failure.getUfsStatus().getUfsFullPath(), retriedFiles)) {
             addFileFailure(
                 failure.getUfsStatus().getUfsFullPath(),
                 failure.getMessage(), failure.getCode());
@@ -520,7 +677,7 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
       for (UfsStatus ufsStatus : doraLoadTask.getFilesToLoad()) {
         AlluxioRuntimeException exception = AlluxioRuntimeException.from(e.getCause());
         if (isHealthy()) {
-          addFilesToRetry(ufsStatus.getUfsFullPath().toString());
+          retryFile(ufsStatus.getUfsFullPath().toString(), retriedFiles);
         } else {
           addFileFailure(ufsStatus.getUfsFullPath().toString(),
               exception.getMessage(), exception.getStatus().getCode()
@@ -531,17 +688,27 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
     }
     catch (CancellationException e) {
       LOG.warn("Task get canceled and will retry.", e);
-      doraLoadTask.getFilesToLoad().forEach(it -> addFilesToRetry(it.getUfsFullPath().toString()));
+      doraLoadTask.getFilesToLoad()
+          .forEach(it -> retryFile(it.getUfsFullPath().toString(), retriedFiles));
       return true;
     }
     catch (InterruptedException e) {
-      doraLoadTask.getFilesToLoad().forEach(it -> addFilesToRetry(it.getUfsFullPath().toString()));
+      doraLoadTask.getFilesToLoad()
+          .forEach(it -> retryFile(it.getUfsFullPath().toString(), retriedFiles));
       Thread.currentThread().interrupt();
       // We don't count InterruptedException as task failure
       return true;
     }
   }
 
+  private boolean retryFile(String path, Set<String> retriedFiles) {
+    if (addFilesToRetry(path)) {
+      retriedFiles.add(path);
+      return true;
+    }
+    return false;
+  }
+
   @Override
   public boolean hasFailure() {
     return !mFailedFiles.isEmpty();
@@ -601,7 +768,8 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
       UfsReadOptions.Builder ufsReadOptions = UfsReadOptions
           .newBuilder()
           .setTag(mJobId)
-          .setPositionShort(false);
+          .setPositionShort(false)
+          .setBackground(true);
       mUser.ifPresent(ufsReadOptions::setUser);
       loadFileReqBuilder.setOptions(ufsReadOptions);
       loadFileReqBuilder.setLoadMetadataOnly(mLoadMetadataOnly);
@@ -51,6 +51,9 @@ public class JournalLoadJobFactory implements JobFactory {
     if (mJobEntry.hasEndTime()) {
       job.setEndTime(mJobEntry.getEndTime());
     }
+    if (mJobEntry.hasListingFrontier()) {
+      job.setListingFrontier(mJobEntry.getListingFrontier().getPartitionList());
+    }
     return job;
   }
 }
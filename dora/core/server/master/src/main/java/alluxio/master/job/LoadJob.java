@@ -554,7 +554,8 @@ public class LoadJob extends AbstractJob<LoadJob.LoadTask> {
       UfsReadOptions.Builder options = UfsReadOptions
           .newBuilder()
           .setTag(mJobId)
-          .setPositionShort(false);
+          .setPositionShort(false)
+          .setBackground(true);
       if (mBandwidth.isPresent()) {
         options.setBandwidth(mBandwidth.getAsLong());
       }
@@ -547,7 +547,8 @@ public class MoveJob extends AbstractJob<MoveJob.MoveTask> {
       UfsReadOptions.Builder ufsReadOptions = UfsReadOptions
           .newBuilder()
           .setTag(mJobId)
-          .setPositionShort(false);
+          .setPositionShort(false)
+          .setBackground(true);
 
       if (mBandwidth.isPresent()) {
         ufsReadOptions.setBandwidth(mBandwidth.getAsLong());
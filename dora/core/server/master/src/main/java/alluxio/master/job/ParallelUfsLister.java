@@ -0,0 +1,368 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.job;
+
+import static java.util.Objects.requireNonNull;
+
+import alluxio.AlluxioURI;
+import alluxio.exception.runtime.AlluxioRuntimeException;
+import alluxio.proto.journal.Job.ListingPartition;
+import alluxio.security.authentication.AuthenticatedClientUser;
+import alluxio.underfs.UfsStatus;
+import alluxio.underfs.UnderFileSystem;
+import alluxio.underfs.options.ListOptions;
+import alluxio.util.ThreadFactoryUtils;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Lists a directory of an under file system recursively, by listing its sub-directories
+ * concurrently with a bounded number of listings in flight.
+ *
+ * Every directory is a partition of the listing and is listed non-recursively. The statuses
+ * listed are queued in a bounded queue, which pauses the listings when the consumer falls
+ * behind, and the sub-directories found become new partitions once their parent has been
+ * listed. Pending partitions are listed depth first, which keeps their number low.
+ *
+ * The frontier of the listing, i.e. the partitions with statuses not completed yet, can be
+ * checkpointed with {@link #getFrontier()} and the listing resumed from it later. A partition
+ * which has been listed is resumed by listing its direct entries again, without adding its
+ * sub-directories as partitions, as they are partitions of their own already. A status is
+ * completed by {@link #complete(UfsStatus)} once the consumer is done with it, so the statuses
+ * taken but not processed when the frontier is checkpointed are listed again on resume.
+ *
+ * A directory whose listing fails is listed again, skipping the statuses already listed by the
+ * failed attempts. Once a directory fails {@link #MAX_LISTING_ATTEMPTS} times, the error is
+ * thrown to the consumer and the listing is never done, as it would miss the directory.
+ */
+@ThreadSafe
+public class ParallelUfsLister implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(ParallelUfsLister.class);
+  /** The number of times a directory is listed before its listing is given up. */
+  private static final int MAX_LISTING_ATTEMPTS = 3;
+  /** The interval at which a consumer waiting for statuses checks whether listing is done. */
+  private static final long POLL_INTERVAL_MS = 10;
+
+  private final UnderFileSystem mUfs;
+  private final AlluxioURI mRootUri;
+  private final Optional<String> mUser;
+  private final int mParallelism;
+  private final ThreadPoolExecutor mExecutor;
+  private final BlockingQueue<ListedStatus> mQueue;
+  /** The statuses taken by the consumer and not completed yet, with their partitions. */
+  @GuardedBy("mInFlight")
+  private final Map<UfsStatus, Partition> mInFlight = new IdentityHashMap<>();
+
+  /** The partitions waiting to be listed, the next one to list is the last. */
+  @GuardedBy("this")
+  private final Deque<Partition> mPending = new ArrayDeque<>();
+  /** The partitions being listed, or listed with statuses not completed yet. */
+  @GuardedBy("this")
+  private final Set<Partition> mActive = Collections.newSetFromMap(new IdentityHashMap<>());
+  @GuardedBy("this")
+  private int mRunning;
+  @GuardedBy("this")
+  @Nullable
+  private AlluxioRuntimeException mError;
+  @GuardedBy("this")
+  private boolean mClosed;
+  /** Whether a directory has failed all its listing attempts. */
+  @GuardedBy("this")
+  private boolean mFailed;
+
+  /**
+   * Creates a lister and starts listing.
+   *
+   * @param ufs the under file system
+   * @param rootUri the directory to list
+   * @param frontier the frontier to resume listing from, or empty to list the whole directory
+   * @param user the user to list as
+   * @param parallelism the maximum number of directories listed at the same time
+   * @param queueSize the maximum number of statuses listed and not yet taken
+   */
+  public ParallelUfsLister(UnderFileSystem ufs, AlluxioURI rootUri,
+      Optional<List<ListingPartition>> frontier, Optional<String> user, int parallelism,
+      int queueSize) {
+    Preconditions.checkArgument(parallelism > 0,
+        "listing parallelism should be positive but is %s", parallelism);
+    mUfs = requireNonNull(ufs, "ufs is null");
+    mRootUri = requireNonNull(rootUri, "rootUri is null");
+    mUser = requireNonNull(user, "user is null");
+    mParallelism = parallelism;
+    mQueue = new ArrayBlockingQueue<>(queueSize);
+    mExecutor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(), ThreadFactoryUtils.build("ufs-lister-%d", true));
+    mExecutor.allowCoreThreadTimeOut(true);
+    synchronized (this) {
+      if (frontier.isPresent()) {
+        // the first partition of the frontier is listed first
+        for (ListingPartition partition : frontier.get()) {
+          mPending.addFirst(new Partition(partition.getName(), partition.getListed()));
+        }
+      } else {
+        mPending.add(new Partition("", false));
+      }
+      scheduleListings();
+    }
+  }
+
+  /**
+   * Takes the next status listed, waiting for one if none is available.
+   *
+   * @param timeoutMs the maximum time to wait for a status, in milliseconds
+   * @return the status, or null if no status is available within the timeout, or if the
+   *         listing is done
+   * @throws AlluxioRuntimeException if listing a directory failed all its attempts, after which
+   *         the listing cannot be done
+   */
+  @Nullable
+  public UfsStatus poll(long timeoutMs) {
+    long deadline = System.currentTimeMillis() + timeoutMs;
+    while (true) {
+      ListedStatus listed = mQueue.poll();
+      if (listed == null) {
+        synchronized (this) {
+          if (mError != null) {
+            AlluxioRuntimeException error = mError;
+            mError = null;
+            throw error;
+          }
+          if (isDone()) {
+            return null;
+          }
+        }
+        long waitMs = Math.min(POLL_INTERVAL_MS, deadline - System.currentTimeMillis());
+        if (waitMs <= 0) {
+          return null;
+        }
+        try {
+          listed = mQueue.poll(waitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return null;
+        }
+        if (listed == null) {
+          continue;
+        }
+      }
+      synchronized (mInFlight) {
+        mInFlight.put(listed.mStatus, listed.mPartition);
+      }
+      return listed.mStatus;
+    }
+  }
+
+  /**
+   * Marks a status taken by {@link #poll(long)} as processed, so that it is not listed again
+   * when the listing is resumed from a frontier checkpointed later.
+   *
+   * @param status the status
+   */
+  public void complete(UfsStatus status) {
+    Partition partition;
+    synchronized (mInFlight) {
+      partition = mInFlight.remove(status);
+    }
+    if (partition != null && partition.mOutstanding.decrementAndGet() == 0) {
+      synchronized (this) {
+        retireIfDone(partition);
+      }
+    }
+  }
+
+  /**
+   * @return whether all the directories have been listed and all the statuses taken
+   */
+  public synchronized boolean isDone() {
+    return !mFailed && mPending.isEmpty() && mRunning == 0 && mQueue.isEmpty();
+  }
+
+  /**
+   * @return the frontier of the listing, from which the listing can be resumed
+   */
+  public synchronized List<ListingPartition> getFrontier() {
+    List<ListingPartition> frontier = new ArrayList<>(mActive.size() + mPending.size());
+    for (Partition partition : mActive) {
+      frontier.add(partition.toProto(partition.mListed || partition.mResumed));
+    }
+    Iterator<Partition> pending = mPending.descendingIterator();
+    while (pending.hasNext()) {
+      Partition partition = pending.next();
+      // a partition waiting to be listed again after a failure is active already
+      if (!mActive.contains(partition)) {
+        frontier.add(partition.toProto(partition.mResumed));
+      }
+    }
+    return frontier;
+  }
+
+  @Override
+  public void close() {
+    synchronized (this) {
+      mClosed = true;
+    }
+    // interrupts the listings waiting for room in the queue
+    mExecutor.shutdownNow();
+    mQueue.clear();
+  }
+
+  @GuardedBy("this")
+  private void scheduleListings() {
+    while (!mClosed && mRunning < mParallelism && !mPending.isEmpty()) {
+      Partition partition = mPending.pollLast();
+      mActive.add(partition);
+      mRunning++;
+      mExecutor.execute(() -> list(partition));
+    }
+  }
+
+  @GuardedBy("this")
+  private void retireIfDone(Partition partition) {
+    if (partition.mListed && partition.mOutstanding.get() == 0) {
+      mActive.remove(partition);
+    }
+  }
+
+  private void list(Partition partition) {
+    List<Partition> children = new ArrayList<>();
+    try {
+      AuthenticatedClientUser.set(mUser.orElse(null));
+      AlluxioURI uri = partition.getUri();
+      Iterator<UfsStatus> statuses;
+      try {
+        statuses = mUfs.listStatusIterable(uri.toString(), ListOptions.defaults(), null, 0);
+      } catch (FileNotFoundException e) {
+        // the directory has been removed since its parent was listed
+        statuses = null;
+      }
+      while (statuses != null && statuses.hasNext()) {
+        UfsStatus status = statuses.next();
+        String name = partition.mName.isEmpty()
+            ? status.getName() : partition.mName + AlluxioURI.SEPARATOR + status.getName();
+        if (status.isDirectory() && !partition.mResumed) {
+          children.add(new Partition(name, false));
+        }
+        if (!partition.mQueuedNames.add(status.getName())) {
+          // queued by an attempt which failed later
+          continue;
+        }
+        status.setUfsFullPath(uri.join(status.getName()));
+        status.setName(name);
+        partition.mOutstanding.incrementAndGet();
+        mQueue.put(new ListedStatus(status, partition));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    } catch (IOException | RuntimeException e) {
+      onListingFailure(partition, e);
+      return;
+    }
+    synchronized (this) {
+      mRunning--;
+      partition.mListed = true;
+      partition.mQueuedNames.clear();
+      mPending.addAll(children);
+      retireIfDone(partition);
+      scheduleListings();
+    }
+  }
+
+  private synchronized void onListingFailure(Partition partition, Exception e) {
+    mRunning--;
+    partition.mAttempts++;
+    if (partition.mAttempts < MAX_LISTING_ATTEMPTS) {
+      LOG.warn("Failed to list {}, retrying", partition.getUri(), e);
+      // statuses queued before the failure are skipped when the partition is listed again
+      mPending.addLast(partition);
+    } else {
+      LOG.error("Failed to list {} after {} attempts", partition.getUri(), partition.mAttempts,
+          e);
+      // the partition is left in the frontier, to be listed again on resume
+      mFailed = true;
+      if (mError == null) {
+        mError = AlluxioRuntimeException.from(e);
+      }
+    }
+    scheduleListings();
+  }
+
+  /**
+   * A directory of the listing.
+   */
+  private final class Partition {
+    /** The path of the directory relative to the root of the listing. */
+    private final String mName;
+    /** Whether the directory has been listed before, when the listing was checkpointed. */
+    private final boolean mResumed;
+    /** The number of statuses of the directory queued or taken and not yet completed. */
+    private final AtomicInteger mOutstanding = new AtomicInteger();
+    /**
+     * The names of the statuses queued by the listing attempts of the directory so far, only
+     * accessed by the attempt running.
+     */
+    private final Set<String> mQueuedNames = new HashSet<>();
+    @GuardedBy("ParallelUfsLister.this")
+    private boolean mListed;
+    @GuardedBy("ParallelUfsLister.this")
+    private int mAttempts;
+
+    private Partition(String name, boolean resumed) {
+      mName = name;
+      mResumed = resumed;
+    }
+
+    private AlluxioURI getUri() {
+      return mName.isEmpty() ? mRootUri : mRootUri.join(mName);
+    }
+
+    private ListingPartition toProto(boolean listed) {
+      return ListingPartition.newBuilder().setName(mName).setListed(listed).build();
+    }
+  }
+
+  private static final class ListedStatus {
+    private final UfsStatus mStatus;
+    private final Partition mPartition;
+
+    private ListedStatus(UfsStatus status, Partition partition) {
+      mStatus = status;
+      mPartition = partition;
+    }
+  }
+}
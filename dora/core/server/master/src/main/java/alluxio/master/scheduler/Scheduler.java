@@ -45,18 +45,24 @@ import com.google.common.base.Objects;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.MoreExecutors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
@@ -72,6 +78,10 @@ import javax.annotation.concurrent.ThreadSafe;
  *  3. The worker will execute the task and report the result to the job.
  *  4. The job will update the progress. And schedule the next task if the job is not done.
  *  5. One worker would have one task running for one job description at a time.
+ * Besides a periodic round over all jobs and workers, a job is processed again as soon as one of
+ * its tasks completes, and the queue of a worker is dispatched as soon as its running task
+ * completes or a task is enqueued, on a pool of dispatcher threads. A job is only processed by
+ * one thread at a time, and so is the queue of a worker.
  */
 @ThreadSafe
 @SuppressFBWarnings({"SE_NO_SERIALVERSIONID"})
@@ -93,6 +103,12 @@ public final class Scheduler {
   private final JobMetaStore mJobMetaStore;
   // initial thread in start method since we would stop and start thread when gainPrimacy
   private ScheduledExecutorService mSchedulerExecutor;
+  private ExecutorService mDispatcherExecutor;
+  private final Map<Job<?>, SerialTrigger> mJobTriggers = new ConcurrentHashMap<>();
+  private final Map<WorkerInfoIdentity, SerialTrigger> mWorkerTriggers =
+      new ConcurrentHashMap<>();
+  // jobs and workers are processed on events only after the initial delay of the scheduler
+  private volatile boolean mDispatching = false;
   private volatile boolean mRunning = false;
   private final FileSystemContext mFileSystemContext;
   private final WorkerInfoHub mWorkerInfoHub;
@@ -132,6 +148,9 @@ public final class Scheduler {
       retrieveJobs();
       mSchedulerExecutor = Executors.newSingleThreadScheduledExecutor(
           ThreadFactoryUtils.build("scheduler", false));
+      mDispatcherExecutor = Executors.newFixedThreadPool(
+          Configuration.getInt(PropertyKey.MASTER_SCHEDULER_DISPATCHER_THREADS),
+          ThreadFactoryUtils.build("scheduler-dispatcher-%d", false));
       mSchedulerExecutor.scheduleAtFixedRate(mWorkerInfoHub::updateWorkers, 0,
           WORKER_UPDATE_INTERVAL, TimeUnit.MILLISECONDS);
       mSchedulerExecutor.scheduleWithFixedDelay(this::processJobs, mSchedulerInitialDelay, 2000,
@@ -171,9 +190,14 @@ public final class Scheduler {
    */
   public void stop() {
     if (mRunning) {
+      mDispatching = false;
+      ThreadUtils.shutdownAndAwaitTermination(mSchedulerExecutor, EXECUTOR_SHUTDOWN_MS);
+      ThreadUtils.shutdownAndAwaitTermination(mDispatcherExecutor, EXECUTOR_SHUTDOWN_MS);
+      // closed once no dispatcher thread is using them
       mWorkerInfoHub.mActiveWorkers.values().forEach(CloseableResource::close);
       mWorkerInfoHub.mActiveWorkers = ImmutableMap.of();
-      ThreadUtils.shutdownAndAwaitTermination(mSchedulerExecutor, EXECUTOR_SHUTDOWN_MS);
+      mJobTriggers.clear();
+      mWorkerTriggers.clear();
       mExistingJobs.clear();
       mJobToRunningTasks.clear();
       mWorkerInfoHub.mWorkerToTaskQ.clear();
@@ -201,6 +225,7 @@ public final class Scheduler {
         }
         return v;
       });
+      triggerJob(existingJob);
       return false;
     }
 
@@ -218,6 +243,7 @@ public final class Scheduler {
     mExistingJobs.put(job.getDescription(), job);
     job.initializeJob();
     LOG.info(format("start job: %s", job));
+    triggerJob(job);
     return true;
   }
 
@@ -287,11 +313,34 @@ public final class Scheduler {
   @VisibleForTesting
   public void cleanupStaleJob() {
     long current = System.currentTimeMillis();
-    mExistingJobs
-        .entrySet().removeIf(job -> !job.getValue().isRunning()
-        && job.getValue().getEndTime().isPresent()
-        && job.getValue().getEndTime().getAsLong() <= (current - Configuration.getMs(
-        PropertyKey.JOB_RETENTION_TIME)));
+    Iterator<Job<?>> jobs = mExistingJobs.values().iterator();
+    while (jobs.hasNext()) {
+      Job<?> job = jobs.next();
+      if (!job.isRunning() && job.getEndTime().isPresent()
+          && job.getEndTime().getAsLong() <= (current - Configuration.getMs(
+          PropertyKey.JOB_RETENTION_TIME))) {
+        jobs.remove();
+        removeJobTrigger(job);
+      }
+    }
+  }
+
+  /**
+   * Removes the trigger of a job removed from the scheduler. The trigger is removed after the
+   * work already queued on it, so that the work of the job keeps running one at a time.
+   *
+   * @param job the job
+   */
+  private void removeJobTrigger(Job<?> job) {
+    SerialTrigger trigger = mJobTriggers.get(job);
+    if (trigger == null || mJobToRunningTasks.containsKey(job)) {
+      return;
+    }
+    try {
+      trigger.getExecutor().execute(() -> mJobTriggers.remove(job, trigger));
+    } catch (RejectedExecutionException e) {
+      // the scheduler is stopping, which removes all triggers
+    }
   }
 
   /**
@@ -308,11 +357,30 @@ public final class Scheduler {
     if (Thread.currentThread().isInterrupted()) {
       return;
     }
-    mJobToRunningTasks.forEach((k, v) -> processJob(k));
+    // from the first round on, jobs and workers are also processed as soon as tasks complete,
+    // and the periodic rounds only catch up with what no event triggered
+    mDispatching = true;
+    mJobToRunningTasks.forEach((k, v) -> triggerJob(k));
     // kickstart the head task from each q of the worker if it's not running
     mWorkerInfoHub.kickStartTasks();
   }
 
+  /**
+   * Processes a job on the dispatcher threads, unless it is already about to be processed.
+   *
+   * @param job the job
+   */
+  private void triggerJob(Job<?> job) {
+    if (mDispatching) {
+      getJobTrigger(job).trigger();
+    }
+  }
+
+  private SerialTrigger getJobTrigger(Job<?> job) {
+    return mJobTriggers.computeIfAbsent(job,
+        k -> new SerialTrigger(mDispatcherExecutor, () -> processJob(k)));
+  }
+
   private void processJob(Job<?> job) {
     ConcurrentHashSet<Task<?>> runningTasks = mJobToRunningTasks.compute(job, (k, v) -> {
       if (!k.isRunning()) {
@@ -501,7 +569,7 @@ public final class Scheduler {
   @SuppressFBWarnings(value = "NP_NULL_ON_SOME_PATH_FROM_RETURN_VALUE",
       justification = "Already performed null check")
   public class WorkerInfoHub {
-    public Map<WorkerInfoIdentity, CloseableResource<BlockWorkerClient>>
+    public volatile Map<WorkerInfoIdentity, CloseableResource<BlockWorkerClient>>
         mActiveWorkers = ImmutableMap.of();
     private final WorkerProvider mWorkerProvider;
 
@@ -522,50 +590,96 @@ public final class Scheduler {
      */
     public void kickStartTasks() {
       // Kick off one task for each worker
-      mWorkerToTaskQ.forEach((workerInfo, tasksQ) -> {
-        LOG.debug("Kick start task for worker:{}, taskQ size:{}",
-            workerInfo.mWorkerInfo.getAddress().getHost(),
-            tasksQ.size());
-        CloseableResource<BlockWorkerClient> blkWorkerClientResource
-            = mActiveWorkers.get(workerInfo);
-        if (blkWorkerClientResource == null) {
-          LOG.warn("Didn't find corresponding BlockWorkerClient for workerInfo:{}",
-              workerInfo);
-          return;
-        }
-        Task task = tasksQ.peek();
-        // only make sure 1 task is running at the time
-        if (task == null || task.getResponseFuture() != null) {
-          LOG.debug("head task is {}", (task == null) ? "NULL" : "already running");
-          return;
+      mWorkerToTaskQ.keySet().forEach(this::triggerWorker);
+    }
+
+    /**
+     * Kick starts the head task of a worker task q on the dispatcher threads, unless it is
+     * already about to be kick started.
+     *
+     * @param workerInfo the worker
+     */
+    private void triggerWorker(WorkerInfoIdentity workerInfo) {
+      if (mDispatching) {
+        mWorkerTriggers.computeIfAbsent(workerInfo,
+            k -> new SerialTrigger(mDispatcherExecutor, () -> kickStartTask(k))).trigger();
+      }
+    }
+
+    private void kickStartTask(WorkerInfoIdentity workerInfo) {
+      BoundedPriorityBlockingQueue<Task> tasksQ = mWorkerToTaskQ.get(workerInfo);
+      if (tasksQ == null) {
+        return;
+      }
+      LOG.debug("Kick start task for worker:{}, taskQ size:{}",
+          workerInfo.mWorkerInfo.getAddress().getHost(),
+          tasksQ.size());
+      CloseableResource<BlockWorkerClient> blkWorkerClientResource
+          = mActiveWorkers.get(workerInfo);
+      if (blkWorkerClientResource == null) {
+        LOG.warn("Didn't find corresponding BlockWorkerClient for workerInfo:{}",
+            workerInfo);
+        return;
+      }
+      Task task = tasksQ.peek();
+      // only make sure 1 task is running at the time
+      if (task == null || task.getResponseFuture() != null) {
+        LOG.debug("head task is {}", (task == null) ? "NULL" : "already running");
+        return;
+      }
+      task.execute(blkWorkerClientResource.get(), workerInfo.mWorkerInfo);
+      // the response is processed one at a time with the other work of the job
+      task.getResponseFuture().addListener(() -> {
+        Job job = task.getJob();
+        try {
+          job.processResponse(task); // retry on failure logic inside
+        } catch (Exception e) {
+          // Unknown exception. This should not happen, but if it happens we don't
+          // want to lose the worker thread, thus catching it here. Any exception
+          // surfaced here should be properly handled.
+          LOG.error("Unexpected exception thrown in response future listener.", e);
+          job.failJob(new InternalRuntimeException(e));
+        } finally {
+          tasksQ.remove(task);
+          mJobToRunningTasks.compute(job, (k, v) -> {
+            if (v == null) {
+              return null;
+            }
+            v.remove(task);
+            return v;
+          });
+          // the worker is free for its next task, and the job may have more tasks to
+          // enqueue now that the q has space again
+          triggerWorker(workerInfo);
+          triggerJob(job);
         }
-        task.execute(blkWorkerClientResource.get(), workerInfo.mWorkerInfo);
-        task.getResponseFuture().addListener(() -> {
-          Job job = task.getJob();
-          try {
-            job.processResponse(task); // retry on failure logic inside
-            // TODO(lucy) currently processJob is only called in the single
-            // threaded scheduler thread context, in future once tasks are
-            // completed, they should be able to call processJob to resume
-            // their own job to schedule next set of tasks to run.
-          } catch (Exception e) {
-            // Unknown exception. This should not happen, but if it happens we don't
-            // want to lose the worker thread, thus catching it here. Any exception
-            // surfaced here should be properly handled.
-            LOG.error("Unexpected exception thrown in response future listener.", e);
-            job.failJob(new InternalRuntimeException(e));
-          } finally {
-            tasksQ.remove(task);
-            mJobToRunningTasks.compute(job, (k, v) -> {
-              if (v == null) {
-                return null;
-              }
-              v.remove(task);
-              return v;
-            });
-          }
-        }, mSchedulerExecutor);
-      });
+      }, getJobTrigger(task.getJob()).getExecutor());
+    }
+
+    /**
+     * Closes the client to a lost worker after the task being kick started with it, if any, has
+     * been sent. The client is no longer handed out, as the worker is no longer active.
+     *
+     * @param workerInfo the worker
+     * @param resource the client to the worker
+     */
+    private void closeWorkerClient(WorkerInfoIdentity workerInfo,
+        CloseableResource<BlockWorkerClient> resource) {
+      Runnable close = () -> {
+        resource.close();
+        LOG.debug("Closed BlockWorkerClient to lost worker {}", workerInfo);
+      };
+      SerialTrigger trigger = mWorkerTriggers.get(workerInfo);
+      if (trigger == null) {
+        close.run();
+        return;
+      }
+      try {
+        trigger.getExecutor().execute(close);
+      } catch (RejectedExecutionException e) {
+        // the dispatcher threads have stopped
+        close.run();
+      }
     }
 
     /**
@@ -589,6 +703,7 @@ public final class Scheduler {
       ConcurrentHashSet<Task<?>> tasks = mJobToRunningTasks.computeIfAbsent(task.getJob(),
           j -> new ConcurrentHashSet<>());
       tasks.add(task);
+      triggerWorker(new WorkerInfoIdentity(workerInfo));
       return true;
     }
 
@@ -603,7 +718,7 @@ public final class Scheduler {
      * Refresh active workers.
      */
     @VisibleForTesting
-    public void updateWorkers() {
+    public synchronized void updateWorkers() {
       if (Thread.currentThread().isInterrupted()) {
         return;
       }
@@ -640,18 +755,18 @@ public final class Scheduler {
             // skip the worker if we cannot obtain a client
           }
         }
+        Map<WorkerInfoIdentity, CloseableResource<BlockWorkerClient>> previousWorkers =
+            mActiveWorkers;
+        // Build the clients to the current active worker list
+        mActiveWorkers = updatedWorkers.build();
         // Close clients connecting to lost workers
         for (Map.Entry<WorkerInfoIdentity, CloseableResource<BlockWorkerClient>> entry :
-            mActiveWorkers.entrySet()) {
+            previousWorkers.entrySet()) {
           WorkerInfoIdentity workerInfoId = entry.getKey();
           if (!workerInfoIds.contains(workerInfoId)) {
-            CloseableResource<BlockWorkerClient> resource = entry.getValue();
-            resource.close();
-            LOG.debug("Closed BlockWorkerClient to lost worker {}", workerInfoId);
+            closeWorkerClient(workerInfoId, entry.getValue());
           }
         }
-        // Build the clients to the current active worker list
-        mActiveWorkers = updatedWorkers.build();
       } catch (Exception e) {
         // Unknown exception. This should not happen, but if it happens we don't want to lose the
         // scheduler thread, thus catching it here. Any exception surfaced here should be properly
@@ -661,6 +776,44 @@ public final class Scheduler {
     }
   }
 
+  /**
+   * Runs an action on a pool of threads when triggered, one run at a time. Triggers received
+   * before a pending run starts are coalesced into it, while a trigger received during a run
+   * causes another run.
+   */
+  private static final class SerialTrigger {
+    private final Executor mExecutor;
+    private final Runnable mAction;
+    private final AtomicBoolean mPending = new AtomicBoolean(false);
+
+    SerialTrigger(Executor executor, Runnable action) {
+      mExecutor = MoreExecutors.newSequentialExecutor(executor);
+      mAction = action;
+    }
+
+    void trigger() {
+      if (!mPending.compareAndSet(false, true)) {
+        return;
+      }
+      try {
+        mExecutor.execute(() -> {
+          mPending.set(false);
+          mAction.run();
+        });
+      } catch (RejectedExecutionException e) {
+        // the scheduler is stopping
+        mPending.set(false);
+      }
+    }
+
+    /**
+     * @return the executor running the action, which runs other work one at a time with it
+     */
+    Executor getExecutor() {
+      return mExecutor;
+    }
+  }
+
   /**
    * Job/Tasks stats.
    */
@@ -21,6 +21,8 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -53,14 +55,20 @@ import alluxio.proto.journal.Job;
 import alluxio.resource.CloseableResource;
 import alluxio.scheduler.job.JobMetaStore;
 import alluxio.scheduler.job.JobState;
+import alluxio.scheduler.job.Task;
+import alluxio.scheduler.job.WorkerProvider;
 import alluxio.security.authentication.AuthenticatedClientUser;
+import alluxio.util.CommonUtils;
+import alluxio.util.WaitForOptions;
 import alluxio.wire.FileInfo;
 import alluxio.wire.WorkerInfo;
 import alluxio.wire.WorkerNetAddress;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
 import io.grpc.Status;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -75,8 +83,11 @@ import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -590,6 +601,114 @@ public final class SchedulerTest {
     assertEquals(2, scheduler.getJobs().size());
   }
 
+  @Test
+  public void dispatchTasksOnCompletion() throws Exception {
+    WorkerInfo worker = new WorkerInfo().setId(1).setAddress(
+        new WorkerNetAddress().setHost("worker1").setRpcPort(1234));
+    WorkerProvider workerProvider = mock(WorkerProvider.class);
+    when(workerProvider.getWorkerInfos()).thenReturn(ImmutableList.of(worker));
+    when(workerProvider.getWorkerClient(any())).thenReturn(mock(CloseableResource.class));
+    AtomicInteger processed = new AtomicInteger();
+    alluxio.scheduler.job.Job<?> job = mockJob("/dispatch", worker, 20, () -> { }, processed);
+    Scheduler scheduler = new Scheduler(mock(FileSystemContext.class), workerProvider,
+        new InMemoryJobMetaStore());
+    scheduler.start();
+    try {
+      CommonUtils.waitFor("workers updated", () -> scheduler.getActiveWorkers().size() == 1,
+          WaitForOptions.defaults().setTimeoutMs(10000));
+      assertTrue(scheduler.submitJob(job));
+      // a worker runs one task at a time, so kick starting the tasks only in the periodic rounds
+      // every 2 seconds would take 40 seconds
+      CommonUtils.waitFor("tasks processed", () -> processed.get() == 20,
+          WaitForOptions.defaults().setTimeoutMs(10000));
+    } finally {
+      scheduler.stop();
+    }
+  }
+
+  @Test
+  public void closeLostWorkerClientAfterDispatch() throws Exception {
+    WorkerInfo worker = new WorkerInfo().setId(1).setAddress(
+        new WorkerNetAddress().setHost("worker1").setRpcPort(1234));
+    AtomicReference<List<WorkerInfo>> workers = new AtomicReference<>(ImmutableList.of(worker));
+    WorkerProvider workerProvider = mock(WorkerProvider.class);
+    when(workerProvider.getWorkerInfos()).thenAnswer(invocation -> workers.get());
+    CloseableResource<BlockWorkerClient> client = mock(CloseableResource.class);
+    when(workerProvider.getWorkerClient(any())).thenReturn(client);
+    CountDownLatch running = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    alluxio.scheduler.job.Job<?> job = mockJob("/lost", worker, 1, () -> {
+      running.countDown();
+      Uninterruptibles.awaitUninterruptibly(release);
+    }, new AtomicInteger());
+    Scheduler scheduler = new Scheduler(mock(FileSystemContext.class), workerProvider,
+        new InMemoryJobMetaStore());
+    scheduler.start();
+    try {
+      CommonUtils.waitFor("workers updated", () -> scheduler.getActiveWorkers().size() == 1,
+          WaitForOptions.defaults().setTimeoutMs(10000));
+      assertTrue(scheduler.submitJob(job));
+      assertTrue(running.await(10, TimeUnit.SECONDS));
+
+      workers.set(ImmutableList.of());
+      scheduler.updateWorkers();
+      assertEquals(0, scheduler.getActiveWorkers().size());
+      // the client is still used to kick start the task
+      verify(client, never()).close();
+      release.countDown();
+      verify(client, timeout(10000)).close();
+    } finally {
+      release.countDown();
+      scheduler.stop();
+    }
+  }
+
+  /**
+   * Creates a running job which hands out one task at a time to a worker, until the given number
+   * of tasks is reached.
+   */
+  private static alluxio.scheduler.job.Job<?> mockJob(String path, WorkerInfo worker,
+      int taskCount, Runnable onRun, AtomicInteger processed) {
+    alluxio.scheduler.job.Job job = mock(alluxio.scheduler.job.Job.class);
+    when(job.getDescription()).thenReturn(
+        JobDescription.newBuilder().setPath(path).setType("load").build());
+    when(job.getJobId()).thenReturn(path);
+    when(job.isRunning()).thenReturn(true);
+    when(job.isHealthy()).thenReturn(true);
+    when(job.getEndTime()).thenReturn(OptionalLong.empty());
+    AtomicInteger created = new AtomicInteger();
+    when(job.getNextTasks(any())).thenAnswer(invocation -> {
+      int taskId = created.get();
+      if (taskId >= taskCount) {
+        return ImmutableList.of();
+      }
+      created.incrementAndGet();
+      Task<?> task = new TestTask(job, taskId, onRun);
+      task.setMyRunningWorker(worker);
+      return ImmutableList.of(task);
+    });
+    when(job.processResponse(any())).thenAnswer(invocation -> {
+      processed.incrementAndGet();
+      return true;
+    });
+    return job;
+  }
+
+  private static final class TestTask extends Task<Void> {
+    private final Runnable mOnRun;
+
+    TestTask(alluxio.scheduler.job.Job<?> job, int taskId, Runnable onRun) {
+      super(job, taskId);
+      mOnRun = onRun;
+    }
+
+    @Override
+    protected ListenableFuture<Void> run(BlockWorkerClient client) {
+      mOnRun.run();
+      return Futures.immediateFuture(null);
+    }
+  }
+
   private class InMemoryJobMetaStore implements JobMetaStore {
     private final Map<String, alluxio.scheduler.job.Job<?>> mExistingJobs = new ConcurrentHashMap();
 
@@ -0,0 +1,190 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.job;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.AlluxioURI;
+import alluxio.conf.Configuration;
+import alluxio.exception.runtime.AlluxioRuntimeException;
+import alluxio.proto.journal.Job.ListingPartition;
+import alluxio.underfs.UfsStatus;
+import alluxio.underfs.UnderFileSystem;
+import alluxio.underfs.UnderFileSystemConfiguration;
+import alluxio.underfs.local.LocalUnderFileSystemFactory;
+
+import com.google.common.collect.Iterators;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ParallelUfsListerTest {
+  @Rule
+  public TemporaryFolder mTemp = new TemporaryFolder();
+
+  private final UnderFileSystem mUfs = new LocalUnderFileSystemFactory().create("/",
+      UnderFileSystemConfiguration.defaults(Configuration.global()));
+  private AlluxioURI mRootUri;
+  private final Set<String> mExpected = new HashSet<>();
+
+  @Before
+  public void before() throws Exception {
+    File root = mTemp.newFolder("root");
+    mRootUri = new AlluxioURI(root.getAbsolutePath());
+    for (int i = 0; i < 4; i++) {
+      String dir = "d" + i;
+      mExpected.add(dir);
+      for (int j = 0; j < 3; j++) {
+        String subDir = dir + "/s" + j;
+        mExpected.add(subDir);
+        for (int k = 0; k < 5; k++) {
+          String file = subDir + "/f" + k;
+          assertTrue(new File(root, subDir).mkdirs() || new File(root, subDir).isDirectory());
+          assertTrue(new File(root, file).createNewFile());
+          mExpected.add(file);
+        }
+      }
+      String file = dir + "/f";
+      assertTrue(new File(root, file).createNewFile());
+      mExpected.add(file);
+    }
+  }
+
+  @Test
+  public void listRecursively() throws Exception {
+    try (ParallelUfsLister lister = new ParallelUfsLister(mUfs, mRootUri, Optional.empty(),
+        Optional.empty(), 4, 8)) {
+      Set<String> listed = new HashSet<>();
+      UfsStatus status;
+      while ((status = lister.poll(10000)) != null) {
+        assertEquals(mRootUri.join(status.getName()), status.getUfsFullPath());
+        assertTrue(listed.add(status.getName()));
+        lister.complete(status);
+      }
+      assertTrue(lister.isDone());
+      assertEquals(mExpected, listed);
+      assertTrue(lister.getFrontier().isEmpty());
+    }
+  }
+
+  @Test
+  public void resumeFromFrontier() throws Exception {
+    Set<String> completed = new HashSet<>();
+    List<ListingPartition> frontier;
+    try (ParallelUfsLister lister = new ParallelUfsLister(mUfs, mRootUri, Optional.empty(),
+        Optional.empty(), 2, 4)) {
+      List<UfsStatus> taken = new ArrayList<>();
+      for (int i = 0; i < 40; i++) {
+        taken.add(lister.poll(10000));
+      }
+      // only the first half of the statuses taken are processed
+      for (UfsStatus status : taken.subList(0, 20)) {
+        lister.complete(status);
+        completed.add(status.getName());
+      }
+      frontier = lister.getFrontier();
+    }
+    assertTrue(frontier.size() > 0);
+
+    Set<String> listed = new HashSet<>(completed);
+    try (ParallelUfsLister lister = new ParallelUfsLister(mUfs, mRootUri, Optional.of(frontier),
+        Optional.empty(), 2, 4)) {
+      UfsStatus status;
+      while ((status = lister.poll(10000)) != null) {
+        listed.add(status.getName());
+        lister.complete(status);
+      }
+    }
+    assertEquals(mExpected, listed);
+  }
+
+  @Test
+  public void retryFailedListingWithoutDuplicates() throws Exception {
+    // the first listing of d1 fails after two of its entries
+    String failingDir = mRootUri.join("d1").toString();
+    AtomicInteger attempts = new AtomicInteger();
+    UnderFileSystem ufs = Mockito.spy(mUfs);
+    Mockito.doAnswer(invocation -> {
+      Iterator<UfsStatus> statuses = (Iterator<UfsStatus>) invocation.callRealMethod();
+      if (!failingDir.equals(invocation.getArgument(0)) || attempts.getAndIncrement() > 0) {
+        return statuses;
+      }
+      return Iterators.concat(Iterators.limit(statuses, 2), new Iterator<UfsStatus>() {
+        @Override
+        public boolean hasNext() {
+          throw new IllegalStateException("listing failed");
+        }
+
+        @Override
+        public UfsStatus next() {
+          throw new IllegalStateException("listing failed");
+        }
+      });
+    }).when(ufs).listStatusIterable(Mockito.anyString(), Mockito.any(), Mockito.any(),
+        Mockito.anyInt());
+
+    try (ParallelUfsLister lister = new ParallelUfsLister(ufs, mRootUri, Optional.empty(),
+        Optional.empty(), 4, 8)) {
+      Set<String> listed = new HashSet<>();
+      UfsStatus status;
+      while ((status = lister.poll(10000)) != null) {
+        assertTrue(status.getName(), listed.add(status.getName()));
+        lister.complete(status);
+      }
+      assertEquals(2, attempts.get());
+      assertEquals(mExpected, listed);
+    }
+  }
+
+  @Test
+  public void failedListingIsNeverDone() throws Exception {
+    String failingDir = mRootUri.join("d1").toString();
+    UnderFileSystem ufs = Mockito.spy(mUfs);
+    Mockito.doThrow(new IOException("listing failed")).when(ufs).listStatusIterable(
+        Mockito.eq(failingDir), Mockito.any(), Mockito.any(), Mockito.anyInt());
+
+    try (ParallelUfsLister lister = new ParallelUfsLister(ufs, mRootUri, Optional.empty(),
+        Optional.empty(), 4, 8)) {
+      AlluxioRuntimeException error = null;
+      while (error == null) {
+        try {
+          UfsStatus status = lister.poll(10000);
+          assertNotNull(status);
+          lister.complete(status);
+        } catch (AlluxioRuntimeException e) {
+          error = e;
+        }
+      }
+      // the job must not finish without the directory
+      assertNull(lister.poll(100));
+      assertFalse(lister.isDone());
+      assertTrue(lister.getFrontier().stream()
+          .anyMatch(partition -> partition.getName().equals("d1") && !partition.getListed()));
+    }
+  }
+}
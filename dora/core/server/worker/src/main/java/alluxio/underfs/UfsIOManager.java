@@ -12,59 +12,114 @@
 package alluxio.underfs;
 
 import alluxio.AlluxioURI;
+import alluxio.CloseableSupplier;
+import alluxio.PositionReader;
 import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.runtime.AlluxioRuntimeException;
+import alluxio.exception.runtime.FailedPreconditionRuntimeException;
 import alluxio.exception.runtime.OutOfRangeRuntimeException;
 import alluxio.exception.runtime.ResourceExhaustedRuntimeException;
 import alluxio.file.FileId;
+import alluxio.file.ReadTargetBuffer;
 import alluxio.grpc.UfsReadOptions;
 import alluxio.metrics.MetricInfo;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 import alluxio.resource.CloseableResource;
+import alluxio.security.User;
+import alluxio.security.authentication.AuthenticatedClientUser;
 import alluxio.underfs.options.OpenOptions;
 import alluxio.util.ThreadFactoryUtils;
 
 import com.codahale.metrics.Meter;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.Uninterruptibles;
 
 import java.io.Closeable;
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Control UFS IO.
+ *
+ * Read tasks are queued per tag. Interactive reads are always dispatched before background reads,
+ * e.g. of load jobs, and background reads may occupy only a part of the IO threads. Within a
+ * priority class, the tags share the IO threads in proportion to their weights by start-time fair
+ * queuing over the bytes read. A tag with a throughput quota is further limited by a token bucket,
+ * so it is throttled as soon as its quota is used up instead of after a one-minute rate adapts.
  */
 public class UfsIOManager implements Closeable {
   private static final int READ_CAPACITY = 1024;
+  /** The burst a token bucket allows, as the time its quota takes to refill it. */
+  private static final long QUOTA_BURST_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
   private final UfsManager.UfsClient mUfsClient;
   private final ConcurrentMap<String, Long> mThroughputQuota = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Integer> mWeights = new ConcurrentHashMap<>();
   private final UfsInputStreamCache mUfsInstreamCache = new UfsInputStreamCache();
-  private final LinkedBlockingQueue<ReadTask> mReadQueue = new LinkedBlockingQueue<>(READ_CAPACITY);
   private final ConcurrentMap<AlluxioURI, Meter> mUfsBytesReadThroughputMetrics =
       new ConcurrentHashMap<>();
-  private final ExecutorService mUfsIoExecutor =
-      Executors.newFixedThreadPool(Configuration.getInt(PropertyKey.UNDERFS_IO_THREADS),
-          ThreadFactoryUtils.build("UfsIOManager-IO-%d", false));
+  private final int mIoThreads = Configuration.getInt(PropertyKey.UNDERFS_IO_THREADS);
+  private final ExecutorService mUfsIoExecutor = Executors.newFixedThreadPool(mIoThreads,
+      ThreadFactoryUtils.build("UfsIOManager-IO-%d", false));
   private final ExecutorService mScheduleExecutor = Executors
       .newSingleThreadExecutor(ThreadFactoryUtils.build("UfsIOManager-Scheduler-%d", true));
 
+  /** Guards all the scheduling state below. */
+  private final Lock mLock = new ReentrantLock();
+  /** Signaled when a task is queued or finished, or a quota or weight changes. */
+  private final Condition mStateChanged = mLock.newCondition();
+  private final PriorityClass mInteractive = new PriorityClass(Integer.MAX_VALUE);
+  private final PriorityClass mBackground;
+  private final Map<String, TokenBucket> mBuckets = new HashMap<>();
+  private int mQueued = 0;
+  private int mInFlight = 0;
+  private boolean mClosed = false;
+
   /**
    * @param ufsClient ufs client
    */
   public UfsIOManager(UfsManager.UfsClient ufsClient) {
     mUfsClient = ufsClient;
+    mBackground = new PriorityClass(Math.max(1, (int) (mIoThreads
+        * Configuration.getDouble(PropertyKey.UNDERFS_IO_BACKGROUND_THREADS_RATIO))));
+    if (Configuration.isSet(PropertyKey.UNDERFS_IO_TAG_WEIGHTS)) {
+      for (String tagWeight : Configuration.getList(PropertyKey.UNDERFS_IO_TAG_WEIGHTS)) {
+        int separator = tagWeight.lastIndexOf(':');
+        Preconditions.checkArgument(separator > 0, "Invalid tag weight %s of %s, "
+            + "expected <tag>:<weight>", tagWeight, PropertyKey.UNDERFS_IO_TAG_WEIGHTS);
+        int weight;
+        try {
+          weight = Integer.parseInt(tagWeight.substring(separator + 1).trim());
+        } catch (NumberFormatException e) {
+          throw new IllegalArgumentException(String.format("Invalid tag weight %s of %s, "
+              + "expected <tag>:<weight>", tagWeight, PropertyKey.UNDERFS_IO_TAG_WEIGHTS), e);
+        }
+        setWeight(tagWeight.substring(0, separator).trim(), weight);
+      }
+    }
   }
 
   /**
@@ -79,51 +134,278 @@ public class UfsIOManager implements Closeable {
    */
   @Override
   public void close() {
+    List<ReadTask> abandoned = new ArrayList<>();
+    mLock.lock();
+    try {
+      mClosed = true;
+      mInteractive.drainTo(abandoned);
+      mBackground.drainTo(abandoned);
+      mQueued = 0;
+    } finally {
+      mLock.unlock();
+    }
     mScheduleExecutor.shutdownNow();
-    mUfsIoExecutor.shutdownNow();
+    for (Runnable task : mUfsIoExecutor.shutdownNow()) {
+      abandoned.add((ReadTask) task);
+    }
+    // the position readers wait for their tasks, so none may be left incomplete
+    for (ReadTask task : abandoned) {
+      task.mFuture.completeExceptionally(
+          new FailedPreconditionRuntimeException("UFS IO manager closed"));
+    }
   }
 
   /**
    * Set throughput quota for tag.
    * @param tag the client name or tag
-   * @param throughput throughput limit in bytes
+   * @param throughput throughput limit in bytes per second
    */
   public void setQuota(String tag, long throughput) {
     Preconditions.checkArgument(throughput > 0, "throughput should be positive");
     mThroughputQuota.put(tag, throughput);
+    signalStateChanged();
+  }
+
+  /**
+   * Set the weight by which a tag shares the IO threads with the other tags of its priority class.
+   * The weight of a tag is taken from {@link PropertyKey#UNDERFS_IO_TAG_WEIGHTS}, or 1 if it is
+   * not listed there. Tasks already queued keep the weight they were queued with.
+   * @param tag the client name or tag
+   * @param weight the weight
+   */
+  public void setWeight(String tag, int weight) {
+    Preconditions.checkArgument(weight > 0, "weight should be positive");
+    mWeights.put(tag, weight);
+  }
+
+  @VisibleForTesting
+  int getWeight(String tag) {
+    return mWeights.getOrDefault(tag, 1);
+  }
+
+  private void signalStateChanged() {
+    mLock.lock();
+    try {
+      mStateChanged.signalAll();
+    } finally {
+      mLock.unlock();
+    }
   }
 
   private void schedule() {
-    while (!Thread.currentThread().isInterrupted()) {
-      try {
-        ReadTask task = mReadQueue.take();
-        if (mThroughputQuota.containsKey(task.mOptions.getTag())
-            && mThroughputQuota.get(task.mOptions.getTag()) < getUsedThroughput(task.mMeter)) {
-          // resubmit to queue
-          mReadQueue.put(task);
+    mLock.lock();
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        long waitNanos = dispatch();
+        if (waitNanos == Long.MAX_VALUE) {
+          mStateChanged.await();
         } else {
-          try {
-            mUfsIoExecutor.submit(task);
-          } catch (RejectedExecutionException e) {
-            // should not reach here since we use unbounded queue in thread pool and use a bounded
-            // blocking queue upfront to control number of read tasks
-            mReadQueue.put(task);
-          }
+          mStateChanged.awaitNanos(waitNanos);
         }
-      } catch (InterruptedException e) {
-        Thread.currentThread().interrupt();
       }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      mLock.unlock();
     }
   }
 
   /**
-   * Get used throughput.
-   * @param meter throughput meter
-   * @return throughput
+   * Dispatches queued tasks while there are free IO threads and tasks within their quotas.
+   *
+   * @return the nanoseconds until a throttled task may be dispatched, or Long.MAX_VALUE to wait
+   *         for the next state change
    */
-  @VisibleForTesting
-  public double getUsedThroughput(Meter meter) {
-    return meter.getOneMinuteRate() / 60;
+  private long dispatch() {
+    long now = System.nanoTime();
+    while (mInFlight < mIoThreads) {
+      long interactiveWait = mInteractive.dispatchNext(now);
+      if (interactiveWait == 0) {
+        continue;
+      }
+      long backgroundWait = mBackground.dispatchNext(now);
+      if (backgroundWait == 0) {
+        continue;
+      }
+      if (mQueued == 0) {
+        // a full bucket is in the same state as a new one, so drop those of idle tags
+        mBuckets.values().removeIf(bucket -> bucket.isFull(now));
+      }
+      return Math.min(interactiveWait, backgroundWait);
+    }
+    return Long.MAX_VALUE;
+  }
+
+  private void onTaskDone(ReadTask task) {
+    mLock.lock();
+    try {
+      mInFlight--;
+      task.mClass.mInFlight--;
+      mStateChanged.signalAll();
+    } finally {
+      mLock.unlock();
+    }
+  }
+
+  /**
+   * @return the token bucket limiting the tag, or null if the tag has neither a quota nor a
+   *         bandwidth from its read options
+   */
+  private TokenBucket getBucket(String tag, long bandwidth, long now) {
+    long rate = mThroughputQuota.getOrDefault(tag, bandwidth);
+    if (rate <= 0) {
+      mBuckets.remove(tag);
+      return null;
+    }
+    TokenBucket bucket = mBuckets.computeIfAbsent(tag, t -> new TokenBucket(rate, now));
+    bucket.setRate(rate, now);
+    return bucket;
+  }
+
+  /**
+   * The tasks of one priority class, queued per tag.
+   */
+  private final class PriorityClass {
+    private final int mMaxInFlight;
+    private final Map<String, TagQueue> mQueues = new HashMap<>();
+    private double mVirtualTime = 0;
+    private int mInFlight = 0;
+
+    private PriorityClass(int maxInFlight) {
+      mMaxInFlight = maxInFlight;
+    }
+
+    private void add(ReadTask task) {
+      TagQueue queue = mQueues.computeIfAbsent(task.mTag, TagQueue::new);
+      // start-time fair queuing: a task starts after the previous task of its tag finishes, but
+      // not before the virtual time, so an idle tag does not accumulate credit
+      task.mVirtualStart = Math.max(mVirtualTime, queue.mLastFinish);
+      queue.mLastFinish = task.mVirtualStart
+          + (double) task.mLength / getWeight(task.mTag);
+      queue.mTasks.add(task);
+    }
+
+    /**
+     * Dispatches the task with the smallest virtual start time among the tags within quota.
+     *
+     * @return 0 if a task was dispatched, otherwise the nanoseconds until a throttled task
+     *         may be dispatched, or Long.MAX_VALUE if there is none
+     */
+    private void drainTo(List<ReadTask> tasks) {
+      for (TagQueue queue : mQueues.values()) {
+        tasks.addAll(queue.mTasks);
+      }
+      mQueues.clear();
+    }
+
+    private long dispatchNext(long now) {
+      if (mInFlight >= mMaxInFlight || mQueues.isEmpty()) {
+        return Long.MAX_VALUE;
+      }
+      long waitNanos = Long.MAX_VALUE;
+      TagQueue next = null;
+      TokenBucket nextBucket = null;
+      for (TagQueue queue : mQueues.values()) {
+        TokenBucket bucket = getBucket(queue.mTag, queue.mTasks.peek().mBandwidth, now);
+        if (bucket != null && !bucket.hasTokens(now)) {
+          waitNanos = Math.min(waitNanos, bucket.nanosUntilTokens());
+          continue;
+        }
+        if (next == null || queue.mTasks.peek().mVirtualStart
+            < next.mTasks.peek().mVirtualStart) {
+          next = queue;
+          nextBucket = bucket;
+        }
+      }
+      if (next == null) {
+        return waitNanos;
+      }
+      ReadTask task = next.mTasks.poll();
+      if (next.mTasks.isEmpty()) {
+        mQueues.remove(next.mTag);
+      }
+      if (nextBucket != null) {
+        nextBucket.consume(task.mLength);
+      }
+      mVirtualTime = task.mVirtualStart;
+      mQueued--;
+      mInFlight++;
+      UfsIOManager.this.mInFlight++;
+      try {
+        mUfsIoExecutor.execute(task);
+      } catch (RejectedExecutionException e) {
+        // only happens after close
+        task.mFuture.completeExceptionally(e);
+        onTaskDone(task);
+      }
+      return 0;
+    }
+  }
+
+  /**
+   * The queued tasks of one tag within a priority class.
+   */
+  private static final class TagQueue {
+    private final String mTag;
+    private final Queue<ReadTask> mTasks = new ArrayDeque<>();
+    private double mLastFinish = 0;
+
+    private TagQueue(String tag) {
+      mTag = tag;
+    }
+  }
+
+  /**
+   * A token bucket of bytes. A task is dispatched while the bucket has tokens and may take more
+   * than there are, so a task larger than the burst is not blocked forever; the debt delays the
+   * following tasks of the tag instead.
+   */
+  private static final class TokenBucket {
+    private long mRate;
+    private double mTokens;
+    private long mLastRefillNanos;
+
+    private TokenBucket(long rate, long now) {
+      mRate = rate;
+      mTokens = burst();
+      mLastRefillNanos = now;
+    }
+
+    private double burst() {
+      return (double) mRate * QUOTA_BURST_NANOS / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private void refill(long now) {
+      mTokens = Math.min(burst(),
+          mTokens + (double) mRate * (now - mLastRefillNanos) / TimeUnit.SECONDS.toNanos(1));
+      mLastRefillNanos = now;
+    }
+
+    private void setRate(long rate, long now) {
+      if (rate != mRate) {
+        refill(now);
+        mRate = rate;
+        mTokens = Math.min(mTokens, burst());
+      }
+    }
+
+    private boolean hasTokens(long now) {
+      refill(now);
+      return mTokens > 0;
+    }
+
+    private boolean isFull(long now) {
+      refill(now);
+      return mTokens >= burst();
+    }
+
+    private long nanosUntilTokens() {
+      return Math.max(1, (long) Math.ceil(-mTokens * TimeUnit.SECONDS.toNanos(1) / mRate));
+    }
+
+    private void consume(long bytes) {
+      mTokens -= bytes;
+    }
   }
 
   /**
@@ -148,83 +430,158 @@ public class UfsIOManager implements Closeable {
           "offset is negative, len is negative, or len is greater than buf remaining. "
               + "offset: %s, len: %s, buf remaining: %s", offset, len, buf.remaining()));
     }
-    if (mReadQueue.size() >= READ_CAPACITY) {
-      throw new ResourceExhaustedRuntimeException("UFS read at capacity", true);
-    }
-    CompletableFuture<Integer> future = new CompletableFuture<>();
     if (len == 0) {
-      future.complete(0);
-      return future;
+      return CompletableFuture.completedFuture(0);
     }
+    return submit(options, len, true, () -> readFromStream(buf, offset, len, fileId, ufsPath,
+        options.getPositionShort()));
+  }
+
+  /**
+   * Wraps a reader of a UFS file, so that its reads are scheduled with the other reads of
+   * this manager. A read blocks until it is dispatched to an IO thread and done there. The
+   * reads of the returned reader are never rejected, as every one of them holds the thread
+   * blocked on it.
+   *
+   * @param ufsReader the reader of the UFS file, opened on the first read
+   * @param options the read options, whose tag, bandwidth and background flag schedule the reads
+   * @return the position reader
+   */
+  public PositionReader positionReader(CloseableSupplier<PositionReader> ufsReader,
+      UfsReadOptions options) {
+    return new PositionReader() {
+      @Override
+      public int readInternal(long position, ReadTargetBuffer buffer, int length)
+          throws IOException {
+        // the read runs on an IO thread, which acts as the user the caller acts as
+        User user = AuthenticatedClientUser.getOrNull();
+        CompletableFuture<Integer> future = submit(options, length, false, () -> {
+          if (user != null) {
+            AuthenticatedClientUser.set(user);
+          }
+          return ufsReader.get().read(position, buffer, length);
+        });
+        try {
+          // the buffer belongs to the caller, so it must not return before the read is done
+          return Uninterruptibles.getUninterruptibly(future);
+        } catch (ExecutionException e) {
+          Throwables.throwIfInstanceOf(e.getCause(), IOException.class);
+          throw AlluxioRuntimeException.from(e.getCause());
+        }
+      }
+
+      @Override
+      public void close() throws IOException {
+        ufsReader.close();
+      }
+    };
+  }
+
+  private CompletableFuture<Integer> submit(UfsReadOptions options, long length,
+      boolean bounded, UfsRead read) {
     Meter meter = mUfsBytesReadThroughputMetrics.computeIfAbsent(mUfsClient.getUfsMountPointUri(),
         uri -> MetricsSystem.meterWithTags(MetricKey.WORKER_BYTES_READ_UFS_THROUGHPUT.getName(),
             MetricKey.WORKER_BYTES_READ_UFS_THROUGHPUT.isClusterAggregated(), MetricInfo.TAG_UFS,
             MetricsSystem.escape(mUfsClient.getUfsMountPointUri()), MetricInfo.TAG_USER,
             options.getTag()));
-
-    mReadQueue.add(new ReadTask(buf, ufsPath, fileId, offset,
-        len, options, future, meter));
+    CompletableFuture<Integer> future = new CompletableFuture<>();
+    ReadTask task = new ReadTask(read, length, options, future, meter,
+        options.getBackground() ? mBackground : mInteractive);
+    mLock.lock();
+    try {
+      if (mClosed) {
+        throw new FailedPreconditionRuntimeException("UFS IO manager closed");
+      }
+      if (bounded && mQueued >= READ_CAPACITY) {
+        throw new ResourceExhaustedRuntimeException("UFS read at capacity", true);
+      }
+      task.mClass.add(task);
+      mQueued++;
+      mStateChanged.signalAll();
+    } finally {
+      mLock.unlock();
+    }
     return future;
   }
 
+  private int readFromStream(ByteBuffer buf, long offset, long len, FileId fileId,
+      String ufsPath, boolean positionShort) {
+    int bytesRead = 0;
+    InputStream inStream = null;
+    try (CloseableResource<UnderFileSystem> ufsResource = mUfsClient.acquireUfsResource()) {
+      inStream = mUfsInstreamCache.acquire(ufsResource.get(), ufsPath, fileId,
+          OpenOptions.defaults().setOffset(offset).setPositionShort(positionShort));
+      while (bytesRead < len) {
+        int read;
+        read = Channels.newChannel(inStream).read(buf);
+        if (read == -1) {
+          break;
+        }
+        bytesRead += read;
+      }
+    } catch (Exception e) {
+      throw AlluxioRuntimeException.from(e);
+    } finally {
+      if (inStream != null) {
+        mUfsInstreamCache.release(inStream);
+      }
+    }
+    return bytesRead;
+  }
+
+  /**
+   * The read a task does on an IO thread.
+   */
+  @FunctionalInterface
+  private interface UfsRead {
+    /**
+     * @return the bytes read, or -1 if none
+     */
+    int read() throws IOException;
+  }
+
   private class ReadTask implements Runnable {
-    private final long mOffset;
+    private final UfsRead mRead;
     private final long mLength;
     private final CompletableFuture<Integer> mFuture;
-    private final String mUfsPath;
     private final UfsReadOptions mOptions;
     private final Meter mMeter;
-    private final FileId mFileId;
-    private final ByteBuffer mBuffuer;
+    private final String mTag;
+    private final long mBandwidth;
+    private final PriorityClass mClass;
+    private double mVirtualStart;
 
-    private ReadTask(ByteBuffer buf, String ufsPath, FileId fileId, long offset, long length,
-        UfsReadOptions options, CompletableFuture<Integer> future, Meter meter) {
+    private ReadTask(UfsRead read, long length, UfsReadOptions options,
+        CompletableFuture<Integer> future, Meter meter, PriorityClass priorityClass) {
+      mRead = read;
       mOptions = options;
-      mUfsPath = ufsPath;
-      mFileId = fileId;
-      mOffset = offset;
+      mTag = options.getTag();
+      mBandwidth = options.hasBandwidth() ? options.getBandwidth() : 0;
+      mClass = priorityClass;
       mLength = length;
       mFuture = future;
       mMeter = meter;
-      mBuffuer = buf;
     }
 
     public void run() {
       try {
-        mFuture.complete(readInternal());
-      } catch (RuntimeException e) {
-        mFuture.completeExceptionally(e);
-      }
-    }
-
-    private int readInternal() {
-      int bytesRead = 0;
-      InputStream inStream = null;
-      try (CloseableResource<UnderFileSystem> ufsResource = mUfsClient.acquireUfsResource()) {
         if (mOptions.hasUser()) {
           // Before interacting with ufs manager, set the user.
-          alluxio.security.authentication.AuthenticatedClientUser.set(mOptions.getUser());
+          AuthenticatedClientUser.set(mOptions.getUser());
+        } else {
+          // the IO threads are shared, so the user of a previous task must not leak
+          AuthenticatedClientUser.remove();
         }
-        inStream = mUfsInstreamCache.acquire(ufsResource.get(), mUfsPath, mFileId,
-            OpenOptions.defaults().setOffset(mOffset)
-                .setPositionShort(mOptions.getPositionShort()));
-        while (bytesRead < mLength) {
-          int read;
-          read = Channels.newChannel(inStream).read(mBuffuer);
-          if (read == -1) {
-            break;
-          }
-          bytesRead += read;
+        int bytesRead = mRead.read();
+        if (bytesRead > 0) {
+          mMeter.mark(bytesRead);
         }
-      } catch (Exception e) {
-        throw AlluxioRuntimeException.from(e);
+        mFuture.complete(bytesRead);
+      } catch (Throwable e) {
+        mFuture.completeExceptionally(e);
       } finally {
-        if (inStream != null) {
-          mUfsInstreamCache.release(inStream);
-        }
+        onTaskDone(this);
       }
-      mMeter.mark(bytesRead);
-      return bytesRead;
     }
   }
 }
@@ -0,0 +1,439 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import alluxio.AlluxioURI;
+import alluxio.Constants;
+import alluxio.client.file.cache.CacheManager;
+import alluxio.client.file.cache.PageId;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.grpc.FileInfo;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.proto.meta.DoraMeta;
+import alluxio.security.authorization.Mode;
+import alluxio.underfs.UnderFileSystem;
+import alluxio.underfs.options.CreateOptions;
+import alluxio.util.CommonUtils;
+import alluxio.util.ThreadFactoryUtils;
+import alluxio.util.ThreadUtils;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Strings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Persists the files written with the ASYNC_THROUGH write type to the UFS in the background.
+ *
+ * A file is pinned in the cache when it is created, so its pages are not evicted while it is
+ * written, and handed over when it is completed, at which point its data is only in the page
+ * cache. The pages of the file are synced to disk, and then a record of the file is written to
+ * the journal directory and synced as well, before the file is reported complete. When the
+ * worker restarts, the files recorded in the journal are persisted from the pages restored by the
+ * page store, once their lengths are checked. Once a file is persisted, it is unpinned and its
+ * record is deleted.
+ *
+ * A failed upload is retried until it succeeds, as the cache holds the only copy of the data.
+ * A file whose pages are missing from the cache cannot be persisted, and is dropped.
+ */
+@ThreadSafe
+public class AsyncPersister implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(AsyncPersister.class);
+  private static final String TEMP_RECORD_SUFFIX = ".tmp";
+  private static final String CORRUPT_RECORD_SUFFIX = ".corrupt";
+  private static final long SHUTDOWN_TIMEOUT_MS = 10 * Constants.SECOND_MS;
+
+  private final AlluxioConfiguration mConf;
+  private final CacheManager mCacheManager;
+  private final DoraMetaManager mMetaManager;
+  private final UnderFileSystem mUfs;
+  private final long mPageSize;
+  private final Path mJournalDir;
+  private final long mRetryIntervalMs;
+  private final ScheduledThreadPoolExecutor mExecutor;
+  /** The buffer each upload thread copies the pages of a file through. */
+  private final ThreadLocal<byte[]> mPageBuffer;
+  /** The files which are not persisted yet, by their full ufs path. */
+  private final ConcurrentHashMap<String, PendingFile> mPendingFiles = new ConcurrentHashMap<>();
+
+  /**
+   * @param conf the configuration
+   * @param cacheManager the cache holding the data of the files
+   * @param metaManager the meta manager of the worker
+   * @param ufs the ufs to persist the files to
+   * @param pageSize the page size of the cache
+   */
+  public AsyncPersister(AlluxioConfiguration conf, CacheManager cacheManager,
+      DoraMetaManager metaManager, UnderFileSystem ufs, long pageSize) {
+    mConf = conf;
+    mCacheManager = cacheManager;
+    mMetaManager = metaManager;
+    mUfs = ufs;
+    mPageSize = pageSize;
+    mPageBuffer = ThreadLocal.withInitial(() -> new byte[(int) mPageSize]);
+    mJournalDir = Paths.get(conf.getString(PropertyKey.DORA_WORKER_ASYNC_PERSIST_JOURNAL_DIR));
+    mRetryIntervalMs = conf.getMs(PropertyKey.DORA_WORKER_ASYNC_PERSIST_RETRY_INTERVAL);
+    mExecutor = new ScheduledThreadPoolExecutor(
+        conf.getInt(PropertyKey.DORA_WORKER_ASYNC_PERSIST_THREADS),
+        ThreadFactoryUtils.build("dora-async-persist-%d", true));
+    // the queued attempts are made again from the journal when the worker restarts
+    mExecutor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    MetricsSystem.registerGaugeIfAbsent(MetricsSystem.getMetricName(
+        MetricKey.WORKER_ASYNC_PERSIST_PENDING_FILES.getName()), mPendingFiles::size);
+    MetricsSystem.registerGaugeIfAbsent(MetricsSystem.getMetricName(
+        MetricKey.WORKER_ASYNC_PERSIST_PENDING_BYTES.getName()),
+        () -> mPendingFiles.values().stream().mapToLong(PendingFile::getLength).sum());
+    MetricsSystem.registerGaugeIfAbsent(MetricsSystem.getMetricName(
+        MetricKey.WORKER_ASYNC_PERSIST_LAG.getName()), this::getLagMs);
+  }
+
+  /**
+   * Persists the files recorded in the journal which were not persisted when the worker
+   * stopped.
+   */
+  public void start() throws IOException {
+    if (!Files.isDirectory(mJournalDir)) {
+      return;
+    }
+    try (DirectoryStream<Path> records = Files.newDirectoryStream(mJournalDir)) {
+      for (Path record : records) {
+        String name = record.getFileName().toString();
+        if (name.endsWith(CORRUPT_RECORD_SUFFIX)) {
+          continue;
+        }
+        if (name.endsWith(TEMP_RECORD_SUFFIX)) {
+          // the file of an incomplete record was not reported complete
+          Files.deleteIfExists(record);
+          continue;
+        }
+        PendingFile file;
+        try {
+          DoraMeta.FileStatus status =
+              DoraMeta.FileStatus.parseFrom(Files.readAllBytes(record));
+          if (!status.getFileInfo().hasUfsPath()) {
+            throw new IOException("The record has no ufs path");
+          }
+          file = new PendingFile(status, record, Files.getLastModifiedTime(record).toMillis());
+        } catch (IOException e) {
+          // the other files are still persisted, the record is kept for inspection
+          LOG.error("Failed to read the record {} of a file to persist, moving it aside",
+              record, e);
+          moveAside(record);
+          continue;
+        }
+        mCacheManager.pinFile(file.mFileId);
+        mMetaManager.putWritten(file.mPath, file.mStatus);
+        mPendingFiles.put(file.mPath, file);
+        schedule(file, 0);
+      }
+    }
+    LOG.info("Recovered {} files to persist from {}", mPendingFiles.size(), mJournalDir);
+  }
+
+  /**
+   * Pins a file which is going to be written and persisted, so its pages are not evicted
+   * before it is persisted.
+   *
+   * @param path the full ufs path
+   * @throws IOException if the cache does not support pinning files
+   */
+  public void pin(String path) throws IOException {
+    if (!mCacheManager.pinFile(new AlluxioURI(path).hash())) {
+      throw new IOException("The cache does not support pinning files to persist " + path);
+    }
+  }
+
+  /**
+   * Unpins a file pinned by {@link #pin(String)} whose write is aborted, unless a previous
+   * write of the file is still to be persisted.
+   *
+   * @param path the full ufs path
+   */
+  public void unpin(String path) {
+    if (!isPending(path)) {
+      mCacheManager.unpinFile(new AlluxioURI(path).hash());
+    }
+  }
+
+  /**
+   * Starts to persist a completed file pinned by {@link #pin(String)}. Returns once the data of
+   * the file is synced and the file is recorded in the journal, so that it is persisted even if
+   * the worker restarts. The file is unpinned if it cannot be recorded.
+   *
+   * @param status the status of the file, with the length of the data written
+   * @throws IOException if the data of the file is no longer in the cache, or the file cannot
+   *         be recorded
+   */
+  public void persist(DoraMeta.FileStatus status) throws IOException {
+    String path = status.getFileInfo().getUfsPath();
+    PendingFile file = new PendingFile(status,
+        mJournalDir.resolve(new AlluxioURI(path).hash()), CommonUtils.getCurrentMs());
+    try {
+      // the record must not point to pages which are lost in a crash
+      if (!mCacheManager.syncFile(file.mFileId, file.getLength())) {
+        throw new IOException(String.format(
+            "Failed to complete %s: part of its data is no longer in the cache", path));
+      }
+      writeRecord(file);
+    } catch (IOException e) {
+      mCacheManager.unpinFile(file.mFileId);
+      throw e;
+    }
+    mMetaManager.putWritten(path, status);
+    PendingFile previous = mPendingFiles.put(path, file);
+    if (previous != null) {
+      // the previous write shares the pin and the record with this one
+      previous.cancel();
+    }
+    schedule(file, 0);
+  }
+
+  /**
+   * @param path the full ufs path
+   * @return whether the file is not persisted yet
+   */
+  public boolean isPending(String path) {
+    return mPendingFiles.containsKey(path);
+  }
+
+  /**
+   * Stops persisting a file, which is deleted or written again. Waits for an upload of the file
+   * in progress to finish, so the file may exist in the UFS afterwards.
+   *
+   * @param path the full ufs path
+   * @return whether the file was not persisted yet
+   */
+  public boolean cancel(String path) {
+    PendingFile file = mPendingFiles.remove(path);
+    if (file == null) {
+      return false;
+    }
+    file.cancel();
+    file.release();
+    return true;
+  }
+
+  private void schedule(PendingFile file, long delayMs) {
+    try {
+      file.mAttempt = mExecutor.schedule(() -> run(file), delayMs, TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      // closing, the file is persisted when the worker restarts
+      LOG.debug("Not persisting {} as the persister is closed", file.mPath);
+    }
+  }
+
+  private void run(PendingFile file) {
+    synchronized (file) {
+      if (file.mCancelled) {
+        return;
+      }
+      if (mCacheManager.state() != CacheManager.State.READ_WRITE) {
+        // the pages are still being restored
+        schedule(file, mRetryIntervalMs);
+        return;
+      }
+      try {
+        if (!upload(file)) {
+          LOG.error("Failed to persist {}: part of its data is no longer in the cache",
+              file.mPath);
+          MetricsSystem.counter(MetricKey.WORKER_ASYNC_PERSIST_FILES_LOST.getName()).inc();
+          if (mPendingFiles.remove(file.mPath, file)) {
+            mMetaManager.removeFromMetaStore(file.mPath);
+            file.release();
+          }
+          return;
+        }
+        MetricsSystem.counter(MetricKey.WORKER_ASYNC_PERSIST_FILES_COMPLETED.getName()).inc();
+        MetricsSystem.counter(MetricKey.WORKER_ASYNC_PERSIST_BYTES_COMPLETED.getName())
+            .inc(file.getLength());
+        // the data cache of the file holds the data just persisted, so it is kept
+        Optional<DoraMeta.FileStatus> status = mMetaManager.getFromUfs(file.mPath);
+        if (status.isPresent() && mPendingFiles.get(file.mPath) == file) {
+          mMetaManager.putWritten(file.mPath, status.get());
+        }
+        if (mPendingFiles.remove(file.mPath, file)) {
+          file.release();
+        }
+      } catch (IOException | RuntimeException e) {
+        LOG.warn("Failed to persist {}, retrying in {}ms", file.mPath, mRetryIntervalMs, e);
+        MetricsSystem.counter(MetricKey.WORKER_ASYNC_PERSIST_ATTEMPTS_FAILED.getName()).inc();
+        schedule(file, mRetryIntervalMs);
+      }
+    }
+  }
+
+  /**
+   * Uploads a file from its pages in the cache.
+   *
+   * @return false if part of the data of the file is not in the cache
+   */
+  private boolean upload(PendingFile file) throws IOException {
+    // checks the lengths of the pages as well, which may be torn if the host crashed
+    if (!mCacheManager.syncFile(file.mFileId, file.getLength())) {
+      return false;
+    }
+    long length = file.getLength();
+    byte[] page = mPageBuffer.get();
+    boolean complete = true;
+    try (OutputStream out = mUfs.create(file.mPath, file.getCreateOptions(mConf))) {
+      for (long pageIndex = 0; pageIndex * mPageSize < length; pageIndex++) {
+        int pageLength = (int) Math.min(mPageSize, length - pageIndex * mPageSize);
+        if (mCacheManager.get(new PageId(file.mFileId, pageIndex), pageLength, page, 0)
+            != pageLength) {
+          complete = false;
+          break;
+        }
+        out.write(page, 0, pageLength);
+      }
+    }
+    if (!complete) {
+      // do not leave a truncated file behind
+      mUfs.deleteExistingFile(file.mPath);
+    }
+    return complete;
+  }
+
+  private void moveAside(Path record) {
+    try {
+      Files.move(record, record.resolveSibling(record.getFileName() + CORRUPT_RECORD_SUFFIX),
+          StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      LOG.error("Failed to move aside the record {}", record, e);
+    }
+  }
+
+  /**
+   * Writes the record of a file to a temporary file, and moves it in place once it is synced,
+   * so a record is either complete or absent.
+   */
+  private void writeRecord(PendingFile file) throws IOException {
+    Files.createDirectories(mJournalDir);
+    Path tempRecord = file.mRecord.resolveSibling(
+        file.mRecord.getFileName() + TEMP_RECORD_SUFFIX);
+    try (FileChannel channel = FileChannel.open(tempRecord, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      ByteBuffer buf = ByteBuffer.wrap(file.mStatus.toByteArray());
+      while (buf.hasRemaining()) {
+        channel.write(buf);
+      }
+      channel.force(true);
+    }
+    Files.move(tempRecord, file.mRecord, StandardCopyOption.ATOMIC_MOVE,
+        StandardCopyOption.REPLACE_EXISTING);
+    // sync the directory as well, so the record is not lost with its directory entry
+    try (FileChannel dir = FileChannel.open(mJournalDir, StandardOpenOption.READ)) {
+      dir.force(true);
+    } catch (IOException e) {
+      LOG.debug("Failed to sync {}", mJournalDir, e);
+    }
+  }
+
+  @VisibleForTesting
+  long getLagMs() {
+    return mPendingFiles.values().stream()
+        .mapToLong(file -> CommonUtils.getCurrentMs() - file.mCompletedMs)
+        .max().orElse(0);
+  }
+
+  @Override
+  public void close() {
+    ThreadUtils.shutdownAndAwaitTermination(mExecutor, SHUTDOWN_TIMEOUT_MS);
+  }
+
+  /**
+   * A completed file which is not persisted yet.
+   */
+  private final class PendingFile {
+    private final String mPath;
+    private final String mFileId;
+    private final DoraMeta.FileStatus mStatus;
+    private final Path mRecord;
+    private final long mCompletedMs;
+    @GuardedBy("this")
+    private boolean mCancelled;
+    @Nullable
+    private volatile Future<?> mAttempt;
+
+    private PendingFile(DoraMeta.FileStatus status, Path record, long completedMs) {
+      mPath = status.getFileInfo().getUfsPath();
+      mFileId = new AlluxioURI(mPath).hash();
+      mStatus = status;
+      mRecord = record;
+      mCompletedMs = completedMs;
+    }
+
+    private long getLength() {
+      return mStatus.getFileInfo().getLength();
+    }
+
+    private CreateOptions getCreateOptions(AlluxioConfiguration conf) {
+      FileInfo info = mStatus.getFileInfo();
+      CreateOptions options = CreateOptions.defaults(conf).setCreateParent(true)
+          .setMode(new Mode((short) info.getMode()));
+      if (!Strings.isNullOrEmpty(info.getOwner())) {
+        options.setOwner(info.getOwner());
+      }
+      if (!Strings.isNullOrEmpty(info.getGroup())) {
+        options.setGroup(info.getGroup());
+      }
+      return options;
+    }
+
+    /**
+     * Stops persisting the file. Returns after an attempt in progress finishes.
+     */
+    private void cancel() {
+      Future<?> attempt = mAttempt;
+      if (attempt != null) {
+        attempt.cancel(false);
+      }
+      synchronized (this) {
+        mCancelled = true;
+      }
+    }
+
+    /**
+     * Unpins the file and deletes its record.
+     */
+    private void release() {
+      mCacheManager.unpinFile(mFileId);
+      try {
+        Files.deleteIfExists(mRecord);
+      } catch (IOException e) {
+        LOG.error("Failed to delete the record of {} at {}", mPath, mRecord, e);
+      }
+    }
+  }
+}
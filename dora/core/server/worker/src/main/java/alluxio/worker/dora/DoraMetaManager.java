@@ -24,17 +24,27 @@ import alluxio.underfs.UfsStatus;
 import alluxio.underfs.UnderFileSystem;
 import alluxio.underfs.options.GetStatusOptions;
 import alluxio.underfs.options.ListOptions;
+import alluxio.util.io.PathUtils;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
 
 import java.io.Closeable;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 /**
  * The Dora metadata manager that orchestrates the metadata operations.
@@ -43,6 +53,9 @@ import java.util.Optional;
  *  also lacks concurrency control. Address this problem in the future.
  */
 public class DoraMetaManager implements Closeable {
+  /** The maximum number of listed files whose metadata is written to the meta store at once. */
+  private static final int LISTING_PUT_BATCH_SIZE = 1000;
+
   private final DoraMetaStore mMetaStore;
   private final CacheManager mCacheManager;
   private final PagedDoraWorker mDoraWorker;
@@ -98,11 +111,16 @@ public class DoraMetaManager implements Closeable {
   /**
    * Gets file meta from UFS and loads it into metastore if exists.
    * If the file does not exist in the UFS, clean up metadata and data.
+   * The meta of a file which is not persisted yet is kept.
    *
    * @param path the full ufs path
    * @return the file status, or empty optional if not found
    */
   public Optional<FileStatus> loadFromUfs(String path) throws IOException {
+    if (mDoraWorker.isPersistPending(path)) {
+      // the file is not in the UFS until it is persisted, and its data is only in the cache
+      return getFromMetaStore(path);
+    }
     Optional<FileStatus> fileStatus = getFromUfs(path);
     if (!fileStatus.isPresent()) {
       removeFromMetaStore(path);
@@ -122,32 +140,78 @@ public class DoraMetaManager implements Closeable {
     return mMetaStore.getDoraMeta(path);
   }
 
+  /**
+   * Gets the file meta of many files from the meta store in one batch.
+   * @param paths the full ufs paths
+   * @return the file status of each path in the order of the paths, or empty optional if
+   *         not found
+   */
+  public List<Optional<FileStatus>> getFromMetaStore(List<String> paths) {
+    return mMetaStore.getDoraMetas(paths);
+  }
+
   /**
    * Puts meta of a file into the metastore, and invalidates the file data cache.
+   * The meta and data of a file which is not persisted yet are kept.
    * @param path the full ufs path
    * @param status the file meta
    */
   public void put(String path, FileStatus status) {
-    Optional<FileStatus> existingStatus = mMetaStore.getDoraMeta(path);
-    if (!existingStatus.isPresent()
-        || existingStatus.get().getFileInfo().getFolder()
-        || existingStatus.get().getFileInfo().getLength() == 0) {
-      mMetaStore.putDoraMeta(path, status);
+    if (mDoraWorker.isPersistPending(path)) {
+      // the cache holds the only copy of the data, which the ufs meta does not describe
       return;
     }
-    if (shouldInvalidatePageCache(existingStatus.get().getFileInfo(), status.getFileInfo())) {
+    Optional<FileStatus> existingStatus = mMetaStore.getDoraMeta(path);
+    if (shouldInvalidatePageCache(existingStatus, status)) {
       invalidateCachedFile(path);
     }
     mMetaStore.putDoraMeta(path, status);
   }
 
   /**
-   * Removes meta of a file from the meta store.
+   * Puts meta of a file written through this worker into the metastore. Unlike
+   * {@link #put(String, FileStatus)}, the data cache of the file is kept, as it holds the data
+   * just written.
+   * @param path the full ufs path
+   * @param status the file meta
+   */
+  public void putWritten(String path, FileStatus status) {
+    mMetaStore.putDoraMeta(path, status);
+  }
+
+  /**
+   * Puts meta of many files into the metastore in one batch, and invalidates the data cache
+   * of the files whose content changed. The meta and data of files which are not persisted
+   * yet are kept.
+   * @param statuses the file meta keyed by the full ufs path
+   */
+  public void put(Map<String, FileStatus> statuses) {
+    Map<String, FileStatus> toPut = statuses;
+    if (statuses.keySet().stream().anyMatch(mDoraWorker::isPersistPending)) {
+      toPut = new LinkedHashMap<>(statuses);
+      toPut.keySet().removeIf(mDoraWorker::isPersistPending);
+    }
+    List<String> paths = new ArrayList<>(toPut.keySet());
+    List<Optional<FileStatus>> existingStatuses = mMetaStore.getDoraMetas(paths);
+    for (int i = 0; i < paths.size(); i++) {
+      if (shouldInvalidatePageCache(existingStatuses.get(i), toPut.get(paths.get(i)))) {
+        invalidateCachedFile(paths.get(i));
+      }
+    }
+    mMetaStore.putDoraMetas(toPut);
+  }
+
+  /**
+   * Removes meta of a file from the meta store. A file which is not persisted yet is kept
+   * until its persist is cancelled.
    * @param path the full ufs path
    * @return the removed file meta, if exists
    */
   public Optional<FileStatus> removeFromMetaStore(String path) {
     invalidateListingCache(getPathParent(path));
+    if (mDoraWorker.isPersistPending(path)) {
+      return Optional.empty();
+    }
     Optional<FileStatus> status = mMetaStore.getDoraMeta(path);
     if (status.isPresent()) {
       mMetaStore.removeDoraMeta(path);
@@ -156,6 +220,41 @@ public class DoraMetaManager implements Closeable {
     return status;
   }
 
+  /**
+   * Removes meta of many files from the meta store in one batch. Files which are not persisted
+   * yet are kept.
+   * @param paths the full ufs paths
+   */
+  public void removeFromMetaStore(Collection<String> paths) {
+    Collection<String> toRemove = paths;
+    if (paths.stream().anyMatch(mDoraWorker::isPersistPending)) {
+      toRemove = paths.stream()
+          .filter(path -> !mDoraWorker.isPersistPending(path))
+          .collect(Collectors.toList());
+    }
+    for (String path : toRemove) {
+      invalidateListingCache(getPathParent(path));
+      invalidateCachedFile(path);
+    }
+    mMetaStore.removeDoraMetas(toRemove);
+  }
+
+  /**
+   * Removes meta of the descendants of a directory from the meta store in one batch, and
+   * invalidates their cached listings. Files which are not persisted yet are kept.
+   * @param path the full ufs path of the directory
+   */
+  public void removeChildrenFromMetaStore(String path) {
+    List<String> removed =
+        mMetaStore.removeDoraMetasUnder(path, child -> !mDoraWorker.isPersistPending(child));
+    removed.forEach(this::invalidateCachedFile);
+    if (mListStatusCache != null) {
+      String prefix = PathUtils.normalizePath(path, AlluxioURI.SEPARATOR);
+      mListStatusCache.invalidate(path);
+      mListStatusCache.asMap().keySet().removeIf(dir -> dir.startsWith(prefix));
+    }
+  }
+
   /**
    * Invalidates the listing cache of a given path.
    * @param path the full ufs path
@@ -208,14 +307,26 @@ public class DoraMetaManager implements Closeable {
    */
   public Optional<UfsStatus[]> listFromUfsThenCache(String path, boolean isRecursive)
       throws IOException {
-    // Recursive listing results are not cached.
-    if (mListStatusCache == null || isRecursive) {
-      return listFromUfs(path, isRecursive);
+    long listingTs = System.nanoTime();
+    // Recursive listing results are not cached, nor written through to the meta store, as they
+    // can hold too many files to write while the caller waits.
+    if (isRecursive) {
+      return listFromUfs(path, true);
+    }
+    if (mListStatusCache == null) {
+      Optional<UfsStatus[]> listResults = listFromUfs(path, false);
+      listResults.ifPresent(ufsStatuses -> putListing(path, ufsStatuses, listingTs));
+      return listResults;
     }
+    // the listing loaded by this call, which is written through to the meta store after the
+    // listing cache is updated, so the writes do not block the cache
+    AtomicReference<UfsStatus[]> loaded = new AtomicReference<>();
+    ListStatusResult cached;
     try {
-      ListStatusResult cached = mListStatusCache.get(path, (k) -> {
+      cached = mListStatusCache.get(path, (k) -> {
         try {
           Optional<UfsStatus[]> listResults = listFromUfs(path, false);
+          listResults.ifPresent(loaded::set);
           return listResults.map(
                   ufsStatuses -> new ListStatusResult(
                       System.nanoTime(), ufsStatuses,
@@ -228,11 +339,6 @@ public class DoraMetaManager implements Closeable {
           throw new RuntimeException(e);
         }
       });
-      if (cached == null) {
-        return Optional.empty();
-      } else {
-        return Optional.ofNullable(cached.mUfsStatuses);
-      }
     } catch (RuntimeException e) {
       Throwable cause = e.getCause();
       if (cause instanceof IOException) {
@@ -240,6 +346,40 @@ public class DoraMetaManager implements Closeable {
       }
       throw new RuntimeException(e);
     }
+    if (loaded.get() != null) {
+      putListing(path, loaded.get(), listingTs);
+    }
+    if (cached == null) {
+      return Optional.empty();
+    } else {
+      return Optional.ofNullable(cached.mUfsStatuses);
+    }
+  }
+
+  /**
+   * Writes the metadata of every file of a listing through to the meta store, so that getting
+   * the status of the listed files does not go to the UFS again.
+   *
+   * @param path the ufs path listed
+   * @param ufsStatuses the listing
+   * @param listingTs the start of the listing, which the metadata is timestamped with
+   */
+  private void putListing(String path, UfsStatus[] ufsStatuses, long listingTs) {
+    // The listing does not carry the real content hash of the files, which getStatus would
+    // load instead. Their metadata would be different and invalidate the page cache.
+    if (mGetRealContentHash) {
+      return;
+    }
+    for (List<UfsStatus> batch
+        : Lists.partition(Arrays.asList(ufsStatuses), LISTING_PUT_BATCH_SIZE)) {
+      Map<String, FileStatus> statuses = new LinkedHashMap<>();
+      for (UfsStatus status : batch) {
+        String fullPath = PathUtils.concatPath(path, status.getName());
+        statuses.put(fullPath,
+            mDoraWorker.buildFileStatusFromUfsStatus(status, fullPath, listingTs));
+      }
+      put(statuses);
+    }
   }
 
   /**
@@ -264,7 +404,6 @@ public class DoraMetaManager implements Closeable {
         throw e;
       }
     }
-    // TODO(yimin) put the ufs status into the metastore
     // If list does not give a result,
     // the request path might either be a regular file/object or not exist.
     // Try getStatus() instead.
@@ -281,6 +420,15 @@ public class DoraMetaManager implements Closeable {
     }
   }
 
+  private boolean shouldInvalidatePageCache(Optional<FileStatus> existingStatus,
+      FileStatus status) {
+    // there is no page cache of a new file, a directory or an empty file
+    return existingStatus.isPresent()
+        && !existingStatus.get().getFileInfo().getFolder()
+        && existingStatus.get().getFileInfo().getLength() != 0
+        && shouldInvalidatePageCache(existingStatus.get().getFileInfo(), status.getFileInfo());
+  }
+
   /**
    * Decides if the page cache should be invalidated if the file metadata is updated.
    * Similar to {@link alluxio.underfs.Fingerprint#matchContent(Fingerprint)},
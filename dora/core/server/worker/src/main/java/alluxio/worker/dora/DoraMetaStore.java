@@ -13,7 +13,12 @@ package alluxio.worker.dora;
 
 import alluxio.proto.meta.DoraMeta.FileStatus;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * The Dora metadata Store.
@@ -27,6 +32,16 @@ public interface DoraMetaStore {
    */
   Optional<FileStatus> getDoraMeta(String path);
 
+  /**
+   * queries dora metadata of many files from the dora meta store.
+   *
+   * @param paths the full paths of the files
+   * @return the meta of each file in the order of the paths, empty if not found
+   */
+  default List<Optional<FileStatus>> getDoraMetas(List<String> paths) {
+    return paths.stream().map(this::getDoraMeta).collect(Collectors.toList());
+  }
+
   /**
    * Adds dora metadata to the dora meta store. If the dora meta already exists,
    * its metadata will be updated to the given metadata.
@@ -36,6 +51,16 @@ public interface DoraMetaStore {
    */
   void putDoraMeta(String path, FileStatus meta);
 
+  /**
+   * Adds dora metadata of many files to the dora meta store in one batch. Existing metadata
+   * of the files is updated to the given metadata.
+   *
+   * @param metas the metadata of each file keyed by its full path
+   */
+  default void putDoraMetas(Map<String, FileStatus> metas) {
+    metas.forEach(this::putDoraMeta);
+  }
+
   /**
    * Removes a dora meta, or does nothing if the dora meta does not exist.
    *
@@ -43,6 +68,25 @@ public interface DoraMetaStore {
    */
   void removeDoraMeta(String path);
 
+  /**
+   * Removes dora metadata of many files in one batch. Files without metadata are skipped.
+   *
+   * @param paths the full paths of the files
+   */
+  default void removeDoraMetas(Collection<String> paths) {
+    paths.forEach(this::removeDoraMeta);
+  }
+
+  /**
+   * Removes dora metadata of all the files under a directory. The metadata of the directory
+   * itself is kept.
+   *
+   * @param dir the full path of the directory
+   * @param filter the paths whose metadata is removed, the others are kept
+   * @return the full paths of the files whose metadata is removed
+   */
+  List<String> removeDoraMetasUnder(String dir, Predicate<String> filter);
+
   /**
    * Removes all metadata from the dora meta store.
    */
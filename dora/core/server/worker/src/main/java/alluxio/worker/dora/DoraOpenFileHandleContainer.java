@@ -18,6 +18,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Consumer;
 import javax.annotation.Nullable;
 
 /**
@@ -29,10 +30,20 @@ public class DoraOpenFileHandleContainer extends Thread {
   private static final Logger LOG = LoggerFactory.getLogger(DoraOpenFileHandleContainer.class);
 
   private final Map<String, OpenFileHandle> mOpenFileHandles;
+  /** Called on every stale handle after it is closed. */
+  private final Consumer<OpenFileHandle> mStaleHandleListener;
   private boolean mStop;
 
   DoraOpenFileHandleContainer() {
+    this(handle -> {});
+  }
+
+  /**
+   * @param staleHandleListener called on every stale handle after it is closed
+   */
+  DoraOpenFileHandleContainer(Consumer<OpenFileHandle> staleHandleListener) {
     mOpenFileHandles = new HashMap<>();
+    mStaleHandleListener = staleHandleListener;
     mStop = false;
   }
 
@@ -48,6 +59,7 @@ public class DoraOpenFileHandleContainer extends Thread {
           if (System.currentTimeMillis() - handle.getLastAccessTimeMs() >= Constants.HOUR) {
             mOpenFileHandles.remove(key);
             handle.close();
+            mStaleHandleListener.accept(handle);
           }
         }
       } catch (InterruptedException e) {
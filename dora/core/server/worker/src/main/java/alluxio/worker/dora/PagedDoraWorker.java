@@ -14,14 +14,21 @@ package alluxio.worker.dora;
 import static alluxio.client.file.cache.CacheUsage.PartitionDescriptor.file;
 
 import alluxio.AlluxioURI;
+import alluxio.CloseableSupplier;
 import alluxio.Constants;
 import alluxio.DefaultStorageTierAssoc;
+import alluxio.PositionReader;
 import alluxio.Server;
 import alluxio.StorageTierAssoc;
+import alluxio.client.file.CacheContext;
 import alluxio.client.file.FileSystem;
 import alluxio.client.file.FileSystemContext;
 import alluxio.client.file.cache.CacheManager;
 import alluxio.client.file.cache.CacheUsage;
+import alluxio.client.file.cache.store.PageStoreType;
+import alluxio.client.file.dora.ConsistentHashPolicy;
+import alluxio.client.file.dora.DoraCacheClient;
+import alluxio.client.file.dora.netty.NettyDataReader;
 import alluxio.client.file.options.UfsFileSystemOptions;
 import alluxio.client.file.ufs.UfsBaseFileSystem;
 import alluxio.conf.AlluxioConfiguration;
@@ -30,6 +37,7 @@ import alluxio.conf.PropertyKey;
 import alluxio.exception.AccessControlException;
 import alluxio.exception.FileAlreadyExistsException;
 import alluxio.exception.runtime.AlluxioRuntimeException;
+import alluxio.exception.runtime.FailedPreconditionRuntimeException;
 import alluxio.exception.status.NotFoundException;
 import alluxio.grpc.Command;
 import alluxio.grpc.CommandType;
@@ -51,10 +59,13 @@ import alluxio.grpc.ServiceType;
 import alluxio.grpc.SetAttributePOptions;
 import alluxio.grpc.UfsReadOptions;
 import alluxio.grpc.WriteOptions;
+import alluxio.grpc.WritePType;
 import alluxio.heartbeat.FixedIntervalSupplier;
 import alluxio.heartbeat.HeartbeatContext;
 import alluxio.heartbeat.HeartbeatExecutor;
 import alluxio.heartbeat.HeartbeatThread;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
 import alluxio.network.protocol.databuffer.PooledDirectNioByteBuf;
 import alluxio.proto.dataserver.Protocol;
 import alluxio.proto.meta.DoraMeta;
@@ -65,6 +76,7 @@ import alluxio.security.authentication.AuthenticatedClientUser;
 import alluxio.security.authorization.Mode;
 import alluxio.security.user.ServerUserState;
 import alluxio.underfs.UfsFileStatus;
+import alluxio.underfs.UfsIOManager;
 import alluxio.underfs.UfsInputStreamCache;
 import alluxio.underfs.UfsManager;
 import alluxio.underfs.UfsStatus;
@@ -89,11 +101,13 @@ import alluxio.worker.task.DeleteHandler;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.Closer;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
 import com.google.inject.Inject;
 import io.netty.buffer.ByteBuf;
 import org.slf4j.Logger;
@@ -104,13 +118,21 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
 import javax.inject.Named;
 
 /**
@@ -128,6 +150,9 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
   private final DoraUfsManager mUfsManager;
   private final DoraMetaManager mMetaManager;
   private final UfsInputStreamCache mUfsStreamCache;
+  /** Schedules the UFS reads of the mount points, created on the first read of each. */
+  @GuardedBy("mUfsIOManagers")
+  private final Map<Long, UfsIOManager> mUfsIOManagers = new HashMap<>();
   private final long mPageSize;
   private final AlluxioConfiguration mConf;
   private final BlockMasterClientPool mBlockMasterClientPool;
@@ -143,6 +168,17 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
   private final DoraOpenFileHandleContainer mOpenFileHandleContainer;
 
   private final boolean mClientWriteToUFSEnabled;
+  /** Whether files written with ASYNC_THROUGH are persisted after they are completed. */
+  private final boolean mAsyncPersistEnabled;
+  private final AsyncPersister mAsyncPersister;
+
+  private final boolean mLoadRangeSplitEnabled;
+  private final long mLoadRangeSize;
+  private final int mLoadRangeParallelism;
+  private final int mGetStatusBatchParallelism;
+  /** The tracker of the previous workers to fill the cache from, null if disabled. */
+  @Nullable
+  private final PreviousOwnerTracker mPreviousOwnerTracker;
 
   /**
    * Constructor.
@@ -182,13 +218,34 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
     mCacheManager = cacheManager;
     mMetaManager = mResourceCloser.register(
         new DoraMetaManager(this, mCacheManager, mUfs));
-    mOpenFileHandleContainer = new DoraOpenFileHandleContainer();
+    mOpenFileHandleContainer = new DoraOpenFileHandleContainer(this::abortWrite);
 
     mMkdirsRecursive = MkdirsOptions.defaults(mConf).setCreateParent(true);
     mMkdirsNonRecursive = MkdirsOptions.defaults(mConf).setCreateParent(false);
 
     mClientWriteToUFSEnabled = Configuration.global()
         .getBoolean(PropertyKey.CLIENT_WRITE_TO_UFS_ENABLED);
+    // the data of a file is only in the cache until it is persisted, so it must survive restarts
+    boolean asyncPersistSupported = !mClientWriteToUFSEnabled
+        && mConf.getEnum(PropertyKey.WORKER_PAGE_STORE_TYPE, PageStoreType.class)
+        != PageStoreType.MEM;
+    mAsyncPersistEnabled = mConf.getBoolean(PropertyKey.DORA_WORKER_ASYNC_PERSIST_ENABLED)
+        && asyncPersistSupported;
+    if (mConf.getBoolean(PropertyKey.DORA_WORKER_ASYNC_PERSIST_ENABLED)
+        && !asyncPersistSupported) {
+      LOG.warn("{} is ignored, as it needs {} to be false and a page store other than MEM",
+          PropertyKey.DORA_WORKER_ASYNC_PERSIST_ENABLED, PropertyKey.CLIENT_WRITE_TO_UFS_ENABLED);
+    }
+    mAsyncPersister = new AsyncPersister(mConf, mCacheManager, mMetaManager, mUfs, mPageSize);
+    mLoadRangeSplitEnabled = mConf.getBoolean(PropertyKey.DORA_WORKER_LOAD_RANGE_SPLIT_ENABLED);
+    mLoadRangeSize = mConf.getBytes(PropertyKey.DORA_WORKER_LOAD_RANGE_SIZE);
+    mLoadRangeParallelism = mConf.getInt(PropertyKey.DORA_WORKER_LOAD_RANGE_PARALLELISM);
+    mGetStatusBatchParallelism =
+        mConf.getInt(PropertyKey.DORA_WORKER_GET_STATUS_BATCH_PARALLELISM);
+    mPreviousOwnerTracker = mConf.getBoolean(PropertyKey.DORA_WORKER_PEER_CACHE_FILL_ENABLED)
+        && ConsistentHashPolicy.class.isAssignableFrom(
+            mConf.getClass(PropertyKey.USER_WORKER_SELECTION_POLICY))
+        ? new PreviousOwnerTracker(mFsContext, mConf) : null;
   }
 
   @Override
@@ -212,6 +269,7 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
     mAddress = address;
     register();
     mOpenFileHandleContainer.start();
+    mAsyncPersister.start();
 
     // setup worker-master heartbeat
     // the heartbeat is only used to notify the aliveness of this worker, so that clients
@@ -261,7 +319,8 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
   @Override
   public void close() throws IOException {
     try (AutoCloseable ignoredCloser = mResourceCloser;
-         AutoCloseable ignoredCacheManager = mCacheManager
+         AutoCloseable ignoredCacheManager = mCacheManager;
+         AutoCloseable ignoredAsyncPersister = mAsyncPersister
     ) {
       // do nothing as we are closing
     } catch (Exception e) {
@@ -314,17 +373,100 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
         .setInMemoryPercentage(cachedPercentage);
   }
 
+  @Override
+  public List<Optional<FileInfo>> getFileInfos(List<String> paths, GetStatusPOptions options)
+      throws IOException, AccessControlException {
+    long syncIntervalMs = options.hasCommonOptions()
+        ? (options.getCommonOptions().hasSyncIntervalMs()
+        ? options.getCommonOptions().getSyncIntervalMs() : -1) :
+        -1;
+    // look up all paths in the meta store at once, and only go to the UFS for the misses
+    List<Optional<DoraMeta.FileStatus>> statuses =
+        new ArrayList<>(mMetaManager.getFromMetaStore(paths));
+    List<Integer> misses = new ArrayList<>();
+    for (int i = 0; i < paths.size(); i++) {
+      if (shouldLoadFromUfs(statuses.get(i), syncIntervalMs)) {
+        misses.add(i);
+      }
+    }
+    loadFromUfs(paths, misses, statuses);
+    List<Optional<FileInfo>> fileInfos = new ArrayList<>(paths.size());
+    for (int i = 0; i < paths.size(); i++) {
+      String ufsFullPath = paths.get(i);
+      fileInfos.add(statuses.get(i).map(fs -> {
+        int cachedPercentage = getCachedPercentage(fs.getFileInfo(), ufsFullPath);
+        return GrpcUtils.fromProto(fs.getFileInfo())
+            .setInAlluxioPercentage(cachedPercentage)
+            .setInMemoryPercentage(cachedPercentage);
+      }));
+    }
+    return fileInfos;
+  }
+
+  /**
+   * Loads the statuses of some paths from the UFS, at most
+   * {@link PropertyKey#DORA_WORKER_GET_STATUS_BATCH_PARALLELISM} at a time. The calling thread
+   * loads statuses as well, so that all of them are loaded even if the reader threads are busy.
+   *
+   * @param paths the paths
+   * @param misses the indexes of the paths to load
+   * @param statuses the statuses of the paths, updated with the statuses loaded
+   */
+  private void loadFromUfs(List<String> paths, List<Integer> misses,
+      List<Optional<DoraMeta.FileStatus>> statuses) throws IOException {
+    AtomicInteger nextMiss = new AtomicInteger(0);
+    Callable<Void> loader = () -> {
+      int miss;
+      // each loader keeps pulling the next path until all paths are claimed
+      while ((miss = nextMiss.getAndIncrement()) < misses.size()) {
+        int index = misses.get(miss);
+        try {
+          statuses.set(index, mMetaManager.loadFromUfs(paths.get(index)));
+        } catch (Throwable t) {
+          // the batch fails as a whole, so the other loaders stop too
+          nextMiss.set(misses.size());
+          throw t;
+        }
+      }
+      return null;
+    };
+    int parallelism = Math.min(mGetStatusBatchParallelism, misses.size());
+    List<Future<Void>> loaders = new ArrayList<>(parallelism);
+    for (int i = 1; i < parallelism; i++) {
+      try {
+        loaders.add(GrpcExecutors.BLOCK_READER_EXECUTOR.submit(loader));
+      } catch (RejectedExecutionException e) {
+        // the loaders submitted and the calling thread still load all paths
+        LOG.debug("BlockDataReaderExecutor overloaded.");
+        break;
+      }
+    }
+    Throwable failure = null;
+    try {
+      loader.call();
+    } catch (Throwable t) {
+      failure = t;
+    }
+    for (Future<Void> future : loaders) {
+      try {
+        Uninterruptibles.getUninterruptibly(future);
+      } catch (ExecutionException e) {
+        if (failure == null) {
+          failure = e.getCause();
+        }
+      }
+    }
+    if (failure != null) {
+      Throwables.throwIfInstanceOf(failure, IOException.class);
+      Throwables.throwIfUnchecked(failure);
+      throw new IOException(failure);
+    }
+  }
+
   protected alluxio.grpc.FileInfo getGrpcFileInfo(String ufsFullPath, long syncIntervalMs)
       throws IOException {
     Optional<DoraMeta.FileStatus> status = mMetaManager.getFromMetaStore(ufsFullPath);
-    boolean shouldLoad = !status.isPresent();
-    if (syncIntervalMs >= 0 && status.isPresent()) {
-      // Check if the metadata is still valid.
-      if (System.nanoTime() - status.get().getTs() > syncIntervalMs * Constants.MS_NANO) {
-        shouldLoad = true;
-      }
-    }
-    if (shouldLoad) {
+    if (shouldLoadFromUfs(status, syncIntervalMs)) {
       status = mMetaManager.loadFromUfs(ufsFullPath);
     }
 
@@ -334,6 +476,42 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
     return status.get().getFileInfo();
   }
 
+  /**
+   * @param path the full ufs path
+   * @return whether the file is written with ASYNC_THROUGH and not persisted to the UFS yet
+   */
+  boolean isPersistPending(String path) {
+    return mAsyncPersister.isPending(path);
+  }
+
+  @VisibleForTesting
+  AsyncPersister getAsyncPersister() {
+    return mAsyncPersister;
+  }
+
+  private boolean isAsyncPersist(CreateFilePOptions options) {
+    return mAsyncPersistEnabled && options.getWriteType() == WritePType.ASYNC_THROUGH;
+  }
+
+  /**
+   * Releases what a write holds when its handle is closed without completing the file.
+   */
+  private void abortWrite(OpenFileHandle handle) {
+    if (isAsyncPersist(handle.getOptions())) {
+      mAsyncPersister.unpin(handle.getPath());
+    }
+  }
+
+  private static boolean shouldLoadFromUfs(Optional<DoraMeta.FileStatus> status,
+      long syncIntervalMs) {
+    if (!status.isPresent()) {
+      return true;
+    }
+    // Check if the metadata is still valid.
+    return syncIntervalMs >= 0
+        && System.nanoTime() - status.get().getTs() > syncIntervalMs * Constants.MS_NANO;
+  }
+
   protected int getCachedPercentage(alluxio.grpc.FileInfo fi, String ufsFullPath) {
     // because cache manager uses hashed ufs path as file ID
     // TODO(bowen): we need a dedicated type for file IDs!
@@ -415,15 +593,46 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
    * @return the file status
    */
   public DoraMeta.FileStatus buildFileStatusFromUfsStatus(UfsStatus status, String ufsFullPath) {
+    return buildFileStatusFromUfsStatus(status, ufsFullPath, System.nanoTime());
+  }
+
+  /**
+   * Build FileStatus from UfsStatus and UFS full Path.
+   *
+   * @param status the ufs status
+   * @param ufsFullPath the full ufs path
+   * @param ts the time in nanoseconds at which the ufs status was fetched
+   * @return the file status
+   */
+  public DoraMeta.FileStatus buildFileStatusFromUfsStatus(UfsStatus status, String ufsFullPath,
+      long ts) {
     return DoraMeta.FileStatus.newBuilder()
         .setFileInfo(buildFileInfoFromUfsStatus(status, ufsFullPath))
-        .setTs(System.nanoTime())
+        .setTs(ts)
         .build();
   }
 
   @Override
   public BlockReader createFileReader(String fileId, long offset, boolean positionShort,
       Protocol.OpenUfsBlockOptions options) throws IOException, AccessControlException {
+    CacheContext cacheContext = CacheContext.defaults().setSourcePath(options.getUfsPath())
+        .setTag(options.hasUser() ? options.getUser() : null);
+    if (options.getNoCache()) {
+      // read through without caching the data read from the UFS
+      cacheContext.setAdmissionMode(CacheContext.AdmissionMode.NEVER);
+    }
+    UfsReadOptions.Builder readOptions = UfsReadOptions.newBuilder()
+        .setTag(options.hasUser() ? options.getUser() : "")
+        .setPositionShort(positionShort);
+    if (options.hasUser()) {
+      readOptions.setUser(options.getUser());
+    }
+    return createFileReader(fileId, offset, options, cacheContext, readOptions.build());
+  }
+
+  private BlockReader createFileReader(String fileId, long offset,
+      Protocol.OpenUfsBlockOptions options, CacheContext cacheContext,
+      UfsReadOptions readOptions) throws IOException, AccessControlException {
     UfsManager.UfsClient ufsClient;
     try {
       ufsClient = mUfsManager.get(MOUNT_POINT);
@@ -437,8 +646,52 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
             String.format("Failed to get mount point for %s", options.getUfsPath()), e2);
       }
     }
+    Function<CloseableSupplier<PositionReader>, PositionReader> sourceReader = null;
+    if (options.getCachedOnly()) {
+      // a peer filling its cache, which reads the data not cached here from the UFS itself
+      sourceReader = ufsReader -> (position, buffer, length) -> {
+        throw new NotFoundException(String.format("Data of %s at position %d is not cached",
+            options.getUfsPath(), position));
+      };
+    } else if (options.hasSourceWorker()) {
+      WorkerNetAddress source = GrpcUtils.fromProto(options.getSourceWorker());
+      if (!source.equals(mAddress)) {
+        // the data not cached is read from the worker the file is mapped to, which reads it
+        // from the UFS itself
+        sourceReader = createPeerReader(source, options.toBuilder().clearSourceWorker().build());
+      }
+    } else if (mPreviousOwnerTracker != null) {
+      Optional<WorkerNetAddress> previousOwner =
+          mPreviousOwnerTracker.getPreviousOwner(options.getUfsPath(), mAddress);
+      if (previousOwner.isPresent()) {
+        sourceReader = createPeerReader(previousOwner.get(),
+            options.toBuilder().setCachedOnly(true).build());
+      }
+    }
+    UfsIOManager ufsIOManager = getUfsIOManager(MOUNT_POINT, ufsClient);
     return PagedFileReader.create(mConf, mCacheManager, ufsClient, fileId,
-        options.getUfsPath(), options.getBlockSize(), offset);
+        options.getUfsPath(), options.getBlockSize(), offset, sourceReader, cacheContext,
+        ufsReader -> ufsIOManager.positionReader(ufsReader, readOptions));
+  }
+
+  private UfsIOManager getUfsIOManager(long mountId, UfsManager.UfsClient ufsClient) {
+    synchronized (mUfsIOManagers) {
+      return mUfsIOManagers.computeIfAbsent(mountId, id -> {
+        UfsIOManager ufsIOManager = mResourceCloser.register(new UfsIOManager(ufsClient));
+        ufsIOManager.start();
+        return ufsIOManager;
+      });
+    }
+  }
+
+  private Function<CloseableSupplier<PositionReader>, PositionReader> createPeerReader(
+      WorkerNetAddress peer, Protocol.OpenUfsBlockOptions options) {
+    Protocol.ReadRequest.Builder request = Protocol.ReadRequest.newBuilder()
+        .setBlockId(DoraCacheClient.DUMMY_BLOCK_ID)
+        .setOpenUfsBlockOptions(options)
+        .setChunkSize(mConf.getBytes(PropertyKey.USER_STREAMING_READER_CHUNK_SIZE_BYTES));
+    return ufsReader -> new PeerPositionReader(peer,
+        new NettyDataReader(mFsContext, peer, request), ufsReader);
   }
 
   @Override
@@ -453,10 +706,14 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
       throws AccessControlException, IOException {
     List<ListenableFuture<Void>> futures = new ArrayList<>();
     List<LoadFileFailure> errors = Collections.synchronizedList(new ArrayList<>());
+    Map<String, DoraMeta.FileStatus> fileStatuses = new LinkedHashMap<>();
     for (UfsStatus status : ufsStatuses) {
       String ufsFullPath = status.getUfsFullPath().toString();
-      DoraMeta.FileStatus fs = buildFileStatusFromUfsStatus(status, ufsFullPath);
-      mMetaManager.put(ufsFullPath, fs);
+      fileStatuses.put(ufsFullPath, buildFileStatusFromUfsStatus(status, ufsFullPath));
+    }
+    // write the metadata of the whole batch at once
+    mMetaManager.put(fileStatuses);
+    for (UfsStatus status : ufsStatuses) {
       // We use the ufs status sent from master to construct the file metadata,
       // and that ufs status might be stale.
       // This is a known consistency issue and will remain as long as the get metadata and
@@ -468,7 +725,11 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
       // These two need UFS api support and cannot be achieved in a generic UFS interface.
       // We may be able to solve this by providing specific implementations for certain UFSes
       // in the future.
-      if (loadData && status.isFile() && (status.asUfsFileStatus().getContentLength() > 0)) {
+      if (loadData && status.isFile() && mLoadRangeSplitEnabled
+          && status.asUfsFileStatus().getContentLength() > mLoadRangeSize) {
+        futures.add(loadDataInRanges(status, options, errors));
+      } else if (loadData && status.isFile()
+          && (status.asUfsFileStatus().getContentLength() > 0)) {
         try {
           ListenableFuture<Void> loadFuture = Futures.submit(() -> {
             try {
@@ -476,7 +737,7 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
                 AuthenticatedClientUser.set(options.getUser());
               }
               loadData(status.getUfsFullPath().toString(), 0,
-                  status.asUfsFileStatus().getContentLength());
+                  status.asUfsFileStatus().getContentLength(), options);
             } catch (Throwable e) {
               LOG.error("Loading {} failed", status, e);
               boolean permissionCheckSucceeded = !(e instanceof AccessControlException);
@@ -501,18 +762,120 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
     return Futures.whenAllComplete(futures).call(() -> errors, GrpcExecutors.BLOCK_READER_EXECUTOR);
   }
 
-  protected void loadData(String ufsPath, long mountId, long length)
+  /**
+   * Loads a large file by splitting it into page-aligned ranges which are read from the UFS
+   * concurrently. At most {@link PropertyKey#DORA_WORKER_LOAD_RANGE_PARALLELISM} ranges of the
+   * file are in flight at any time. Failed ranges are aggregated into a single
+   * {@link LoadFileFailure} of the file so that the master retries the file as a whole.
+   *
+   * @param status the ufs status of the file
+   * @param options the read options
+   * @param errors the list to add the load failure of the file to
+   * @return a future which completes when all ranges of the file are done
+   */
+  private ListenableFuture<Void> loadDataInRanges(
+      UfsStatus status, UfsReadOptions options, List<LoadFileFailure> errors) {
+    String ufsPath = status.getUfsFullPath().toString();
+    long fileLength = status.asUfsFileStatus().getContentLength();
+    long rangeSize = Math.max(mPageSize, mLoadRangeSize / mPageSize * mPageSize);
+    int numRanges = (int) ((fileLength + rangeSize - 1) / rangeSize);
+    int parallelism = Math.min(mLoadRangeParallelism, numRanges);
+    AtomicInteger nextRange = new AtomicInteger(0);
+    List<String> rangeFailures = Collections.synchronizedList(new ArrayList<>());
+    AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+    List<ListenableFuture<Void>> rangeFutures = new ArrayList<>(parallelism);
+    for (int i = 0; i < parallelism; i++) {
+      try {
+        rangeFutures.add(Futures.submit(() -> {
+          if (options.hasUser()) {
+            AuthenticatedClientUser.set(options.getUser());
+          }
+          int range;
+          // each task keeps pulling the next pending range until all ranges are claimed
+          while ((range = nextRange.getAndIncrement()) < numRanges) {
+            long offset = range * rangeSize;
+            long length = Math.min(rangeSize, fileLength - offset);
+            try {
+              loadDataRange(ufsPath, 0, offset, length, fileLength, options);
+              MetricsSystem.counter(MetricKey.WORKER_LOAD_RANGES_COMPLETED.getName()).inc();
+              LOG.debug("Loaded range {}/{} [{}, {}) of {}",
+                  range + 1, numRanges, offset, offset + length, ufsPath);
+            } catch (Throwable e) {
+              LOG.error("Loading range [{}, {}) of {} failed", offset, offset + length, ufsPath, e);
+              MetricsSystem.counter(MetricKey.WORKER_LOAD_RANGES_FAILED.getName()).inc();
+              firstFailure.compareAndSet(null, e);
+              rangeFailures.add(String.format("[%d, %d): %s", offset, offset + length,
+                  e.getMessage()));
+            }
+          }
+        }, GrpcExecutors.BLOCK_READER_EXECUTOR));
+      } catch (RejectedExecutionException ex) {
+        // the submitted tasks will still pick up all the ranges, just with less parallelism
+        LOG.warn("BlockDataReaderExecutor overloaded.");
+        if (rangeFutures.isEmpty()) {
+          AlluxioRuntimeException t = AlluxioRuntimeException.from(ex);
+          errors.add(LoadFileFailure.newBuilder().setUfsStatus(status.toProto())
+              .setCode(t.getStatus().getCode().value())
+              .setRetryable(true)
+              .setMessage(t.getMessage()).build());
+          return Futures.immediateVoidFuture();
+        }
+        break;
+      }
+    }
+    return Futures.whenAllComplete(rangeFutures).call(() -> {
+      Throwable e = firstFailure.get();
+      if (e != null) {
+        boolean permissionCheckSucceeded = !(e instanceof AccessControlException);
+        AlluxioRuntimeException t = AlluxioRuntimeException.from(e);
+        errors.add(LoadFileFailure.newBuilder().setUfsStatus(status.toProto())
+            .setCode(t.getStatus().getCode().value())
+            .setRetryable(t.isRetryable() && permissionCheckSucceeded)
+            .setMessage(String.format("Failed to load %d of %d ranges: %s",
+                rangeFailures.size(), numRanges, rangeFailures)).build());
+      }
+      return null;
+    }, GrpcExecutors.BLOCK_READER_EXECUTOR);
+  }
+
+  protected void loadData(String ufsPath, long mountId, long length, UfsReadOptions readOptions)
       throws AccessControlException, IOException {
+    loadDataRange(ufsPath, mountId, 0, length, length, readOptions);
+  }
+
+  /**
+   * Caches the range [offset, offset + length) of a file.
+   *
+   * @param ufsPath the ufs path of the file
+   * @param mountId the mount id
+   * @param offset the start offset of the range
+   * @param length the length of the range
+   * @param fileLength the length of the whole file
+   * @param readOptions the options of the UFS reads
+   */
+  protected void loadDataRange(String ufsPath, long mountId, long offset, long length,
+      long fileLength, UfsReadOptions readOptions) throws AccessControlException, IOException {
     Protocol.OpenUfsBlockOptions options =
         Protocol.OpenUfsBlockOptions.newBuilder().setUfsPath(ufsPath).setMountId(mountId)
-            .setNoCache(false).setOffsetInFile(0).setBlockSize(length)
+            .setNoCache(false).setOffsetInFile(0).setBlockSize(fileLength)
             .build();
     String fileId = new AlluxioURI(ufsPath).hash();
     ByteBuf buf = PooledDirectNioByteBuf.allocate((int) (4 * mPageSize));
-    try (BlockReader fileReader = createFileReader(fileId, 0, false, options)) {
+    // data loaded on request is always cached, whatever the admission policy decides
+    CacheContext cacheContext = CacheContext.defaults().setSourcePath(ufsPath)
+        .setAdmissionMode(CacheContext.AdmissionMode.ALWAYS);
+    try (BlockReader fileReader =
+             createFileReader(fileId, offset, options, cacheContext, readOptions)) {
       // cache file data
-      while (fileReader.transferTo(buf) != -1) {
-        buf.clear();
+      long remaining = length;
+      while (remaining > 0) {
+        ByteBuf target = buf.slice(0, (int) Math.min(remaining, buf.capacity()));
+        target.clear();
+        int bytesRead = fileReader.transferTo(target);
+        if (bytesRead == -1) {
+          break;
+        }
+        remaining -= bytesRead;
       }
     } catch (IOException | AccessControlException e) {
       throw AlluxioRuntimeException.from(e);
@@ -654,6 +1017,7 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
       //throw new RuntimeException(new FileAlreadyExistsException("File is already opened"));
       mOpenFileHandleContainer.remove(path);
       existingHandle.close();
+      abortWrite(existingHandle);
     }
 
     // construct open option based on @param options
@@ -668,12 +1032,13 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
     try {
       // Check if the target file already exists. If yes, return by throwing error.
       boolean overWrite = options.hasOverwrite() ? options.getOverwrite() : false;
-      boolean exists = mUfs.exists(path);
+      boolean exists = mUfs.exists(path) || mAsyncPersister.isPending(path);
       if (!overWrite && exists) {
         throw new RuntimeException(
             new FileAlreadyExistsException("File already exists but no overwrite flag"));
       } else if (overWrite) {
         // client is going to overwrite this file. We need to invalidate the cached meta and data.
+        mAsyncPersister.cancel(path);
         mMetaManager.removeFromMetaStore(path);
       }
 
@@ -697,6 +1062,11 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
     if (mClientWriteToUFSEnabled) {
       // client is writing directly to UFS. Worker does not write to UFS.
       outStream = null;
+    } else if (isAsyncPersist(options)) {
+      // the file is written to the cache, and persisted to UFS after it is completed. It is
+      // pinned from the start, so that a large write does not evict its own pages.
+      mAsyncPersister.pin(path);
+      outStream = null;
     } else {
       outStream = mUfs.create(path, createOption);
     }
@@ -715,6 +1085,17 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
     if (handle != null) {
       mOpenFileHandleContainer.remove(path);
       handle.close();
+      if (isAsyncPersist(handle.getOptions())) {
+        mAsyncPersister.persist(DoraMeta.FileStatus.newBuilder()
+            .setFileInfo(handle.getInfo().toBuilder()
+                .setLength(handle.getPos())
+                .setLastModificationTimeMs(CommonUtils.getCurrentMs())
+                .setPersisted(false))
+            .setTs(System.nanoTime())
+            .build());
+        mMetaManager.invalidateListingCacheOfParent(path);
+        return;
+      }
       Optional<DoraMeta.FileStatus> status = mMetaManager.loadFromUfs(path);
       mMetaManager.invalidateListingCacheOfParent(path);
       if (!status.isPresent()) {
@@ -728,10 +1109,19 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
   public void delete(String path, DeletePOptions options) throws IOException,
       AccessControlException {
     try {
+      boolean persistCancelled = false;
+      if (mAsyncPersister.isPending(path)) {
+        if (options.getAlluxioOnly()) {
+          throw new FailedPreconditionRuntimeException(
+              "File " + path + " is not persisted to UFS yet");
+        }
+        persistCancelled = mAsyncPersister.cancel(path);
+      }
       mMetaManager.removeFromMetaStore(path);
 
       // TODO(hua) Close the open file handle?
-      if (!options.getAlluxioOnly()) {
+      // a file whose persist was cancelled may not be in the UFS
+      if (!options.getAlluxioOnly() && (!persistCancelled || mUfs.exists(path))) {
         // By being a cache, Dora assume the file exists in UFS when a delete is issued
         // So if the file does not exist in UFS, an IOException will be thrown here
         UfsStatus status = mUfs.getStatus(path);
@@ -740,6 +1130,7 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
         } else {
           if (options.hasRecursive() && options.getRecursive()) {
             mUfs.deleteDirectory(path, DeleteOptions.RECURSIVE);
+            mMetaManager.removeChildrenFromMetaStore(path);
           } else {
             mUfs.deleteDirectory(path, DeleteOptions.NON_RECURSIVE);
           }
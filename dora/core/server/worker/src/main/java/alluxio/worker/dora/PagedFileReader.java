@@ -25,6 +25,8 @@ import alluxio.network.protocol.databuffer.CompositeDataBuffer;
 import alluxio.network.protocol.databuffer.DataBuffer;
 import alluxio.network.protocol.databuffer.DataFileChannel;
 import alluxio.network.protocol.databuffer.NettyDataBuffer;
+import alluxio.network.protocol.databuffer.NioDirectBufferPool;
+import alluxio.network.protocol.databuffer.PooledDirectNioByteBuf;
 import alluxio.resource.CloseableResource;
 import alluxio.underfs.UfsManager;
 import alluxio.underfs.UnderFileSystem;
@@ -33,6 +35,7 @@ import alluxio.worker.block.io.BlockReader;
 
 import com.google.common.base.Preconditions;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 
@@ -42,6 +45,9 @@ import java.nio.channels.ReadableByteChannel;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import javax.annotation.Nullable;
 
 /**
  * Paged file reader.
@@ -69,13 +75,46 @@ public class PagedFileReader extends BlockReader implements PositionReader {
   public static PagedFileReader create(AlluxioConfiguration conf, CacheManager cacheManager,
                                        UfsManager.UfsClient ufsClient, String fileId,
                                        String ufsPath, long fileSize, long startPosition) {
+    return create(conf, cacheManager, ufsClient, fileId, ufsPath, fileSize, startPosition, null,
+        CacheContext.defaults(), null);
+  }
+
+  /**
+   * Creates a new {@link PagedFileReader} which reads the data not cached from a source other
+   * than the UFS.
+   *
+   * @param conf
+   * @param cacheManager
+   * @param ufsClient
+   * @param fileId
+   * @param ufsPath
+   * @param fileSize
+   * @param startPosition
+   * @param sourceReader creates the reader of the data not cached given the reader of the UFS,
+   *        or null to read the data not cached from the UFS
+   * @param cacheContext the context of the pages cached by the reader
+   * @param ufsScheduler wraps the reader of the UFS to schedule its reads, e.g. with a
+   *        {@link alluxio.underfs.UfsIOManager}, or null to read the UFS directly
+   * @return a new {@link PagedFileReader}
+   */
+  public static PagedFileReader create(AlluxioConfiguration conf, CacheManager cacheManager,
+      UfsManager.UfsClient ufsClient, String fileId, String ufsPath, long fileSize,
+      long startPosition,
+      @Nullable Function<CloseableSupplier<PositionReader>, PositionReader> sourceReader,
+      CacheContext cacheContext,
+      @Nullable Function<CloseableSupplier<PositionReader>, PositionReader> ufsScheduler) {
     FileId fileIdField = FileId.of(fileId);
     CloseableResource<UnderFileSystem> ufs = ufsClient.acquireUfsResource();
     try {
+      CloseableSupplier<PositionReader> directUfsReader =
+          new CloseableSupplier<>(() -> ufs.get().openPositionRead(ufsPath, fileSize));
+      CloseableSupplier<PositionReader> ufsReader = ufsScheduler == null ? directUfsReader
+          : new CloseableSupplier<>(() -> ufsScheduler.apply(directUfsReader));
       return new PagedFileReader(ufs, LocalCachePositionReader.create(cacheManager,
-          new CloseableSupplier<>(() -> ufs.get().openPositionRead(ufsPath, fileSize)),
+          sourceReader == null ? ufsReader
+              : new CloseableSupplier<>(() -> sourceReader.apply(ufsReader)),
           fileIdField, fileSize, conf.getBytes(PropertyKey.WORKER_PAGE_STORE_PAGE_SIZE),
-          CacheContext.defaults()), fileSize, startPosition);
+          cacheContext), fileSize, startPosition);
     } catch (Throwable t) {
       try {
         ufs.close();
@@ -117,26 +156,41 @@ public class PagedFileReader extends BlockReader implements PositionReader {
       return null;
     }
     List<DataBuffer> dataBufferList = new ArrayList<>();
+    long startPos = mPos;
     long bytesToTransfer = Math.min(length, mFileSize - mPos);
     long bytesToTransferLeft = bytesToTransfer;
-    while (bytesToTransferLeft > 0) {
-      long lengthPerOp = Math.min(bytesToTransferLeft, mPositionReader.getPageSize());
-      DataBuffer dataBuffer;
-      Optional<DataFileChannel> dataFileChannel =
-          mPositionReader.getDataFileChannel(mPos, (int) lengthPerOp);
-      if (!dataFileChannel.isPresent()) {
-        dataBuffer = getDataBufferByCopying(channel, (int) lengthPerOp);
-      } else {
-        // update mPos
-        // TODO(JiamingMai): need to lock page files since the openFile op is called in netty latter
-        dataBuffer = dataFileChannel.get();
-        if (dataBuffer.getLength() > 0) {
-          mPos += dataBuffer.getLength();
+    try {
+      while (bytesToTransferLeft > 0) {
+        long lengthPerOp = Math.min(bytesToTransferLeft, mPositionReader.getPageSize());
+        DataBuffer dataBuffer;
+        Optional<DataFileChannel> dataFileChannel =
+            mPositionReader.getDataFileChannel(mPos, (int) lengthPerOp);
+        if (!dataFileChannel.isPresent()) {
+          dataBuffer = getDataBufferByCopying(channel, (int) lengthPerOp);
+        } else {
+          // update mPos
+          // TODO(JiamingMai): need to lock page files since the openFile op is called in netty
+          //  latter
+          dataBuffer = dataFileChannel.get();
+          if (dataBuffer.getLength() > 0) {
+            mPos += dataBuffer.getLength();
+          }
         }
+        // update bytesToTransferLeft
+        bytesToTransferLeft -= dataBuffer.getLength();
+        dataBufferList.add(dataBuffer);
       }
-      // update bytesToTransferLeft
-      bytesToTransferLeft -= dataBuffer.getLength();
-      dataBufferList.add(dataBuffer);
+    } catch (Throwable t) {
+      // the buffers already acquired hold page file channels, which must be handed back
+      for (DataBuffer dataBuffer : dataBufferList) {
+        try {
+          dataBuffer.release();
+        } catch (Throwable t1) {
+          t.addSuppressed(t1);
+        }
+      }
+      mPos = startPos;
+      throw t;
     }
     CompositeDataBuffer compositeDataBuffer = new CompositeDataBuffer(dataBufferList);
     return compositeDataBuffer;
@@ -162,26 +216,75 @@ public class PagedFileReader extends BlockReader implements PositionReader {
 
     // cap length to the remaining of block, as the caller may pass in a longer length than what
     // is left in the block, but expect as many bytes as there is
-    length = Math.min(length, mPos - offset);
+    length = Math.min(length, mFileSize - offset);
     ensureReadable(offset, length);
 
-    // must not use pooled buffer, see interface implementation note
     ByteBuffer buffer = ByteBuffer.allocateDirect((int) length);
     ByteBuf buf = Unpooled.wrappedBuffer(buffer);
     // Unpooled.wrappedBuffer returns a buffer with writer index set to capacity, so writable
     // bytes is 0, needs explicit clear
     buf.clear();
-    ReadTargetBuffer targetBuffer = new NettyBufTargetBuffer(buf);
-    int bytesRead = mPositionReader.read(offset, targetBuffer, (int) length);
+    int bytesRead = readInto(offset, (int) length, buf);
     if (bytesRead < 0) {
       return EMPTY_BYTE_BUFFER;
     }
     buffer.position(0);
     buffer.limit(bytesRead);
-    mPos += bytesRead;
     return buffer;
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * The data is read into a direct buffer borrowed from the {@link NioDirectBufferPool}, which
+   * goes back to the pool when the returned buffer is released.
+   */
+  @Override
+  public DataBuffer readRetained(long offset, long length) throws IOException {
+    return readRetained(offset, length, PooledDirectNioByteBuf::allocate);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * The data is read into the buffer from the allocator without an intermediate copy.
+   */
+  @Override
+  public DataBuffer readRetained(long offset, long length, ByteBufAllocator allocator)
+      throws IOException {
+    return readRetained(offset, length, len -> allocator.buffer(len, len));
+  }
+
+  private DataBuffer readRetained(long offset, long length, IntFunction<ByteBuf> allocator)
+      throws IOException {
+    if (length == 0 || offset >= mFileSize) {
+      return new NettyDataBuffer(Unpooled.EMPTY_BUFFER);
+    }
+    length = Math.min(length, mFileSize - offset);
+    ensureReadable(offset, length);
+
+    ByteBuf buf = allocator.apply((int) length);
+    try {
+      if (readInto(offset, (int) length, buf) < 0) {
+        buf.release();
+        return new NettyDataBuffer(Unpooled.EMPTY_BUFFER);
+      }
+      return new NettyDataBuffer(buf);
+    } catch (Throwable t) {
+      buf.release();
+      throw t;
+    }
+  }
+
+  private int readInto(long offset, int length, ByteBuf buf) throws IOException {
+    ReadTargetBuffer targetBuffer = new NettyBufTargetBuffer(buf);
+    int bytesRead = mPositionReader.read(offset, targetBuffer, length);
+    if (bytesRead > 0) {
+      mPos += bytesRead;
+    }
+    return bytesRead;
+  }
+
   private void ensureReadable(long offset, long length) {
     Preconditions.checkState(!mClosed, "reader closed");
     Preconditions.checkArgument(length >= 0, "negative read length %s", length);
@@ -210,12 +313,7 @@ public class PagedFileReader extends BlockReader implements PositionReader {
     }
     int bytesToTransfer =
         (int) Math.min(buf.writableBytes(), mFileSize - mPos);
-    ReadTargetBuffer targetBuffer = new NettyBufTargetBuffer(buf);
-    int bytesRead = mPositionReader.read(mPos, targetBuffer, bytesToTransfer);
-    if (bytesRead > 0) {
-      mPos += bytesRead;
-    }
-    return bytesRead;
+    return readInto(mPos, bytesToTransfer, buf);
   }
 
   @Override
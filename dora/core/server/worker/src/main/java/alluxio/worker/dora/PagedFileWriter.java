@@ -82,24 +82,23 @@ public class PagedFileWriter extends BlockWriter {
     DoraOpenFileHandleContainer openFileHandleContainer = mWorker.getOpenFileHandleContainer();
     OpenFileHandle handle = openFileHandleContainer.find(mUfsPath);
 
+    boolean writeToCache = handle != null && handle.getOptions().hasWriteType()
+        && handle.getOptions().getWriteType() != WritePType.THROUGH;
     while (buf.readableBytes() > 0) {
       PageId pageId = getPageId(bytesWritten);
       int currentPageOffset = getCurrentPageOffset(bytesWritten);
       int bytesLeftInPage = getBytesLeftInPage(currentPageOffset, buf.readableBytes());
-      byte[] page = new byte[bytesLeftInPage];
-      buf.readBytes(page);
-      if (handle != null && handle.getOptions().hasWriteType()
-          && handle.getOptions().getWriteType() != WritePType.THROUGH) {
+      // the data is passed on as views of the buffer, without copying it
+      ByteBuf page = buf.readSlice(bytesLeftInPage);
+      if (writeToCache) {
         // Don't write to local paging cache for THROUGH
-        if (!mCacheManager.append(pageId, currentPageOffset, page, mTempCacheContext)) {
-          throw new IOException("Append failed for file " + mFileId);
-        }
+        appendToCache(pageId, currentPageOffset, page);
       }
       // Now writes data to UFS.
       if (handle != null) {
         OutputStream outputStream = handle.getOutStream();
         if (outputStream != null) {
-          outputStream.write(page);
+          page.getBytes(page.readerIndex(), outputStream, bytesLeftInPage);
         }
       } else {
         throw new IOException("Cannot write data to UFS for " + mUfsPath + " @" + mPosition);
@@ -109,10 +108,32 @@ public class PagedFileWriter extends BlockWriter {
 
     // data is written to local cache and UFS. Update Position.
     mPosition += bytesWritten;
+    if (handle != null) {
+      handle.setPos(mPosition);
+    }
     LOG.debug("after write " + bytesWritten + " bytes. New pos = " + mPosition);
     return bytesWritten;
   }
 
+  private void appendToCache(PageId pageId, int pageOffset, ByteBuf page) throws IOException {
+    if (page.nioBufferCount() == 1) {
+      if (!mCacheManager.append(pageId, pageOffset,
+          page.nioBuffer(page.readerIndex(), page.readableBytes()), mTempCacheContext)) {
+        throw new IOException("Append failed for file " + mFileId);
+      }
+      return;
+    }
+    // a composite buffer, append each of its components instead of merging them into a copy
+    int offset = pageOffset;
+    for (ByteBuffer component : page.nioBuffers(page.readerIndex(), page.readableBytes())) {
+      int length = component.remaining();
+      if (!mCacheManager.append(pageId, offset, component, mTempCacheContext)) {
+        throw new IOException("Append failed for file " + mFileId);
+      }
+      offset += length;
+    }
+  }
+
   @Override
   public long append(DataBuffer buffer) throws IOException {
     ByteBuf bytebuf = null;
@@ -0,0 +1,91 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import alluxio.CloseableSupplier;
+import alluxio.PositionReader;
+import alluxio.client.file.dora.netty.PartialReadException;
+import alluxio.file.ReadTargetBuffer;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.io.Closer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A position reader which reads a file from a peer worker caching it, and from the UFS what the
+ * peer fails to serve. A worker serving the reads of a hot file along with the worker the file
+ * is mapped to, or a worker the file has been remapped to, fills its cache from the peer, which
+ * spares the UFS the reads. The data the peer reports an error for is read from the UFS, and
+ * the peer is not read from anymore once it cannot be reached.
+ */
+@ThreadSafe
+public class PeerPositionReader implements PositionReader {
+  private static final Logger LOG = LoggerFactory.getLogger(PeerPositionReader.class);
+
+  private final WorkerNetAddress mPeer;
+  private final PositionReader mPeerReader;
+  private final CloseableSupplier<PositionReader> mUfsReader;
+  private volatile boolean mPeerFailed;
+
+  /**
+   * @param peer the address of the peer worker
+   * @param peerReader the reader of the file from the peer worker
+   * @param ufsReader the reader of the file from the UFS
+   */
+  public PeerPositionReader(WorkerNetAddress peer, PositionReader peerReader,
+      CloseableSupplier<PositionReader> ufsReader) {
+    mPeer = peer;
+    mPeerReader = peerReader;
+    mUfsReader = ufsReader;
+  }
+
+  @Override
+  public int readInternal(long position, ReadTargetBuffer buffer, int length)
+      throws IOException {
+    if (!mPeerFailed) {
+      try {
+        return mPeerReader.read(position, buffer, length);
+      } catch (PartialReadException e) {
+        if (e.getBytesRead() > 0) {
+          return e.getBytesRead();
+        }
+        if (e.getCauseType() == PartialReadException.CauseType.SERVER_ERROR) {
+          // e.g. the peer does not cache the data
+          LOG.debug("Worker {} failed to serve position {}, reading from the UFS instead", mPeer,
+              position, e);
+        } else {
+          onPeerFailure(e);
+        }
+      } catch (IOException e) {
+        onPeerFailure(e);
+      }
+    }
+    return mUfsReader.get().read(position, buffer, length);
+  }
+
+  private void onPeerFailure(IOException e) {
+    mPeerFailed = true;
+    LOG.warn("Failed to read from worker {}, reading from the UFS instead", mPeer, e);
+  }
+
+  @Override
+  public void close() throws IOException {
+    try (Closer closer = Closer.create()) {
+      closer.register(mUfsReader);
+      closer.register(mPeerReader);
+    }
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import alluxio.client.block.BlockWorkerInfo;
+import alluxio.client.file.FileSystemContext;
+import alluxio.client.file.dora.ConsistentHashProvider;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.wire.WorkerNetAddress;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Tracks the workers the files were mapped to by consistent hashing before the last change of
+ * the workers of the cluster.
+ *
+ * When a worker joins the cluster, the files of a slice of the hash ring are mapped to it, while
+ * the workers they were mapped to before still cache them. The new worker fills its cache from
+ * these workers instead of reading the files from the UFS, for a window after the change.
+ */
+@ThreadSafe
+public class PreviousOwnerTracker {
+  private static final Logger LOG = LoggerFactory.getLogger(PreviousOwnerTracker.class);
+  private static final int MAX_ATTEMPTS = 100;
+
+  private final FileSystemContext mFsContext;
+  private final int mNumVirtualNodes;
+  private final boolean mCapacityWeighted;
+  private final long mWindowMs;
+  private final LongSupplier mClock;
+
+  /** The last worker list, to tell when it changes. */
+  @GuardedBy("this")
+  @Nullable
+  private List<BlockWorkerInfo> mWorkers;
+  @GuardedBy("this")
+  private Set<WorkerNetAddress> mAddresses = Collections.emptySet();
+  /** The hash ring of the workers before the last change, null if they have not changed. */
+  @GuardedBy("this")
+  @Nullable
+  private ConsistentHashProvider mPreviousRing;
+  @GuardedBy("this")
+  private long mChangeTimeMs;
+
+  /**
+   * @param fsContext the file system context to get the workers of the cluster with
+   * @param conf the configuration
+   */
+  public PreviousOwnerTracker(FileSystemContext fsContext, AlluxioConfiguration conf) {
+    this(fsContext, conf, System::currentTimeMillis);
+  }
+
+  /**
+   * @param fsContext the file system context to get the workers of the cluster with
+   * @param conf the configuration
+   * @param clock the clock to measure the window with
+   */
+  PreviousOwnerTracker(FileSystemContext fsContext, AlluxioConfiguration conf,
+      LongSupplier clock) {
+    mFsContext = fsContext;
+    mNumVirtualNodes = conf.getInt(PropertyKey.USER_CONSISTENT_HASH_VIRTUAL_NODE_COUNT);
+    mCapacityWeighted =
+        conf.getBoolean(PropertyKey.USER_CONSISTENT_HASH_CAPACITY_WEIGHTED_ENABLED);
+    mWindowMs = conf.getMs(PropertyKey.DORA_WORKER_PEER_CACHE_FILL_WINDOW);
+    mClock = clock;
+  }
+
+  /**
+   * @param path the UFS path of the file
+   * @param self the address of this worker
+   * @return the worker the file was mapped to before the last change of the workers, if it is
+   *         another worker still in the cluster and the change is within the window
+   */
+  public Optional<WorkerNetAddress> getPreviousOwner(String path, WorkerNetAddress self) {
+    List<BlockWorkerInfo> workers;
+    try {
+      workers = mFsContext.getCachedWorkers();
+    } catch (IOException e) {
+      LOG.debug("Failed to get the workers of the cluster", e);
+      return Optional.empty();
+    }
+    ConsistentHashProvider previousRing;
+    Set<WorkerNetAddress> addresses;
+    synchronized (this) {
+      update(workers);
+      if (mPreviousRing == null || mClock.getAsLong() - mChangeTimeMs >= mWindowMs) {
+        return Optional.empty();
+      }
+      previousRing = mPreviousRing;
+      addresses = mAddresses;
+    }
+    WorkerNetAddress owner = previousRing.getMultiple(path, 1).get(0).getNetAddress();
+    // the file was mapped to this worker already, or its previous worker has left the cluster
+    if (owner.equals(self) || !addresses.contains(owner)) {
+      return Optional.empty();
+    }
+    return Optional.of(owner);
+  }
+
+  @GuardedBy("this")
+  private void update(List<BlockWorkerInfo> workers) {
+    // the context returns the same list until it refreshes the workers
+    if (workers == mWorkers || workers.isEmpty()) {
+      return;
+    }
+    Set<WorkerNetAddress> addresses = workers.stream()
+        .map(BlockWorkerInfo::getNetAddress).collect(Collectors.toSet());
+    if (mWorkers != null && !addresses.equals(mAddresses)) {
+      ConsistentHashProvider ring = new ConsistentHashProvider(MAX_ATTEMPTS, 0);
+      ring.refresh(mWorkers, mNumVirtualNodes, mCapacityWeighted);
+      mPreviousRing = ring;
+      mChangeTimeMs = mClock.getAsLong();
+      LOG.info("The workers of the cluster have changed from {} to {} workers, filling the "
+          + "cache from the previous workers for {}ms", mAddresses.size(), addresses.size(),
+          mWindowMs);
+    }
+    mWorkers = workers;
+    mAddresses = addresses;
+  }
+}
@@ -11,6 +11,7 @@
 
 package alluxio.worker.dora;
 
+import alluxio.AlluxioURI;
 import alluxio.Constants;
 import alluxio.conf.PropertyKey;
 import alluxio.master.metastore.rocks.RocksExclusiveLockHandle;
@@ -30,18 +31,24 @@ import org.rocksdb.HashLinkedListMemTableConfig;
 import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
 import org.rocksdb.RocksObject;
+import org.rocksdb.WriteBatch;
 import org.rocksdb.WriteOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -127,6 +134,36 @@ public class RocksDBDoraMetaStore implements DoraMetaStore {
     } catch (RocksDBException e) {
       throw new RuntimeException(e);
     }
+    return parseDoraMeta(path, status);
+  }
+
+  /**
+   * Queries the metadata of many files with a single RocksDB multiGet.
+   *
+   * @param paths the full paths of the files
+   * @return the metadata of each file in the order of the paths, Optional.empty if not found
+   */
+  @Override
+  public List<Optional<DoraMeta.FileStatus>> getDoraMetas(List<String> paths) {
+    if (paths.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<byte[]> statuses;
+    try (RocksSharedLockHandle lock = mRocksStore.checkAndAcquireSharedLock()) {
+      statuses = db().multiGetAsList(mReadOption,
+          Collections.nCopies(paths.size(), mFileStatusColumn.get()),
+          paths.stream().map(String::getBytes).collect(Collectors.toList()));
+    } catch (RocksDBException e) {
+      throw new RuntimeException(e);
+    }
+    List<Optional<DoraMeta.FileStatus>> result = new ArrayList<>(paths.size());
+    for (int i = 0; i < paths.size(); i++) {
+      result.add(parseDoraMeta(paths.get(i), statuses.get(i)));
+    }
+    return result;
+  }
+
+  private Optional<DoraMeta.FileStatus> parseDoraMeta(String path, @Nullable byte[] status) {
     if (status == null) {
       return Optional.empty();
     }
@@ -163,6 +200,28 @@ public class RocksDBDoraMetaStore implements DoraMetaStore {
     }
   }
 
+  /**
+   * Stores the metadata of many files with a single RocksDB write batch.
+   *
+   * @param metas the metadata of each file keyed by its full path
+   */
+  @Override
+  public void putDoraMetas(Map<String, DoraMeta.FileStatus> metas) {
+    if (metas.isEmpty()) {
+      return;
+    }
+    try (RocksSharedLockHandle lock = mRocksStore.checkAndAcquireSharedLock();
+         WriteBatch batch = new WriteBatch()) {
+      for (Map.Entry<String, DoraMeta.FileStatus> entry : metas.entrySet()) {
+        batch.put(mFileStatusColumn.get(), entry.getKey().getBytes(),
+            entry.getValue().toByteString().toByteArray());
+      }
+      db().write(mWriteOption, batch);
+    } catch (RocksDBException e) {
+      LOG.error("Cannot put {} metas : {}", metas.size(), e);
+    }
+  }
+
   /**
    * Removes the metadata from the RocksDB. It is not an error if the record specified by the key
    * is not found.
@@ -178,6 +237,74 @@ public class RocksDBDoraMetaStore implements DoraMetaStore {
     }
   }
 
+  /**
+   * Removes the metadata of many files with a single RocksDB write batch.
+   *
+   * @param paths the full paths of the files whose metadata to be removed
+   */
+  @Override
+  public void removeDoraMetas(Collection<String> paths) {
+    if (paths.isEmpty()) {
+      return;
+    }
+    try (RocksSharedLockHandle lock = mRocksStore.checkAndAcquireSharedLock();
+         WriteBatch batch = new WriteBatch()) {
+      for (String path : paths) {
+        batch.delete(mFileStatusColumn.get(), path.getBytes());
+      }
+      db().write(mWriteOption, batch);
+    } catch (RocksDBException e) {
+      LOG.error("Cannot remove {} metas : {}", paths.size(), e);
+    }
+  }
+
+  /**
+   * Removes the metadata of all the files under a directory with a single RocksDB write batch.
+   * The keys are the full paths, so the files under the directory are the keys from the path of
+   * the directory followed by a separator, which are found by seeking to that prefix.
+   *
+   * @param dir the full path of the directory
+   * @param filter the paths whose metadata is removed, the others are kept
+   * @return the full paths of the files whose metadata is removed
+   */
+  @Override
+  public List<String> removeDoraMetasUnder(String dir, Predicate<String> filter) {
+    String prefix = PathUtils.normalizePath(dir, AlluxioURI.SEPARATOR);
+    byte[] prefixBytes = prefix.getBytes();
+    List<String> removed = new ArrayList<>();
+    try (RocksSharedLockHandle lock = mRocksStore.checkAndAcquireSharedLock();
+         ReadOptions readOptions = new ReadOptions().setTotalOrderSeek(true);
+         RocksIterator iter = db().newIterator(mFileStatusColumn.get(), readOptions);
+         WriteBatch batch = new WriteBatch()) {
+      for (iter.seek(prefixBytes); iter.isValid() && startsWith(iter.key(), prefixBytes);
+           iter.next()) {
+        String path = new String(iter.key());
+        if (filter.test(path)) {
+          batch.delete(mFileStatusColumn.get(), iter.key());
+          removed.add(path);
+        }
+      }
+      iter.status();
+      db().write(mWriteOption, batch);
+    } catch (RocksDBException e) {
+      LOG.error("Cannot remove metas under {} : {}", dir, e);
+      return Collections.emptyList();
+    }
+    return removed;
+  }
+
+  private static boolean startsWith(byte[] key, byte[] prefix) {
+    if (key.length < prefix.length) {
+      return false;
+    }
+    for (int i = 0; i < prefix.length; i++) {
+      if (key[i] != prefix[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   /**
    * Clears all the metadata in this RocksDB.
    */
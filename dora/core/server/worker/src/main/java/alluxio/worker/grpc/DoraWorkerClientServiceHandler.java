@@ -33,6 +33,8 @@ import alluxio.grpc.DeletePRequest;
 import alluxio.grpc.DeletePResponse;
 import alluxio.grpc.ExistsPRequest;
 import alluxio.grpc.ExistsPResponse;
+import alluxio.grpc.GetStatusBatchPRequest;
+import alluxio.grpc.GetStatusBatchPResponse;
 import alluxio.grpc.GetStatusPRequest;
 import alluxio.grpc.GetStatusPResponse;
 import alluxio.grpc.GrpcUtils;
@@ -43,6 +45,7 @@ import alluxio.grpc.LoadFileRequest;
 import alluxio.grpc.LoadFileResponse;
 import alluxio.grpc.MoveRequest;
 import alluxio.grpc.MoveResponse;
+import alluxio.grpc.PathStatus;
 import alluxio.grpc.ReadRequest;
 import alluxio.grpc.ReadResponse;
 import alluxio.grpc.ReadResponseMarshaller;
@@ -72,6 +75,7 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -212,6 +216,27 @@ public class DoraWorkerClientServiceHandler extends BlockWorkerGrpc.BlockWorkerI
     }
   }
 
+  @Override
+  public void getStatusBatch(GetStatusBatchPRequest request,
+      StreamObserver<GetStatusBatchPResponse> responseObserver) {
+    LOG.debug("Got getStatusBatch request for {} paths", request.getPathsCount());
+    try {
+      List<Optional<alluxio.wire.FileInfo>> fileInfos =
+          mWorker.getFileInfos(request.getPathsList(), request.getOptions());
+      GetStatusBatchPResponse.Builder builder = GetStatusBatchPResponse.newBuilder();
+      for (int i = 0; i < fileInfos.size(); i++) {
+        PathStatus.Builder status = PathStatus.newBuilder().setPath(request.getPaths(i));
+        fileInfos.get(i).ifPresent(fileInfo -> status.setFileInfo(GrpcUtils.toProto(fileInfo)));
+        builder.addResults(status);
+      }
+      responseObserver.onNext(builder.build());
+      responseObserver.onCompleted();
+    } catch (IOException | AccessControlException e) {
+      LOG.debug(String.format("Failed to get status of %s paths: ", request.getPathsCount()), e);
+      responseObserver.onError(AlluxioRuntimeException.from(e).toGrpcStatusRuntimeException());
+    }
+  }
+
   @Override
   public void listStatus(ListStatusPRequest request,
                          StreamObserver<ListStatusPResponse> responseObserver) {
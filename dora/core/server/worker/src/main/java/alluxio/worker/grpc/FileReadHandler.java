@@ -27,7 +27,6 @@ import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 import alluxio.network.protocol.databuffer.DataBuffer;
 import alluxio.network.protocol.databuffer.NettyDataBuffer;
-import alluxio.network.protocol.databuffer.PooledDirectNioByteBuf;
 import alluxio.resource.LockResource;
 import alluxio.util.LogUtils;
 import alluxio.wire.BlockReadRequest;
@@ -462,12 +461,11 @@ public class FileReadHandler implements StreamObserver<ReadRequest> {
       blockReader = context.getBlockReader();
       Preconditions.checkState(blockReader != null);
       startTransferMs = System.currentTimeMillis();
-      ByteBuf buf;
       if (mIsReaderBufferPooled) {
-        buf = PooledDirectNioByteBuf.allocate(len);
-      } else {
-        buf = Unpooled.directBuffer(len, len);
+        // the buffer is released once the chunk is sent
+        return blockReader.readRetained(offset, len);
       }
+      ByteBuf buf = Unpooled.directBuffer(len, len);
       try {
         while (buf.writableBytes() > 0 && blockReader.transferTo(buf) != -1) {
         }
@@ -18,6 +18,7 @@ import alluxio.network.protocol.RPCProtoMessage;
 import alluxio.network.protocol.databuffer.DataBuffer;
 import alluxio.proto.dataserver.Protocol;
 
+import com.google.common.annotations.VisibleForTesting;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
@@ -38,6 +39,10 @@ import javax.annotation.concurrent.NotThreadSafe;
  * 2. The {@link PacketReader} pauses if there are too many packets in flight, and resumes if there
  *    is room available.
  * 3. The channel is closed if there is any exception during the packet read/write.
+ * 4. Reads which carry a stream id are multiplexed on the channel: many of them are served at
+ *    the same time, their responses carry their stream id, and a cancel request with a stream
+ *    id only cancels the read of that stream. An error of such a read does not close the
+ *    channel.
  *
  * Threading model:
  * Only two threads are involved at a given point of time: netty I/O thread, packet reader thread.
@@ -88,6 +93,14 @@ public abstract class AbstractReadHandler<T extends ReadRequestContext<?>>
     }
     Protocol.ReadRequest msg = ((RPCProtoMessage) object).getMessage().asReadRequest();
     if (msg.getCancel()) {
+      if (msg.hasStreamId()) {
+        // only cancel the multiplexed read of the stream
+        PacketReadTask<T> task = mTasksMap.remove(getStreamTaskId(msg.getStreamId()));
+        if (task != null) {
+          task.cancelTask();
+        }
+        return;
+      }
       mTasksMap.values().forEach(PacketReadTask::cancelTask);
       mTasksMap.clear();
       return;
@@ -98,7 +111,8 @@ public abstract class AbstractReadHandler<T extends ReadRequestContext<?>>
     requestContext.setPosToQueue(requestContext.getRequest().getStart());
     requestContext.setPosToWrite(requestContext.getRequest().getStart());
     PacketReader packetReader = createPacketReader();
-    String taskId = UUID.randomUUID().toString();
+    String taskId = msg.hasStreamId()
+        ? getStreamTaskId(msg.getStreamId()) : UUID.randomUUID().toString();
     PacketReadTask<T> packetReadTask =
         new PacketReadTask<>(taskId, requestContext, ctx.channel(), packetReader);
     mTasksMap.put(taskId, packetReadTask);
@@ -106,7 +120,7 @@ public abstract class AbstractReadHandler<T extends ReadRequestContext<?>>
       try {
         packetReadTask.call();
       } finally {
-        mTasksMap.remove(taskId);
+        mTasksMap.remove(taskId, packetReadTask);
       }
     });
     LOG.debug("taskMap.size(): " + mTasksMap.size());
@@ -121,6 +135,18 @@ public abstract class AbstractReadHandler<T extends ReadRequestContext<?>>
     mTasksMap.clear();
   }
 
+  /**
+   * @return the number of read tasks which have not finished
+   */
+  @VisibleForTesting
+  int getTaskCount() {
+    return mTasksMap.size();
+  }
+
+  private static String getStreamTaskId(long streamId) {
+    return "stream-" + streamId;
+  }
+
   /**
    * Checks whether this object should be processed by this handler.
    *
@@ -32,7 +32,7 @@ public final class BlockReadRequest extends ReadRequest {
    */
   BlockReadRequest(Protocol.ReadRequest request) {
     super(request.getBlockId(), request.getOffset(), request.getOffset() + request.getLength(),
-        request.getChunkSize());
+        request.getChunkSize(), request.hasStreamId() ? request.getStreamId() : null);
 
     if (request.hasOpenUfsBlockOptions()) {
       mOpenUfsBlockOptions = request.getOpenUfsBlockOptions();
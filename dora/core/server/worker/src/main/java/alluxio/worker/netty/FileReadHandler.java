@@ -19,7 +19,6 @@ import alluxio.metrics.MetricsSystem;
 import alluxio.network.netty.FileTransferType;
 import alluxio.network.protocol.databuffer.CompositeDataBuffer;
 import alluxio.network.protocol.databuffer.DataBuffer;
-import alluxio.network.protocol.databuffer.NettyDataBuffer;
 import alluxio.proto.dataserver.Protocol;
 import alluxio.retry.RetryPolicy;
 import alluxio.retry.TimeoutRetry;
@@ -28,12 +27,10 @@ import alluxio.worker.dora.DoraWorker;
 import alluxio.worker.dora.PagedFileReader;
 
 import com.google.common.base.Preconditions;
-import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
 import java.nio.channels.FileChannel;
 import java.util.concurrent.ExecutorService;
 import javax.annotation.concurrent.NotThreadSafe;
@@ -135,21 +132,9 @@ public class FileReadHandler extends AbstractReadHandler<BlockReadRequestContext
               + "is no longer supported in Alluxio 3.x");
         }
       }
-      return getDataBufferByCopying(context, channel, len, blockReader);
-    }
-
-    private DataBuffer getDataBufferByCopying(
-        BlockReadRequestContext context, Channel channel, int len, BlockReader blockReader)
-        throws IOException {
-      ByteBuf buf = channel.alloc().buffer(len, len);
-      try {
-        while (buf.writableBytes() > 0 && blockReader.transferTo(buf) != -1) {
-        }
-        return new NettyDataBuffer(buf);
-      } catch (Throwable e) {
-        buf.release();
-        throw e;
-      }
+      // the buffer comes from the allocator of the channel, and is released by netty once the
+      // packet is sent
+      return blockReader.readRetained(offset, len, channel.alloc());
     }
 
     /**
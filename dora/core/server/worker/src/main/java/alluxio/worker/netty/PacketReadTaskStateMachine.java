@@ -17,7 +17,9 @@ import alluxio.conf.PropertyKey;
 import alluxio.exception.status.AlluxioStatusException;
 import alluxio.network.protocol.RPCProtoMessage;
 import alluxio.network.protocol.databuffer.DataBuffer;
+import alluxio.proto.dataserver.Protocol;
 import alluxio.util.CommonUtils;
+import alluxio.util.proto.ProtoMessage;
 
 import com.codahale.metrics.Counter;
 import com.github.oxo42.stateless4j.StateMachine;
@@ -242,6 +244,8 @@ public class PacketReadTaskStateMachine<T extends ReadRequestContext<?>> {
       LOG.error("Failed to read data.", e);
       fireNext(mTriggerEventsWithParam.mFailToReadEvent,
           new Error(AlluxioStatusException.fromThrowable(e), true));
+      // the error must not be replaced by an empty packet, which the client would take as EOF
+      return;
     }
 
     // Put an object into the flow control queue. If the queue is full, it indicates that there are
@@ -262,7 +266,7 @@ public class PacketReadTaskStateMachine<T extends ReadRequestContext<?>> {
     if (packet != null) {
       mContext.setPosToQueue(mContext.getPosToQueue() + packet.getLength());
       // Send data to client
-      RPCProtoMessage response = RPCProtoMessage.createOkResponse(packet);
+      RPCProtoMessage response = withStreamId(RPCProtoMessage.createOkResponse(packet));
       mChannel.writeAndFlush(response).addListener(
           new WriteListener(packet, start + packetSize));
     }
@@ -363,11 +367,13 @@ public class PacketReadTaskStateMachine<T extends ReadRequestContext<?>> {
   }
 
   /**
-   * Writes an error read response to the channel and closes the channel after that.
+   * Writes an error read response to the channel and closes the channel after that, unless
+   * other reads are multiplexed on the channel.
    */
   private void replyError(AlluxioStatusException e) {
-    mChannel.writeAndFlush(RPCProtoMessage.createResponse(e))
-        .addListener(ChannelFutureListener.CLOSE);
+    mChannel.writeAndFlush(withStreamId(RPCProtoMessage.createResponse(e)))
+        .addListener(mRequest.getStreamId() == null
+            ? ChannelFutureListener.CLOSE : ChannelFutureListener.CLOSE_ON_FAILURE);
   }
 
   /**
@@ -376,7 +382,7 @@ public class PacketReadTaskStateMachine<T extends ReadRequestContext<?>> {
   private void replyEof() {
     Preconditions.checkState(!mContext.isDoneUnsafe());
     mContext.setDoneUnsafe(true);
-    mChannel.writeAndFlush(RPCProtoMessage.createOkResponse(null))
+    mChannel.writeAndFlush(withStreamId(RPCProtoMessage.createOkResponse(null)))
         .addListeners(ChannelFutureListener.CLOSE_ON_FAILURE);
   }
 
@@ -386,10 +392,25 @@ public class PacketReadTaskStateMachine<T extends ReadRequestContext<?>> {
   private void replyCancel() {
     Preconditions.checkState(!mContext.isDoneUnsafe());
     mContext.setDoneUnsafe(true);
-    mChannel.writeAndFlush(RPCProtoMessage.createCancelResponse())
+    mChannel.writeAndFlush(withStreamId(RPCProtoMessage.createCancelResponse()))
         .addListeners(ChannelFutureListener.CLOSE_ON_FAILURE);
   }
 
+  /**
+   * Tags a response with the stream id of a multiplexed read, so that the client can tell which
+   * of the reads on the channel it belongs to.
+   */
+  private RPCProtoMessage withStreamId(RPCProtoMessage response) {
+    Long streamId = mRequest.getStreamId();
+    if (streamId == null) {
+      return response;
+    }
+    Protocol.Response tagged = response.getMessage().asResponse().toBuilder()
+        .setStreamId(streamId)
+        .build();
+    return new RPCProtoMessage(new ProtoMessage(tagged), response.getPayloadDataBuffer());
+  }
+
   /**
    * Returns the appropriate {@link DataBuffer} representing the data to send, depending on the
    * configurable transfer type.
@@ -13,6 +13,7 @@ package alluxio.worker.netty;
 
 import alluxio.util.IdUtils;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
@@ -25,13 +26,20 @@ class ReadRequest {
   private final long mEnd;
   private final long mPacketSize;
   private final long mSessionId;
+  @Nullable
+  private final Long mStreamId;
 
   ReadRequest(long id, long start, long end, long packetSize) {
+    this(id, start, end, packetSize, null);
+  }
+
+  ReadRequest(long id, long start, long end, long packetSize, @Nullable Long streamId) {
     mId = id;
     mStart = start;
     mEnd = end;
     mPacketSize = packetSize;
     mSessionId = IdUtils.createSessionId();
+    mStreamId = streamId;
   }
 
   /**
@@ -68,4 +76,12 @@ class ReadRequest {
   public long getPacketSize() {
     return mPacketSize;
   }
+
+  /**
+   * @return the stream id if this read is multiplexed with others on its channel, or null
+   */
+  @Nullable
+  public Long getStreamId() {
+    return mStreamId;
+  }
 }
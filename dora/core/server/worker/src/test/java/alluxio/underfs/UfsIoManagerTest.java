@@ -11,16 +11,18 @@
 
 package alluxio.underfs;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doReturn;
-import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.mock;
 
 import alluxio.AlluxioTestDirectory;
 import alluxio.AlluxioURI;
+import alluxio.CloseableSupplier;
 import alluxio.ConfigurationRule;
 import alluxio.Constants;
+import alluxio.PositionReader;
 import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
 import alluxio.file.FileId;
@@ -28,22 +30,29 @@ import alluxio.grpc.UfsReadOptions;
 import alluxio.underfs.UfsManager.UfsClient;
 import alluxio.util.io.BufferUtils;
 
-import com.codahale.metrics.Meter;
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 public final class UfsIoManagerTest {
   private static final long TEST_BLOCK_SIZE = 5 * Constants.MB;
   private static final FileId FIRST_BLOCK_ID = FileId.of(0L);
   private static final FileId SECOND_BLOCK_ID = FileId.of(1L);
   private static final ByteBuffer TEST_BUF = ByteBuffer.allocate((int) TEST_BLOCK_SIZE);
+  private UfsClient mUfsClient;
   private UfsIOManager mUfsIOManager;
 
   @Rule
@@ -66,14 +75,18 @@ public final class UfsIoManagerTest {
     mTestFilePath = File.createTempFile("temp", null, new File(ufsFolder)).getAbsolutePath();
     byte[] buffer = BufferUtils.getIncreasingByteArray((int) TEST_BLOCK_SIZE * 2);
     BufferUtils.writeBufferToFile(mTestFilePath, buffer);
-    UfsClient client = new UfsClient(() -> UnderFileSystem.Factory.create(mTestFilePath,
+    mUfsClient = new UfsClient(() -> UnderFileSystem.Factory.create(mTestFilePath,
         UnderFileSystemConfiguration.defaults(Configuration.global())),
         new AlluxioURI(mTestFilePath));
-    mUfsIOManager = spy(new UfsIOManager(client));
-    doReturn(3d * Constants.MB).when(mUfsIOManager).getUsedThroughput(any(Meter.class));
+    mUfsIOManager = new UfsIOManager(mUfsClient);
     mUfsIOManager.start();
   }
 
+  @After
+  public void after() {
+    mUfsIOManager.close();
+  }
+
   @Test
   public void readFullBlock() throws Exception {
     mUfsIOManager.read(TEST_BUF, 0, TEST_BLOCK_SIZE, FIRST_BLOCK_ID, mTestFilePath,
@@ -125,19 +138,102 @@ public final class UfsIoManagerTest {
 
   @Test
   public void readWithQuota() throws Exception {
-    mUfsIOManager.setQuota("quotaTest", 2 * Constants.MB); // magic number for proper test time
+    mUfsIOManager.setQuota("quotaTest", Constants.MB);
+    UfsReadOptions options =
+        UfsReadOptions.newBuilder().setTag("quotaTest").setPositionShort(false).build();
+    // the first read is within the burst of the quota, and leaves a debt of about 4 seconds
+    mUfsIOManager.read(TEST_BUF, 0, TEST_BLOCK_SIZE, FIRST_BLOCK_ID, mTestFilePath, options)
+        .get();
+    TEST_BUF.clear();
     CompletableFuture<Integer> future =
         mUfsIOManager.read(TEST_BUF, 2, TEST_BLOCK_SIZE - 2, FIRST_BLOCK_ID, mTestFilePath,
-            UfsReadOptions.newBuilder().setTag("quotaTest").setPositionShort(false).build());
+            options);
     // sleep to make sure future is not done because of quota instead of get future too soon
-    Thread.sleep(3000);
+    Thread.sleep(1000);
     assertFalse(future.isDone());
-    mUfsIOManager.setQuota("quotaTest", 5 * Constants.MB);
-    future.get();
+    // the debt is paid off within milliseconds at the new quota
+    mUfsIOManager.setQuota("quotaTest", 1000 * Constants.MB);
+    future.get(1, TimeUnit.SECONDS);
     assertTrue(checkBuf(2, (int) TEST_BLOCK_SIZE - 2, TEST_BUF));
     TEST_BUF.clear();
   }
 
+  @Test
+  public void backgroundReadsDoNotDelayInteractiveReads() throws Exception {
+    mConfigurationRule.set(PropertyKey.UNDERFS_IO_THREADS, 2);
+    CountDownLatch loadStarted = new CountDownLatch(1);
+    CountDownLatch ufsReleased = new CountDownLatch(1);
+    PositionReader slowUfs = (position, buffer, length) -> {
+      loadStarted.countDown();
+      Uninterruptibles.awaitUninterruptibly(ufsReleased);
+      return length;
+    };
+    PositionReader fastUfs = (position, buffer, length) -> length;
+    UfsReadOptions load = UfsReadOptions.newBuilder().setTag("load").setPositionShort(false)
+        .setBackground(true).build();
+    UfsReadOptions query = UfsReadOptions.newBuilder().setTag("query").setPositionShort(false)
+        .build();
+    ExecutorService loaders = Executors.newFixedThreadPool(4);
+    try (UfsIOManager manager = new UfsIOManager(mUfsClient)) {
+      manager.start();
+      // the loads queue up more reads than there are IO threads
+      for (int i = 0; i < 4; i++) {
+        loaders.submit(() -> manager.positionReader(new CloseableSupplier<>(() -> slowUfs), load)
+            .read(0, new byte[1], 1));
+      }
+      assertTrue(loadStarted.await(10, TimeUnit.SECONDS));
+
+      // a miss of a query is served by the IO thread the loads may not take
+      PositionReader reader = manager.positionReader(new CloseableSupplier<>(() -> fastUfs),
+          query);
+      CompletableFuture<Integer> miss = CompletableFuture.supplyAsync(() -> {
+        try {
+          return reader.read(0, new byte[1], 1);
+        } catch (IOException e) {
+          throw new RuntimeException(e);
+        }
+      });
+      assertEquals(1, (int) miss.get(10, TimeUnit.SECONDS));
+    } finally {
+      ufsReleased.countDown();
+      loaders.shutdownNow();
+    }
+  }
+
+  @Test
+  public void weightsFromConfiguration() {
+    mConfigurationRule.set(PropertyKey.UNDERFS_IO_TAG_WEIGHTS, "etl:4, adhoc:2");
+    try (UfsIOManager manager = new UfsIOManager(mock(UfsClient.class))) {
+      assertEquals(4, manager.getWeight("etl"));
+      assertEquals(2, manager.getWeight("adhoc"));
+      assertEquals(1, manager.getWeight("other"));
+    }
+
+    mConfigurationRule.set(PropertyKey.UNDERFS_IO_TAG_WEIGHTS, "etl");
+    assertThrows(IllegalArgumentException.class,
+        () -> new UfsIOManager(mock(UfsClient.class)));
+    mConfigurationRule.set(PropertyKey.UNDERFS_IO_TAG_WEIGHTS, "etl:0");
+    assertThrows(IllegalArgumentException.class,
+        () -> new UfsIOManager(mock(UfsClient.class)));
+  }
+
+  @Test
+  public void readWithBandwidth() throws Exception {
+    ByteBuffer buf = ByteBuffer.allocate((int) TEST_BLOCK_SIZE);
+    UfsReadOptions options = UfsReadOptions.newBuilder().setTag("bandwidthTest")
+        .setPositionShort(false).setBandwidth(Constants.MB).setBackground(true).build();
+    mUfsIOManager.read(buf, 0, TEST_BLOCK_SIZE, FIRST_BLOCK_ID, mTestFilePath, options).get();
+    buf.clear();
+    CompletableFuture<Integer> future =
+        mUfsIOManager.read(buf, 0, TEST_BLOCK_SIZE, FIRST_BLOCK_ID, mTestFilePath, options);
+    // a throttled background read does not hold back interactive reads
+    mUfsIOManager.read(TEST_BUF, TEST_BLOCK_SIZE, TEST_BLOCK_SIZE, SECOND_BLOCK_ID,
+        mTestFilePath, UfsReadOptions.getDefaultInstance()).get(1, TimeUnit.SECONDS);
+    assertTrue(checkBuf((int) TEST_BLOCK_SIZE, (int) TEST_BLOCK_SIZE, TEST_BUF));
+    assertFalse(future.isDone());
+    TEST_BUF.clear();
+  }
+
   private boolean checkBuf(int start, int len, ByteBuffer buf) {
     buf.rewind();
     for (int k = 0; k < len; k++) {
@@ -40,12 +40,22 @@ import alluxio.grpc.RouteFailure;
 import alluxio.grpc.SetAttributePOptions;
 import alluxio.grpc.UfsReadOptions;
 import alluxio.grpc.WriteOptions;
+import alluxio.grpc.WritePType;
+import alluxio.network.protocol.databuffer.DataBuffer;
+import alluxio.proto.dataserver.Protocol;
 import alluxio.security.authorization.Mode;
 import alluxio.underfs.UfsStatus;
+import alluxio.util.CommonUtils;
+import alluxio.util.WaitForOptions;
 import alluxio.util.io.BufferUtils;
+import alluxio.worker.block.io.BlockReader;
+import alluxio.worker.block.io.BlockWriter;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.ListenableFuture;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -58,10 +68,12 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -126,6 +138,305 @@ public class PagedDoraWorkerTest {
     }
   }
 
+  @Test
+  public void testLoadInRanges() throws Exception {
+    mWorker.close();
+    Configuration.set(PropertyKey.DORA_WORKER_LOAD_RANGE_SPLIT_ENABLED, true);
+    Configuration.set(PropertyKey.DORA_WORKER_LOAD_RANGE_SIZE, 2 * mPageSize);
+    Configuration.set(PropertyKey.DORA_WORKER_LOAD_RANGE_PARALLELISM, 3);
+    try {
+      Configuration.set(PropertyKey.DORA_WORKER_METASTORE_ROCKSDB_DIR,
+          mTestFolder.newFolder("rocks-ranges"));
+      CacheManagerOptions cacheManagerOptions =
+          CacheManagerOptions.createForWorker(Configuration.global());
+      mCacheManager = CacheManager.Factory.create(Configuration.global(), cacheManagerOptions,
+          PageMetaStore.create(cacheManagerOptions));
+      mWorker =
+          new PagedDoraWorker(new AtomicReference<>(1L), Configuration.global(), mCacheManager);
+      int numPages = 9;
+      // the last page is partial to cover a short final range
+      int length = (int) (mPageSize * numPages - 1);
+      File f = mTestFolder.newFile();
+      byte[] buffer = BufferUtils.getIncreasingByteArray(length);
+      BufferUtils.writeBufferToFile(f.getAbsolutePath(), buffer);
+
+      loadFileData(f.getPath());
+
+      List<PageId> cachedPages =
+          mCacheManager.getCachedPageIdsByFileId(new AlluxioURI(f.getPath()).hash(), length);
+      assertEquals(numPages, cachedPages.size());
+      for (PageId pageId : cachedPages) {
+        int start = (int) (pageId.getPageIndex() * mPageSize);
+        int pageLength = (int) Math.min(mPageSize, length - start);
+        byte[] buff = new byte[pageLength];
+        assertEquals(pageLength, mCacheManager.get(pageId, pageLength, buff, 0));
+        assertTrue(BufferUtils.equalIncreasingByteArray(start, pageLength, buff));
+      }
+    } finally {
+      Configuration.unset(PropertyKey.DORA_WORKER_LOAD_RANGE_SPLIT_ENABLED);
+      Configuration.unset(PropertyKey.DORA_WORKER_LOAD_RANGE_SIZE);
+      Configuration.unset(PropertyKey.DORA_WORKER_LOAD_RANGE_PARALLELISM);
+    }
+  }
+
+  @Test
+  public void testAsyncThroughWrite() throws Exception {
+    mWorker.close();
+    Configuration.set(PropertyKey.DORA_WORKER_ASYNC_PERSIST_ENABLED, true);
+    Configuration.set(PropertyKey.CLIENT_WRITE_TO_UFS_ENABLED, false);
+    Configuration.set(PropertyKey.DORA_WORKER_ASYNC_PERSIST_JOURNAL_DIR,
+        mTestFolder.newFolder("asyncpersist").getAbsolutePath());
+    try {
+      Configuration.set(PropertyKey.DORA_WORKER_METASTORE_ROCKSDB_DIR,
+          mTestFolder.newFolder("rocks-async"));
+      CacheManagerOptions cacheManagerOptions =
+          CacheManagerOptions.createForWorker(Configuration.global());
+      mCacheManager = CacheManager.Factory.create(Configuration.global(), cacheManagerOptions,
+          PageMetaStore.create(cacheManagerOptions));
+      mWorker =
+          new PagedDoraWorker(new AtomicReference<>(1L), Configuration.global(), mCacheManager);
+      int length = (int) (mPageSize * 2 + 10);
+      String path = new File(mTestFolder.getRoot(), "async").getPath();
+      String fileId = new AlluxioURI(path).hash();
+      OpenFileHandle handle = mWorker.createFile(path,
+          CreateFilePOptions.newBuilder().setWriteType(WritePType.ASYNC_THROUGH).build());
+      BlockWriter writer = mWorker.createFileWriter(fileId, path);
+      writer.append(ByteBuffer.wrap(BufferUtils.getIncreasingByteArray(length)));
+      writer.commitFile();
+      writer.close();
+      mWorker.completeFile(path, CompleteFilePOptions.getDefaultInstance(),
+          handle.getUUID().toString());
+      // the file is complete, whether it is persisted yet or not
+      assertEquals(length,
+          mWorker.getFileInfo(path, GetStatusPOptions.getDefaultInstance()).getLength());
+
+      CommonUtils.waitFor("file persisted", () -> !mWorker.isPersistPending(path),
+          WaitForOptions.defaults().setTimeoutMs(30000));
+      assertTrue(BufferUtils.equalIncreasingByteArray(length,
+          Files.readAllBytes(new File(path).toPath())));
+      alluxio.wire.FileInfo info = mWorker.getFileInfo(path, GET_STATUS_OPTIONS_MUST_SYNC);
+      assertEquals(length, info.getLength());
+      assertTrue(info.isPersisted());
+      // the data written stays cached
+      assertEquals(3, mCacheManager.getCachedPageIdsByFileId(fileId, length).size());
+    } finally {
+      Configuration.unset(PropertyKey.DORA_WORKER_ASYNC_PERSIST_ENABLED);
+      Configuration.unset(PropertyKey.CLIENT_WRITE_TO_UFS_ENABLED);
+      Configuration.unset(PropertyKey.DORA_WORKER_ASYNC_PERSIST_JOURNAL_DIR);
+    }
+  }
+
+  @Test
+  public void testAsyncThroughWriteKeptByListing() throws Exception {
+    File parent = mTestFolder.newFolder("async-listing");
+    File file = new File(parent, "file");
+    String path = file.getPath();
+    BufferUtils.writeBufferToFile(path, BufferUtils.getIncreasingByteArray(10));
+    try {
+      createAsyncPersistWorker(mTestFolder.newFolder("asyncpersist"),
+          mTestFolder.newFolder("pagestore"));
+      // the file stays pending, as the persister does not run any more
+      mWorker.getAsyncPersister().close();
+      int length = (int) (mPageSize * 2 + 10);
+      writeAsync(path, length);
+      assertTrue(mWorker.isPersistPending(path));
+
+      // the listing has the status of the file in the UFS, which is not written yet
+      UfsStatus[] listing = mWorker.listStatus(parent.getPath(),
+          ListStatusPOptions.newBuilder().setCommonOptions(
+              FileSystemMasterCommonPOptions.newBuilder().setSyncIntervalMs(0)).build());
+      assertEquals(1, listing.length);
+      assertEquals(length,
+          mWorker.getFileInfo(path, GET_STATUS_OPTIONS_MUST_SYNC).getLength());
+      assertEquals(3, mCacheManager.getCachedPageIdsByFileId(
+          new AlluxioURI(path).hash(), length).size());
+    } finally {
+      unsetAsyncPersistConf();
+    }
+  }
+
+  @Test
+  public void testAsyncThroughWriteRecovery() throws Exception {
+    File journalDir = mTestFolder.newFolder("asyncpersist");
+    File pageStoreDir = mTestFolder.newFolder("pagestore");
+    String path = new File(mTestFolder.getRoot(), "async").getPath();
+    int length = (int) (mPageSize * 2 + 10);
+    try {
+      createAsyncPersistWorker(journalDir, pageStoreDir);
+      mWorker.getAsyncPersister().close();
+      writeAsync(path, length);
+      assertFalse(new File(path).exists());
+      assertEquals(1, journalDir.list().length);
+
+      // restarts the worker, which persists the file from the pages restored
+      createAsyncPersistWorker(journalDir, pageStoreDir);
+      mWorker.getAsyncPersister().start();
+      assertTrue(mWorker.isPersistPending(path));
+      assertEquals(length,
+          mWorker.getFileInfo(path, GetStatusPOptions.getDefaultInstance()).getLength());
+      CommonUtils.waitFor("file persisted", () -> !mWorker.isPersistPending(path),
+          WaitForOptions.defaults().setTimeoutMs(30000));
+      assertTrue(BufferUtils.equalIncreasingByteArray(length,
+          Files.readAllBytes(new File(path).toPath())));
+      assertEquals(0, journalDir.list().length);
+    } finally {
+      unsetAsyncPersistConf();
+    }
+  }
+
+  @Test
+  public void testAsyncThroughWriteCorruptRecord() throws Exception {
+    File journalDir = mTestFolder.newFolder("asyncpersist");
+    File pageStoreDir = mTestFolder.newFolder("pagestore");
+    String path = new File(mTestFolder.getRoot(), "async").getPath();
+    int length = (int) (mPageSize * 2 + 10);
+    try {
+      createAsyncPersistWorker(journalDir, pageStoreDir);
+      mWorker.getAsyncPersister().close();
+      writeAsync(path, length);
+      File corrupt = new File(journalDir, "corrupt");
+      Files.write(corrupt.toPath(), new byte[] {(byte) 0xff, 0x01});
+
+      // the bad record is moved aside, and the other file is still persisted on restart
+      createAsyncPersistWorker(journalDir, pageStoreDir);
+      mWorker.getAsyncPersister().start();
+      assertFalse(corrupt.exists());
+      assertTrue(new File(journalDir, "corrupt.corrupt").exists());
+      CommonUtils.waitFor("file persisted", () -> !mWorker.isPersistPending(path),
+          WaitForOptions.defaults().setTimeoutMs(30000));
+      assertTrue(BufferUtils.equalIncreasingByteArray(length,
+          Files.readAllBytes(new File(path).toPath())));
+    } finally {
+      unsetAsyncPersistConf();
+    }
+  }
+
+  @Test
+  public void testAsyncThroughWriteCancelled() throws Exception {
+    File journalDir = mTestFolder.newFolder("asyncpersist");
+    String path = new File(mTestFolder.getRoot(), "async").getPath();
+    String fileId = new AlluxioURI(path).hash();
+    int length = (int) (mPageSize * 2 + 10);
+    try {
+      createAsyncPersistWorker(journalDir, mTestFolder.newFolder("pagestore"));
+      mWorker.getAsyncPersister().close();
+      writeAsync(path, length);
+
+      // the pending file is overwritten before it is persisted
+      assertThrows(RuntimeException.class, () -> mWorker.createFile(path,
+          CreateFilePOptions.newBuilder().setWriteType(WritePType.ASYNC_THROUGH).build()));
+      OpenFileHandle handle = mWorker.createFile(path, CreateFilePOptions.newBuilder()
+          .setWriteType(WritePType.ASYNC_THROUGH).setOverwrite(true).build());
+      assertFalse(mWorker.isPersistPending(path));
+      assertEquals(0, journalDir.list().length);
+      assertTrue(mCacheManager.getCachedPageIdsByFileId(fileId, length).isEmpty());
+      mWorker.completeFile(path, CompleteFilePOptions.getDefaultInstance(),
+          handle.getUUID().toString());
+      assertTrue(mWorker.isPersistPending(path));
+
+      // a pending file cannot be only removed from the cache
+      assertThrows(RuntimeException.class, () -> mWorker.delete(path,
+          DeletePOptions.newBuilder().setAlluxioOnly(true).build()));
+      mWorker.delete(path, DeletePOptions.getDefaultInstance());
+      assertFalse(mWorker.isPersistPending(path));
+      assertEquals(0, journalDir.list().length);
+      assertFalse(new File(path).exists());
+      assertThrows(FileNotFoundException.class,
+          () -> mWorker.getFileInfo(path, GET_STATUS_OPTIONS_MUST_SYNC));
+    } finally {
+      unsetAsyncPersistConf();
+    }
+  }
+
+  /**
+   * Recreates the worker with ASYNC_THROUGH writes enabled.
+   *
+   * @param journalDir the directory of the records of the files to persist
+   * @param pageStoreDir the directory of the page store
+   */
+  private void createAsyncPersistWorker(File journalDir, File pageStoreDir) throws Exception {
+    mWorker.close();
+    Configuration.set(PropertyKey.DORA_WORKER_ASYNC_PERSIST_ENABLED, true);
+    Configuration.set(PropertyKey.CLIENT_WRITE_TO_UFS_ENABLED, false);
+    Configuration.set(PropertyKey.DORA_WORKER_ASYNC_PERSIST_JOURNAL_DIR,
+        journalDir.getAbsolutePath());
+    Configuration.set(PropertyKey.WORKER_PAGE_STORE_DIRS, pageStoreDir.getAbsolutePath());
+    Configuration.set(PropertyKey.DORA_WORKER_METASTORE_ROCKSDB_DIR, mTestFolder.newFolder());
+    CacheManagerOptions cacheManagerOptions =
+        CacheManagerOptions.createForWorker(Configuration.global());
+    mCacheManager = CacheManager.Factory.create(Configuration.global(), cacheManagerOptions,
+        PageMetaStore.create(cacheManagerOptions));
+    mWorker =
+        new PagedDoraWorker(new AtomicReference<>(1L), Configuration.global(), mCacheManager);
+  }
+
+  private void unsetAsyncPersistConf() {
+    Configuration.unset(PropertyKey.DORA_WORKER_ASYNC_PERSIST_ENABLED);
+    Configuration.unset(PropertyKey.CLIENT_WRITE_TO_UFS_ENABLED);
+    Configuration.unset(PropertyKey.DORA_WORKER_ASYNC_PERSIST_JOURNAL_DIR);
+    Configuration.unset(PropertyKey.WORKER_PAGE_STORE_DIRS);
+  }
+
+  /**
+   * Writes and completes a file with the ASYNC_THROUGH write type, overwriting it if it exists.
+   */
+  private void writeAsync(String path, int length) throws Exception {
+    String fileId = new AlluxioURI(path).hash();
+    OpenFileHandle handle = mWorker.createFile(path, CreateFilePOptions.newBuilder()
+        .setWriteType(WritePType.ASYNC_THROUGH).setOverwrite(true).build());
+    BlockWriter writer = mWorker.createFileWriter(fileId, path);
+    writer.append(ByteBuffer.wrap(BufferUtils.getIncreasingByteArray(length)));
+    writer.commitFile();
+    writer.close();
+    mWorker.completeFile(path, CompleteFilePOptions.getDefaultInstance(),
+        handle.getUUID().toString());
+  }
+
+  @Test
+  public void testReadRetained() throws Exception {
+    int length = (int) (mPageSize * 2 + 10);
+    File f = mTestFolder.newFile();
+    BufferUtils.writeBufferToFile(f.getAbsolutePath(),
+        BufferUtils.getIncreasingByteArray(length));
+    Protocol.OpenUfsBlockOptions options = Protocol.OpenUfsBlockOptions.newBuilder()
+        .setUfsPath(f.getPath()).setMountId(1).setNoCache(false).setOffsetInFile(0)
+        .setBlockSize(length).build();
+    try (BlockReader reader = mWorker.createFileReader(
+        new AlluxioURI(f.getPath()).hash(), 0, false, options)) {
+      // crosses a page boundary
+      DataBuffer buf = reader.readRetained(mPageSize - 5, 20);
+      try {
+        assertEquals(20, buf.readableBytes());
+        byte[] bytes = new byte[20];
+        buf.readBytes(bytes, 0, 20);
+        assertTrue(BufferUtils.equalIncreasingByteArray((int) mPageSize - 5, 20, bytes));
+      } finally {
+        buf.release();
+      }
+      // capped at the end of the file
+      buf = reader.readRetained(length - 4, 100);
+      try {
+        assertEquals(4, buf.readableBytes());
+      } finally {
+        buf.release();
+      }
+      buf = reader.readRetained(length, 10);
+      assertEquals(0, buf.readableBytes());
+      buf.release();
+
+      // read into a buffer of the given allocator
+      buf = reader.readRetained(mPageSize - 5, 20, UnpooledByteBufAllocator.DEFAULT);
+      try {
+        assertTrue(buf.getNettyOutput() instanceof ByteBuf);
+        byte[] bytes = new byte[20];
+        buf.readBytes(bytes, 0, 20);
+        assertTrue(BufferUtils.equalIncreasingByteArray((int) mPageSize - 5, 20, bytes));
+      } finally {
+        buf.release();
+      }
+    }
+  }
+
   @Test
   public void testSingleFileCopy() throws IOException, ExecutionException, InterruptedException {
     File srcRoot = mTestFolder.newFolder("src");
@@ -490,6 +801,51 @@ public class PagedDoraWorkerTest {
     assertTrue(result.isFolder());
   }
 
+  @Test
+  public void testGetFileInfos() throws Exception {
+    File file = mTestFolder.newFile();
+    Files.write(file.toPath(), "foobar".getBytes());
+    File dir = mTestFolder.newFolder();
+    String notExist = new File(dir, "notExist").getPath();
+    // cache the metadata of the file, the others are loaded by the batch
+    mWorker.getFileInfo(file.getPath(), GetStatusPOptions.getDefaultInstance());
+
+    List<Optional<alluxio.wire.FileInfo>> result = mWorker.getFileInfos(
+        ImmutableList.of(file.getPath(), notExist, dir.getPath()),
+        GetStatusPOptions.getDefaultInstance());
+    assertEquals(3, result.size());
+    assertEquals("foobar".length(), result.get(0).get().getLength());
+    assertFalse(result.get(1).isPresent());
+    assertTrue(result.get(2).get().isFolder());
+
+    assertTrue(file.delete());
+    result = mWorker.getFileInfos(ImmutableList.of(file.getPath()),
+        GetStatusPOptions.getDefaultInstance());
+    assertTrue(result.get(0).isPresent());
+    result = mWorker.getFileInfos(ImmutableList.of(file.getPath()),
+        GET_STATUS_OPTIONS_MUST_SYNC);
+    assertFalse(result.get(0).isPresent());
+  }
+
+  @Test
+  public void testGetFileInfosLoadsMissesInParallel() throws Exception {
+    int numFiles = 50;
+    List<String> paths = new ArrayList<>();
+    for (int i = 0; i < numFiles; i++) {
+      File file = mTestFolder.newFile();
+      Files.write(file.toPath(), new byte[i]);
+      paths.add(file.getPath());
+    }
+
+    List<Optional<alluxio.wire.FileInfo>> result =
+        mWorker.getFileInfos(paths, GetStatusPOptions.getDefaultInstance());
+    assertEquals(numFiles, result.size());
+    for (int i = 0; i < numFiles; i++) {
+      assertEquals(paths.get(i), result.get(i).get().getUfsPath());
+      assertEquals(i, result.get(i).get().getLength());
+    }
+  }
+
   @Test
   public void testCreateDeleteFile() throws Exception {
     File testDir = mTestFolder.newFolder("testDir");
@@ -569,18 +925,64 @@ public class PagedDoraWorkerTest {
   public void testRecursiveListing() throws Exception {
     File rootFolder = mTestFolder.newFolder("root");
     String rootPath = rootFolder.getAbsolutePath();
-    mTestFolder.newFolder("root/d1");
+    File d1 = mTestFolder.newFolder("root/d1");
     mTestFolder.newFolder("root/d1/d1");
     mTestFolder.newFolder("root/d2");
     UfsStatus[] listResult =
         mWorker.listStatus(rootPath, ListStatusPOptions.newBuilder().setRecursive(true).build());
     assertEquals(3, listResult.length);
     assertFalse(mWorker.getMetaManager().listCached(rootPath, true).isPresent());
+    // recursive listings are not written through to the meta store
+    assertFalse(mWorker.getMetaManager().getFromMetaStore(d1.getPath()).isPresent());
     listResult =
         mWorker.listStatus(rootPath, ListStatusPOptions.newBuilder().setRecursive(false).build());
     assertEquals(2, listResult.length);
   }
 
+  @Test
+  public void testListingPopulatesMetaStore() throws Exception {
+    File rootFolder = mTestFolder.newFolder("root");
+    String rootPath = rootFolder.getAbsolutePath();
+    File f = mTestFolder.newFile("root/f");
+    Files.write(f.toPath(), "foobar".getBytes());
+    File d = mTestFolder.newFolder("root/d");
+    assertFalse(mWorker.getMetaManager().getFromMetaStore(f.getPath()).isPresent());
+
+    mWorker.listStatus(rootPath, ListStatusPOptions.newBuilder().setRecursive(false).build());
+    assertTrue(mWorker.getMetaManager().getFromMetaStore(d.getPath()).get()
+        .getFileInfo().getFolder());
+    assertEquals("foobar".length(),
+        mWorker.getMetaManager().getFromMetaStore(f.getPath()).get().getFileInfo().getLength());
+
+    // the status is served from the meta store populated by the listing
+    assertTrue(f.delete());
+    assertEquals("foobar".length(),
+        mWorker.getFileInfo(f.getPath(), GetStatusPOptions.getDefaultInstance()).getLength());
+  }
+
+  @Test
+  public void testRecursiveDeleteRemovesDescendants() throws Exception {
+    File rootFolder = mTestFolder.newFolder("root");
+    String rootPath = rootFolder.getAbsolutePath();
+    File d = mTestFolder.newFolder("root/d");
+    File f = mTestFolder.newFile("root/d/f");
+    Files.write(f.toPath(), "foobar".getBytes());
+    File g = mTestFolder.newFile("root/d/g");
+    ListStatusPOptions options = ListStatusPOptions.newBuilder().setRecursive(false).build();
+    mWorker.listStatus(rootPath, options);
+    mWorker.listStatus(d.getPath(), options);
+    assertTrue(mWorker.getMetaManager().getFromMetaStore(f.getPath()).isPresent());
+    // the listing of d is dropped from the listing cache, but the meta of g is still stored
+    mWorker.getMetaManager().invalidateListingCache(d.getPath());
+    assertTrue(mWorker.getMetaManager().getFromMetaStore(g.getPath()).isPresent());
+
+    mWorker.delete(rootPath, DeletePOptions.newBuilder().setRecursive(true).build());
+    assertFalse(mWorker.getMetaManager().getFromMetaStore(d.getPath()).isPresent());
+    assertFalse(mWorker.getMetaManager().getFromMetaStore(f.getPath()).isPresent());
+    assertFalse(mWorker.getMetaManager().getFromMetaStore(g.getPath()).isPresent());
+    assertFalse(mWorker.getMetaManager().listCached(d.getPath(), false).isPresent());
+  }
+
   @Test
   public void testListCacheConsistency()
       throws IOException, AccessControlException, ExecutionException, InterruptedException,
@@ -0,0 +1,67 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import alluxio.client.file.cache.LocalCachePositionReader;
+import alluxio.network.protocol.databuffer.CompositeDataBuffer;
+import alluxio.network.protocol.databuffer.DataFileChannel;
+import alluxio.resource.CloseableResource;
+import alluxio.underfs.UnderFileSystem;
+
+import io.netty.channel.Channel;
+import org.junit.Test;
+
+import java.nio.channels.FileChannel;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PagedFileReaderTest {
+  private static final int PAGE_SIZE = 4;
+
+  @Test
+  public void releaseChannelsOnFailure() throws Exception {
+    AtomicInteger released = new AtomicInteger();
+    FileChannel fileChannel = mock(FileChannel.class);
+    LocalCachePositionReader positionReader = mock(LocalCachePositionReader.class);
+    when(positionReader.getPageSize()).thenReturn((long) PAGE_SIZE);
+    when(positionReader.getDataFileChannel(0, PAGE_SIZE))
+        .thenAnswer(invocation -> Optional.of(
+            new DataFileChannel(fileChannel, 0, PAGE_SIZE, released::incrementAndGet)));
+    when(positionReader.getDataFileChannel(PAGE_SIZE, PAGE_SIZE))
+        .thenThrow(new IllegalStateException("page file is gone"))
+        .thenAnswer(invocation -> Optional.of(
+            new DataFileChannel(fileChannel, 0, PAGE_SIZE, released::incrementAndGet)));
+    @SuppressWarnings("unchecked")
+    CloseableResource<UnderFileSystem> ufs = mock(CloseableResource.class);
+    PagedFileReader reader = new PagedFileReader(ufs, positionReader, 2 * PAGE_SIZE, 0);
+
+    assertThrows(IllegalStateException.class,
+        () -> reader.getMultipleDataFileChannel(mock(Channel.class), 2 * PAGE_SIZE));
+    // the channel of the first page is handed back
+    assertEquals(1, released.get());
+
+    // a retry starts over from the same position
+    CompositeDataBuffer buffer =
+        reader.getMultipleDataFileChannel(mock(Channel.class), 2 * PAGE_SIZE);
+    assertEquals(2 * PAGE_SIZE, buffer.getLength());
+    verify(positionReader, times(2)).getDataFileChannel(0, PAGE_SIZE);
+    buffer.release();
+    assertEquals(3, released.get());
+  }
+}
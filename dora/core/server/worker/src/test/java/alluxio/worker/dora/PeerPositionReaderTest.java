@@ -0,0 +1,111 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import alluxio.ByteArrayPositionReader;
+import alluxio.CloseableSupplier;
+import alluxio.PositionReader;
+import alluxio.client.file.dora.netty.PartialReadException;
+import alluxio.exception.status.NotFoundException;
+import alluxio.file.ReadTargetBuffer;
+import alluxio.util.io.BufferUtils;
+import alluxio.wire.WorkerNetAddress;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PeerPositionReaderTest {
+  private static final byte[] DATA = BufferUtils.getIncreasingByteArray(100);
+
+  private final AtomicInteger mPeerReads = new AtomicInteger();
+  private final AtomicInteger mUfsReads = new AtomicInteger();
+  private boolean mPeerFailing;
+  private boolean mPeerNotCaching;
+
+  @Test
+  public void readFromPeer() throws Exception {
+    try (PositionReader reader = createReader()) {
+      byte[] buffer = new byte[10];
+      assertEquals(10, reader.read(20, buffer, 10));
+      assertArrayEquals(Arrays.copyOfRange(DATA, 20, 30), buffer);
+      assertEquals(1, mPeerReads.get());
+      assertEquals(0, mUfsReads.get());
+    }
+  }
+
+  @Test
+  public void fallBackToUfs() throws Exception {
+    try (PositionReader reader = createReader()) {
+      byte[] buffer = new byte[10];
+      mPeerFailing = true;
+      assertEquals(10, reader.read(20, buffer, 10));
+      assertArrayEquals(Arrays.copyOfRange(DATA, 20, 30), buffer);
+      // the peer is not read from once it failed
+      mPeerFailing = false;
+      assertEquals(10, reader.read(40, buffer, 10));
+      assertArrayEquals(Arrays.copyOfRange(DATA, 40, 50), buffer);
+      assertEquals(1, mPeerReads.get());
+      assertEquals(2, mUfsReads.get());
+    }
+  }
+
+  @Test
+  public void readNotCachedFromUfs() throws Exception {
+    try (PositionReader reader = createReader()) {
+      byte[] buffer = new byte[10];
+      mPeerNotCaching = true;
+      assertEquals(10, reader.read(20, buffer, 10));
+      assertArrayEquals(Arrays.copyOfRange(DATA, 20, 30), buffer);
+      // the peer is still read from
+      mPeerNotCaching = false;
+      assertEquals(10, reader.read(40, buffer, 10));
+      assertArrayEquals(Arrays.copyOfRange(DATA, 40, 50), buffer);
+      assertEquals(2, mPeerReads.get());
+      assertEquals(1, mUfsReads.get());
+    }
+  }
+
+  private PositionReader createReader() {
+    PositionReader peerReader = new PositionReader() {
+      @Override
+      public int readInternal(long position, ReadTargetBuffer buffer, int length)
+          throws IOException {
+        mPeerReads.incrementAndGet();
+        if (mPeerFailing) {
+          throw new PartialReadException(length, 0, PartialReadException.CauseType.TRANSPORT_ERROR,
+              new IOException("peer down"));
+        }
+        if (mPeerNotCaching) {
+          throw new PartialReadException(length, 0, PartialReadException.CauseType.SERVER_ERROR,
+              new NotFoundException("not cached"));
+        }
+        return new ByteArrayPositionReader(DATA).read(position, buffer, length);
+      }
+    };
+    CloseableSupplier<PositionReader> ufsReader = new CloseableSupplier<>(() ->
+        new PositionReader() {
+          @Override
+          public int readInternal(long position, ReadTargetBuffer buffer, int length)
+              throws IOException {
+            mUfsReads.incrementAndGet();
+            return new ByteArrayPositionReader(DATA).read(position, buffer, length);
+          }
+        });
+    return new PeerPositionReader(new WorkerNetAddress().setHost("peer"), peerReader, ufsReader);
+  }
+}
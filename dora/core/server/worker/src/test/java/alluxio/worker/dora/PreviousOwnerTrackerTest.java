@@ -0,0 +1,112 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import alluxio.Constants;
+import alluxio.client.block.BlockWorkerInfo;
+import alluxio.client.file.FileSystemContext;
+import alluxio.client.file.dora.ConsistentHashProvider;
+import alluxio.conf.Configuration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.wire.WorkerNetAddress;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public class PreviousOwnerTrackerTest {
+  private final FileSystemContext mFsContext = mock(FileSystemContext.class);
+  private final List<BlockWorkerInfo> mWorkers = new ArrayList<>();
+  private final WorkerNetAddress mNewWorker = new WorkerNetAddress().setHost("new");
+  private long mTimeMs = 0;
+  private PreviousOwnerTracker mTracker;
+
+  @Before
+  public void before() throws Exception {
+    for (int i = 0; i < 4; i++) {
+      mWorkers.add(createWorker(new WorkerNetAddress().setHost("worker" + i)));
+    }
+    when(mFsContext.getCachedWorkers()).thenReturn(new ArrayList<>(mWorkers));
+    InstancedConfiguration conf = Configuration.copyGlobal();
+    conf.set(PropertyKey.DORA_WORKER_PEER_CACHE_FILL_WINDOW, "1h");
+    mTracker = new PreviousOwnerTracker(mFsContext, conf, () -> mTimeMs);
+  }
+
+  @Test
+  public void previousOwnerAfterJoin() throws Exception {
+    // the workers have not changed
+    assertFalse(mTracker.getPreviousOwner("/file", mWorkers.get(0).getNetAddress()).isPresent());
+
+    List<BlockWorkerInfo> previous = new ArrayList<>(mWorkers);
+    mWorkers.add(createWorker(mNewWorker));
+    when(mFsContext.getCachedWorkers()).thenReturn(new ArrayList<>(mWorkers));
+    ConsistentHashProvider previousRing = createRing(previous);
+    ConsistentHashProvider ring = createRing(mWorkers);
+    int remapped = 0;
+    for (int i = 0; i < 1000; i++) {
+      String path = "/file" + i;
+      Optional<WorkerNetAddress> previousOwner = mTracker.getPreviousOwner(path, mNewWorker);
+      WorkerNetAddress owner = ring.getMultiple(path, 1).get(0).getNetAddress();
+      if (owner.equals(mNewWorker)) {
+        remapped++;
+        assertEquals(previousRing.getMultiple(path, 1).get(0).getNetAddress(),
+            previousOwner.get());
+      }
+    }
+    assertTrue(remapped > 0);
+
+    // the previous workers are not asked once the window is over
+    mTimeMs += Constants.HOUR_MS;
+    for (int i = 0; i < 100; i++) {
+      assertFalse(mTracker.getPreviousOwner("/file" + i, mNewWorker).isPresent());
+    }
+  }
+
+  @Test
+  public void previousOwnerLeft() throws Exception {
+    mTracker.getPreviousOwner("/file", mNewWorker);
+    BlockWorkerInfo left = mWorkers.remove(0);
+    when(mFsContext.getCachedWorkers()).thenReturn(new ArrayList<>(mWorkers));
+    ConsistentHashProvider ring = createRing(mWorkers);
+    for (int i = 0; i < 1000; i++) {
+      String path = "/file" + i;
+      Optional<WorkerNetAddress> previousOwner = mTracker.getPreviousOwner(path,
+          ring.getMultiple(path, 1).get(0).getNetAddress());
+      // the files of the worker which left are read from the UFS
+      if (previousOwner.isPresent()) {
+        assertNotEquals(left.getNetAddress(), previousOwner.get());
+      }
+    }
+  }
+
+  private static ConsistentHashProvider createRing(List<BlockWorkerInfo> workers) {
+    ConsistentHashProvider ring = new ConsistentHashProvider(100, 0);
+    ring.refresh(workers,
+        Configuration.getInt(PropertyKey.USER_CONSISTENT_HASH_VIRTUAL_NODE_COUNT));
+    return ring;
+  }
+
+  private static BlockWorkerInfo createWorker(WorkerNetAddress address) {
+    return new BlockWorkerInfo(address, Constants.GB, 0);
+  }
+}
@@ -17,6 +17,11 @@ import alluxio.util.CommonUtils;
 
 import junit.framework.TestCase;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class RocksDBDoraMetaStoreTest extends TestCase {
@@ -81,6 +86,81 @@ public class RocksDBDoraMetaStoreTest extends TestCase {
     System.out.println("End testGetNotExist");
   }
 
+  public void testGetMulti() {
+    FileInfo fi = FileInfo.newBuilder()
+        .setFileId(1234)
+        .setMode(0567)
+        .setLength(1000)
+        .build();
+    DoraMeta.FileStatus fs = DoraMeta.FileStatus.newBuilder()
+        .setFileInfo(fi)
+        .setTs(System.nanoTime())
+        .build();
+    mTestMetastore.putDoraMeta("/MULTI/A", fs);
+    mTestMetastore.putDoraMeta("/MULTI/C", fs);
+
+    List<Optional<DoraMeta.FileStatus>> res = mTestMetastore.getDoraMetas(
+        Arrays.asList("/MULTI/A", "/MULTI/B", "/MULTI/C"));
+    assertEquals(3, res.size());
+    assertEquals(Optional.of(fs), res.get(0));
+    assertFalse(res.get(1).isPresent());
+    assertEquals(Optional.of(fs), res.get(2));
+    assertTrue(mTestMetastore.getDoraMetas(Collections.emptyList()).isEmpty());
+  }
+
+  public void testPutAndRemoveMulti() {
+    Map<String, DoraMeta.FileStatus> metas = new HashMap<>();
+    for (int i = 0; i < 10; i++) {
+      FileInfo fi = FileInfo.newBuilder()
+          .setFileId(i)
+          .setMode(0567)
+          .setLength(1000)
+          .build();
+      metas.put("/BATCH/" + i, DoraMeta.FileStatus.newBuilder()
+          .setFileInfo(fi)
+          .setTs(System.nanoTime())
+          .build());
+    }
+    mTestMetastore.putDoraMetas(metas);
+    for (Map.Entry<String, DoraMeta.FileStatus> entry : metas.entrySet()) {
+      assertEquals(Optional.of(entry.getValue()), mTestMetastore.getDoraMeta(entry.getKey()));
+    }
+
+    mTestMetastore.removeDoraMetas(Arrays.asList("/BATCH/0", "/BATCH/1", "/BATCH/NOT_EXIST"));
+    assertFalse(mTestMetastore.getDoraMeta("/BATCH/0").isPresent());
+    assertFalse(mTestMetastore.getDoraMeta("/BATCH/1").isPresent());
+    assertEquals(Optional.of(metas.get("/BATCH/2")), mTestMetastore.getDoraMeta("/BATCH/2"));
+  }
+
+  public void testRemoveUnder() {
+    FileInfo fi = FileInfo.newBuilder()
+        .setFileId(1234)
+        .setMode(0567)
+        .setLength(1000)
+        .build();
+    DoraMeta.FileStatus fs = DoraMeta.FileStatus.newBuilder()
+        .setFileInfo(fi)
+        .setTs(System.nanoTime())
+        .build();
+    List<String> paths = Arrays.asList("/UNDER", "/UNDER/A", "/UNDER/B", "/UNDER/B/C",
+        "/UNDER/D", "/UNDERSCORE", "/UNDER_SCORE/A");
+    for (String path : paths) {
+      mTestMetastore.putDoraMeta(path, fs);
+    }
+
+    List<String> removed =
+        mTestMetastore.removeDoraMetasUnder("/UNDER", path -> !path.equals("/UNDER/D"));
+    assertEquals(Arrays.asList("/UNDER/A", "/UNDER/B", "/UNDER/B/C"), removed);
+    for (String path : removed) {
+      assertFalse(mTestMetastore.getDoraMeta(path).isPresent());
+    }
+    assertTrue(mTestMetastore.getDoraMeta("/UNDER").isPresent());
+    assertTrue(mTestMetastore.getDoraMeta("/UNDER/D").isPresent());
+    assertTrue(mTestMetastore.getDoraMeta("/UNDERSCORE").isPresent());
+    assertTrue(mTestMetastore.getDoraMeta("/UNDER_SCORE/A").isPresent());
+    mTestMetastore.removeDoraMetas(paths);
+  }
+
   public void testRemoveNotExist() {
     System.out.println("Start testRemoveNotExist");
 
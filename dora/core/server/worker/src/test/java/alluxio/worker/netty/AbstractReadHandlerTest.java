@@ -0,0 +1,226 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.netty;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.network.protocol.RPCProtoMessage;
+import alluxio.network.protocol.databuffer.DataBuffer;
+import alluxio.network.protocol.databuffer.NettyDataBuffer;
+import alluxio.proto.dataserver.Protocol;
+import alluxio.proto.status.Status.PStatus;
+import alluxio.util.proto.ProtoMessage;
+
+import com.codahale.metrics.Counter;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class AbstractReadHandlerTest {
+  private static final int PACKET_SIZE = 4;
+  /** Reads of this block fail. */
+  private static final long FAILING_BLOCK_ID = 13;
+
+  private final List<RPCProtoMessage> mEofs = new ArrayList<>();
+  private EmbeddedChannel mChannel;
+
+  @After
+  public void after() {
+    if (mChannel != null) {
+      mChannel.finishAndReleaseAll();
+    }
+  }
+
+  @Test
+  public void tagResponsesWithStreamId() {
+    mChannel = new EmbeddedChannel(new TestReadHandler(MoreExecutors.newDirectExecutorService()));
+    mChannel.writeInbound(readRequest(1, 10, 3L));
+    mChannel.writeInbound(readRequest(2, 6, 7L));
+
+    Map<Long, Long> bytesByStream = new HashMap<>();
+    Map<Long, Integer> eofsByStream = new HashMap<>();
+    for (Protocol.Response response : readResponses(bytesByStream)) {
+      assertEquals(PStatus.OK, response.getStatus());
+      assertTrue(response.hasStreamId());
+    }
+    for (RPCProtoMessage eof : mEofs) {
+      eofsByStream.merge(eof.getMessage().asResponse().getStreamId(), 1, Integer::sum);
+    }
+    assertEquals(10L, (long) bytesByStream.get(3L));
+    assertEquals(6L, (long) bytesByStream.get(7L));
+    assertEquals(1, (int) eofsByStream.get(3L));
+    assertEquals(1, (int) eofsByStream.get(7L));
+  }
+
+  @Test
+  public void noStreamIdWithoutMultiplexing() {
+    mChannel = new EmbeddedChannel(new TestReadHandler(MoreExecutors.newDirectExecutorService()));
+    mChannel.writeInbound(readRequest(1, 6, null));
+
+    Map<Long, Long> bytesByStream = new HashMap<>();
+    for (Protocol.Response response : readResponses(bytesByStream)) {
+      assertFalse(response.hasStreamId());
+    }
+    assertEquals(1, mEofs.size());
+    assertFalse(mEofs.get(0).getMessage().asResponse().hasStreamId());
+  }
+
+  @Test
+  public void cancelOnlyTheStream() throws Exception {
+    CountDownLatch blocked = new CountDownLatch(1);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      executor.submit(() -> {
+        blocked.await();
+        return null;
+      });
+      TestReadHandler handler = new TestReadHandler(executor);
+      mChannel = new EmbeddedChannel(handler);
+      mChannel.writeInbound(readRequest(1, 6, 3L));
+      mChannel.writeInbound(readRequest(2, 6, 7L));
+      assertEquals(2, handler.getTaskCount());
+
+      mChannel.writeInbound(cancelRequest(3L));
+      assertEquals(1, handler.getTaskCount());
+      // a cancel of a stream which is not open leaves the other streams alone
+      mChannel.writeInbound(cancelRequest(5L));
+      assertEquals(1, handler.getTaskCount());
+
+      mChannel.writeInbound(cancelRequest(null));
+      assertEquals(0, handler.getTaskCount());
+    } finally {
+      blocked.countDown();
+      executor.shutdown();
+      assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+  }
+
+  @Test
+  public void errorOfStreamKeepsChannelOpen() {
+    mChannel = new EmbeddedChannel(new TestReadHandler(MoreExecutors.newDirectExecutorService()));
+    mChannel.writeInbound(readRequest(FAILING_BLOCK_ID, 6, 3L));
+
+    RPCProtoMessage error = mChannel.readOutbound();
+    Protocol.Response response = error.getMessage().asResponse();
+    assertNotEquals(PStatus.OK, response.getStatus());
+    assertEquals(3L, response.getStreamId());
+    assertTrue(mChannel.isOpen());
+
+    // the other reads on the channel are still served
+    mChannel.writeInbound(readRequest(1, 6, 7L));
+    Map<Long, Long> bytesByStream = new HashMap<>();
+    readResponses(bytesByStream);
+    assertEquals(6L, (long) bytesByStream.get(7L));
+  }
+
+  @Test
+  public void errorWithoutMultiplexingClosesChannel() {
+    mChannel = new EmbeddedChannel(new TestReadHandler(MoreExecutors.newDirectExecutorService()));
+    mChannel.writeInbound(readRequest(FAILING_BLOCK_ID, 6, null));
+
+    RPCProtoMessage error = mChannel.readOutbound();
+    assertNotEquals(PStatus.OK, error.getMessage().asResponse().getStatus());
+    assertFalse(mChannel.isOpen());
+  }
+
+  /**
+   * Drains the responses written to the channel, sums up the bytes of the data responses by
+   * stream id and collects the EOF responses.
+   */
+  private List<Protocol.Response> readResponses(Map<Long, Long> bytesByStream) {
+    List<Protocol.Response> responses = new ArrayList<>();
+    for (RPCProtoMessage message = mChannel.readOutbound(); message != null;
+         message = mChannel.readOutbound()) {
+      Protocol.Response response = message.getMessage().asResponse();
+      responses.add(response);
+      DataBuffer payload = message.getPayloadDataBuffer();
+      if (payload == null) {
+        mEofs.add(message);
+        continue;
+      }
+      bytesByStream.merge(response.hasStreamId() ? response.getStreamId() : -1L,
+          (long) payload.getLength(), Long::sum);
+      payload.release();
+    }
+    return responses;
+  }
+
+  private static RPCProtoMessage readRequest(long blockId, long length, Long streamId) {
+    Protocol.ReadRequest.Builder builder = Protocol.ReadRequest.newBuilder()
+        .setBlockId(blockId)
+        .setOffset(0)
+        .setLength(length)
+        .setChunkSize(PACKET_SIZE);
+    if (streamId != null) {
+      builder.setStreamId(streamId);
+    }
+    return new RPCProtoMessage(new ProtoMessage(builder.build()), null);
+  }
+
+  private static RPCProtoMessage cancelRequest(Long streamId) {
+    Protocol.ReadRequest.Builder builder = Protocol.ReadRequest.newBuilder().setCancel(true);
+    if (streamId != null) {
+      builder.setStreamId(streamId);
+    }
+    return new RPCProtoMessage(new ProtoMessage(builder.build()), null);
+  }
+
+  /**
+   * A read handler which reads zeroes, or fails for {@link #FAILING_BLOCK_ID}.
+   */
+  private static final class TestReadHandler
+      extends AbstractReadHandler<BlockReadRequestContext> {
+    TestReadHandler(ExecutorService executorService) {
+      super(executorService);
+    }
+
+    @Override
+    protected BlockReadRequestContext createRequestContext(Protocol.ReadRequest request) {
+      BlockReadRequestContext context = new BlockReadRequestContext(request);
+      context.setCounter(new Counter());
+      return context;
+    }
+
+    @Override
+    protected PacketReader createPacketReader() {
+      return new PacketReader() {
+        @Override
+        protected void completeRequest(BlockReadRequestContext context) {}
+
+        @Override
+        protected DataBuffer getDataBuffer(BlockReadRequestContext context, Channel channel,
+            long offset, int len) throws Exception {
+          if (context.getRequest().getId() == FAILING_BLOCK_ID) {
+            throw new IOException("failed to read block " + FAILING_BLOCK_ID);
+          }
+          return new NettyDataBuffer(Unpooled.wrappedBuffer(new byte[len]));
+        }
+      };
+    }
+  }
+}
@@ -212,6 +212,16 @@ public class AlluxioFuse {
 
     final boolean debugEnabled = conf.getBoolean(PropertyKey.FUSE_DEBUG_ENABLED);
     if (conf.getBoolean(PropertyKey.FUSE_JNIFUSE_ENABLED)) {
+      if (conf.getBoolean(PropertyKey.FUSE_KERNEL_CACHE_ENABLED)
+          && !LibFuse.isInvalidationSupported()) {
+        // the changed files cannot be invalidated in the kernel, which would serve them stale
+        // until the kernel cache times out
+        long timeoutMs = Math.min(conf.getMs(PropertyKey.FUSE_KERNEL_CACHE_TIMEOUT),
+            conf.getMs(PropertyKey.FUSE_KERNEL_CACHE_VALIDATION_INTERVAL));
+        FuseOptions.setKernelCacheTimeout(fuseOptions.getFuseMountOptions(), timeoutMs);
+        LOG.warn("The kernel cannot be notified of the files changed with the libfuse in use, "
+            + "the kernel caches the attributes and the entries for {}ms", timeoutMs);
+      }
       final AlluxioJniFuseFileSystem fuseFs
           = new AlluxioJniFuseFileSystem(fsContext, fs, fuseOptions);
 
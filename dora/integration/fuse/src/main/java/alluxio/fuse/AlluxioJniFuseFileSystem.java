@@ -111,6 +111,9 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
 
   private final boolean mUfsEnabled;
   private final FuseOptions mFuseOptions;
+  // Keeps the files cached by the kernel consistent, null if the kernel cache is disabled
+  @Nullable
+  private final KernelCacheValidator mKernelCacheValidator;
 
   /** df command will treat -1 as an unknown value. */
   @VisibleForTesting
@@ -152,6 +155,15 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
     MetricsSystem.registerGaugeIfAbsent(
         MetricsSystem.getMetricName(MetricKey.FUSE_CACHED_PATH_COUNT.getName()),
         mPathResolverCache::size);
+    if (mConf.getBoolean(PropertyKey.FUSE_KERNEL_CACHE_ENABLED)) {
+      mKernelCacheValidator = KernelCacheValidator.create(mFileSystem,
+          mPathResolverCache::getUnchecked, this::invalidatePath, mConf);
+      MetricsSystem.registerGaugeIfAbsent(
+          MetricsSystem.getMetricName(MetricKey.FUSE_KERNEL_CACHED_FILE_COUNT.getName()),
+          mKernelCacheValidator::size);
+    } else {
+      mKernelCacheValidator = null;
+    }
   }
 
   @Override
@@ -180,6 +192,13 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
       long fd = mNextOpenFileId.getAndIncrement();
       mFileEntries.add(new FuseFileEntry<>(fd, path, stream));
       fi.fh.set(fd);
+      if (mKernelCacheValidator != null) {
+        if ((fi.flags.get() & OpenFlags.O_ACCMODE.intValue()) == OpenFlags.O_RDONLY.intValue()) {
+          fi.setKeepCache(mKernelCacheValidator.onOpen(path, stream.getFileStatus()));
+        } else {
+          mKernelCacheValidator.forget(path);
+        }
+      }
     } catch (NotFoundRuntimeException e) {
       LOG.error("Failed to read {}: path does not exist or is invalid", path, e);
       return -ErrorCodes.ENOENT();
@@ -255,6 +274,10 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
         LOG.debug("Failed to getattr {}: path does not exist or is invalid", path);
         return -ErrorCodes.ENOENT();
       }
+      if (mKernelCacheValidator != null && !hasWriteStream && status.isPresent()
+          && status.get().isCompleted()) {
+        mKernelCacheValidator.onGetattr(path, status.get());
+      }
     } catch (Throwable t) {
       LOG.error("Failed to getattr {}", path, t);
       return -ErrorCodes.EIO();
@@ -438,6 +461,9 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
     }
     try {
       mFileSystem.delete(uri);
+      if (mKernelCacheValidator != null) {
+        mKernelCacheValidator.forget(path);
+      }
     } catch (DirectoryNotEmptyException de) {
       LOG.error("Failed to remove {}: directory not empty", path, de);
       return -ErrorCodes.EEXIST() | ErrorCodes.ENOTEMPTY();
@@ -503,6 +529,10 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
             sourcePath, destPath);
       }
       mFileSystem.rename(sourceUri, destUri);
+      if (mKernelCacheValidator != null) {
+        mKernelCacheValidator.forget(sourcePath);
+        mKernelCacheValidator.forget(destPath);
+      }
     } catch (IOException | AlluxioException e) {
       LOG.error("Failed to rename {} to {}", sourcePath, destPath, e);
       return -ErrorCodes.EIO();
@@ -566,6 +596,9 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
     if (res != 0) {
       return res;
     }
+    if (mKernelCacheValidator != null) {
+      mKernelCacheValidator.forget(path);
+    }
     try {
       FuseFileEntry<FuseFileStream> entry = mFileEntries.getFirstByField(PATH_INDEX, path);
       if (entry != null) {
@@ -727,6 +760,9 @@ public final class AlluxioJniFuseFileSystem extends AbstractFuseFileSystem
         }
       }
     }
+    if (mKernelCacheValidator != null) {
+      mKernelCacheValidator.close();
+    }
     super.umount(force);
   }
 
@@ -0,0 +1,277 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.fuse;
+
+import alluxio.AlluxioURI;
+import alluxio.client.file.FileSystem;
+import alluxio.client.file.URIStatus;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.fuse.file.FileStatus;
+import alluxio.jnifuse.ErrorCodes;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.util.ThreadFactoryUtils;
+
+import com.codahale.metrics.Counter;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Keeps the attributes and data of the files cached by the kernel consistent with Alluxio.
+ *
+ * The version of a file, i.e. its length and last modification time, is recorded when the file
+ * is reported to the kernel by getattr or opened for reading. A file opened with the version
+ * whose data the kernel has cached keeps its data cached, otherwise the kernel drops it. The
+ * files recorded are validated periodically against Alluxio, whose workers keep the metadata
+ * in sync with the under file system, and those which have changed or been removed are
+ * invalidated in the kernel, instead of being served stale until the kernel cache times out.
+ */
+@ThreadSafe
+public final class KernelCacheValidator implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(KernelCacheValidator.class);
+  /**
+   * The number of files of a directory from which the directory is listed to validate them,
+   * instead of getting their statuses one by one.
+   */
+  private static final int LIST_THRESHOLD = 8;
+  private static final Counter INVALIDATIONS =
+      MetricsSystem.counter(MetricKey.FUSE_KERNEL_CACHE_INVALIDATIONS.getName());
+
+  private final FileSystem mFileSystem;
+  private final Function<String, AlluxioURI> mPathResolver;
+  private final ToIntFunction<String> mInvalidator;
+  private final ExecutorService mExecutor;
+  /** The files cached by the kernel, by their paths in the mount point. */
+  private final Cache<String, CachedFile> mFiles;
+  private volatile boolean mInvalidationSupported = true;
+
+  /**
+   * Creates a validator which validates the files periodically.
+   *
+   * @param fileSystem the file system
+   * @param pathResolver resolves a path in the mount point to the Alluxio path
+   * @param invalidator invalidates a path in the kernel, returning 0 or a negative error code
+   * @param conf the configuration
+   * @return the validator
+   */
+  public static KernelCacheValidator create(FileSystem fileSystem,
+      Function<String, AlluxioURI> pathResolver, ToIntFunction<String> invalidator,
+      AlluxioConfiguration conf) {
+    ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+        ThreadFactoryUtils.build("fuse-kernel-cache-validator-%d", true));
+    KernelCacheValidator validator = new KernelCacheValidator(fileSystem, pathResolver,
+        invalidator, executor, conf.getInt(PropertyKey.FUSE_KERNEL_CACHE_VALIDATION_FILES_MAX));
+    long intervalMs = conf.getMs(PropertyKey.FUSE_KERNEL_CACHE_VALIDATION_INTERVAL);
+    executor.scheduleWithFixedDelay(validator::validate, intervalMs, intervalMs,
+        TimeUnit.MILLISECONDS);
+    return validator;
+  }
+
+  /**
+   * @param fileSystem the file system
+   * @param pathResolver resolves a path in the mount point to the Alluxio path
+   * @param invalidator invalidates a path in the kernel, returning 0 or a negative error code
+   * @param executor the executor to invalidate the paths with, outside of the FUSE operations
+   * @param maxFiles the maximum number of files recorded
+   */
+  @VisibleForTesting
+  KernelCacheValidator(FileSystem fileSystem, Function<String, AlluxioURI> pathResolver,
+      ToIntFunction<String> invalidator, ExecutorService executor, int maxFiles) {
+    mFileSystem = fileSystem;
+    mPathResolver = pathResolver;
+    mInvalidator = invalidator;
+    mExecutor = executor;
+    mFiles = CacheBuilder.newBuilder().maximumSize(maxFiles).build();
+  }
+
+  /**
+   * Records the status of a file reported to the kernel by getattr. The file is invalidated
+   * in the kernel if it has changed since it was cached.
+   *
+   * @param path the path in the mount point
+   * @param status the status of the file
+   */
+  public void onGetattr(String path, URIStatus status) {
+    if (status.isFolder()) {
+      return;
+    }
+    record(path, status.getLength(), status.getLastModificationTimeMs(), false);
+  }
+
+  /**
+   * Records a file opened for reading.
+   *
+   * @param path the path in the mount point
+   * @param status the status of the file opened
+   * @return whether the kernel should keep the data of the file cached, as it has been
+   *         cached for the same version of the file
+   */
+  public boolean onOpen(String path, FileStatus status) {
+    return record(path, status.getFileLength(), status.getLastModificationTimeMs(), true);
+  }
+
+  /**
+   * Stops recording a file modified through the mount point, the kernel being aware of the
+   * modification already.
+   *
+   * @param path the path in the mount point
+   */
+  public void forget(String path) {
+    mFiles.invalidate(path);
+  }
+
+  /**
+   * @return the number of files recorded
+   */
+  public long size() {
+    return mFiles.size();
+  }
+
+  /**
+   * Validates the files recorded against Alluxio, and invalidates those which have changed.
+   */
+  @VisibleForTesting
+  void validate() {
+    Map<String, List<String>> filesByParent = new HashMap<>();
+    for (String path : mFiles.asMap().keySet()) {
+      int index = path.lastIndexOf(AlluxioURI.SEPARATOR);
+      String parent = index <= 0 ? AlluxioURI.SEPARATOR : path.substring(0, index);
+      filesByParent.computeIfAbsent(parent, k -> new ArrayList<>()).add(path);
+    }
+    for (Map.Entry<String, List<String>> entry : filesByParent.entrySet()) {
+      try {
+        if (entry.getValue().size() >= LIST_THRESHOLD) {
+          validateDirectory(entry.getKey(), entry.getValue());
+        } else {
+          for (String path : entry.getValue()) {
+            validateFile(path, AlluxioFuseUtils.getPathStatus(mFileSystem,
+                mPathResolver.apply(path)));
+          }
+        }
+      } catch (RuntimeException e) {
+        LOG.warn("Failed to validate the files of {} cached by the kernel", entry.getKey(), e);
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    mExecutor.shutdownNow();
+  }
+
+  private void validateDirectory(String parent, List<String> paths) {
+    Map<String, URIStatus> statuses = new HashMap<>();
+    try {
+      for (URIStatus status : mFileSystem.listStatus(mPathResolver.apply(parent))) {
+        statuses.put(status.getName(), status);
+      }
+    } catch (Exception e) {
+      // the directory may have been removed, the files are validated one by one
+      LOG.debug("Failed to list {}", parent, e);
+      for (String path : paths) {
+        validateFile(path, AlluxioFuseUtils.getPathStatus(mFileSystem, mPathResolver.apply(path)));
+      }
+      return;
+    }
+    for (String path : paths) {
+      String name = path.substring(path.lastIndexOf(AlluxioURI.SEPARATOR) + 1);
+      validateFile(path, Optional.ofNullable(statuses.get(name)));
+    }
+  }
+
+  private void validateFile(String path, Optional<URIStatus> status) {
+    CachedFile cached = mFiles.getIfPresent(path);
+    if (cached == null || (status.isPresent() && !status.get().isFolder()
+        && cached.isVersion(status.get().getLength(),
+        status.get().getLastModificationTimeMs()))) {
+      return;
+    }
+    if (mFiles.asMap().remove(path, cached)) {
+      invalidate(path);
+    }
+  }
+
+  /**
+   * @return whether the version recorded is the one whose data is cached by the kernel
+   */
+  private boolean record(String path, long length, long lastModificationTimeMs, boolean opened) {
+    boolean[] keepCache = new boolean[1];
+    boolean[] changed = new boolean[1];
+    mFiles.asMap().compute(path, (key, cached) -> {
+      if (cached != null && cached.isVersion(length, lastModificationTimeMs)) {
+        keepCache[0] = cached.mDataCached;
+        return opened && !cached.mDataCached ? new CachedFile(cached, true) : cached;
+      }
+      changed[0] = cached != null;
+      return new CachedFile(length, lastModificationTimeMs, opened);
+    });
+    if (changed[0]) {
+      // the kernel cannot be notified from within the FUSE operation on the same path
+      mExecutor.execute(() -> invalidate(path));
+    }
+    return keepCache[0];
+  }
+
+  private void invalidate(String path) {
+    if (!mInvalidationSupported) {
+      return;
+    }
+    INVALIDATIONS.inc();
+    int res = mInvalidator.applyAsInt(path);
+    if (res == -ErrorCodes.ENOSYS()) {
+      mInvalidationSupported = false;
+      LOG.warn("The kernel cannot be notified of the files changed with the libfuse in use, "
+          + "the changes are noticed once the kernel cache times out");
+    } else if (res != 0 && res != -ErrorCodes.ENOENT()) {
+      LOG.debug("Failed to invalidate {} in the kernel: error {}", path, res);
+    }
+  }
+
+  private static final class CachedFile {
+    private final long mLength;
+    private final long mLastModificationTimeMs;
+    /** Whether the data of the file may be cached by the kernel. */
+    private final boolean mDataCached;
+
+    private CachedFile(long length, long lastModificationTimeMs, boolean dataCached) {
+      mLength = length;
+      mLastModificationTimeMs = lastModificationTimeMs;
+      mDataCached = dataCached;
+    }
+
+    private CachedFile(CachedFile file, boolean dataCached) {
+      this(file.mLength, file.mLastModificationTimeMs, dataCached);
+    }
+
+    private boolean isVersion(long length, long lastModificationTimeMs) {
+      return mLength == length && mLastModificationTimeMs == lastModificationTimeMs;
+    }
+  }
+}
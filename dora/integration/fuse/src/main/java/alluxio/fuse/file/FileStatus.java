@@ -16,6 +16,7 @@ package alluxio.fuse.file;
  */
 public class FileStatus {
   private long mFileLength;
+  private final long mLastModificationTimeMs;
 
   /**
    * Constructs a new {@link FileStatus}.
@@ -23,7 +24,18 @@ public class FileStatus {
    * @param fileLength the initial file length
    */
   public FileStatus(long fileLength) {
+    this(fileLength, 0);
+  }
+
+  /**
+   * Constructs a new {@link FileStatus}.
+   *
+   * @param fileLength the initial file length
+   * @param lastModificationTimeMs the last modification time of the file when it is opened
+   */
+  public FileStatus(long fileLength, long lastModificationTimeMs) {
     mFileLength = fileLength;
+    mLastModificationTimeMs = lastModificationTimeMs;
   }
 
   /**
@@ -33,6 +45,13 @@ public class FileStatus {
     return mFileLength;
   }
 
+  /**
+   * @return the last modification time of the file when it was opened, or 0 if unknown
+   */
+  public long getLastModificationTimeMs() {
+    return mLastModificationTimeMs;
+  }
+
   /**
    * Sets the length of the file.
    *
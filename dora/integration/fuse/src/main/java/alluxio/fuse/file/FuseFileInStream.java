@@ -12,10 +12,13 @@
 package alluxio.fuse.file;
 
 import alluxio.AlluxioURI;
+import alluxio.PositionReader;
 import alluxio.client.file.FileInStream;
 import alluxio.client.file.FileSystem;
 import alluxio.client.file.URIStatus;
 import alluxio.concurrent.LockMode;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
 import alluxio.exception.AlluxioException;
 import alluxio.exception.PreconditionMessage;
 import alluxio.exception.runtime.AlluxioRuntimeException;
@@ -26,6 +29,7 @@ import alluxio.fuse.AlluxioFuseUtils;
 import alluxio.fuse.lock.FuseReadWriteLockManager;
 import alluxio.grpc.OpenFilePOptions;
 import alluxio.resource.CloseableResource;
+import alluxio.resource.LockResource;
 
 import com.google.common.base.Preconditions;
 
@@ -33,17 +37,43 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.Optional;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * An implementation for {@link FuseFileStream} for read only operations against an Alluxio uri.
+ *
+ * Reads continuing the previous read are served by the file in stream, which is efficient for
+ * sequential reads. When concurrent reads are enabled, the other reads, and the reads issued
+ * while the stream is busy with another read, are served concurrently by a position reader
+ * of the file opened on the first of them.
  */
 @ThreadSafe
 public class FuseFileInStream implements FuseFileStream {
+  private final FileSystem mFileSystem;
+  private final URIStatus mURIStatus;
+  @GuardedBy("mStreamLock")
   private final FileInStream mInStream;
+  private final Lock mStreamLock = new ReentrantLock();
   private final FileStatus mFileStatus;
   private final AlluxioURI mURI;
   private final CloseableResource<Lock> mLockResource;
+  private final boolean mConcurrentReadEnabled =
+      Configuration.getBoolean(PropertyKey.FUSE_CONCURRENT_READ_ENABLED);
+  /** The end of the last read, from which the next sequential read continues. */
+  private volatile long mLastReadEnd;
+  /**
+   * Held for read by the positioned reads in flight, and for write when closing, so the
+   * position reader is closed only after the reads using it complete.
+   */
+  private final ReadWriteLock mPositionReaderLock = new ReentrantReadWriteLock();
+  /** The position reader of the file, opened on the first read not served by the stream. */
+  @Nullable
+  private volatile PositionReader mPositionReader;
   private volatile boolean mClosed = false;
 
   /**
@@ -81,8 +111,9 @@ public class FuseFileInStream implements FuseFileStream {
       try {
         FileInStream is = fileSystem.openFile(status.get(),
             OpenFilePOptions.getDefaultInstance());
-        return new FuseFileInStream(is, lockResource,
-            new FileStatus(status.get().getLength()), uri);
+        return new FuseFileInStream(fileSystem, status.get(), is, lockResource,
+            new FileStatus(status.get().getLength(), status.get().getLastModificationTimeMs()),
+            uri);
       } catch (IOException | AlluxioException e) {
         throw new RuntimeException(e);
       }
@@ -92,8 +123,10 @@ public class FuseFileInStream implements FuseFileStream {
     }
   }
 
-  private FuseFileInStream(FileInStream inStream, CloseableResource<Lock> lockResource,
-      FileStatus fileStatus, AlluxioURI uri) {
+  private FuseFileInStream(FileSystem fileSystem, URIStatus uriStatus, FileInStream inStream,
+      CloseableResource<Lock> lockResource, FileStatus fileStatus, AlluxioURI uri) {
+    mFileSystem = Preconditions.checkNotNull(fileSystem);
+    mURIStatus = Preconditions.checkNotNull(uriStatus);
     mInStream = Preconditions.checkNotNull(inStream);
     mLockResource = Preconditions.checkNotNull(lockResource);
     mFileStatus = Preconditions.checkNotNull(fileStatus);
@@ -101,7 +134,7 @@ public class FuseFileInStream implements FuseFileStream {
   }
 
   @Override
-  public synchronized int read(ByteBuffer buf, long size, long offset) {
+  public int read(ByteBuffer buf, long size, long offset) {
     Preconditions.checkArgument(size >= 0 && offset >= 0 && size <= buf.capacity(),
         PreconditionMessage.ERR_BUFFER_STATE.toString(), buf.capacity(), offset, size);
     if (size == 0) {
@@ -110,7 +143,26 @@ public class FuseFileInStream implements FuseFileStream {
     if (offset >= mFileStatus.getFileLength()) {
       return 0;
     }
-    final int sz = (int) size;
+    if (!mConcurrentReadEnabled) {
+      mStreamLock.lock();
+    } else if (offset != mLastReadEnd || !mStreamLock.tryLock()) {
+      return positionedRead(buf, (int) size, offset);
+    }
+    try {
+      int bytesRead = streamRead(buf, (int) size, offset);
+      mLastReadEnd = offset + Math.max(bytesRead, 0);
+      return bytesRead;
+    } finally {
+      mStreamLock.unlock();
+    }
+  }
+
+  @GuardedBy("mStreamLock")
+  private int streamRead(ByteBuffer buf, int sz, long offset) {
+    if (mClosed) {
+      throw new FailedPreconditionRuntimeException(
+          String.format("Stream of path %s is closed", mURI));
+    }
     int totalRead = 0;
     int currentRead;
     try {
@@ -127,6 +179,44 @@ public class FuseFileInStream implements FuseFileStream {
     return totalRead == 0 ? currentRead : totalRead;
   }
 
+  private int positionedRead(ByteBuffer buf, int sz, long offset) {
+    int totalRead = 0;
+    int currentRead;
+    try (LockResource r = new LockResource(mPositionReaderLock.readLock())) {
+      if (mClosed) {
+        throw new FailedPreconditionRuntimeException(
+            String.format("Stream of path %s is closed", mURI));
+      }
+      PositionReader reader = getPositionReader();
+      do {
+        currentRead = reader.read(offset + totalRead, buf, sz - totalRead);
+        if (currentRead > 0) {
+          totalRead += currentRead;
+        }
+      } while (currentRead > 0 && totalRead < sz);
+    } catch (IOException e) {
+      throw AlluxioRuntimeException.from(e);
+    }
+    // a read following this one continues sequentially, and is served by the stream
+    mLastReadEnd = offset + totalRead;
+    return totalRead == 0 ? currentRead : totalRead;
+  }
+
+  @GuardedBy("mPositionReaderLock")
+  private PositionReader getPositionReader() {
+    PositionReader reader = mPositionReader;
+    if (reader == null) {
+      synchronized (this) {
+        reader = mPositionReader;
+        if (reader == null) {
+          reader = mFileSystem.openPositionRead(mURIStatus, OpenFilePOptions.getDefaultInstance());
+          mPositionReader = reader;
+        }
+      }
+    }
+    return reader;
+  }
+
   @Override
   public void write(ByteBuffer buf, long size, long offset) {
     throw new FailedPreconditionRuntimeException(String
@@ -148,16 +238,21 @@ public class FuseFileInStream implements FuseFileStream {
   }
 
   @Override
-  public synchronized void close() {
-    if (mClosed) {
-      return;
+  public void close() {
+    // waits for the positioned reads in flight to complete
+    try (LockResource r = new LockResource(mPositionReaderLock.writeLock())) {
+      if (mClosed) {
+        return;
+      }
+      mClosed = true;
     }
-    mClosed = true;
-    try {
+    mStreamLock.lock();
+    try (PositionReader reader = mPositionReader) {
       mInStream.close();
     } catch (IOException e) {
       throw AlluxioRuntimeException.from(e);
     } finally {
+      mStreamLock.unlock();
       mLockResource.close();
     }
   }
@@ -65,7 +65,8 @@ public class FusePositionReader implements FuseFileStream {
       PositionReader reader = fileSystem.openPositionRead(status.get(),
           OpenFilePOptions.getDefaultInstance());
       return new FusePositionReader(reader, lockResource,
-          new FileStatus(status.get().getLength()), uri);
+          new FileStatus(status.get().getLength(), status.get().getLastModificationTimeMs()),
+          uri);
     } catch (Throwable t) {
       lockResource.close();
       throw t;
@@ -11,6 +11,7 @@
 
 package alluxio.fuse.options;
 
+import alluxio.Constants;
 import alluxio.client.file.options.FileSystemOptions;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
@@ -101,10 +102,33 @@ public class FuseOptions {
         LOG.info("Added fuse mount option {} for FUSE 3", idleThreadsOption);
       }
     }
+    if (conf.getBoolean(PropertyKey.FUSE_JNIFUSE_ENABLED)
+        && conf.getBoolean(PropertyKey.FUSE_KERNEL_CACHE_ENABLED)) {
+      // the files cached by the kernel are invalidated once changed, so they can be cached
+      // for longer than the timeouts configured by the mount options
+      setKernelCacheTimeout(mountOptions, conf.getMs(PropertyKey.FUSE_KERNEL_CACHE_TIMEOUT));
+      if (mountOptions.contains("direct_io")) {
+        LOG.warn("The kernel does not cache the data of the files with mount option direct_io");
+      }
+    }
     return new FuseOptions(fileSystemOptions, mountOptions, updateCheckEnabled,
         conf.getBoolean(PropertyKey.FUSE_SPECIAL_COMMAND_ENABLED));
   }
 
+  /**
+   * Sets the time for which the kernel caches the attributes and the entries of the files,
+   * overriding the attr_timeout and entry_timeout mount options.
+   *
+   * @param mountOptions the FUSE mount options to update
+   * @param timeoutMs the timeout in milliseconds
+   */
+  public static void setKernelCacheTimeout(Set<String> mountOptions, long timeoutMs) {
+    long timeoutSeconds = timeoutMs / Constants.SECOND_MS;
+    mountOptions.removeIf(a -> a.startsWith("attr_timeout=") || a.startsWith("entry_timeout="));
+    mountOptions.add("attr_timeout=" + timeoutSeconds);
+    mountOptions.add("entry_timeout=" + timeoutSeconds);
+  }
+
   /**
    * Creates a new instance of {@link FuseOptions}.
    *
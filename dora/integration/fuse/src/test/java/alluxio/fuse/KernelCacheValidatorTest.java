@@ -0,0 +1,117 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.fuse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import alluxio.AlluxioURI;
+import alluxio.client.file.FileSystem;
+import alluxio.client.file.URIStatus;
+import alluxio.exception.FileDoesNotExistException;
+import alluxio.fuse.file.FileStatus;
+import alluxio.wire.FileInfo;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class KernelCacheValidatorTest {
+  private final FileSystem mFileSystem = mock(FileSystem.class);
+  private final Map<String, URIStatus> mStatuses = new HashMap<>();
+  private final List<String> mInvalidated = new ArrayList<>();
+  private KernelCacheValidator mValidator;
+
+  @Before
+  public void before() throws Exception {
+    when(mFileSystem.getStatus(any(AlluxioURI.class))).thenAnswer(invocation -> {
+      URIStatus status = mStatuses.get(invocation.<AlluxioURI>getArgument(0).getPath());
+      if (status == null) {
+        throw new FileDoesNotExistException("not found");
+      }
+      return status;
+    });
+    when(mFileSystem.listStatus(any(AlluxioURI.class))).thenAnswer(invocation -> {
+      String parent = invocation.<AlluxioURI>getArgument(0).getPath();
+      List<URIStatus> statuses = new ArrayList<>();
+      for (URIStatus status : mStatuses.values()) {
+        if (new AlluxioURI(status.getPath()).getParent().getPath().equals(parent)) {
+          statuses.add(status);
+        }
+      }
+      return statuses;
+    });
+    mValidator = new KernelCacheValidator(mFileSystem, AlluxioURI::new, path -> {
+      mInvalidated.add(path);
+      return 0;
+    }, MoreExecutors.newDirectExecutorService(), 100);
+  }
+
+  @Test
+  public void keepCacheOfUnchangedFile() {
+    URIStatus status = putFile("/dir/file", 10, 1000);
+    mValidator.onGetattr("/dir/file", status);
+    // the data is not cached until the file is opened
+    assertFalse(mValidator.onOpen("/dir/file", new FileStatus(10, 1000)));
+    mValidator.onGetattr("/dir/file", status);
+    assertTrue(mValidator.onOpen("/dir/file", new FileStatus(10, 1000)));
+    assertTrue(mInvalidated.isEmpty());
+
+    // the file has been modified, the kernel drops its data
+    assertFalse(mValidator.onOpen("/dir/file", new FileStatus(20, 2000)));
+    assertEquals(1, mInvalidated.size());
+    assertTrue(mValidator.onOpen("/dir/file", new FileStatus(20, 2000)));
+
+    mValidator.forget("/dir/file");
+    assertFalse(mValidator.onOpen("/dir/file", new FileStatus(20, 2000)));
+  }
+
+  @Test
+  public void invalidateChangedFiles() {
+    // enough files to validate the directory by listing it
+    for (int i = 0; i < 10; i++) {
+      String path = "/dir/file" + i;
+      mValidator.onOpen(path, new FileStatus(putFile(path, 10, 1000).getLength(), 1000));
+    }
+    mValidator.onOpen("/other", new FileStatus(putFile("/other", 10, 1000).getLength(), 1000));
+    mValidator.validate();
+    assertTrue(mInvalidated.isEmpty());
+
+    putFile("/dir/file3", 20, 2000);
+    mStatuses.remove("/dir/file5");
+    mStatuses.remove("/other");
+    mValidator.validate();
+    assertEquals(3, mInvalidated.size());
+    assertTrue(mInvalidated.contains("/dir/file3"));
+    assertTrue(mInvalidated.contains("/dir/file5"));
+    assertTrue(mInvalidated.contains("/other"));
+    assertEquals(8, mValidator.size());
+    assertFalse(mValidator.onOpen("/dir/file3", new FileStatus(20, 2000)));
+  }
+
+  private URIStatus putFile(String path, long length, long lastModificationTimeMs) {
+    URIStatus status = new URIStatus(new FileInfo().setPath(path)
+        .setName(new AlluxioURI(path).getName()).setLength(length)
+        .setLastModificationTimeMs(lastModificationTimeMs).setCompleted(true));
+    mStatuses.put(path, status);
+    return status;
+  }
+}
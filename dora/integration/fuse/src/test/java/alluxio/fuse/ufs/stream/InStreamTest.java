@@ -12,6 +12,7 @@
 package alluxio.fuse.ufs.stream;
 
 import alluxio.AlluxioURI;
+import alluxio.Constants;
 import alluxio.client.file.URIStatus;
 import alluxio.exception.runtime.FailedPreconditionRuntimeException;
 import alluxio.exception.runtime.NotFoundRuntimeException;
@@ -24,6 +25,12 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * This class includes the tests for {@link alluxio.fuse.file.FuseFileInStream}.
@@ -85,6 +92,76 @@ public class InStreamTest extends AbstractStreamTest {
     }
   }
 
+  @Test
+  public void concurrentRead() throws Exception {
+    AlluxioURI alluxioURI = getTestFileUri();
+    int fileLen = 64 * Constants.KB;
+    int chunkLen = Constants.KB;
+    writeIncreasingByteArrayToFile(alluxioURI, fileLen);
+    try (FuseFileStream inStream = createStream(alluxioURI)) {
+      List<Callable<Void>> readers = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        int readerId = i;
+        readers.add(() -> {
+          // each reader reads its own interleaved chunks of the file
+          for (int offset = readerId * chunkLen; offset < fileLen; offset += 8 * chunkLen) {
+            ByteBuffer buffer = ByteBuffer.allocate(chunkLen);
+            Assert.assertEquals(chunkLen, inStream.read(buffer, chunkLen, offset));
+            Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer(offset, chunkLen, buffer));
+          }
+          return null;
+        });
+      }
+      ExecutorService executor = Executors.newFixedThreadPool(readers.size());
+      try {
+        for (Future<Void> future : executor.invokeAll(readers)) {
+          future.get();
+        }
+      } finally {
+        executor.shutdownNow();
+      }
+    }
+  }
+
+  @Test
+  public void closeDuringConcurrentRead() throws Exception {
+    AlluxioURI alluxioURI = getTestFileUri();
+    int fileLen = 64 * Constants.KB;
+    int chunkLen = Constants.KB;
+    writeIncreasingByteArrayToFile(alluxioURI, fileLen);
+    FuseFileStream inStream = createStream(alluxioURI);
+    List<Callable<Void>> readers = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      int readerId = i;
+      readers.add(() -> {
+        // reads in flight when the stream is closed complete, and the later reads fail
+        for (int offset = readerId * chunkLen; offset < fileLen; offset += 8 * chunkLen) {
+          ByteBuffer buffer = ByteBuffer.allocate(chunkLen);
+          try {
+            Assert.assertEquals(chunkLen, inStream.read(buffer, chunkLen, offset));
+          } catch (FailedPreconditionRuntimeException e) {
+            return null;
+          }
+          Assert.assertTrue(BufferUtils.equalIncreasingByteBuffer(offset, chunkLen, buffer));
+        }
+        return null;
+      });
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(readers.size());
+    try {
+      List<Future<Void>> futures = new ArrayList<>();
+      for (Callable<Void> reader : readers) {
+        futures.add(executor.submit(reader));
+      }
+      inStream.close();
+      for (Future<Void> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   @Test (expected = FailedPreconditionRuntimeException.class)
   public void write() throws Exception {
     AlluxioURI alluxioURI = getTestFileUri();
@@ -365,4 +365,20 @@ public abstract class AbstractFuseFileSystem implements FuseFileSystem {
     ByteBuffer buffer = mLibFuse.fuse_get_context();
     return FuseContext.of(buffer);
   }
+
+  /**
+   * Notifies the kernel that the cached attributes and data of a path are no longer valid.
+   *
+   * @param path the path of the file system
+   * @return 0 on success, or a negative error code, -ENOSYS if the kernel cannot be notified
+   *         with the libfuse in use
+   */
+  public int invalidatePath(String path) {
+    try {
+      return mLibFuse.fuse_invalidate_path(path);
+    } catch (UnsatisfiedLinkError e) {
+      // the native library has been built without invalidation support
+      return -ErrorCodes.ENOSYS();
+    }
+  }
 }
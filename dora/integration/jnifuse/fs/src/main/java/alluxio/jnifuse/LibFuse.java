@@ -33,6 +33,23 @@ public class LibFuse {
 
   public native ByteBuffer fuse_get_context();
 
+  public native int fuse_invalidate_path(String path);
+
+  /**
+   * Checks whether the loaded library can notify the kernel of the paths invalidated by the
+   * file system. It must be called after the library is loaded and before mounting.
+   *
+   * @return false if the library is built against libfuse 2 or without invalidation support
+   */
+  public static boolean isInvalidationSupported() {
+    try {
+      // fails with ENOTCONN until the file system is mounted if invalidation is supported
+      return new LibFuse().fuse_invalidate_path("/") != -ErrorCodes.ENOSYS();
+    } catch (UnsatisfiedLinkError e) {
+      return false;
+    }
+  }
+
   public static void loadLibrary(LibfuseVersion version) {
     if (libraryLoaded.get() == LibraryState.LOADED) {
       return;
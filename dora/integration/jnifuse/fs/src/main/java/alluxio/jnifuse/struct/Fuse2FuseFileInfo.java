@@ -11,7 +11,6 @@
 
 package alluxio.jnifuse.struct;
 
-import jnr.ffi.NativeType;
 import jnr.ffi.Runtime;
 
 import java.nio.ByteBuffer;
@@ -38,8 +37,10 @@ public class Fuse2FuseFileInfo extends FuseFileInfo {
 
     this.flags = new Signed32();
     new UnsignedLong(); // fh_old
-    new Padding(NativeType.UCHAR, 4); // unused flags and paddings
+    new Signed32(); // writepage
+    this.bits = new Unsigned32(); // direct_io, keep_cache and unused flags
     this.fh = new u_int64_t();
+    this.keepCacheMask = 1 << 1;
     new u_int64_t(); // lock_owner
   }
 }
@@ -37,8 +37,10 @@ public class Fuse3FuseFileInfo extends FuseFileInfo {
     super(runtime, buffer);
 
     this.flags = new Signed32();
-    new Padding(NativeType.UCHAR, 8); // unused flags and paddings
+    this.bits = new Unsigned32(); // writepage, direct_io, keep_cache and unused flags
+    new Padding(NativeType.UCHAR, 4); // padding2
     this.fh = new u_int64_t();
+    this.keepCacheMask = 1 << 2;
     new u_int64_t(); // lock_owner
     new u_int32_t(); // poll_events
   }
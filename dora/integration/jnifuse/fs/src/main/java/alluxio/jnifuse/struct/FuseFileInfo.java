@@ -24,6 +24,10 @@ public class FuseFileInfo extends Struct {
 
   public u_int64_t fh;
   public Signed32 flags;
+  // the bit fields following the flags, e.g. direct_io and keep_cache
+  public Unsigned32 bits;
+  // the mask of the keep_cache bit within the bit fields
+  protected int keepCacheMask;
 
   public FuseFileInfo(Runtime runtime, ByteBuffer buffer) {
     super(runtime);
@@ -31,6 +35,17 @@ public class FuseFileInfo extends Struct {
     this.buffer.order(ByteOrder.LITTLE_ENDIAN);
   }
 
+  /**
+   * Sets whether the kernel keeps the data of the file cached when the file is opened,
+   * instead of dropping it.
+   *
+   * @param keepCache whether to keep the data cached
+   */
+  public void setKeepCache(boolean keepCache) {
+    long value = bits.get();
+    bits.set(keepCache ? value | keepCacheMask : value & ~keepCacheMask);
+  }
+
   public static FuseFileInfo of(ByteBuffer buffer) {
     Runtime runtime = Runtime.getSystemRuntime();
     // select the actual FuseFileInfo by loaded version
@@ -115,6 +115,25 @@ jobject JNICALL Java_alluxio_jnifuse_LibFuse_fuse_1get_1context(JNIEnv *env, job
   return fibuf;
 }
 
+jint JNICALL Java_alluxio_jnifuse_LibFuse_fuse_1invalidate_1path(JNIEnv *env, jobject obj,
+                                                                jstring jpath) {
+  LOGD("enter fuse_invalidate_path");
+#if FUSE_USE_VERSION >= 30
+  if (jnifuse_fuse == NULL) {
+    return -ENOTCONN;
+  }
+  const char *path = env->GetStringUTFChars(jpath, 0);
+  // drops the cached attributes and data of the path in the kernel, through the
+  // fuse_lowlevel_notify_inval_inode and fuse_lowlevel_notify_inval_entry calls
+  int ret = fuse_invalidate_path(jnifuse_fuse, path);
+  env->ReleaseStringUTFChars(jpath, path);
+  return ret;
+#else
+  // the high-level API of libfuse 2 cannot notify the kernel
+  return -ENOSYS;
+#endif
+}
+
 #ifdef __cplusplus
 }
 #endif
@@ -21,9 +21,12 @@ static int RENAME_NO_FLAGS = 0;
 #if FUSE_USE_VERSION >= 30
 
 struct fuse_conn_info_opts *conn_info_opts;
+struct fuse *jnifuse_fuse = NULL;
 
 void *init_wrapper(struct fuse_conn_info *conn, struct fuse_config *cfg) {
   fuse_apply_conn_info_opts(conn_info_opts, conn);
+  // kept to notify the kernel of paths invalidated by the file system
+  jnifuse_fuse = fuse_get_context()->fuse;
 
   #ifndef __APPLE__
   if((unsigned int)conn->capable & FUSE_CAP_ATOMIC_O_TRUNC){
@@ -17,6 +17,7 @@
 #if FUSE_USE_VERSION >= 30
 
 extern struct fuse_conn_info_opts *conn_info_opts;
+extern struct fuse *jnifuse_fuse;
 void *init_wrapper(struct fuse_conn_info *conn, struct fuse_config *cfg);
 int chmod_wrapper(const char *path, mode_t mode, struct fuse_file_info *fi);
 int chown_wrapper(const char *path, uid_t uid, gid_t gid, struct fuse_file_info *fi);
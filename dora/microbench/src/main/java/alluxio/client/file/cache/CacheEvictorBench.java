@@ -0,0 +1,209 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.client.file.cache.evictor.CacheEvictor;
+import alluxio.client.file.cache.evictor.CacheEvictorOptions;
+import alluxio.client.file.cache.evictor.LFUCacheEvictor;
+import alluxio.client.file.cache.evictor.LRUCacheEvictor;
+import alluxio.client.file.cache.evictor.S3FIFOCacheEvictor;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This benchmark compares the {@link CacheEvictor} implementations.
+ *
+ * hit - the throughput of recording cache hits on an evictor shared by all threads, which is
+ *   the cost every cache hit of the page meta store pays
+ * trace - replays a trace against a cache of mCachePages pages per thread, and reports the
+ *   mHits and mMisses counters, from which the hit ratio follows. The trace reads pages from a
+ *   working set of mWorkingSetPages pages with a Zipf distribution, interrupted every
+ *   mScanInterval reads by a scan of mScanPages pages which are never read again
+ *
+ * The following parameters can be varied:
+ * mEvictor - LRU, LFU or S3FIFO
+ *
+ * Unless overridden on the command line with -t, the benchmark runs with each of 1, 2, 4, ...,
+ * 128 threads.
+ */
+public class CacheEvictorBench {
+  private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32, 64, 128};
+  private static final String FILE_ID = "file";
+  private static final String SCAN_FILE_ID = "scan";
+  private static final double ZIPF_EXPONENT = 0.99;
+
+  private static CacheEvictor createEvictor(String evictor) {
+    Class<? extends CacheEvictor> evictorClass;
+    switch (evictor) {
+      case "LFU":
+        evictorClass = LFUCacheEvictor.class;
+        break;
+      case "S3FIFO":
+        evictorClass = S3FIFOCacheEvictor.class;
+        break;
+      default:
+        evictorClass = LRUCacheEvictor.class;
+    }
+    return CacheEvictor.create(new CacheEvictorOptions().setEvictorClass(evictorClass));
+  }
+
+  @State(Scope.Benchmark)
+  public static class HitState {
+    @Param({"LRU", "LFU", "S3FIFO"})
+    public String mEvictor;
+
+    @Param({"100000"})
+    public int mPageCount;
+
+    CacheEvictor mCacheEvictor;
+    PageId[] mPages;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      mCacheEvictor = createEvictor(mEvictor);
+      mPages = new PageId[mPageCount];
+      for (int i = 0; i < mPageCount; i++) {
+        mPages[i] = new PageId(FILE_ID, i);
+        mCacheEvictor.updateOnPut(mPages[i]);
+      }
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class TraceState {
+    @Param({"LRU", "LFU", "S3FIFO"})
+    public String mEvictor;
+
+    @Param({"10000"})
+    public int mCachePages;
+
+    @Param({"100000"})
+    public int mWorkingSetPages;
+
+    @Param({"10000"})
+    public int mScanInterval;
+
+    @Param({"20000"})
+    public int mScanPages;
+
+    CacheEvictor mCacheEvictor;
+    Set<PageId> mCached;
+    double[] mZipfCdf;
+    long mReads;
+    long mNextScanPage;
+    int mScanRemaining;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      mCacheEvictor = createEvictor(mEvictor);
+      mCached = new HashSet<>();
+      mZipfCdf = new double[mWorkingSetPages];
+      double sum = 0;
+      for (int i = 0; i < mWorkingSetPages; i++) {
+        sum += 1 / Math.pow(i + 1, ZIPF_EXPONENT);
+        mZipfCdf[i] = sum;
+      }
+      for (int i = 0; i < mWorkingSetPages; i++) {
+        mZipfCdf[i] /= sum;
+      }
+    }
+
+    PageId nextPage() {
+      mReads++;
+      if (mScanRemaining == 0 && mReads % mScanInterval == 0) {
+        mScanRemaining = mScanPages;
+      }
+      if (mScanRemaining > 0) {
+        mScanRemaining--;
+        return new PageId(SCAN_FILE_ID, mNextScanPage++);
+      }
+      int index = Arrays.binarySearch(mZipfCdf, ThreadLocalRandom.current().nextDouble());
+      return new PageId(FILE_ID, index >= 0 ? index : -index - 1);
+    }
+  }
+
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  @State(Scope.Thread)
+  public static class TraceCounters {
+    public long mHits;
+    public long mMisses;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      mHits = 0;
+      mMisses = 0;
+    }
+  }
+
+  @Benchmark
+  public void hit(HitState state) {
+    state.mCacheEvictor.updateOnGet(
+        state.mPages[ThreadLocalRandom.current().nextInt(state.mPageCount)]);
+  }
+
+  @Benchmark
+  public void trace(TraceState state, TraceCounters counters) {
+    PageId pageId = state.nextPage();
+    if (state.mCached.contains(pageId)) {
+      counters.mHits++;
+      state.mCacheEvictor.updateOnGet(pageId);
+      return;
+    }
+    counters.mMisses++;
+    if (state.mCached.size() >= state.mCachePages) {
+      PageId victim = state.mCacheEvictor.evict();
+      state.mCached.remove(victim);
+      state.mCacheEvictor.updateOnDelete(victim);
+    }
+    state.mCached.add(pageId);
+    state.mCacheEvictor.updateOnPut(pageId);
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    CommandLineOptions argsCli = new CommandLineOptions(args);
+    if (argsCli.getThreads().hasValue()) {
+      new Runner(buildOptions(argsCli, argsCli.getThreads().get())).run();
+      return;
+    }
+    for (int threads : THREAD_COUNTS) {
+      new Runner(buildOptions(argsCli, threads)).run();
+    }
+  }
+
+  private static Options buildOptions(Options parent, int threads) {
+    return new OptionsBuilder()
+        .parent(parent)
+        .include(CacheEvictorBench.class.getName())
+        .threads(threads)
+        .result(String.format("results-%d-threads.json", threads))
+        .resultFormat(ResultFormatType.JSON)
+        .build();
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import alluxio.client.file.cache.evictor.CacheEvictor;
+import alluxio.client.file.cache.evictor.CacheEvictorOptions;
+import alluxio.client.file.cache.evictor.LRUCacheEvictor;
+import alluxio.client.file.cache.evictor.UnevictableCacheEvictor;
+import alluxio.client.file.cache.store.MemoryPageStore;
+import alluxio.client.file.cache.store.MemoryPageStoreDir;
+import alluxio.client.file.cache.store.PageStoreDir;
+import alluxio.client.file.cache.store.PageStoreOptions;
+import alluxio.exception.PageNotFoundException;
+import alluxio.resource.LockResource;
+
+import com.google.common.collect.ImmutableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This benchmark measures the throughput of cache hit lookups on a {@link PageMetaStore} while
+ * a fraction of the operations replace pages the way puts and evictions do.
+ * The following parameters can be varied:
+ * mType - the meta store implementation, DEFAULT or CONCURRENT
+ * mPageCount - the number of pages in the store
+ * mWritePercent - the percentage of operations which remove and re-add a page under the
+ *   write lock, mimicking a steady cache miss rate
+ * mEvictor - LRU, or NONE to leave out the cost of updating the evictor on each hit
+ *
+ * Hits follow the locking protocol of {@link LocalCacheManager#get}: the read side of the meta
+ * store lock is held while looking up the page info. Unless overridden on the command line with
+ * -t, the benchmark runs with each of 1, 2, 4, ..., 128 threads.
+ */
+public class PageMetaStoreBench {
+  private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32, 64, 128};
+  private static final String FILE_ID = "file";
+  private static final int PAGE_SIZE = 1024;
+
+  @State(Scope.Benchmark)
+  public static class BenchState {
+    @Param({"DEFAULT", "CONCURRENT"})
+    public String mType;
+
+    @Param({"100000"})
+    public int mPageCount;
+
+    @Param({"0", "1", "10"})
+    public int mWritePercent;
+
+    @Param({"LRU", "NONE"})
+    public String mEvictor;
+
+    PageMetaStore mMetaStore;
+    PageStoreDir mDir;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      PageStoreOptions options = new PageStoreOptions()
+          .setPageSize(PAGE_SIZE)
+          .setCacheSize((long) mPageCount * PAGE_SIZE);
+      CacheEvictor evictor = CacheEvictor.create(new CacheEvictorOptions().setEvictorClass(
+          mEvictor.equals("LRU") ? LRUCacheEvictor.class : UnevictableCacheEvictor.class));
+      mDir = new MemoryPageStoreDir(options, new MemoryPageStore(PAGE_SIZE), evictor);
+      List<PageStoreDir> dirs = ImmutableList.of(mDir);
+      if (mType.equals("CONCURRENT")) {
+        mMetaStore = new ConcurrentPageMetaStore(dirs);
+      } else {
+        mMetaStore = new DefaultPageMetaStore(dirs);
+      }
+      for (int i = 0; i < mPageCount; i++) {
+        PageId pageId = new PageId(FILE_ID, i);
+        mMetaStore.addPage(pageId, new PageInfo(pageId, PAGE_SIZE, mDir));
+      }
+    }
+  }
+
+  @Benchmark
+  public void testMethod(BenchState state, Blackhole bh) throws Exception {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    PageId pageId = new PageId(FILE_ID, random.nextInt(state.mPageCount));
+    if (random.nextInt(100) < state.mWritePercent) {
+      try (LockResource r = new LockResource(state.mMetaStore.getLock().writeLock())) {
+        PageInfo pageInfo = state.mMetaStore.removePage(pageId);
+        state.mMetaStore.addPage(pageId, pageInfo);
+      }
+      return;
+    }
+    try (LockResource r = new LockResource(state.mMetaStore.getLock().readLock())) {
+      bh.consume(state.mMetaStore.getPageInfo(pageId));
+    } catch (PageNotFoundException e) {
+      // the page is being replaced by a writer
+      bh.consume(e);
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    CommandLineOptions argsCli = new CommandLineOptions(args);
+    if (argsCli.getThreads().hasValue()) {
+      new Runner(buildOptions(argsCli, argsCli.getThreads().get())).run();
+      return;
+    }
+    for (int threads : THREAD_COUNTS) {
+      new Runner(buildOptions(argsCli, threads)).run();
+    }
+  }
+
+  private static Options buildOptions(Options parent, int threads) {
+    return new OptionsBuilder()
+        .parent(parent)
+        .include(PageMetaStoreBench.class.getName())
+        .threads(threads)
+        .result(String.format("results-%d-threads.json", threads))
+        .resultFormat(ResultFormatType.JSON)
+        .build();
+  }
+}
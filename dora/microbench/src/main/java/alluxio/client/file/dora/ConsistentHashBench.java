@@ -0,0 +1,208 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.dora;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import alluxio.Constants;
+import alluxio.client.block.BlockWorkerInfo;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This benchmark measures the throughput of looking up the workers of a key with
+ * {@link ConsistentHashProvider}. The following parameters can be varied:
+ * mMode - TREE_MAP for a ring kept in a TreeMap as a baseline, RING for the hash ring of the
+ *   provider, or BOUNDED for the hash ring with the load of the workers bounded
+ * mWorkerCount - the number of workers
+ *
+ * Before running the benchmark, {@link #main} simulates the placement of requests following a
+ * Zipf distribution over workers of different capacities, and prints for uniform, capacity
+ * weighted, and capacity weighted and bounded hashing how far the load of the workers is from
+ * their share of the capacity, and the fraction of the keys remapped when a worker joins.
+ */
+public class ConsistentHashBench {
+  private static final int NUM_VIRTUAL_NODES = 2000;
+  private static final int NUM_KEYS = 100000;
+  private static final int NUM_REQUESTS = 1000000;
+  private static final double ZIPF_EXPONENT = 1.0;
+  private static final double LOAD_BOUND_FACTOR = 1.25;
+  private static final String KEY_PREFIX = "/bench/file";
+
+  @State(Scope.Benchmark)
+  public static class BenchState {
+    @Param({"TREE_MAP", "RING", "BOUNDED"})
+    public String mMode;
+
+    @Param({"10", "100"})
+    public int mWorkerCount;
+
+    ConsistentHashProvider mProvider;
+    WorkerLoadTracker mLoadTracker;
+    NavigableMap<Integer, BlockWorkerInfo> mTreeMap;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      List<BlockWorkerInfo> workers = createWorkers(mWorkerCount);
+      mProvider = new ConsistentHashProvider(100, Constants.HOUR_MS);
+      mProvider.refresh(workers, NUM_VIRTUAL_NODES);
+      mLoadTracker = new WorkerLoadTracker(LOAD_BOUND_FACTOR, Constants.MINUTE_MS);
+      mTreeMap = buildTreeMap(workers);
+    }
+  }
+
+  @Benchmark
+  public void getWorker(BenchState state, Blackhole bh) {
+    String key = KEY_PREFIX + ThreadLocalRandom.current().nextInt(NUM_KEYS);
+    switch (state.mMode) {
+      case "TREE_MAP":
+        bh.consume(getFromTreeMap(state.mTreeMap, key));
+        break;
+      case "RING":
+        bh.consume(state.mProvider.getMultiple(key, 1));
+        break;
+      default:
+        bh.consume(state.mProvider.getMultiple(key, 1, state.mLoadTracker));
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    simulate(10);
+    simulate(50);
+    Options options = new OptionsBuilder()
+        .parent(new CommandLineOptions(args))
+        .include(ConsistentHashBench.class.getName())
+        .build();
+    new Runner(options).run();
+  }
+
+  /**
+   * Simulates the requests of a client to workers whose capacities are 1, 2 and 4 GB in turn.
+   */
+  private static void simulate(int workerCount) {
+    List<BlockWorkerInfo> workers = createWorkers(workerCount);
+    List<BlockWorkerInfo> grown = createWorkers(workerCount + 1);
+    String[] keys = zipfKeys(new Random(0));
+    System.out.printf("%d workers, %d requests over %d keys with a Zipf exponent of %.1f%n",
+        workerCount, NUM_REQUESTS, NUM_KEYS, ZIPF_EXPONENT);
+    System.out.printf("%-20s %12s %12s %12s%n", "mode", "load cv", "max load", "remapped");
+    for (String mode : new String[] {"UNIFORM", "WEIGHTED", "WEIGHTED_BOUNDED"}) {
+      boolean weighted = !mode.equals("UNIFORM");
+      ConsistentHashProvider provider = new ConsistentHashProvider(100, 0);
+      provider.refresh(workers, NUM_VIRTUAL_NODES, weighted);
+      // the clock is stopped, so that the load is not reset during the simulation
+      WorkerLoadTracker loadTracker = mode.equals("WEIGHTED_BOUNDED")
+          ? new WorkerLoadTracker(LOAD_BOUND_FACTOR, Constants.HOUR_MS, () -> 0L) : null;
+      Map<BlockWorkerInfo, Long> loads = new HashMap<>();
+      for (String key : keys) {
+        loads.merge(provider.getMultiple(key, 1, loadTracker).get(0), 1L, Long::sum);
+      }
+      // the load of each worker relative to its share of the capacity
+      long totalCapacity = workers.stream().mapToLong(BlockWorkerInfo::getCapacityBytes).sum();
+      double[] relativeLoads = new double[workers.size()];
+      for (int i = 0; i < workers.size(); i++) {
+        BlockWorkerInfo worker = workers.get(i);
+        double expected = 1.0 * NUM_REQUESTS * worker.getCapacityBytes() / totalCapacity;
+        relativeLoads[i] = loads.getOrDefault(worker, 0L) / expected;
+      }
+      double mean = Arrays.stream(relativeLoads).average().orElse(0);
+      double variance = Arrays.stream(relativeLoads)
+          .map(load -> (load - mean) * (load - mean)).average().orElse(0);
+
+      // the workers of the keys are compared once a worker joins
+      ConsistentHashProvider grownProvider = new ConsistentHashProvider(100, 0);
+      grownProvider.refresh(grown, NUM_VIRTUAL_NODES, weighted);
+      int remapped = 0;
+      for (int i = 0; i < NUM_KEYS; i++) {
+        String key = KEY_PREFIX + i;
+        if (!provider.getMultiple(key, 1).get(0).getNetAddress()
+            .equals(grownProvider.getMultiple(key, 1).get(0).getNetAddress())) {
+          remapped++;
+        }
+      }
+      System.out.printf("%-20s %12.3f %12.3f %12.3f%n", mode, Math.sqrt(variance) / mean,
+          Arrays.stream(relativeLoads).max().orElse(0) / mean, 1.0 * remapped / NUM_KEYS);
+    }
+    System.out.println();
+  }
+
+  private static String[] zipfKeys(Random random) {
+    double[] cumulative = new double[NUM_KEYS];
+    double sum = 0;
+    for (int i = 0; i < NUM_KEYS; i++) {
+      sum += 1 / Math.pow(i + 1, ZIPF_EXPONENT);
+      cumulative[i] = sum;
+    }
+    String[] keys = new String[NUM_REQUESTS];
+    for (int i = 0; i < NUM_REQUESTS; i++) {
+      int index = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+      keys[i] = KEY_PREFIX + (index < 0 ? -index - 1 : index);
+    }
+    return keys;
+  }
+
+  private static List<BlockWorkerInfo> createWorkers(int count) {
+    List<BlockWorkerInfo> workers = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      WorkerNetAddress address = new WorkerNetAddress().setHost("worker" + i)
+          .setRpcPort(29999).setDataPort(29997).setWebPort(30000);
+      workers.add(new BlockWorkerInfo(address, (1L << (i % 3)) * Constants.GB, 0));
+    }
+    return workers;
+  }
+
+  private static NavigableMap<Integer, BlockWorkerInfo> buildTreeMap(
+      List<BlockWorkerInfo> workers) {
+    HashFunction hashFunction = Hashing.murmur3_32_fixed();
+    NavigableMap<Integer, BlockWorkerInfo> treeMap = new TreeMap<>();
+    int weight = (int) Math.ceil(1.0 * NUM_VIRTUAL_NODES / workers.size());
+    for (BlockWorkerInfo worker : workers) {
+      for (int i = 0; i < weight; i++) {
+        treeMap.put(hashFunction.hashString(worker.getNetAddress().dumpMainInfo() + i, UTF_8)
+            .asInt(), worker);
+      }
+    }
+    return treeMap;
+  }
+
+  private static BlockWorkerInfo getFromTreeMap(NavigableMap<Integer, BlockWorkerInfo> treeMap,
+      String key) {
+    Map.Entry<Integer, BlockWorkerInfo> entry =
+        treeMap.ceilingEntry(Hashing.murmur3_32_fixed().hashString(key + 0, UTF_8).asInt());
+    return entry == null ? treeMap.firstEntry().getValue() : entry.getValue();
+  }
+}
@@ -18,6 +18,7 @@ import static alluxio.dora.meta.DoraMetaBenchBase.makeFileStatus;
 
 import alluxio.BaseFileStructure;
 import alluxio.BaseThreadState;
+import alluxio.proto.meta.DoraMeta;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Level;
@@ -34,6 +35,11 @@ import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * This benchmark measures the time it takes to read/write metadata from the dora worker metastore
  * The following parameters can be varied:
@@ -44,8 +50,13 @@ import org.openjdk.jmh.runner.options.OptionsBuilder;
  *   larger ids are more likely to be chosen (i.e. those written later).
  * mType - the type of inode storage to use
  * mOperation - read or write
+ * mBatchSize - the number of files read or written per call. With a batch size of 1 the
+ *   single file APIs are called, otherwise the batch APIs of the metastore are called and
+ *   each benchmark operation is one batch.
  */
 public class DoraMetaBench {
+  private static final int SETUP_BATCH_SIZE = 10000;
+
   @State(Scope.Thread)
   public static class ThreadState extends BaseThreadState { }
 
@@ -63,15 +74,24 @@ public class DoraMetaBench {
     @Param({"READ"})
     public String mOperation;
 
+    @Param({"1", "10", "100", "1000", "10000"})
+    public int mBatchSize;
+
     DoraMetaBenchBase mBase;
 
     @Setup(Level.Trial)
     public void setup() throws Exception {
       super.init(0, 0, mFileCount, mDistribution);
       mBase = new DoraMetaBenchBase(mType);
+      Map<String, DoraMeta.FileStatus> batch = new HashMap<>();
       for (int i = 0; i < mFileCount; ++i) {
-        mBase.getDoraMetaStore().putDoraMeta(UFS_PATH_PREFIX + i, makeFileStatus());
+        batch.put(UFS_PATH_PREFIX + i, makeFileStatus());
+        if (batch.size() == SETUP_BATCH_SIZE) {
+          mBase.getDoraMetaStore().putDoraMetas(batch);
+          batch.clear();
+        }
       }
+      mBase.getDoraMetaStore().putDoraMetas(batch);
     }
 
     @TearDown(Level.Trial)
@@ -84,6 +104,10 @@ public class DoraMetaBench {
 
   @Benchmark
   public void testMethod(Db db, ThreadState ts, Blackhole bh) throws Exception {
+    if (db.mBatchSize > 1) {
+      testBatch(db, ts, bh);
+      return;
+    }
     if (db.mOperation.equals("READ")) {
       bh.consume(db.mBase.getDoraMetaStore().getDoraMeta(UFS_PATH_PREFIX +  ts.nextFileId(db, 0)));
     } else
@@ -93,6 +117,22 @@ public class DoraMetaBench {
     }
   }
 
+  private void testBatch(Db db, ThreadState ts, Blackhole bh) {
+    if (db.mOperation.equals("READ")) {
+      List<String> paths = new ArrayList<>(db.mBatchSize);
+      for (int i = 0; i < db.mBatchSize; i++) {
+        paths.add(UFS_PATH_PREFIX + ts.nextFileId(db, 0));
+      }
+      bh.consume(db.mBase.getDoraMetaStore().getDoraMetas(paths));
+    } else {
+      Map<String, DoraMeta.FileStatus> metas = new HashMap<>();
+      for (int i = 0; i < db.mBatchSize; i++) {
+        metas.put(UFS_PATH_PREFIX + ts.nextFileId(db, 0), makeFileStatus());
+      }
+      db.mBase.getDoraMetaStore().putDoraMetas(metas);
+    }
+  }
+
   public static void main(String []args) throws RunnerException {
     Options opt = new OptionsBuilder().include(DoraMetaBench.class.getSimpleName())
         .addProfiler(AsyncProfiler.class, "output=flamegraph")
@@ -0,0 +1,165 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import alluxio.CloseableSupplier;
+import alluxio.Constants;
+import alluxio.PositionReader;
+import alluxio.client.file.CacheContext;
+import alluxio.client.file.cache.CacheManager;
+import alluxio.client.file.cache.CacheManagerOptions;
+import alluxio.client.file.cache.LocalCacheManager;
+import alluxio.client.file.cache.LocalCachePositionReader;
+import alluxio.client.file.cache.PageMetaStore;
+import alluxio.client.file.cache.store.PageStoreType;
+import alluxio.conf.Configuration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.file.FileId;
+import alluxio.network.protocol.databuffer.DataBuffer;
+import alluxio.resource.CloseableResource;
+import alluxio.underfs.UnderFileSystem;
+import alluxio.util.io.BufferUtils;
+import alluxio.util.io.PathUtils;
+
+import com.google.common.io.Files;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This benchmark compares the allocation rate of {@link PagedFileReader#read}, which allocates a
+ * new direct buffer for every call, with {@link PagedFileReader#readRetained}, which borrows the
+ * buffer from a pool and returns it when the buffer is released. All pages of the file are
+ * cached in a memory page store, so the benchmark measures cache hits.
+ * The following parameters can be varied:
+ * mReadSize - the number of bytes of each position read, at a random offset
+ *
+ * The GC profiler is enabled by default; compare gc.alloc.rate.norm of the two methods. Note
+ * that the direct buffers allocated by read are off heap, so their churn shows up mostly as
+ * the collections forced to reclaim them.
+ */
+public class PagedFileReaderBench {
+  private static final long PAGE_SIZE = Constants.MB;
+  private static final int FILE_SIZE = (int) (64 * PAGE_SIZE);
+
+  @State(Scope.Benchmark)
+  public static class CacheState {
+    @Param({"4096", "65536"})
+    public int mReadSize;
+
+    File mDir;
+    CacheManager mCacheManager;
+    byte[] mData;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+      mDir = Files.createTempDir();
+      InstancedConfiguration conf = Configuration.copyGlobal();
+      conf.set(PropertyKey.WORKER_PAGE_STORE_TYPE, PageStoreType.MEM);
+      conf.set(PropertyKey.WORKER_PAGE_STORE_DIRS,
+          PathUtils.concatPath(mDir.getAbsolutePath(), "cache"));
+      conf.set(PropertyKey.WORKER_PAGE_STORE_SIZES, String.valueOf(2 * FILE_SIZE));
+      conf.set(PropertyKey.WORKER_PAGE_STORE_PAGE_SIZE, String.valueOf(PAGE_SIZE));
+      CacheManagerOptions options = CacheManagerOptions.createForWorker(conf);
+      mCacheManager = LocalCacheManager.create(options, PageMetaStore.create(options));
+      mData = BufferUtils.getIncreasingByteArray(FILE_SIZE);
+      // read the whole file once to cache all its pages
+      try (PagedFileReader reader = createReader(this)) {
+        ByteBuffer buffer = reader.read(0, FILE_SIZE);
+        if (buffer.remaining() != FILE_SIZE) {
+          throw new IllegalStateException("Failed to cache the file");
+        }
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void after() throws Exception {
+      mCacheManager.close();
+      FileUtils.deleteDirectory(mDir);
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class ReaderState {
+    PagedFileReader mReader;
+
+    @Setup(Level.Trial)
+    public void setup(CacheState cache) {
+      mReader = createReader(cache);
+    }
+
+    @TearDown(Level.Trial)
+    public void after() throws Exception {
+      mReader.close();
+    }
+  }
+
+  private static PagedFileReader createReader(CacheState cache) {
+    byte[] data = cache.mData;
+    // the file is fully cached, this is only used when loading it
+    PositionReader ufsReader = (position, buffer, length) -> {
+      int bytesRead = (int) Math.min(length, data.length - position);
+      buffer.writeBytes(data, (int) position, bytesRead);
+      return bytesRead;
+    };
+    LocalCachePositionReader positionReader = LocalCachePositionReader.create(
+        cache.mCacheManager, new CloseableSupplier<>(() -> ufsReader), FileId.of("file"),
+        FILE_SIZE, PAGE_SIZE, CacheContext.defaults());
+    return new PagedFileReader(new CloseableResource<UnderFileSystem>(null) {
+      @Override
+      public void closeResource() {}
+    }, positionReader, FILE_SIZE, 0);
+  }
+
+  private static long nextOffset(CacheState cache) {
+    return ThreadLocalRandom.current().nextLong(FILE_SIZE - cache.mReadSize);
+  }
+
+  @Benchmark
+  public void read(CacheState cache, ReaderState state, Blackhole bh) throws Exception {
+    bh.consume(state.mReader.read(nextOffset(cache), cache.mReadSize));
+  }
+
+  @Benchmark
+  public void readRetained(CacheState cache, ReaderState state, Blackhole bh) throws Exception {
+    DataBuffer buffer = state.mReader.readRetained(nextOffset(cache), cache.mReadSize);
+    bh.consume(buffer);
+    buffer.release();
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    Options opt = new OptionsBuilder()
+        .parent(new CommandLineOptions(args))
+        .include(PagedFileReaderBench.class.getName())
+        .addProfiler(GCProfiler.class)
+        .build();
+    new Runner(opt).run();
+  }
+}
@@ -0,0 +1,187 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import alluxio.Constants;
+import alluxio.client.file.cache.CacheManager;
+import alluxio.client.file.cache.CacheManagerOptions;
+import alluxio.client.file.cache.LocalCacheManager;
+import alluxio.client.file.cache.PageMetaStore;
+import alluxio.client.file.cache.store.PageStoreType;
+import alluxio.conf.Configuration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.grpc.CreateFilePOptions;
+import alluxio.grpc.FileInfo;
+import alluxio.grpc.WritePType;
+import alluxio.util.io.BufferUtils;
+import alluxio.util.io.PathUtils;
+
+import com.google.common.io.Files;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This benchmark measures the write path of the Dora worker netty server, from the
+ * {@link ByteBuf} of a write request through {@link PagedFileWriter} into the page cache and the
+ * UFS output stream. The UFS output stream discards the data, so the benchmark measures the
+ * cost of the worker itself. Each thread writes its own file, which is aborted and started
+ * again every FILE_SIZE bytes.
+ *
+ * The mBytesWritten counter is the write throughput in bytes per second. The GC profiler is
+ * enabled by default; gc.alloc.rate.norm is the bytes allocated on the heap per write request.
+ *
+ * The following parameters can be varied:
+ * mStoreType - the type of the page store, MEM or LOCAL
+ * mChunkSize - the number of bytes of each write request
+ */
+public class PagedFileWriterBench {
+  private static final long PAGE_SIZE = Constants.MB;
+  private static final long FILE_SIZE = 64 * PAGE_SIZE;
+  private static final int MAX_THREADS = 16;
+
+  @State(Scope.Benchmark)
+  public static class CacheState {
+    @Param({"MEM", "LOCAL"})
+    public String mStoreType;
+
+    @Param({"65536"})
+    public int mChunkSize;
+
+    File mDir;
+    CacheManager mCacheManager;
+    AtomicInteger mNextFile = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+      mDir = Files.createTempDir();
+      InstancedConfiguration conf = Configuration.copyGlobal();
+      conf.set(PropertyKey.WORKER_PAGE_STORE_TYPE, PageStoreType.valueOf(mStoreType));
+      conf.set(PropertyKey.WORKER_PAGE_STORE_DIRS,
+          PathUtils.concatPath(mDir.getAbsolutePath(), "cache"));
+      conf.set(PropertyKey.WORKER_PAGE_STORE_SIZES,
+          String.valueOf(2 * MAX_THREADS * FILE_SIZE));
+      conf.set(PropertyKey.WORKER_PAGE_STORE_PAGE_SIZE, String.valueOf(PAGE_SIZE));
+      CacheManagerOptions options = CacheManagerOptions.createForWorker(conf);
+      mCacheManager = LocalCacheManager.create(options, PageMetaStore.create(options));
+    }
+
+    @TearDown(Level.Trial)
+    public void after() throws Exception {
+      mCacheManager.close();
+      FileUtils.deleteDirectory(mDir);
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class WriterState {
+    ByteBuf mChunk;
+    // the open file handles of the thread, as the container is not thread safe
+    DoraOpenFileHandleContainer mHandles;
+    PagedDoraWorker mWorker;
+    String mUfsPath;
+    PagedFileWriter mWriter;
+
+    @Setup(Level.Trial)
+    public void setup(CacheState cache) {
+      mHandles = new DoraOpenFileHandleContainer();
+      mWorker = mock(PagedDoraWorker.class);
+      when(mWorker.getOpenFileHandleContainer()).thenReturn(mHandles);
+      mChunk = PooledByteBufAllocator.DEFAULT.directBuffer(cache.mChunkSize);
+      mChunk.writeBytes(BufferUtils.getIncreasingByteArray(cache.mChunkSize));
+      mWriter = createWriter(cache, this);
+    }
+
+    @TearDown(Level.Trial)
+    public void after() {
+      mWriter.abort();
+      mChunk.release();
+    }
+  }
+
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  @State(Scope.Thread)
+  public static class WriteCounters {
+    public long mBytesWritten;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      mBytesWritten = 0;
+    }
+  }
+
+  private static PagedFileWriter createWriter(CacheState cache, WriterState state) {
+    String fileId = "file" + cache.mNextFile.getAndIncrement();
+    String ufsPath = "/" + fileId;
+    state.mUfsPath = ufsPath;
+    OutputStream ufsOutStream = new OutputStream() {
+      @Override
+      public void write(int b) {}
+
+      @Override
+      public void write(byte[] b, int off, int len) {}
+    };
+    state.mHandles.add(ufsPath, new OpenFileHandle(ufsPath, FileInfo.getDefaultInstance(),
+        CreateFilePOptions.newBuilder().setWriteType(WritePType.CACHE_THROUGH).build(),
+        ufsOutStream));
+    return new PagedFileWriter(state.mWorker, ufsPath, cache.mCacheManager, fileId, PAGE_SIZE);
+  }
+
+  @Benchmark
+  public void write(CacheState cache, WriterState state, WriteCounters counters)
+      throws Exception {
+    if (state.mWriter.getPosition() >= FILE_SIZE) {
+      state.mWriter.abort();
+      state.mHandles.remove(state.mUfsPath);
+      state.mWriter = createWriter(cache, state);
+    }
+    // a write request hands over a retained view of the received data
+    ByteBuf request = state.mChunk.retainedDuplicate();
+    try {
+      counters.mBytesWritten += state.mWriter.append(request);
+    } finally {
+      request.release();
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    Options opt = new OptionsBuilder()
+        .parent(new CommandLineOptions(args))
+        .include(PagedFileWriterBench.class.getName())
+        .addProfiler(GCProfiler.class)
+        .build();
+    new Runner(opt).run();
+  }
+}
@@ -36,6 +36,12 @@ public enum FuseIOOperation {
    * point.
    */
   REMOTE_READ("RemoteRead"),
+  /**
+   * Each group of &lt;threadsPerFile&gt; threads of a job worker reads the files it wrote through
+   * local Fuse mount point, sharing one open file descriptor per file, with positioned reads of
+   * interleaved chunks of the file.
+   */
+  SHARED_FILE_READ("SharedFileRead"),
   /** Write operation to test the write throughput or prepare data for reading. */
   WRITE("Write"),
   ;
@@ -48,7 +54,8 @@ public enum FuseIOOperation {
     switch (operation) {
       case LOCAL_READ: // fall through
       case REMOTE_READ: // fall through
-      case CLUSTER_READ:
+      case CLUSTER_READ: // fall through
+      case SHARED_FILE_READ:
         return true;
       default:
         return false;
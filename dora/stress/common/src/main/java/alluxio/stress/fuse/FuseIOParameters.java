@@ -23,8 +23,8 @@ import com.beust.jcommander.Parameter;
 public final class FuseIOParameters extends Parameters {
   @Parameter(names = {"--operation"},
       description = "The operation to perform. Options are [LocalRead, RemoteRead, ClusterRead, "
-          + "Write, ListFile], where \"ListFile\" are for testing read performance, "
-          + "not individual tests.",
+          + "SharedFileRead, Write, ListFile], where \"ListFile\" are for testing read "
+          + "performance, not individual tests.",
       converter = FuseIOOperationConverter.class,
       required = true)
   public FuseIOOperation mOperation;
@@ -32,6 +32,11 @@ public final class FuseIOParameters extends Parameters {
   @Parameter(names = {"--threads"}, description = "the number of concurrent threads to use")
   public int mThreads = 1;
 
+  @Parameter(names = {"--threads-per-file"},
+      description = "The number of threads reading the same file at the same time through one "
+          + "open file descriptor. Only used by SharedFileRead.")
+  public int mThreadsPerFile = 1;
+
   @Parameter(names = {"--local-path"},
       description = "The local filesystem directory or Fuse mount point to perform operations in")
   public String mLocalPath = "/mnt/alluxio-fuse/fuse-io-bench";
@@ -17,6 +17,7 @@ package alluxio.stress.jobservice;
 public enum JobServiceBenchOperation {
   CREATE_FILES("CreateFiles"),
   DISTRIBUTED_LOAD("DistributedLoad"),
+  LOAD("Load"),
   NO_OP("NoOp");
 
   private final String mName;
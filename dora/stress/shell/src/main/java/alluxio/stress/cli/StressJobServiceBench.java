@@ -24,10 +24,15 @@ import alluxio.client.job.JobMasterClient;
 import alluxio.exception.AlluxioException;
 import alluxio.grpc.CreateFilePOptions;
 import alluxio.grpc.DeletePOptions;
+import alluxio.grpc.JobProgressReportFormat;
+import alluxio.grpc.LoadJobPOptions;
 import alluxio.grpc.WritePType;
+import alluxio.job.JobDescription;
+import alluxio.job.LoadJobRequest;
 import alluxio.job.plan.NoopPlanConfig;
 import alluxio.job.wire.JobInfo;
 import alluxio.job.wire.Status;
+import alluxio.scheduler.job.JobState;
 import alluxio.stress.BaseParameters;
 import alluxio.stress.StressConstants;
 import alluxio.stress.jobservice.JobServiceBenchParameters;
@@ -40,6 +45,8 @@ import alluxio.util.executor.ExecutorServiceFactories;
 import alluxio.worker.job.JobMasterClientContext;
 
 import com.beust.jcommander.ParametersDelegate;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
@@ -54,6 +61,7 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -65,6 +73,9 @@ import java.util.concurrent.atomic.AtomicReference;
  */
 public class StressJobServiceBench extends Benchmark<JobServiceBenchTaskResult> {
   private static final Logger LOG = LoggerFactory.getLogger(StressJobServiceBench.class);
+  private static final String LOAD_JOB_TYPE = "load";
+  private static final Set<JobState> LOAD_JOB_END_STATES =
+      ImmutableSet.of(JobState.SUCCEEDED, JobState.FAILED, JobState.STOPPED);
   public static final int MAX_RESPONSE_TIME_BUCKET_INDEX = 0;
   @ParametersDelegate
   private final JobServiceBenchParameters mParameters = new JobServiceBenchParameters();
@@ -104,6 +115,11 @@ public class StressJobServiceBench extends Benchmark<JobServiceBenchTaskResult>
         "# Each request contains 1000 files with file size 1k",
         "$ bin/alluxio runClass alluxio.stress.cli.StressJobServiceBench --file-size 1k \\"
             + "--files-per-dir 1000 --threads 256 --operation DistributedLoad --cluster",
+        "",
+        "# This submits a load job of each directory to the scheduler of the master",
+        "# and waits for it, the throughput is the number of files loaded per second",
+        "$ bin/alluxio runClass alluxio.stress.cli.StressJobServiceBench --file-size 1k \\"
+            + "--files-per-dir 100000 --threads 4 --operation Load --cluster",
         ""));
   }
 
@@ -255,6 +271,13 @@ public class StressJobServiceBench extends Benchmark<JobServiceBenchTaskResult>
           // record response times
           recordResponseTimeInfo(startNs, endNs);
           break;
+        case LOAD:
+          mResult.setRecordStartMs(mContext.getStartMs());
+          startNs = System.nanoTime();
+          // submit a load job to the scheduler of the master and wait for it to finish
+          endNs = runLoad(dirPath);
+          recordResponseTimeInfo(startNs, endNs);
+          break;
         case CREATE_FILES:
           FileSystem fileSystem = FileSystem.Factory.create(mFsContext);
           long start = CommonUtils.getCurrentMs();
@@ -321,6 +344,37 @@ public class StressJobServiceBench extends Benchmark<JobServiceBenchTaskResult>
       return stopTime;
     }
 
+    private long runLoad(String dirPath)
+        throws IOException, InterruptedException, TimeoutException {
+      FileSystem fileSystem = FileSystem.Factory.create(mFsContext);
+      String path = new AlluxioURI(dirPath).getPath();
+      fileSystem.submitJob(new LoadJobRequest(path,
+          LoadJobPOptions.newBuilder().setPartialListing(true).build()));
+      JobDescription description =
+          JobDescription.newBuilder().setPath(path).setType(LOAD_JOB_TYPE).build();
+      ObjectMapper mapper = new ObjectMapper();
+      AtomicReference<JsonNode> progress = new AtomicReference<>();
+      // poll often so that the poll interval does not bound the measured throughput
+      CommonUtils.waitFor(String.format("load job of %s to finish", path), () -> {
+        try {
+          progress.set(mapper.readTree(
+              fileSystem.getJobProgress(description, JobProgressReportFormat.JSON, false)));
+        } catch (IOException e) {
+          throw new RuntimeException(e);
+        }
+        return LOAD_JOB_END_STATES.contains(
+            JobState.valueOf(progress.get().get("mJobState").asText()));
+      }, WaitForOptions.defaults().setInterval(100)
+          .setTimeoutMs(FormatUtils.parseTimeSize(mBaseParameters.mBenchTimeout)));
+      long stopTime = System.nanoTime();
+      mResult.incrementNumSuccess(progress.get().get("mProcessedFileCount").asLong());
+      JobState state = JobState.valueOf(progress.get().get("mJobState").asText());
+      if (state != JobState.SUCCEEDED) {
+        throw new IOException(String.format("Load job of %s ended in state %s", path, state));
+      }
+      return stopTime;
+    }
+
     private void createFiles(FileSystem fs, int numFiles, String dirPath, long fileSize)
         throws IOException, AlluxioException {
       CreateFilePOptions options = CreateFilePOptions.newBuilder()
@@ -32,22 +32,30 @@ import com.google.common.collect.ImmutableList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 
 /**
  * Single node stress test.
@@ -98,6 +106,9 @@ public class FuseIOBench extends Benchmark<FuseIOTaskResult> {
             + "through local Fuse mount point.",
         "ClusterRead: Read <numAllFiles>/<numJobWorker> number of files evenly from all "
             + "directories created by all job workers through local Fuse mount point.",
+        "SharedFileRead: Like LocalRead, but each group of <threadsPerFile> threads reads the "
+            + "same file at the same time through one open file descriptor, with positioned "
+            + "reads of interleaved chunks, like data loaders reading shards of a dataset.",
         "Optionally one can set alluxio.user.metadata.cache.enabled=true when mounting Alluxio "
             + "Fuse and run \"ListFile\" before \"Read\" to cache the metadata of the test files "
             + "and eliminate the effect of metadata operations while getting the reading "
@@ -122,6 +133,14 @@ public class FuseIOBench extends Benchmark<FuseIOTaskResult> {
         "$ bin/alluxio runClass alluxio.stress.cli.fuse.FuseIOBench --operation ClusterRead \\",
         "--local-path /mnt/alluxio-fuse/FuseIOTest --num-dirs 32 --num-files-per-dir 10 \\",
         "--file-size 100m --threads 16 --warmup 5s --duration 30s --cluster",
+        "",
+        "# 64 threads read the files written by this client, 16 threads per file at a time",
+        "$ bin/alluxio runClass alluxio.stress.cli.fuse.FuseIOBench --operation Write \\",
+        "--local-path /mnt/alluxio-fuse/FuseIOTest --num-dirs 4 --num-files-per-dir 10 \\",
+        "--file-size 1g --threads 4",
+        "$ bin/alluxio runClass alluxio.stress.cli.fuse.FuseIOBench --operation SharedFileRead \\",
+        "--local-path /mnt/alluxio-fuse/FuseIOTest --num-dirs 4 --num-files-per-dir 10 \\",
+        "--file-size 1g --threads 64 --threads-per-file 16 --warmup 5s --duration 30s",
         ""
     ));
   }
@@ -133,7 +152,10 @@ public class FuseIOBench extends Benchmark<FuseIOTaskResult> {
       Files.createDirectories(Paths.get(mParameters.mLocalPath, TEST_DIR));
       return;
     }
-    if (mParameters.mThreads > mParameters.mNumDirs
+    if (mParameters.mThreadsPerFile < 1) {
+      throw new IllegalArgumentException("The number of threads per file should be positive.");
+    }
+    if (getNumReaders() > mParameters.mNumDirs
         && mParameters.mOperation != FuseIOOperation.LIST_FILE) {
       throw new IllegalArgumentException(
           "Some of the threads are not being used. Please set the number of directories to "
@@ -189,6 +211,18 @@ public class FuseIOBench extends Benchmark<FuseIOTaskResult> {
     }
   }
 
+  /**
+   * @return the number of threads, or of groups of threads for SharedFileRead, which the
+   *         directories are distributed to
+   */
+  private int getNumReaders() {
+    if (mParameters.mOperation == FuseIOOperation.SHARED_FILE_READ) {
+      return (mParameters.mThreads + mParameters.mThreadsPerFile - 1)
+          / mParameters.mThreadsPerFile;
+    }
+    return mParameters.mThreads;
+  }
+
   @Override
   public FuseIOTaskResult runLocal() throws Exception {
     FuseIOTaskResult taskResult = runFuseBench();
@@ -211,15 +245,25 @@ public class FuseIOBench extends Benchmark<FuseIOTaskResult> {
     long endMs = startMs + warmupMs + durationMs;
     BenchContext context = new BenchContext(startMs, endMs);
 
+    List<SharedFileGroup> sharedFileGroups = new ArrayList<>();
+    if (mParameters.mOperation == FuseIOOperation.SHARED_FILE_READ) {
+      for (int i = 0; i < getNumReaders(); i++) {
+        sharedFileGroups.add(new SharedFileGroup(i));
+      }
+    }
     List<Callable<Void>> callables = new ArrayList<>(mParameters.mThreads);
     for (int i = 0; i < mParameters.mThreads; i++) {
-      callables.add(new BenchThread(context, i));
+      callables.add(new BenchThread(context, i, sharedFileGroups.isEmpty()
+          ? null : sharedFileGroups.get(i / mParameters.mThreadsPerFile)));
     }
     service.invokeAll(callables, FormatUtils.parseTimeSize(mBaseParameters.mBenchTimeout),
         TimeUnit.MILLISECONDS);
 
     service.shutdownNow();
     service.awaitTermination(30, TimeUnit.SECONDS);
+    for (SharedFileGroup group : sharedFileGroups) {
+      group.close();
+    }
 
     FuseIOTaskResult result = context.getResult();
 
@@ -326,9 +370,85 @@ public class FuseIOBench extends Benchmark<FuseIOTaskResult> {
     }
   }
 
+  /**
+   * A file opened once and read by all the threads of a {@link SharedFileGroup}.
+   */
+  private static final class SharedFile {
+    private final FileChannel mChannel;
+    private final long mLength;
+    /** The offset of the next chunk of the file to read. */
+    private final AtomicLong mNextOffset = new AtomicLong();
+    /** The number of threads reading the file, guarded by the group of the file. */
+    private int mReaders;
+
+    private SharedFile(String path) throws IOException {
+      mChannel = FileChannel.open(Paths.get(path), StandardOpenOption.READ);
+      mLength = mChannel.size();
+    }
+  }
+
+  /**
+   * The files read one after the other by a group of threads, for SharedFileRead. The threads
+   * of the group read the current file at the same time, each of them reading the next chunk
+   * of the file not read yet, and move to the next file together once it has been read.
+   */
+  private final class SharedFileGroup implements Closeable {
+    private final List<String> mPaths = new ArrayList<>();
+    private final Set<SharedFile> mOpenFiles = new HashSet<>();
+    private int mNextPath;
+    @Nullable
+    private SharedFile mCurrent;
+
+    private SharedFileGroup(int groupId) {
+      for (int testDirId = groupId; testDirId < mParameters.mNumDirs;
+          testDirId += getNumReaders()) {
+        for (int testFileId = 0; testFileId < mParameters.mNumFilesPerDir; testFileId++) {
+          mPaths.add(String.format(TEST_FILE_STRING_FORMAT,
+              mParameters.mLocalPath, mBaseParameters.mId, testDirId, testFileId));
+        }
+      }
+    }
+
+    /**
+     * @param previous the file previously read by the thread, which has been read entirely,
+     *        or null if the thread has not read any file yet
+     * @return the file to read next, or null if all the files have been read
+     */
+    @Nullable
+    private synchronized SharedFile next(@Nullable SharedFile previous) throws IOException {
+      if (previous != null) {
+        previous.mReaders--;
+      }
+      if (mCurrent == previous) {
+        mCurrent = mNextPath < mPaths.size() ? new SharedFile(mPaths.get(mNextPath++)) : null;
+        if (mCurrent != null) {
+          mOpenFiles.add(mCurrent);
+        }
+      }
+      if (previous != null && previous.mReaders == 0) {
+        previous.mChannel.close();
+        mOpenFiles.remove(previous);
+      }
+      if (mCurrent != null) {
+        mCurrent.mReaders++;
+      }
+      return mCurrent;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+      for (SharedFile file : mOpenFiles) {
+        file.mChannel.close();
+      }
+      mOpenFiles.clear();
+    }
+  }
+
   private final class BenchThread implements Callable<Void> {
     private final BenchContext mContext;
     private final int mThreadId;
+    @Nullable
+    private final SharedFileGroup mSharedFileGroup;
     private final byte[] mBuffer;
     private final long mFileSize;
 
@@ -339,9 +459,11 @@ public class FuseIOBench extends Benchmark<FuseIOTaskResult> {
 
     private final FuseIOTaskResult mFuseIOTaskResult = new FuseIOTaskResult();
 
-    private BenchThread(BenchContext context, int threadId) {
+    private BenchThread(BenchContext context, int threadId,
+        @Nullable SharedFileGroup sharedFileGroup) {
       mContext = context;
       mThreadId = threadId;
+      mSharedFileGroup = sharedFileGroup;
 
       mBuffer = new byte[(int) FormatUtils.parseSpaceSize(mParameters.mBufferSize)];
       Arrays.fill(mBuffer, (byte) 'A');
@@ -394,6 +516,10 @@ public class FuseIOBench extends Benchmark<FuseIOTaskResult> {
           remoteOrClusterRead();
           break;
         }
+        case SHARED_FILE_READ: {
+          sharedFileRead();
+          break;
+        }
         default:
           throw new IllegalStateException("Unknown operation: " + mParameters.mOperation);
       }
@@ -457,6 +583,35 @@ public class FuseIOBench extends Benchmark<FuseIOTaskResult> {
       finishProcessingFiles();
     }
 
+    private void sharedFileRead() throws Exception {
+      ByteBuffer buffer = ByteBuffer.wrap(mBuffer);
+      SharedFile file = mSharedFileGroup.next(null);
+      while (!Thread.currentThread().isInterrupted()) {
+        if (CommonUtils.getCurrentMs() > mContext.getEndMs()) {
+          if (mFuseIOTaskResult.getEndMs() == 0L) {
+            mFuseIOTaskResult.setEndMs(CommonUtils.getCurrentMs());
+          }
+          return;
+        }
+        if (file == null) {
+          finishProcessingFiles();
+          return;
+        }
+        long offset = file.mNextOffset.getAndAdd(mBuffer.length);
+        if (offset >= file.mLength) {
+          file = mSharedFileGroup.next(file);
+          continue;
+        }
+        buffer.clear();
+        int bytesRead = file.mChannel.read(buffer, offset);
+        // start recording after the warmup
+        if (bytesRead > 0 && CommonUtils.getCurrentMs() > mFuseIOTaskResult.getRecordStartMs()
+            && CommonUtils.getCurrentMs() < mContext.getEndMs()) {
+          mFuseIOTaskResult.incrementIOBytes(bytesRead);
+        }
+      }
+    }
+
     /**
      * Method for processing a given file.
      *
@@ -0,0 +1 @@
+VERSION=302-SNAPSHOT